@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera respuesta correcta de GET /api/v1/albumes en dos modos:
+#   normal: java -jar, como hasta ahora
+#   rapido: contexto procesado en compilación (AOT) + archivo CDS de clases + perfil "rapido" (beans perezosos)
+#
+# Uso: ./benchmark-arranque.sh [repeticiones]   (por defecto 5)
+# Necesita java (la misma versión que compila el proyecto) y curl.
+set -euo pipefail
+
+REPETICIONES="${1:-5}"
+PUERTO="${PUERTO:-3099}"
+URL="http://localhost:${PUERTO}/api/v1/albumes"
+DIR="target/arranque"
+
+cd "$(dirname "$0")"
+
+echo "== Compilando con el perfil arranque-rapido (AOT)"
+# maven.test.skip: solo hace falta el jar, ni siquiera se compilan los tests.
+./mvnw -B -q -Parranque-rapido -Dmaven.test.skip=true package
+JAR="$(ls target/Albumes-*.jar | grep -v original | head -1)"
+
+# CDS necesita el jar "extraído": las clases deben cargarse desde ficheros .jar normales, no anidados.
+echo "== Extrayendo ${JAR} en ${DIR}"
+rm -rf "${DIR}"
+java -Djarmode=tools -jar "${JAR}" extract --destination "${DIR}"
+APP="${DIR}/$(basename "${JAR}")"
+
+RAPIDO=(-Dspring.aot.enabled=true -Dspring.profiles.active=rapido)
+
+# Ejecución de entrenamiento: arranca el contexto, se cierra justo después (spring.context.exit=onRefresh)
+# y vuelca al archivo todas las clases que se han cargado.
+echo "== Ejecución de entrenamiento para el archivo CDS"
+java -XX:ArchiveClassesAtExit="${DIR}/albumes.jsa" "${RAPIDO[@]}" -Dspring.context.exit=onRefresh \
+    -Dserver.port="${PUERTO}" -jar "${APP}" > "${DIR}/entrenamiento.log" 2>&1
+
+# Arranca la aplicación y espera a la primera respuesta 200 de la API. Imprime los milisegundos.
+medir() {
+    local inicio fin pid
+    inicio=$(date +%s%N)
+    java "$@" -Dserver.port="${PUERTO}" -jar "${APP}" > "${DIR}/ultima-ejecucion.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${URL}"; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "La aplicación ha terminado sin responder, ver ${DIR}/ultima-ejecucion.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    fin=$(date +%s%N)
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo $(( (fin - inicio) / 1000000 ))
+}
+
+resumen() {
+    local nombre="$1"
+    shift
+    local tiempos=()
+    for _ in $(seq "${REPETICIONES}"); do
+        tiempos+=("$(medir "$@")")
+    done
+    local ordenados
+    ordenados=$(printf '%s\n' "${tiempos[@]}" | sort -n)
+    printf '%-8s mediana %6s ms   mínimo %6s ms   (%s)\n' "${nombre}" \
+        "$(echo "${ordenados}" | sed -n "$(( (REPETICIONES + 1) / 2 ))p")" \
+        "$(echo "${ordenados}" | head -1)" "${tiempos[*]}"
+}
+
+echo "== Tiempo hasta la primera respuesta de ${URL} (${REPETICIONES} repeticiones)"
+resumen normal
+resumen rapido -XX:SharedArchiveFile="${DIR}/albumes.jsa" "${RAPIDO[@]}"
@@ -5,16 +5,22 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan; // Importar para escanear entidades
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories; // Importar para escanear repositorios
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 // @EnableCaching: Activa la "memoria rápida" (caché).
 // Permite que si pedimos el mismo dato dos veces, la segunda vez no tenga que ir a la base de datos, sino que lo saque de la RAM.
 @EnableCaching
 
+// @EnableScheduling: Activa las tareas programadas (@Scheduled).
+// Por ejemplo, la verificación periódica de las estadísticas de álbumes contra la base de datos.
+@EnableScheduling
+
 // @SpringBootApplication: ¡LA ANOTACIÓN MAESTRA!
 // Le dice a Java: "Esto es una aplicación Spring Boot".
 // scanBasePackages: Como tenemos el código partido en dos carpetas ("albumes" y "artistas"),
 // tenemos que decirle explícitamente: "Oye, busca componentes (controladores, servicios) en ESTAS dos carpetas".
-@SpringBootApplication(scanBasePackages = {"org.example.albumes", "org.example.artistas"})
+// "org.example.common" tiene utilidades compartidas por las dos (por ejemplo, SingleFlights).
+@SpringBootApplication(scanBasePackages = {"org.example.albumes", "org.example.artistas", "org.example.common"})
 
 // @EntityScan: Configuración de la Base de Datos (Modelos).
 // Le dice a Spring: "Busca las clases que tengan @Entity (tus tablas) en estos paquetes".
@@ -0,0 +1,127 @@
+package org.example.albumes.cache;
+
+import org.example.albumes.dto.AlbumResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Caché de respuestas YA SERIALIZADAS para la lectura de un álbum (GET /albumes/{id}).
+ * <p>
+ * Aunque la caché "albumes" nos ahorra ir a la base de datos, Jackson vuelve a convertir el
+ * AlbumResponseDto a JSON en cada petición. Aquí guardamos directamente los bytes UTF-8 ya codificados,
+ * uno por cada tipo de contenido, para que el controlador los escriba tal cual en la respuesta.
+ * <p>
+ * La invalidan las mismas escrituras que tocan la caché "albumes" (ver los @CacheEvict de AlbumServiceImpl).
+ */
+@Slf4j
+@Component
+public class AlbumBytesCache {
+
+    // Nombre de la caché de Spring donde guardamos los bytes (clave: id del álbum).
+    public static final String CACHE_NAME = "albumesBytes";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    // Límite de álbumes "calientes" que guardamos serializados, para no llenar la memoria.
+    private final int maxEntradas;
+    // Para avisar una sola vez si la caché configurada no nos deja contar sus entradas.
+    private volatile boolean sinLimiteAvisado;
+
+    public AlbumBytesCache(CacheManager cacheManager, ObjectMapper objectMapper,
+                           @Value("${albumes.cache.bytes.max-entradas:10000}") int maxEntradas) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.maxEntradas = maxEntradas;
+    }
+
+    /**
+     * Devuelve los bytes de la respuesta del álbum para el tipo de contenido pedido.
+     * Si no los tenemos, obtenemos el DTO con el cargador (normalmente albumService.findById),
+     * lo serializamos y lo guardamos para la próxima vez.
+     *
+     * @param id       del álbum
+     * @param tipo     tipo de contenido de la respuesta (de momento solo JSON)
+     * @param cargador obtiene el DTO si no tenemos los bytes
+     * @return bytes listos para escribir en el cuerpo de la respuesta
+     */
+    public byte[] obtener(Long id, MediaType tipo, Supplier<AlbumResponseDto> cargador) {
+        Cache cache = bytesCache();
+        String clave = tipo.toString();
+        Map<String, byte[]> porTipo = valor(cache.get(id));
+        if (porTipo != null) {
+            byte[] bytes = porTipo.get(clave);
+            if (bytes != null) {
+                return bytes;
+            }
+        }
+
+        AlbumResponseDto dto = cargador.get();
+        byte[] bytes = serializar(dto);
+        guardar(cache, id, clave, bytes, porTipo, dto);
+        return bytes;
+    }
+
+    private void guardar(Cache cache, Long id, String clave, byte[] bytes,
+                         Map<String, byte[]> porTipo, AlbumResponseDto dto) {
+        if (porTipo == null && tamano(cache) >= maxEntradas) {
+            return; // Caché llena: servimos igualmente, pero no guardamos.
+        }
+        // Copia inmutable para que los lectores nunca vean un mapa a medio modificar.
+        Map<String, byte[]> nuevo = new HashMap<>(porTipo != null ? porTipo : Map.of());
+        nuevo.put(clave, bytes);
+        cache.put(id, Map.copyOf(nuevo));
+
+        // Comprobamos DESPUÉS de guardar que el DTO sigue siendo el vigente en la caché "albumes".
+        // Si una actualización se coló entre la lectura y el put, borramos lo que acabamos de guardar.
+        // Si la actualización llega después de esta comprobación, su propio @CacheEvict lo borrará.
+        Cache albumes = cacheManager.getCache("albumes");
+        Object vigente = albumes != null ? albumes.get(id, Object.class) : null;
+        if (!Objects.equals(vigente, dto)) {
+            log.debug("Álbum {} modificado durante la serialización, descartamos sus bytes", id);
+            cache.evict(id);
+        }
+    }
+
+    private byte[] serializar(AlbumResponseDto dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el álbum " + dto.getId(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> valor(Cache.ValueWrapper wrapper) {
+        return wrapper != null ? (Map<String, byte[]>) wrapper.get() : null;
+    }
+
+    // Solo sabemos contar las entradas si el almacén de la caché es un ConcurrentMap (el de RefrescoCache
+    // y el de las cachés simples de Spring). Con otro proveedor el límite no se puede aplicar: lo decimos.
+    private int tamano(Cache cache) {
+        if (cache.getNativeCache() instanceof ConcurrentMap<?, ?> mapa) {
+            return mapa.size();
+        }
+        if (!sinLimiteAvisado) {
+            sinLimiteAvisado = true;
+            log.warn("La caché {} ({}) no permite contar sus entradas: albumes.cache.bytes.max-entradas={} no se aplica",
+                    CACHE_NAME, cache.getNativeCache().getClass().getName(), maxEntradas);
+        }
+        return 0;
+    }
+
+    private Cache bytesCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Caché " + CACHE_NAME + " no disponible");
+    }
+}
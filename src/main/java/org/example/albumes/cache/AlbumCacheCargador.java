@@ -0,0 +1,41 @@
+package org.example.albumes.cache;
+
+import org.example.albumes.mappers.AlbumMapper;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.common.cache.CargadorCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Recarga las entradas de la caché "albumes" directamente de la base de datos (refresh-ahead y calentamiento).
+ * Las claves son las mismas que usa AlbumServiceImpl: el id (Long) o el uuid como texto (String).
+ */
+@RequiredArgsConstructor
+@Component
+public class AlbumCacheCargador implements CargadorCache {
+
+    private final AlbumRepository albumRepository;
+    private final AlbumMapper albumMapper;
+
+    @Override
+    public String cache() {
+        return "albumes";
+    }
+
+    @Override
+    public Object cargar(Object clave) {
+        if (clave instanceof Long id) {
+            return albumRepository.findById(id).map(albumMapper::toAlbumResponseDto).orElse(null);
+        }
+        if (clave instanceof String uuid) {
+            try {
+                return albumRepository.findByUuid(UUID.fromString(uuid)).map(albumMapper::toAlbumResponseDto).orElse(null);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,277 @@
+package org.example.albumes.cache;
+
+import org.example.albumes.dto.AlbumResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché "albumes" FUERA del heap: los álbumes se guardan como registros binarios (ver AlbumRegistro)
+ * en slabs de memoria directa (ByteBuffer.allocateDirect), no como objetos.
+ * <p>
+ * Un AlbumResponseDto en el heap son unos 350 bytes repartidos en 9 objetos (Long, Float, dos LocalDateTime,
+ * UUID, Strings...) que el recolector de basura tiene que recorrer en cada pasada. Aquí un álbum son ~100 bytes
+ * que el GC no ve; en el heap solo quedan los dos índices (id -> dirección y uuid -> dirección), que son arrays
+ * de long. El DTO solo se construye cuando hay un acierto.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *     <li>Los registros se escriben uno detrás de otro en el slab actual. Cuando se llena, se pasa al
+ *     siguiente; si ya están todos en uso, se vacía el más antiguo (anillo, como un FIFO por bloques).</li>
+ *     <li>Un put guarda UN registro y lo indexa por id Y por uuid: el mismo álbum no ocupa el doble.</li>
+ *     <li>Sobrescribir o borrar una clave solo cambia el índice; el espacio viejo se recupera al reciclar su slab.</li>
+ *     <li>Las entradas caducan igual que en RefrescoCache (cache.ttl-ms), pero sin recarga anticipada.</li>
+ * </ul>
+ * Se activa con cache.albumes.almacen=offheap (ver AlbumOffHeapCacheConfig).
+ */
+@Slf4j
+public class AlbumOffHeapCache extends AbstractValueAdaptingCache {
+
+    public static final String CACHE_NAME = "albumes";
+
+    private final ByteBuffer[] slabs;
+    // Hasta dónde está escrito cada slab (los registros van de 0 a fin).
+    private final int[] fin;
+    private final int bytesPorSlab;
+    private final long ttl;
+    private final LongSupplier reloj;
+    // Claves Long (id) y claves String (uuid como texto, guardado como sus 128 bits reducidos a 64).
+    private final IndiceDirecciones porId = new IndiceDirecciones(1024);
+    private final IndiceDirecciones porUuid = new IndiceDirecciones(1024);
+    // Lecturas en paralelo; escrituras (que pueden reciclar un slab) en exclusiva.
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private int actual;
+
+    /**
+     * @param capacidadBytes memoria directa máxima (debe caber en -XX:MaxDirectMemorySize)
+     * @param bytesPorSlab   tamaño de cada bloque; al llenarse la caché se libera un bloque entero
+     * @param ttl            vida de una entrada en milisegundos
+     * @param reloj          hora actual en milisegundos
+     */
+    public AlbumOffHeapCache(long capacidadBytes, int bytesPorSlab, long ttl, LongSupplier reloj) {
+        super(false);
+        int numSlabs = (int) Math.max(2, capacidadBytes / bytesPorSlab);
+        this.slabs = new ByteBuffer[numSlabs];
+        this.fin = new int[numSlabs];
+        this.bytesPorSlab = bytesPorSlab;
+        this.ttl = ttl;
+        this.reloj = reloj;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        cerrojo.readLock().lock();
+        try {
+            long direccion = direccion(key);
+            if (direccion == IndiceDirecciones.VACIO) {
+                return null;
+            }
+            ByteBuffer slab = slabs[slab(direccion)];
+            int pos = posicion(direccion);
+            if (reloj.getAsLong() - AlbumRegistro.cargadoEn(slab, pos) >= ttl) {
+                return null; // Caducada: el espacio se recupera al reciclar el slab.
+            }
+            if (key instanceof String texto && !AlbumRegistro.uuid(slab, pos).toString().equalsIgnoreCase(texto)) {
+                return null; // Colisión de los 64 bits del uuid con otro álbum.
+            }
+            return AlbumRegistro.decodificar(slab, pos);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(toStoreValue(value) instanceof AlbumResponseDto dto)) {
+            throw new IllegalArgumentException("La caché " + CACHE_NAME + " solo guarda AlbumResponseDto");
+        }
+        byte[] registro = AlbumRegistro.codificar(dto, reloj.getAsLong());
+        cerrojo.writeLock().lock();
+        try {
+            if (registro == null || registro.length > bytesPorSlab) {
+                // No cabe en el formato: mejor no cachearlo que servir una versión vieja.
+                borrarClave(key);
+                return;
+            }
+            long direccion = reservar(registro.length);
+            slabs[slab(direccion)].put(posicion(direccion), registro);
+            if (key instanceof Long id) {
+                porId.put(id, direccion);
+            } else if (key instanceof String texto) {
+                porUuid.put(claveUuid(texto), direccion);
+            }
+            // El mismo registro sirve también para la otra clave del álbum.
+            if (dto.getId() != null) {
+                porId.put(dto.getId(), direccion);
+            }
+            if (dto.getUuid() != null) {
+                porUuid.put(claveUuid(dto.getUuid()), direccion);
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        cerrojo.writeLock().lock();
+        try {
+            borrarClave(key);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        cerrojo.writeLock().lock();
+        try {
+            porId.clear();
+            porUuid.clear();
+            Arrays.fill(fin, 0);
+            actual = 0;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper existente = get(key);
+        if (existente != null) {
+            return (T) existente.get();
+        }
+        try {
+            T valor = valueLoader.call();
+            put(key, valor);
+            return valor;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return slabs;
+    }
+
+    // Número de claves indexadas (ids + uuids).
+    public int entradas() {
+        cerrojo.readLock().lock();
+        try {
+            return porId.size() + porUuid.size();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    // Memoria directa reservada hasta ahora (los slabs se crean según se necesitan).
+    public long bytesReservados() {
+        cerrojo.readLock().lock();
+        try {
+            return Arrays.stream(slabs).filter(s -> s != null).count() * bytesPorSlab;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    // Hueco para un registro nuevo. Si el slab actual no tiene sitio, pasamos al siguiente del anillo.
+    private long reservar(int longitud) {
+        if (fin[actual] + longitud > bytesPorSlab) {
+            actual = (actual + 1) % slabs.length;
+            reciclar(actual);
+        }
+        if (slabs[actual] == null) {
+            slabs[actual] = ByteBuffer.allocateDirect(bytesPorSlab);
+        }
+        int pos = fin[actual];
+        fin[actual] += longitud;
+        return ((long) actual << 32) | pos;
+    }
+
+    // Vacía un slab: recorre sus registros leyendo SOLO id y uuid y quita las claves que aún apuntan a ellos.
+    private void reciclar(int numero) {
+        ByteBuffer slab = slabs[numero];
+        int pos = 0;
+        int expulsados = 0;
+        while (pos < fin[numero]) {
+            long direccion = ((long) numero << 32) | pos;
+            if (AlbumRegistro.tieneId(slab, pos) && porId.remove(AlbumRegistro.id(slab, pos), direccion)) {
+                expulsados++;
+            }
+            if (AlbumRegistro.tieneUuid(slab, pos)) {
+                porUuid.remove(claveUuid(AlbumRegistro.uuid(slab, pos)), direccion);
+            }
+            pos += AlbumRegistro.longitud(slab, pos);
+        }
+        if (fin[numero] > 0) {
+            log.debug("Caché {}: reciclado el slab {} ({} álbumes expulsados)", CACHE_NAME, numero, expulsados);
+        }
+        fin[numero] = 0;
+    }
+
+    // Un put indexa el registro por id Y por uuid: al borrar una clave quitamos también la otra,
+    // o un findByUuid seguiría sirviendo el álbum después de un @CacheEvict por id (deleteById).
+    // Solo se quita la otra clave si aún apunta a este mismo registro.
+    private void borrarClave(Object key) {
+        long direccion = direccion(key);
+        if (direccion != IndiceDirecciones.VACIO) {
+            ByteBuffer slab = slabs[slab(direccion)];
+            int pos = posicion(direccion);
+            if (AlbumRegistro.tieneId(slab, pos)) {
+                porId.remove(AlbumRegistro.id(slab, pos), direccion);
+            }
+            if (AlbumRegistro.tieneUuid(slab, pos)) {
+                porUuid.remove(claveUuid(AlbumRegistro.uuid(slab, pos)), direccion);
+            }
+        }
+        if (key instanceof Long id) {
+            porId.remove(id);
+        } else if (key instanceof String texto) {
+            porUuid.remove(claveUuid(texto));
+        }
+    }
+
+    private long direccion(Object key) {
+        if (key instanceof Long id) {
+            return porId.get(id);
+        }
+        if (key instanceof String texto) {
+            return porUuid.get(claveUuid(texto));
+        }
+        return IndiceDirecciones.VACIO;
+    }
+
+    // Las claves String de "albumes" son uuids en texto. Si no lo es, no puede estar en la caché.
+    private static long claveUuid(String texto) {
+        try {
+            return claveUuid(UUID.fromString(texto));
+        } catch (IllegalArgumentException e) {
+            return texto.hashCode();
+        }
+    }
+
+    private static long claveUuid(UUID uuid) {
+        return uuid.getMostSignificantBits() * 31 + uuid.getLeastSignificantBits();
+    }
+
+    private static int slab(long direccion) {
+        return (int) (direccion >>> 32);
+    }
+
+    private static int posicion(long direccion) {
+        return (int) direccion;
+    }
+}
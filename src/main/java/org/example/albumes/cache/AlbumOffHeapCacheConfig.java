@@ -0,0 +1,37 @@
+package org.example.albumes.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Con cache.albumes.almacen=offheap, la caché "albumes" pasa a ser una AlbumOffHeapCache.
+ * RefrescoCacheManager usa las cachés declaradas como bean en lugar de crear la suya para ese nombre.
+ * <p>
+ * Recuerda arrancar la JVM con -XX:MaxDirectMemorySize mayor que la capacidad configurada.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.albumes.almacen", havingValue = "offheap")
+public class AlbumOffHeapCacheConfig {
+
+    @Bean
+    public AlbumOffHeapCache albumOffHeapCache(MeterRegistry meterRegistry,
+                                               @Value("${cache.albumes.offheap.capacidad-mb:256}") long capacidadMb,
+                                               @Value("${cache.albumes.offheap.slab-mb:16}") int slabMb,
+                                               @Value("${cache.ttl-ms:600000}") long ttl) {
+        var cache = new AlbumOffHeapCache(capacidadMb << 20, slabMb << 20, ttl, System::currentTimeMillis);
+        Gauge.builder("cache.offheap.bytes", cache, AlbumOffHeapCache::bytesReservados)
+                .tag("cache", AlbumOffHeapCache.CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Memoria directa reservada por la caché")
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.entradas", cache, AlbumOffHeapCache::entradas)
+                .tag("cache", AlbumOffHeapCache.CACHE_NAME)
+                .description("Claves (ids y uuids) indexadas en la caché")
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.albumes.cache;
+
+import org.example.albumes.dto.AlbumResponseDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Formato binario de un AlbumResponseDto dentro de los slabs de AlbumOffHeapCache.
+ * <p>
+ * Cabecera de tamaño fijo (65 bytes) seguida de los tres textos en UTF-8 con su longitud delante:
+ * <pre>
+ *  0 int   longitud total del registro
+ *  4 byte  campos presentes (bit a 1 = no es null)
+ *  5 long  cargadoEn (ms, para la caducidad)
+ * 13 long  id
+ * 21 long  uuid (64 bits altos)    29 long uuid (64 bits bajos)
+ * 37 float precio
+ * 41 long  createdAt (segundos UTC) 49 int nanos
+ * 53 long  updatedAt (segundos UTC) 61 int nanos
+ * 65 short+bytes nombre, short+bytes artista, short+bytes genero
+ * </pre>
+ * El id, el uuid y la fecha de carga están en posiciones fijas: se pueden leer sin decodificar el resto.
+ */
+final class AlbumRegistro {
+
+    static final int LONGITUD = 0;
+    private static final int PRESENTES = 4;
+    private static final int CARGADO_EN = 5;
+    private static final int ID = 13;
+    private static final int UUID_ALTO = 21;
+    private static final int UUID_BAJO = 29;
+    private static final int PRECIO = 37;
+    private static final int CREADO = 41;
+    private static final int ACTUALIZADO = 53;
+    private static final int TEXTOS = 65;
+
+    private static final int CON_ID = 1;
+    private static final int CON_UUID = 1 << 1;
+    private static final int CON_PRECIO = 1 << 2;
+    private static final int CON_CREADO = 1 << 3;
+    private static final int CON_ACTUALIZADO = 1 << 4;
+    private static final int CON_NOMBRE = 1 << 5;
+    private static final int CON_ARTISTA = 1 << 6;
+    private static final int CON_GENERO = 1 << 7;
+
+    // Longitud máxima de cada texto (cabe en un short sin signo).
+    private static final int TEXTO_MAXIMO = 0xFFFF;
+
+    private AlbumRegistro() {
+    }
+
+    /**
+     * Codifica el álbum en un array listo para copiar al slab.
+     *
+     * @return el registro, o null si algún texto es demasiado largo para este formato (no se cachea)
+     */
+    static byte[] codificar(AlbumResponseDto dto, long cargadoEn) {
+        byte[] nombre = utf8(dto.getNombre());
+        byte[] artista = utf8(dto.getArtista());
+        byte[] genero = utf8(dto.getGenero());
+        if (demasiadoLargo(nombre) || demasiadoLargo(artista) || demasiadoLargo(genero)) {
+            return null;
+        }
+        int longitud = TEXTOS + 6 + largo(nombre) + largo(artista) + largo(genero);
+        ByteBuffer b = ByteBuffer.allocate(longitud);
+        int presentes = (dto.getId() != null ? CON_ID : 0)
+                | (dto.getUuid() != null ? CON_UUID : 0)
+                | (dto.getPrecio() != null ? CON_PRECIO : 0)
+                | (dto.getCreatedAt() != null ? CON_CREADO : 0)
+                | (dto.getUpdatedAt() != null ? CON_ACTUALIZADO : 0)
+                | (nombre != null ? CON_NOMBRE : 0)
+                | (artista != null ? CON_ARTISTA : 0)
+                | (genero != null ? CON_GENERO : 0);
+        b.putInt(LONGITUD, longitud);
+        b.put(PRESENTES, (byte) presentes);
+        b.putLong(CARGADO_EN, cargadoEn);
+        b.putLong(ID, dto.getId() != null ? dto.getId() : 0);
+        b.putLong(UUID_ALTO, dto.getUuid() != null ? dto.getUuid().getMostSignificantBits() : 0);
+        b.putLong(UUID_BAJO, dto.getUuid() != null ? dto.getUuid().getLeastSignificantBits() : 0);
+        b.putFloat(PRECIO, dto.getPrecio() != null ? dto.getPrecio() : 0f);
+        fecha(b, CREADO, dto.getCreatedAt());
+        fecha(b, ACTUALIZADO, dto.getUpdatedAt());
+        b.position(TEXTOS);
+        texto(b, nombre);
+        texto(b, artista);
+        texto(b, genero);
+        return b.array();
+    }
+
+    /**
+     * Decodifica el registro que empieza en {@code pos}. Solo se llama en un acierto de caché.
+     */
+    static AlbumResponseDto decodificar(ByteBuffer slab, int pos) {
+        int presentes = slab.get(pos + PRESENTES) & 0xFF;
+        int p = pos + TEXTOS;
+        String nombre = (presentes & CON_NOMBRE) != 0 ? leerTexto(slab, p) : null;
+        p += 2 + (slab.getShort(p) & 0xFFFF);
+        String artista = (presentes & CON_ARTISTA) != 0 ? leerTexto(slab, p) : null;
+        p += 2 + (slab.getShort(p) & 0xFFFF);
+        String genero = (presentes & CON_GENERO) != 0 ? leerTexto(slab, p) : null;
+        return AlbumResponseDto.builder()
+                .id((presentes & CON_ID) != 0 ? slab.getLong(pos + ID) : null)
+                .uuid((presentes & CON_UUID) != 0 ? uuid(slab, pos) : null)
+                .precio((presentes & CON_PRECIO) != 0 ? slab.getFloat(pos + PRECIO) : null)
+                .createdAt((presentes & CON_CREADO) != 0 ? leerFecha(slab, pos + CREADO) : null)
+                .updatedAt((presentes & CON_ACTUALIZADO) != 0 ? leerFecha(slab, pos + ACTUALIZADO) : null)
+                .nombre(nombre)
+                .artista(artista)
+                .genero(genero)
+                .build();
+    }
+
+    // Lectores de los campos de posición fija (sin decodificar el registro entero).
+
+    static int longitud(ByteBuffer slab, int pos) {
+        return slab.getInt(pos + LONGITUD);
+    }
+
+    static long cargadoEn(ByteBuffer slab, int pos) {
+        return slab.getLong(pos + CARGADO_EN);
+    }
+
+    static boolean tieneId(ByteBuffer slab, int pos) {
+        return (slab.get(pos + PRESENTES) & CON_ID) != 0;
+    }
+
+    static long id(ByteBuffer slab, int pos) {
+        return slab.getLong(pos + ID);
+    }
+
+    static boolean tieneUuid(ByteBuffer slab, int pos) {
+        return (slab.get(pos + PRESENTES) & CON_UUID) != 0;
+    }
+
+    static UUID uuid(ByteBuffer slab, int pos) {
+        return new UUID(slab.getLong(pos + UUID_ALTO), slab.getLong(pos + UUID_BAJO));
+    }
+
+    private static byte[] utf8(String s) {
+        return s != null ? s.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static boolean demasiadoLargo(byte[] texto) {
+        return texto != null && texto.length > TEXTO_MAXIMO;
+    }
+
+    private static int largo(byte[] texto) {
+        return texto != null ? texto.length : 0;
+    }
+
+    private static void texto(ByteBuffer b, byte[] texto) {
+        b.putShort((short) largo(texto));
+        if (texto != null) {
+            b.put(texto);
+        }
+    }
+
+    private static String leerTexto(ByteBuffer slab, int p) {
+        byte[] bytes = new byte[slab.getShort(p) & 0xFFFF];
+        slab.get(p + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Las fechas se guardan sin zona en la BD: las tratamos como UTC, sin perder los nanosegundos.
+    private static void fecha(ByteBuffer b, int pos, LocalDateTime fecha) {
+        if (fecha != null) {
+            b.putLong(pos, fecha.toEpochSecond(ZoneOffset.UTC));
+            b.putInt(pos + 8, fecha.getNano());
+        }
+    }
+
+    private static LocalDateTime leerFecha(ByteBuffer slab, int pos) {
+        return LocalDateTime.ofEpochSecond(slab.getLong(pos), slab.getInt(pos + 8), ZoneOffset.UTC);
+    }
+}
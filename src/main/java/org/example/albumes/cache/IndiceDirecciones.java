@@ -0,0 +1,127 @@
+package org.example.albumes.cache;
+
+import java.util.Arrays;
+
+/**
+ * Mapa long -> long (clave -> dirección del registro en los slabs) con direccionamiento abierto.
+ * <p>
+ * Sin objetos por entrada: dos arrays de long. Un ConcurrentHashMap&lt;Long, Long&gt; gastaría en el heap
+ * unos 80 bytes por entrada (nodo + dos Long); aquí son 16 bytes por hueco.
+ * No es seguro para hilos: AlbumOffHeapCache lo protege con su cerrojo.
+ */
+final class IndiceDirecciones {
+
+    // Ninguna dirección válida es negativa (slab y posición son >= 0).
+    static final long VACIO = -1L;
+    private static final float CARGA_MAXIMA = 0.6f;
+
+    private long[] claves;
+    private long[] direcciones;
+    private int tamano;
+
+    IndiceDirecciones(int capacidadInicial) {
+        int huecos = Integer.highestOneBit(Math.max(16, (int) (capacidadInicial / CARGA_MAXIMA)) - 1) << 1;
+        claves = new long[huecos];
+        direcciones = new long[huecos];
+        Arrays.fill(direcciones, VACIO);
+    }
+
+    long get(long clave) {
+        int mascara = claves.length - 1;
+        for (int i = hueco(clave, mascara); ; i = (i + 1) & mascara) {
+            if (direcciones[i] == VACIO) {
+                return VACIO;
+            }
+            if (claves[i] == clave) {
+                return direcciones[i];
+            }
+        }
+    }
+
+    void put(long clave, long direccion) {
+        if (tamano + 1 > claves.length * CARGA_MAXIMA) {
+            crecer();
+        }
+        int mascara = claves.length - 1;
+        int i = hueco(clave, mascara);
+        while (direcciones[i] != VACIO && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        if (direcciones[i] == VACIO) {
+            tamano++;
+        }
+        claves[i] = clave;
+        direcciones[i] = direccion;
+    }
+
+    /**
+     * Borra la clave solo si sigue apuntando a {@code direccion} (si ya apunta a un registro más nuevo, se deja).
+     */
+    boolean remove(long clave, long direccion) {
+        int mascara = claves.length - 1;
+        for (int i = hueco(clave, mascara); ; i = (i + 1) & mascara) {
+            if (direcciones[i] == VACIO) {
+                return false;
+            }
+            if (claves[i] == clave) {
+                if (direccion != VACIO && direcciones[i] != direccion) {
+                    return false;
+                }
+                borrarHueco(i, mascara);
+                tamano--;
+                return true;
+            }
+        }
+    }
+
+    boolean remove(long clave) {
+        return remove(clave, VACIO);
+    }
+
+    int size() {
+        return tamano;
+    }
+
+    void clear() {
+        Arrays.fill(direcciones, VACIO);
+        tamano = 0;
+    }
+
+    // Borrado con desplazamiento hacia atrás: sin "lápidas", las búsquedas no se degradan con el tiempo.
+    private void borrarHueco(int libre, int mascara) {
+        int i = libre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (direcciones[i] == VACIO) {
+                break;
+            }
+            int ideal = hueco(claves[i], mascara);
+            // ¿La entrada i puede ocupar el hueco libre sin quedar antes de su posición ideal?
+            if (((i - ideal) & mascara) >= ((i - libre) & mascara)) {
+                claves[libre] = claves[i];
+                direcciones[libre] = direcciones[i];
+                libre = i;
+            }
+        }
+        direcciones[libre] = VACIO;
+    }
+
+    private void crecer() {
+        long[] viejasClaves = claves;
+        long[] viejasDirecciones = direcciones;
+        claves = new long[viejasClaves.length * 2];
+        direcciones = new long[viejasClaves.length * 2];
+        Arrays.fill(direcciones, VACIO);
+        tamano = 0;
+        for (int i = 0; i < viejasClaves.length; i++) {
+            if (viejasDirecciones[i] != VACIO) {
+                put(viejasClaves[i], viejasDirecciones[i]);
+            }
+        }
+    }
+
+    private static int hueco(long clave, int mascara) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
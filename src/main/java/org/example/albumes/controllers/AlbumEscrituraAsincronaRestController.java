@@ -0,0 +1,66 @@
+package org.example.albumes.controllers;
+
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.EscrituraAsincronaDto;
+import org.example.albumes.escritura.EscrituraAsincronaService;
+import org.example.albumes.exceptions.ColaLlenaException;
+import org.example.albumes.exceptions.EscrituraNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+/**
+ * Alta ASÍNCRONA de álbumes para clientes de ingesta (ver EscrituraAsincronaService).
+ * Es opcional: POST /albumes sigue siendo síncrono.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/${api.version}/albumes/async")
+public class AlbumEscrituraAsincronaRestController {
+
+    private final EscrituraAsincronaService escrituraAsincronaService;
+
+    /**
+     * Encola un álbum para crearlo en segundo plano.
+     *
+     * @param createDto los mismos datos (y validaciones) que POST /albumes
+     * @return 202 ACCEPTED con el id de seguimiento y la cabecera Location para consultar el estado
+     * @throws ColaLlenaException si la cola está llena (503, con Retry-After)
+     */
+    @PostMapping()
+    public ResponseEntity<EscrituraAsincronaDto> create(@Valid @RequestBody AlbumCreateDto createDto) {
+        log.info("Encolando álbum : {}", createDto);
+        var escritura = escrituraAsincronaService.encolar(createDto);
+        var location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}").buildAndExpand(escritura.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(escritura);
+    }
+
+    /**
+     * Estado de un álbum encolado: PENDIENTE, CONFIRMADO (con su albumId) o FALLIDO (con el error).
+     *
+     * @throws EscrituraNotFoundException si no existe o ya caducó (404)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<EscrituraAsincronaDto> getEstado(@PathVariable UUID id) {
+        return ResponseEntity.ok(escrituraAsincronaService.estado(id));
+    }
+
+    // Cola llena: 503 con Retry-After para que el cliente de ingesta frene y reintente.
+    @ExceptionHandler(ColaLlenaException.class)
+    public ResponseEntity<ProblemDetail> handleColaLlena(ColaLlenaException ex) {
+        var problema = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problema);
+    }
+}
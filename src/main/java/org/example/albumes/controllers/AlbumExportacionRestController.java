@@ -0,0 +1,56 @@
+package org.example.albumes.controllers;
+
+import org.example.albumes.dto.ExportacionDto;
+import org.example.albumes.exceptions.ExportacionNotFoundException;
+import org.example.albumes.exportacion.ExportacionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Exportación del catálogo en formato columnar comprimido (.albc) para el equipo de análisis.
+ * Ver ColumnarAlbumWriter para la descripción del formato.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/${api.version}/albumes/exportaciones")
+public class AlbumExportacionRestController {
+
+    private final ExportacionService exportacionService;
+
+    /**
+     * Genera una exportación nueva con todo el catálogo.
+     *
+     * @return 201 CREATED con los datos de la exportación y la cabecera Location para descargarla
+     */
+    @PostMapping()
+    public ResponseEntity<ExportacionDto> exportar() {
+        log.info("Exportando el catálogo en formato columnar");
+        var exportacion = exportacionService.exportar();
+        var location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{archivo}").buildAndExpand(exportacion.getArchivo()).toUri();
+        return ResponseEntity.created(location).body(exportacion);
+    }
+
+    /**
+     * Descarga un fichero exportado.
+     *
+     * @throws ExportacionNotFoundException si no existe (404)
+     */
+    @GetMapping("/{archivo}")
+    public ResponseEntity<Resource> descargar(@PathVariable String archivo) {
+        var ruta = exportacionService.archivo(archivo);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(new FileSystemResource(ruta));
+    }
+}
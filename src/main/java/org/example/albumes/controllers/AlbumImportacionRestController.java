@@ -0,0 +1,73 @@
+package org.example.albumes.controllers;
+
+import org.example.albumes.dto.ImportacionEstadoDto;
+import org.example.albumes.exceptions.AlbumBadRequestException;
+import org.example.albumes.exceptions.ImportacionNotFoundException;
+import org.example.albumes.importacion.FormatoImportacion;
+import org.example.albumes.importacion.ImportacionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Importaciones masivas de álbumes desde ficheros CSV o JSON (catálogos de discográficas).
+ * El fichero debe estar en el directorio de importaciones del servidor (albumes.importacion.directorio).
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/${api.version}/albumes/importaciones")
+public class AlbumImportacionRestController {
+
+    private final ImportacionService importacionService;
+
+    /**
+     * Lanza la importación de un fichero. Si ya se importó a medias, continúa donde se quedó.
+     *
+     * @param archivo nombre del fichero en el directorio de importaciones (?archivo=catalogo.csv)
+     * @param formato CSV o JSON (opcional: si no se indica, se deduce de la extensión)
+     * @return 202 ACCEPTED con el estado inicial y la cabecera Location para consultar el progreso
+     * @throws AlbumBadRequestException si el fichero no existe o ya se está importando (400)
+     */
+    @PostMapping()
+    public ResponseEntity<ImportacionEstadoDto> importar(@RequestParam String archivo,
+                                                         @RequestParam(required = false) FormatoImportacion formato) {
+        log.info("Importando álbumes del fichero {}", archivo);
+        var estado = importacionService.iniciar(archivo, formato != null ? formato : formatoPorExtension(archivo));
+        var location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}").buildAndExpand(estado.getId()).toUri();
+        // 202 Accepted: la petición se ha aceptado pero el trabajo sigue en segundo plano.
+        return ResponseEntity.accepted().location(location).body(estado);
+    }
+
+    /**
+     * Progreso de una importación (filas leídas, importadas, con error, filas por segundo...).
+     *
+     * @throws ImportacionNotFoundException si no existe (404)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacionEstadoDto> getEstado(@PathVariable String id) {
+        return ResponseEntity.ok(importacionService.estado(id));
+    }
+
+    // Todas las importaciones lanzadas desde que arrancó la aplicación.
+    @GetMapping()
+    public ResponseEntity<List<ImportacionEstadoDto>> getAll() {
+        return ResponseEntity.ok(importacionService.estados());
+    }
+
+    private static FormatoImportacion formatoPorExtension(String archivo) {
+        String nombre = archivo.toLowerCase();
+        if (nombre.endsWith(".csv")) {
+            return FormatoImportacion.CSV;
+        }
+        if (nombre.endsWith(".json") || nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson")) {
+            return FormatoImportacion.JSON;
+        }
+        throw new AlbumBadRequestException("No se reconoce el formato de " + archivo + ". Indica ?formato=CSV o JSON");
+    }
+}
@@ -1,15 +1,25 @@
 package org.example.albumes.controllers;
 
+import org.example.albumes.cache.AlbumBytesCache;
 import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumEstadisticasDto;
+import org.example.albumes.dto.AlbumFiltro;
+import org.example.albumes.dto.AlbumPaginaDto;
 import org.example.albumes.dto.AlbumResponseDto;
 import org.example.albumes.dto.AlbumUpdateDto;
+import org.example.albumes.escritura.ActualizacionesAgrupadas;
 import org.example.albumes.exceptions.AlbumBadRequestException;
 import org.example.albumes.exceptions.AlbumNotFoundException;
+import org.example.albumes.services.AlbumEstadisticasService;
+import org.example.albumes.services.AlbumIndicesService;
 import org.example.albumes.services.AlbumService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -17,6 +27,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,34 +49,136 @@ import java.util.Map;
 public class AlbumRestController {
     // Servicio de álbumes. El controlador NUNCA debe hablar con el repositorio, solo con el servicio.
     private final AlbumService albumService;
+    // Caché de respuestas ya serializadas a JSON para la lectura por id (el endpoint más usado).
+    private final AlbumBytesCache albumBytesCache;
+    // Estadísticas de precio mantenidas en memoria.
+    private final AlbumEstadisticasService albumEstadisticasService;
+    // Índices ordenados en memoria (por precio y por fecha de alta).
+    private final AlbumIndicesService albumIndicesService;
+    // Agrupa las actualizaciones simultáneas de un mismo álbum en una sola escritura (si está activado).
+    private final ActualizacionesAgrupadas actualizacionesAgrupadas;
 
     /**
-     * Obtiene todos los álbumes
+     * Obtiene todos los álbumes, opcionalmente filtrados y ordenados.
+     * Todos los filtros se combinan (AND) en una única consulta.
      *
      * @param nombre    Nombre del álbum (parámetro opcional en la URL ?nombre=...)
+     * @param nombreEmpieza Nombre que empieza por (?nombreEmpieza=abb), la búsqueda que aprovecha el índice
      * @param artista   Artista del álbum (parámetro opcional en la URL ?artista=...)
-     * @return Lista de álbumes y código 200 OK
+     * @param genero    Género exacto, sin distinguir mayúsculas (?genero=Rock)
+     * @param precioMin Precio mínimo (?precioMin=10)
+     * @param precioMax Precio máximo (?precioMax=20)
+     * @param desde     Creados desde esta fecha (?desde=2024-01-01T00:00:00)
+     * @param hasta     Creados hasta esta fecha (?hasta=2024-12-31T23:59:59)
+     * @param sort      Orden (?sort=precio,desc&sort=nombre). Spring lo convierte en un objeto Sort.
+     * @param ids       Varios álbumes por id (?ids=1,2,3). Si se indica, se ignoran los filtros.
+     * @param uuids     Varios álbumes por uuid (?uuids=...,...). Si se indica, se ignoran los filtros.
+     * @return Lista de álbumes y código 200 OK. Con ids/uuids, en el orden pedido y sin los que no existen.
+     * @throws AlbumBadRequestException si se pide ordenar por un campo no permitido, o ids y uuids a la vez (400)
      */
     @GetMapping() // Mapea peticiones HTTP GET a esta función.
     public ResponseEntity<List<AlbumResponseDto>> getAll(
             @RequestParam(required = false) String nombre,
-            @RequestParam(required = false) String artista) {
-        log.info("Buscando álbumes por nombre={}, artista={}", nombre, artista);
+            @RequestParam(required = false) String nombreEmpieza,
+            @RequestParam(required = false) String artista,
+            @RequestParam(required = false) String genero,
+            @RequestParam(required = false) Float precioMin,
+            @RequestParam(required = false) Float precioMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            Sort sort,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) List<String> uuids) {
+        // Multi-get: una sola petición en lugar de una por álbum (GET /albumes/{id} repetido).
+        if (ids != null && uuids != null) {
+            throw new AlbumBadRequestException("Indica ids o uuids, no ambos");
+        }
+        if (ids != null) {
+            return ResponseEntity.ok(albumService.findAllById(ids));
+        }
+        if (uuids != null) {
+            return ResponseEntity.ok(albumService.findAllByUuid(uuids));
+        }
+
+        var filtro = AlbumFiltro.builder()
+                .nombre(nombre).nombreEmpieza(nombreEmpieza).artista(artista).genero(genero)
+                .precioMin(precioMin).precioMax(precioMax)
+                .desde(desde).hasta(hasta)
+                .orden(sort)
+                .build();
+        log.info("Buscando álbumes por {}", filtro);
         // Llama al servicio y envuelve la lista en un ResponseEntity con estado OK.
-        return ResponseEntity.ok(albumService.findAll(nombre, artista));
+        return ResponseEntity.ok(albumService.findAll(filtro));
+    }
+
+    /**
+     * Estadísticas de precio del catálogo: total, mínimo, máximo, media y suma,
+     * globales, por género y por artista. No lanza ningún GROUP BY: se sirven desde memoria.
+     *
+     * @return AlbumEstadisticasDto y código 200 OK
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AlbumEstadisticasDto> getStats() {
+        log.info("Obteniendo estadísticas de álbumes");
+        return ResponseEntity.ok(albumEstadisticasService.estadisticas());
+    }
+
+    /**
+     * Álbumes por precio, de menor a mayor, servidos desde el índice en memoria (sin ORDER BY en la base de datos).
+     * Los N más baratos de un género: ?genero=Rock&limite=10. Entre dos precios: ?min=10&max=20 (con o sin género).
+     *
+     * @param genero    Género (opcional)
+     * @param min       Precio mínimo incluido (opcional)
+     * @param max       Precio máximo incluido (opcional)
+     * @param limite    Álbumes por página (1 a 100, por defecto 20)
+     * @param despuesDe El campo "siguiente" de la página anterior, para pedir la siguiente
+     * @return AlbumPaginaDto y código 200 OK
+     * @throws AlbumBadRequestException si el cursor no es válido (400)
+     */
+    @GetMapping("/por-precio")
+    public ResponseEntity<AlbumPaginaDto> getPorPrecio(
+            @RequestParam(required = false) String genero,
+            @RequestParam(required = false) Float min,
+            @RequestParam(required = false) Float max,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(required = false) String despuesDe) {
+        return ResponseEntity.ok(albumIndicesService.porPrecio(genero, min, max, limiteValido(limite), despuesDe));
+    }
+
+    /**
+     * Novedades: los álbumes más recientes primero, servidos desde el índice en memoria.
+     *
+     * @param limite    Álbumes por página (1 a 100, por defecto 20)
+     * @param despuesDe El campo "siguiente" de la página anterior, para pedir la siguiente
+     * @return AlbumPaginaDto y código 200 OK
+     * @throws AlbumBadRequestException si el cursor no es válido (400)
+     */
+    @GetMapping("/novedades")
+    public ResponseEntity<AlbumPaginaDto> getNovedades(
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(required = false) String despuesDe) {
+        return ResponseEntity.ok(albumIndicesService.novedades(limiteValido(limite), despuesDe));
+    }
+
+    private static int limiteValido(int limite) {
+        return Math.clamp(limite, 1, AlbumIndicesService.MAX_LIMITE);
     }
 
     /**
      * Obtiene un álbum por su id
      *
+     * Devolvemos directamente los bytes JSON guardados en AlbumBytesCache: así no volvemos a pasar
+     * por Jackson en cada petición, solo la primera vez (o tras una modificación del álbum).
+     *
      * @param id del álbum, se pasa como PARTE de la ruta (ej: /albumes/5)
-     * @return AlbumResponseDto si existe
+     * @return AlbumResponseDto (ya serializado en JSON) si existe
      * @throws AlbumNotFoundException si no existe el álbum (404) (gestionado automáticamente por la excepción)
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<AlbumResponseDto> getById(@PathVariable Long id) {
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getById(@PathVariable Long id) {
         log.info("Buscando álbum por id={}", id);
-        return ResponseEntity.ok(albumService.findById(id));
+        byte[] json = albumBytesCache.obtener(id, MediaType.APPLICATION_JSON, () -> albumService.findById(id));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
     }
 
     /**
@@ -99,7 +212,7 @@ public class AlbumRestController {
     @PutMapping("/{id}") // Mapea peticiones HTTP PUT (actualización completa)
     public ResponseEntity<AlbumResponseDto> update(@PathVariable Long id, @Valid @RequestBody AlbumUpdateDto updateDto) {
         log.info("Actualizando álbum id={} con álbum={}", id, updateDto);
-        return ResponseEntity.ok(albumService.update(id, updateDto));
+        return ResponseEntity.ok(actualizacionesAgrupadas.actualizar(id, updateDto));
     }
 
     /**
@@ -114,7 +227,7 @@ public class AlbumRestController {
     @PatchMapping("/{id}") // Mapea peticiones HTTP PATCH (actualización parcial)
     public ResponseEntity<AlbumResponseDto> updatePartial(@PathVariable Long id, @Valid @RequestBody AlbumUpdateDto updateDto) {
         log.info("Actualizando parcialmente álbum con id={} con álbum={}",id, updateDto);
-        return ResponseEntity.ok(albumService.update(id, updateDto));
+        return ResponseEntity.ok(actualizacionesAgrupadas.actualizar(id, updateDto));
     }
 
     /**
@@ -0,0 +1,43 @@
+package org.example.albumes.controllers;
+
+import org.example.albumes.dto.GeneroRequestDto;
+import org.example.albumes.exceptions.GeneroConflictException;
+import org.example.albumes.models.Genero;
+import org.example.albumes.services.CatalogoGeneros;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Catálogo de géneros válidos para los álbumes.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/${api.version}/generos")
+public class GeneroRestController {
+
+    private final CatalogoGeneros catalogoGeneros;
+
+    // GET /api/v1/generos -> ["Pop", "Rock"]
+    @GetMapping()
+    public ResponseEntity<List<Genero>> getAll() {
+        return ResponseEntity.ok(catalogoGeneros.todos());
+    }
+
+    /**
+     * Añade un género. A partir de ese momento se aceptan álbumes con él.
+     *
+     * @throws GeneroConflictException si ya existe (409)
+     */
+    @PostMapping()
+    public ResponseEntity<Genero> create(@Valid @RequestBody GeneroRequestDto generoRequestDto) {
+        log.info("Creando género: {}", generoRequestDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(catalogoGeneros.crear(generoRequestDto.getNombre()));
+    }
+}
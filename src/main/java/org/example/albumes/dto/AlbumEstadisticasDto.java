@@ -0,0 +1,19 @@
+package org.example.albumes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Respuesta de GET /albumes/stats: estadísticas de precio globales, por género y por artista.
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlbumEstadisticasDto {
+    private EstadisticasPrecioDto global;
+    private Map<String, EstadisticasPrecioDto> porGenero;
+    private Map<String, EstadisticasPrecioDto> porArtista;
+}
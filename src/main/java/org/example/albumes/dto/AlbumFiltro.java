@@ -0,0 +1,26 @@
+package org.example.albumes.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+// Filtros de búsqueda de álbumes (todos opcionales: si un campo es null, no se filtra por él).
+// Lo construye el controlador con los parámetros de la URL y lo traduce a SQL AlbumSpecifications.
+@Builder
+@Data
+public class AlbumFiltro {
+    private final String nombre;      // Contiene (sin distinguir mayúsculas)
+    private final String nombreEmpieza; // Empieza por (sin distinguir mayúsculas): usa el índice del nombre
+    private final String artista;     // Contiene (sin distinguir mayúsculas)
+    private final String genero;      // Igual (sin distinguir mayúsculas)
+    private final Float precioMin;    // Precio >= precioMin
+    private final Float precioMax;    // Precio <= precioMax
+    private final LocalDateTime desde; // createdAt >= desde
+    private final LocalDateTime hasta; // createdAt <= hasta
+
+    // Orden del resultado (ej: ?sort=precio,desc). Por defecto, sin ordenar.
+    @Builder.Default
+    private final Sort orden = Sort.unsorted();
+}
@@ -0,0 +1,19 @@
+package org.example.albumes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Una página de álbumes leída de un índice ordenado (GET /albumes/por-precio, /albumes/novedades).
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlbumPaginaDto {
+    private List<AlbumResponseDto> albumes;
+    // Se pasa tal cual en ?despuesDe= para pedir la página siguiente. Null si no hay más.
+    private String siguiente;
+}
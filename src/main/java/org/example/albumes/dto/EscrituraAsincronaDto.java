@@ -0,0 +1,22 @@
+package org.example.albumes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EscrituraAsincronaDto {
+    private UUID id;
+    private String estado; // PENDIENTE, CONFIRMADO o FALLIDO
+    private Long albumId;  // Cuando ya está CONFIRMADO
+    private String error;  // Cuando ha FALLADO
+    private LocalDateTime recibida;
+    private LocalDateTime terminada;
+}
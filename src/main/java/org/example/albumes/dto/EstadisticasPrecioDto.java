@@ -0,0 +1,20 @@
+package org.example.albumes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resumen de precios de un grupo de álbumes (todos, un género o un artista).
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EstadisticasPrecioDto {
+    private long total;
+    // Si el grupo está vacío, mínimo, máximo y media son null.
+    private Float minimo;
+    private Float maximo;
+    private Double media;
+    private Double suma;
+}
@@ -0,0 +1,21 @@
+package org.example.albumes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportacionDto {
+    private String archivo;
+    private long filas;
+    private int gruposDeFilas;
+    private long bytes;
+    private long milisegundos;
+    private LocalDateTime fecha;
+}
@@ -0,0 +1,18 @@
+package org.example.albumes.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GeneroRequestDto {
+    @NotBlank(message = "El nombre del género no puede estar vacío")
+    @Size(max = 50, message = "El nombre del género no puede tener más de 50 caracteres")
+    private String nombre;
+}
@@ -0,0 +1,39 @@
+package org.example.albumes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Progreso de una importación masiva de álbumes (GET /albumes/importaciones/{id}).
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacionEstadoDto {
+    private String id;
+    private String archivo;
+    private String formato;
+    private String estado; // EN_CURSO, COMPLETADA o FALLIDA
+
+    private long bytesTotales;
+    private long bytesProcesados;
+    // Si la importación se reanudó tras una caída, byte desde el que se continuó.
+    private long reanudadaDesde;
+
+    private long filasLeidas;
+    private long filasImportadas;
+    private long filasConError;
+
+    // Rendimiento desde que empezó (o se reanudó) esta ejecución.
+    private double filasPorSegundo;
+    private double megabytesPorSegundo;
+
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    // Primeros errores encontrados (fila y motivo), para poder corregir el fichero.
+    private List<String> errores;
+}
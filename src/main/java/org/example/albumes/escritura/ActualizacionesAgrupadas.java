@@ -0,0 +1,142 @@
+package org.example.albumes.escritura;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.AlbumUpdateDto;
+import org.example.albumes.services.AlbumService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Agrupa las actualizaciones (PUT/PATCH) que llegan casi a la vez para el MISMO álbum en una sola
+ * llamada a AlbumService.update: una lectura, un UPDATE y una escritura en la caché, en lugar de una por petición.
+ * <p>
+ * La primera petición de un álbum abre un lote y espera la ventana configurada; las que llegan mientras tanto
+ * se suman al lote y esperan. Al cerrarse la ventana se mezclan todas y se guardan de una vez. Todas reciben
+ * el mismo resultado: el estado final del álbum (o la misma excepción, si la actualización falla).
+ * <p>
+ * Mezcla campo a campo, "gana el último": para cada campo (nombre, género, precio) se queda el valor de la
+ * ÚLTIMA petición del lote que lo envía; los campos que una petición no envía (null) no borran los de las
+ * anteriores. "Última" es el orden en que entran en el lote, no el orden en que el cliente las mandó.
+ * <p>
+ * Desactivado por defecto (albumes.coalescencia.activa): cada petición espera hasta la ventana más,
+ * a cambio de menos escrituras cuando llegan ráfagas (el motor de precios).
+ */
+@Slf4j
+@Component
+public class ActualizacionesAgrupadas {
+
+    // Las actualizaciones pendientes de un álbum. Solo se modifica dentro de compute() sobre su clave.
+    private static final class Lote {
+        final List<AlbumUpdateDto> cambios = new ArrayList<>();
+        final CompletableFuture<AlbumResponseDto> resultado = new CompletableFuture<>();
+    }
+
+    private final AlbumService albumService;
+    private final boolean activa;
+    private final long ventanaMs;
+    private final ConcurrentHashMap<Long, Lote> abiertos = new ConcurrentHashMap<>();
+
+    private final Counter escrituras;
+    private final Counter agrupadas;
+
+    public ActualizacionesAgrupadas(AlbumService albumService, MeterRegistry registry,
+                                    @Value("${albumes.coalescencia.activa:false}") boolean activa,
+                                    @Value("${albumes.coalescencia.ventana-ms:5}") long ventanaMs) {
+        this.albumService = albumService;
+        this.activa = activa;
+        this.ventanaMs = ventanaMs;
+        this.escrituras = Counter.builder("albumes.coalescencia.escrituras")
+                .description("Actualizaciones de álbumes guardadas (una por lote)").register(registry);
+        this.agrupadas = Counter.builder("albumes.coalescencia.agrupadas")
+                .description("Actualizaciones que se sumaron al lote de otra y no hicieron su propia escritura")
+                .register(registry);
+    }
+
+    public AlbumResponseDto actualizar(Long id, AlbumUpdateDto updateDto) {
+        if (!activa) {
+            return albumService.update(id, updateDto);
+        }
+        Lote nuevo = new Lote();
+        Lote lote = abiertos.compute(id, (clave, abierto) -> {
+            Lote destino = abierto != null ? abierto : nuevo;
+            destino.cambios.add(updateDto);
+            return destino;
+        });
+        if (lote != nuevo) {
+            agrupadas.increment();
+            return esperar(lote);
+        }
+        return guardar(id, lote);
+    }
+
+    // Mezcla en orden de llegada: cada campo enviado pisa al de las actualizaciones anteriores.
+    private static AlbumUpdateDto mezclar(List<AlbumUpdateDto> cambios) {
+        String nombre = null;
+        String genero = null;
+        Float precio = null;
+        for (AlbumUpdateDto cambio : cambios) {
+            if (cambio.getNombre() != null) {
+                nombre = cambio.getNombre();
+            }
+            if (cambio.getGenero() != null) {
+                genero = cambio.getGenero();
+            }
+            if (cambio.getPrecio() != null) {
+                precio = cambio.getPrecio();
+            }
+        }
+        return AlbumUpdateDto.builder().nombre(nombre).genero(genero).precio(precio).build();
+    }
+
+    private AlbumResponseDto guardar(Long id, Lote lote) {
+        try {
+            Thread.sleep(ventanaMs);
+        } catch (InterruptedException e) {
+            // Cerramos el lote ya: quien espera no debe quedarse sin respuesta.
+            Thread.currentThread().interrupt();
+        }
+        // A partir de aquí nadie más entra en este lote (remove y compute se excluyen sobre la misma clave):
+        // la siguiente actualización de este álbum abre otro.
+        abiertos.remove(id, lote);
+        List<AlbumUpdateDto> cambios = lote.cambios;
+        escrituras.increment();
+        try {
+            AlbumResponseDto actualizado = albumService.update(id, cambios.size() == 1 ? cambios.getFirst() : mezclar(cambios));
+            if (cambios.size() > 1) {
+                log.debug("Álbum {}: {} actualizaciones guardadas en una sola escritura", id, cambios.size());
+            }
+            lote.resultado.complete(actualizado);
+            return actualizado;
+        } catch (RuntimeException | Error e) {
+            lote.resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private AlbumResponseDto esperar(Lote lote) {
+        try {
+            return lote.resultado.get();
+        } catch (ExecutionException e) {
+            // Relanzamos la excepción original (404, 400...) para que se traduzca igual a HTTP.
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la actualización agrupada", e);
+        }
+    }
+}
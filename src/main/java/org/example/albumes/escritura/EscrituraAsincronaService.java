@@ -0,0 +1,214 @@
+package org.example.albumes.escritura;
+
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.EscrituraAsincronaDto;
+import org.example.albumes.exceptions.ColaLlenaException;
+import org.example.albumes.exceptions.EscrituraNotFoundException;
+import org.example.albumes.services.AlbumService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta de álbumes en modo asíncrono ("write-behind") para los clientes de ingesta.
+ * <p>
+ * POST /albumes hace una transacción (y una búsqueda del artista) por álbum. Aquí, en cambio:
+ * <ol>
+ *     <li>El álbum se valida y se mete en una cola en memoria ACOTADA; se responde 202 con un id de seguimiento.</li>
+ *     <li>Un único hilo escritor vacía la cola por lotes y guarda cada lote en UNA transacción (AlbumService.saveAll).</li>
+ *     <li>El estado de cada id (PENDIENTE, CONFIRMADO, FALLIDO) se consulta con estado(id).</li>
+ * </ol>
+ * Contrapresión: si la cola está llena, quien encola espera un poco; si sigue llena, recibe un 503.
+ * Ojo: lo que quede en la cola se pierde si la aplicación se cae (al pararla normalmente, se vacía antes).
+ */
+@Slf4j
+@Service
+public class EscrituraAsincronaService {
+
+    public enum Estado {PENDIENTE, CONFIRMADO, FALLIDO}
+
+    private record Pendiente(UUID id, AlbumCreateDto dto) {
+    }
+
+    // Estado de seguimiento de un id. Lo escribe el hilo escritor y lo leen las peticiones (volatile).
+    private static final class Seguimiento {
+        final LocalDateTime recibida = LocalDateTime.now();
+        volatile Estado estado = Estado.PENDIENTE;
+        volatile Long albumId;
+        volatile String error;
+        volatile LocalDateTime terminada;
+    }
+
+    private final AlbumService albumService;
+    private final int capacidad;
+    private final int tamanoLote;
+    private final long esperaCola;
+    private final Duration retencion;
+
+    private final BlockingQueue<Pendiente> cola;
+    private final Map<UUID, Seguimiento> seguimientos = new ConcurrentHashMap<>();
+    private Thread escritor;
+    private volatile boolean parando;
+
+    public EscrituraAsincronaService(AlbumService albumService,
+                                     @Value("${albumes.async.capacidad:10000}") int capacidad,
+                                     @Value("${albumes.async.tamano-lote:200}") int tamanoLote,
+                                     @Value("${albumes.async.espera-cola-ms:100}") long esperaCola,
+                                     @Value("${albumes.async.retencion-ms:3600000}") long retencion) {
+        this.albumService = albumService;
+        this.capacidad = capacidad;
+        this.tamanoLote = tamanoLote;
+        this.esperaCola = esperaCola;
+        this.retencion = Duration.ofMillis(retencion);
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        escritor = Thread.ofPlatform().name("albumes-escritor").daemon(true).start(this::escribir);
+    }
+
+    /**
+     * Encola un álbum para guardarlo en segundo plano.
+     *
+     * @return el estado inicial (PENDIENTE) con el id de seguimiento
+     * @throws ColaLlenaException si la cola sigue llena tras esperar (503)
+     */
+    public EscrituraAsincronaDto encolar(AlbumCreateDto dto) {
+        if (parando) {
+            throw new ColaLlenaException(capacidad);
+        }
+        var pendiente = new Pendiente(UUID.randomUUID(), dto);
+        var seguimiento = new Seguimiento();
+        seguimientos.put(pendiente.id(), seguimiento);
+        try {
+            // offer con espera: si la cola está llena, frenamos al productor un momento (contrapresión).
+            if (!cola.offer(pendiente, esperaCola, TimeUnit.MILLISECONDS)) {
+                seguimientos.remove(pendiente.id());
+                throw new ColaLlenaException(capacidad);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            seguimientos.remove(pendiente.id());
+            throw new ColaLlenaException(capacidad);
+        }
+        return aDto(pendiente.id(), seguimiento);
+    }
+
+    public EscrituraAsincronaDto estado(UUID id) {
+        Seguimiento seguimiento = seguimientos.get(id);
+        if (seguimiento == null) {
+            throw new EscrituraNotFoundException(id);
+        }
+        return aDto(id, seguimiento);
+    }
+
+    public int getPendientes() {
+        return cola.size();
+    }
+
+    // Bucle del hilo escritor: espera al primer álbum y se lleva todos los que haya (hasta tamanoLote).
+    private void escribir() {
+        List<Pendiente> lote = new ArrayList<>(tamanoLote);
+        while (!parando || !cola.isEmpty()) {
+            try {
+                Pendiente primero = cola.poll(500, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, tamanoLote - 1);
+                guardar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error inesperado en el escritor asíncrono de álbumes", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void guardar(List<Pendiente> lote) {
+        try {
+            List<AlbumResponseDto> guardados = albumService.saveAll(lote.stream().map(Pendiente::dto).toList());
+            // saveAll devuelve los álbumes en el mismo orden en que se le pasan.
+            for (int i = 0; i < lote.size(); i++) {
+                confirmar(lote.get(i).id(), guardados.get(i).getId());
+            }
+            log.debug("Lote asíncrono de {} álbumes confirmado", lote.size());
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                fallar(lote.get(0).id(), e);
+                return;
+            }
+            // Un álbum malo (artista inexistente...) no debe tumbar a los demás: los guardamos uno a uno.
+            log.warn("Falló un lote asíncrono de {} álbumes ({}), reintentando uno a uno", lote.size(), e.getMessage());
+            for (Pendiente pendiente : lote) {
+                guardar(List.of(pendiente));
+            }
+        }
+    }
+
+    private void confirmar(UUID id, Long albumId) {
+        Seguimiento seguimiento = seguimientos.get(id);
+        if (seguimiento != null) {
+            seguimiento.albumId = albumId;
+            seguimiento.terminada = LocalDateTime.now();
+            seguimiento.estado = Estado.CONFIRMADO;
+        }
+    }
+
+    private void fallar(UUID id, RuntimeException e) {
+        Seguimiento seguimiento = seguimientos.get(id);
+        if (seguimiento != null) {
+            seguimiento.error = e.getMessage();
+            seguimiento.terminada = LocalDateTime.now();
+            seguimiento.estado = Estado.FALLIDO;
+        }
+    }
+
+    // Los seguimientos terminados se olvidan pasado el tiempo de retención, para no llenar la memoria.
+    @Scheduled(fixedDelayString = "${albumes.async.limpieza-ms:60000}")
+    public void limpiar() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        seguimientos.values().removeIf(s -> s.terminada != null && s.terminada.isBefore(limite));
+    }
+
+    // Al parar la aplicación dejamos de aceptar álbumes y esperamos a que se escriba lo que queda en la cola.
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        parando = true;
+        escritor.join(Duration.ofSeconds(30));
+        if (!cola.isEmpty()) {
+            log.warn("Se pierden {} álbumes asíncronos que no dio tiempo a guardar", cola.size());
+        }
+    }
+
+    private static EscrituraAsincronaDto aDto(UUID id, Seguimiento seguimiento) {
+        return EscrituraAsincronaDto.builder()
+                .id(id)
+                .estado(seguimiento.estado.name())
+                .albumId(seguimiento.albumId)
+                .error(seguimiento.error)
+                .recibida(seguimiento.recibida)
+                .terminada(seguimiento.terminada)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.albumes.events;
+
+import org.example.albumes.dto.AlbumResponseDto;
+
+/**
+ * Evento que publica AlbumServiceImpl cada vez que un álbum se crea, se modifica o se borra.
+ * Así otros componentes (estadísticas, índices en memoria...) se mantienen al día sin que
+ * el servicio tenga que conocerlos.
+ *
+ * @param anterior estado antes del cambio (null si es un álbum nuevo)
+ * @param actual   estado después del cambio (null si se ha borrado)
+ */
+public record AlbumCambiadoEvent(AlbumResponseDto anterior, AlbumResponseDto actual) {
+
+    public static AlbumCambiadoEvent alta(AlbumResponseDto actual) {
+        return new AlbumCambiadoEvent(null, actual);
+    }
+
+    public static AlbumCambiadoEvent modificacion(AlbumResponseDto anterior, AlbumResponseDto actual) {
+        return new AlbumCambiadoEvent(anterior, actual);
+    }
+
+    public static AlbumCambiadoEvent baja(AlbumResponseDto anterior) {
+        return new AlbumCambiadoEvent(anterior, null);
+    }
+}
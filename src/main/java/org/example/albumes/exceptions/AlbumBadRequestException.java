@@ -1,7 +1,11 @@
 package org.example.albumes.exceptions;
 
-// Esta la usamos para errores generales de petición incorrecta (aunque aquí no tiene @ResponseStatus,
-// normalmente se gestionaría para devolver un 400).
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Esta la usamos para errores generales de petición incorrecta (ej: ordenar por un campo que no existe).
+// @ResponseStatus(HttpStatus.BAD_REQUEST): Devuelve un código 400.
+@ResponseStatus(HttpStatus.BAD_REQUEST)
 public class AlbumBadRequestException extends AlbumException {
     public AlbumBadRequestException(String message) {
         super(message);
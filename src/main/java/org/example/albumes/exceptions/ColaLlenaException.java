@@ -0,0 +1,12 @@
+package org.example.albumes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 503: la cola de escrituras asíncronas está llena; el cliente debe esperar y reintentar.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ColaLlenaException extends AlbumException {
+    public ColaLlenaException(int capacidad) {
+        super("La cola de escrituras asíncronas está llena (" + capacidad + " álbumes). Inténtalo más tarde.");
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.albumes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class EscrituraNotFoundException extends AlbumException {
+    public EscrituraNotFoundException(UUID id) {
+        super("Escritura asíncrona con id " + id + " no encontrada (o ya caducada).");
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.albumes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ExportacionNotFoundException extends AlbumException {
+    public ExportacionNotFoundException(String archivo) {
+        super("Exportación " + archivo + " no encontrada.");
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.albumes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class GeneroConflictException extends AlbumException {
+    public GeneroConflictException(String nombre) {
+        super("Ya existe el género " + nombre);
+    }
+}
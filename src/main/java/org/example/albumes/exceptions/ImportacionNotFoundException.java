@@ -0,0 +1,12 @@
+package org.example.albumes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Devuelve un 404 si se pide el estado de una importación que no existe.
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ImportacionNotFoundException extends AlbumException {
+    public ImportacionNotFoundException(String id) {
+        super("Importación con id " + id + " no encontrada.");
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.albumes.exportacion;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utilidades de codificación compartidas por el escritor y el lector del fichero columnar.
+ */
+final class Codificacion {
+
+    // "ALBC": cabecera y cola del fichero, para reconocerlo.
+    static final byte[] MAGIA = {'A', 'L', 'B', 'C'};
+    static final int VERSION = 1;
+
+    private Codificacion() {
+    }
+
+    // VARINT: 7 bits por byte, el bit alto indica que sigue otro byte. Los números pequeños ocupan 1 byte.
+    static void varint(ByteArrayOutputStream salida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            salida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.write((int) valor);
+    }
+
+    static long varint(ByteBuffer entrada) {
+        long valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = entrada.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    // ZIGZAG: convierte las diferencias negativas en positivas pequeñas (-1 -> 1, 1 -> 2...) para el varint.
+    static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    static void texto(ByteArrayOutputStream salida, String texto) {
+        if (texto == null) {
+            varint(salida, 0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        varint(salida, bytes.length + 1L);
+        salida.write(bytes, 0, bytes.length);
+    }
+
+    static String texto(ByteBuffer entrada) {
+        int longitud = (int) varint(entrada);
+        if (longitud == 0) {
+            return null;
+        }
+        String texto = new String(entrada.array(), entrada.arrayOffset() + entrada.position(), longitud - 1,
+                StandardCharsets.UTF_8);
+        entrada.position(entrada.position() + longitud - 1);
+        return texto;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.albumes.exportacion;
+
+/**
+ * Columnas del fichero columnar, en el orden en que se escriben dentro de cada grupo de filas.
+ * El nombre y el tipo de cada columna se guardan en el pie del fichero.
+ */
+enum Columna {
+    ID(Tipo.ENTERO_DELTA),
+    NOMBRE(Tipo.TEXTO),
+    ARTISTA(Tipo.DICCIONARIO),
+    GENERO(Tipo.DICCIONARIO),
+    PRECIO(Tipo.FLOAT32),
+    CREATED_AT(Tipo.ENTERO_DELTA);
+
+    /**
+     * Cómo se codifican los valores de la columna ANTES de comprimirlos.
+     */
+    enum Tipo {
+        // long: diferencia con el anterior en zigzag + varint (ids y fechas consecutivas ocupan 1-2 bytes).
+        ENTERO_DELTA,
+        // String: longitud + 1 en varint (0 = null) seguida de los bytes UTF-8.
+        TEXTO,
+        // String repetido: diccionario de valores distintos del grupo + un índice varint por fila (0 = null).
+        DICCIONARIO,
+        // float: 4 bytes little-endian, tal cual.
+        FLOAT32
+    }
+
+    final Tipo tipo;
+
+    Columna(Tipo tipo) {
+        this.tipo = tipo;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.albumes.exportacion;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lee un fichero generado por ColumnarAlbumWriter, grupo de filas a grupo de filas.
+ * Sirve de referencia del formato para el equipo de análisis y para comprobar las exportaciones.
+ */
+public final class ColumnarAlbumReader {
+
+    private ColumnarAlbumReader() {
+    }
+
+    /**
+     * Recorre todas las filas del fichero. Solo se descomprime un grupo de filas cada vez.
+     *
+     * @return número de filas leídas
+     */
+    public static long leer(Path ruta, Consumer<FilaColumnar> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            List<ColumnarAlbumWriter.Grupo> grupos = pie(canal);
+            Inflater inflater = new Inflater();
+            long filas = 0;
+            try {
+                for (ColumnarAlbumWriter.Grupo grupo : grupos) {
+                    ByteBuffer[] columnas = new ByteBuffer[Columna.values().length];
+                    for (Columna columna : Columna.values()) {
+                        columnas[columna.ordinal()] = descomprimir(canal, grupo.bloques().get(columna.ordinal()), inflater);
+                    }
+                    filas += leerGrupo(grupo.filas(), columnas, consumidor);
+                }
+            } finally {
+                inflater.end();
+            }
+            return filas;
+        }
+    }
+
+    private static long leerGrupo(int filas, ByteBuffer[] columnas, Consumer<FilaColumnar> consumidor) {
+        String[] artistas = diccionario(columnas[Columna.ARTISTA.ordinal()], filas);
+        String[] generos = diccionario(columnas[Columna.GENERO.ordinal()], filas);
+        ByteBuffer ids = columnas[Columna.ID.ordinal()];
+        ByteBuffer nombres = columnas[Columna.NOMBRE.ordinal()];
+        ByteBuffer precios = columnas[Columna.PRECIO.ordinal()].order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer fechas = columnas[Columna.CREATED_AT.ordinal()];
+        long id = 0;
+        long fecha = 0;
+        for (int i = 0; i < filas; i++) {
+            id += Codificacion.deszigzag(Codificacion.varint(ids));
+            fecha += Codificacion.deszigzag(Codificacion.varint(fechas));
+            consumidor.accept(new FilaColumnar(id, Codificacion.texto(nombres), artistas[i], generos[i],
+                    precios.getFloat(), fecha));
+        }
+        return filas;
+    }
+
+    private static String[] diccionario(ByteBuffer columna, int filas) {
+        String[] distintos = new String[(int) Codificacion.varint(columna) + 1];
+        for (int i = 1; i < distintos.length; i++) {
+            distintos[i] = Codificacion.texto(columna);
+        }
+        String[] valores = new String[filas];
+        for (int i = 0; i < filas; i++) {
+            valores[i] = distintos[(int) Codificacion.varint(columna)];
+        }
+        return valores;
+    }
+
+    private static ByteBuffer descomprimir(FileChannel canal, ColumnarAlbumWriter.Bloque bloque, Inflater inflater)
+            throws IOException {
+        ByteBuffer comprimido = ByteBuffer.allocate(bloque.comprimido());
+        leerCompleto(canal, comprimido, bloque.posicion());
+        byte[] original = new byte[bloque.original()];
+        inflater.reset();
+        inflater.setInput(comprimido.array());
+        try {
+            int leidos = 0;
+            while (leidos < original.length && !inflater.finished()) {
+                leidos += inflater.inflate(original, leidos, original.length - leidos);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloque comprimido corrupto en la posición " + bloque.posicion(), e);
+        }
+        return ByteBuffer.wrap(original);
+    }
+
+    private static List<ColumnarAlbumWriter.Grupo> pie(FileChannel canal) throws IOException {
+        long tamano = canal.size();
+        ByteBuffer cola = ByteBuffer.allocate(Integer.BYTES + Codificacion.MAGIA.length);
+        leerCompleto(canal, cola, tamano - cola.capacity());
+        byte[] magia = Arrays.copyOfRange(cola.array(), Integer.BYTES, cola.capacity());
+        if (!Arrays.equals(magia, Codificacion.MAGIA)) {
+            throw new IOException("No es un fichero columnar de álbumes");
+        }
+        ByteBuffer pie = ByteBuffer.allocate(cola.getInt(0));
+        leerCompleto(canal, pie, tamano - cola.capacity() - pie.capacity());
+
+        DataInputStream datos = new DataInputStream(new ByteArrayInputStream(pie.array()));
+        int columnas = datos.readInt();
+        for (int i = 0; i < columnas; i++) {
+            String nombre = datos.readUTF();
+            datos.readUTF(); // tipo
+            if (i >= Columna.values().length || !Columna.values()[i].name().equals(nombre)) {
+                throw new IOException("Columna inesperada en el fichero: " + nombre);
+            }
+        }
+        int numGrupos = datos.readInt();
+        List<ColumnarAlbumWriter.Grupo> grupos = new ArrayList<>(numGrupos);
+        for (int g = 0; g < numGrupos; g++) {
+            int filas = datos.readInt();
+            List<ColumnarAlbumWriter.Bloque> bloques = new ArrayList<>(columnas);
+            for (int c = 0; c < columnas; c++) {
+                bloques.add(new ColumnarAlbumWriter.Bloque(datos.readLong(), datos.readInt(), datos.readInt()));
+            }
+            grupos.add(new ColumnarAlbumWriter.Grupo(filas, bloques));
+        }
+        return grupos;
+    }
+
+    private static void leerCompleto(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino, posicion + destino.position()) < 0) {
+                throw new IOException("Fichero columnar truncado");
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.albumes.exportacion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Escribe álbumes en un fichero columnar comprimido (.albc), pensado para herramientas de análisis.
+ * <p>
+ * Las filas se acumulan en memoria hasta completar un GRUPO DE FILAS; entonces cada columna del grupo
+ * se codifica (ver Columna.Tipo), se comprime con Deflate y se escribe seguida en el fichero.
+ * Así la memoria usada depende solo del tamaño del grupo, no del número total de álbumes.
+ * <p>
+ * Formato:
+ * <pre>
+ * "ALBC" version
+ * grupo 1: [columna ID comprimida] [NOMBRE] [ARTISTA] [GENERO] [PRECIO] [CREATED_AT]
+ * grupo 2: ...
+ * pie: columnas (nombre, tipo), grupos (filas y, por columna: posición, bytes comprimidos, bytes originales)
+ * longitud del pie (int) "ALBC"
+ * </pre>
+ * Todos los números del pie se escriben en big-endian (DataOutputStream).
+ */
+public final class ColumnarAlbumWriter implements Closeable {
+
+    // Posición y tamaños de una columna dentro del fichero.
+    record Bloque(long posicion, int comprimido, int original) {
+    }
+
+    record Grupo(int filas, List<Bloque> bloques) {
+    }
+
+    private final SalidaMapeada salida;
+    private final int filasPorGrupo;
+
+    // Valores del grupo en curso, columna a columna (arrays de tipos primitivos: sin objetos por fila).
+    private final long[] ids;
+    private final String[] nombres;
+    private final String[] artistas;
+    private final String[] generos;
+    private final float[] precios;
+    private final long[] fechas;
+    private int filas;
+    private long filasTotales;
+
+    private final List<Grupo> grupos = new ArrayList<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] comprimido = new byte[64 * 1024];
+
+    public ColumnarAlbumWriter(Path ruta, int filasPorGrupo) throws IOException {
+        if (filasPorGrupo <= 0) {
+            throw new IllegalArgumentException("filasPorGrupo debe ser positivo");
+        }
+        this.filasPorGrupo = filasPorGrupo;
+        this.ids = new long[filasPorGrupo];
+        this.nombres = new String[filasPorGrupo];
+        this.artistas = new String[filasPorGrupo];
+        this.generos = new String[filasPorGrupo];
+        this.precios = new float[filasPorGrupo];
+        this.fechas = new long[filasPorGrupo];
+        this.salida = new SalidaMapeada(ruta);
+        salida.escribir(Codificacion.MAGIA);
+        salida.escribir(new byte[]{(byte) Codificacion.VERSION});
+    }
+
+    public void escribir(FilaColumnar fila) throws IOException {
+        ids[filas] = fila.id();
+        nombres[filas] = fila.nombre();
+        artistas[filas] = fila.artista();
+        generos[filas] = fila.genero();
+        precios[filas] = fila.precio();
+        fechas[filas] = fila.createdAt();
+        filas++;
+        filasTotales++;
+        if (filas == filasPorGrupo) {
+            escribirGrupo();
+        }
+    }
+
+    public long getFilas() {
+        return filasTotales;
+    }
+
+    public int getGrupos() {
+        return grupos.size() + (filas > 0 ? 1 : 0);
+    }
+
+    private void escribirGrupo() throws IOException {
+        List<Bloque> bloques = new ArrayList<>(Columna.values().length);
+        for (Columna columna : Columna.values()) {
+            buffer.reset();
+            switch (columna) {
+                case ID -> enteros(ids);
+                case NOMBRE -> {
+                    for (int i = 0; i < filas; i++) {
+                        Codificacion.texto(buffer, nombres[i]);
+                    }
+                }
+                case ARTISTA -> diccionario(artistas);
+                case GENERO -> diccionario(generos);
+                case PRECIO -> flotantes(precios);
+                case CREATED_AT -> enteros(fechas);
+            }
+            bloques.add(comprimirYEscribir());
+        }
+        grupos.add(new Grupo(filas, bloques));
+        // Soltamos las referencias a los textos del grupo para que el GC pueda recogerlos.
+        Arrays.fill(nombres, 0, filas, null);
+        Arrays.fill(artistas, 0, filas, null);
+        Arrays.fill(generos, 0, filas, null);
+        filas = 0;
+    }
+
+    private void enteros(long[] valores) {
+        long anterior = 0;
+        for (int i = 0; i < filas; i++) {
+            Codificacion.varint(buffer, Codificacion.zigzag(valores[i] - anterior));
+            anterior = valores[i];
+        }
+    }
+
+    private void flotantes(float[] valores) {
+        ByteBuffer bytes = ByteBuffer.allocate(filas * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < filas; i++) {
+            bytes.putFloat(valores[i]);
+        }
+        buffer.write(bytes.array(), 0, bytes.position());
+    }
+
+    // Primero los valores distintos del grupo (en orden de aparición) y después un índice por fila.
+    private void diccionario(String[] valores) {
+        Map<String, Integer> diccionario = new HashMap<>();
+        List<String> distintos = new ArrayList<>();
+        int[] indices = new int[filas];
+        for (int i = 0; i < filas; i++) {
+            String valor = valores[i];
+            if (valor != null) {
+                indices[i] = diccionario.computeIfAbsent(valor, v -> {
+                    distintos.add(v);
+                    return distintos.size();
+                });
+            }
+        }
+        Codificacion.varint(buffer, distintos.size());
+        distintos.forEach(valor -> Codificacion.texto(buffer, valor));
+        for (int indice : indices) {
+            Codificacion.varint(buffer, indice);
+        }
+    }
+
+    private Bloque comprimirYEscribir() throws IOException {
+        byte[] original = buffer.toByteArray();
+        deflater.reset();
+        deflater.setInput(original);
+        deflater.finish();
+        int longitud = 0;
+        while (!deflater.finished()) {
+            if (longitud == comprimido.length) {
+                comprimido = Arrays.copyOf(comprimido, comprimido.length * 2);
+            }
+            longitud += deflater.deflate(comprimido, longitud, comprimido.length - longitud);
+        }
+        long posicion = salida.posicion();
+        salida.escribir(longitud == comprimido.length ? comprimido : Arrays.copyOf(comprimido, longitud));
+        return new Bloque(posicion, longitud, original.length);
+    }
+
+    private byte[] pie() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream pie = new DataOutputStream(bytes)) {
+            pie.writeInt(Columna.values().length);
+            for (Columna columna : Columna.values()) {
+                pie.writeUTF(columna.name());
+                pie.writeUTF(columna.tipo.name());
+            }
+            pie.writeInt(grupos.size());
+            for (Grupo grupo : grupos) {
+                pie.writeInt(grupo.filas());
+                for (Bloque bloque : grupo.bloques()) {
+                    pie.writeLong(bloque.posicion());
+                    pie.writeInt(bloque.comprimido());
+                    pie.writeInt(bloque.original());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (filas > 0) {
+                escribirGrupo();
+            }
+            byte[] pie = pie();
+            salida.escribir(pie);
+            salida.escribir(ByteBuffer.allocate(Integer.BYTES).putInt(pie.length).array());
+            salida.escribir(Codificacion.MAGIA);
+        } finally {
+            deflater.end();
+            salida.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.albumes.exportacion;
+
+import org.example.albumes.dto.ExportacionDto;
+import org.example.albumes.exceptions.ExportacionNotFoundException;
+import org.example.albumes.repositories.AlbumExportable;
+import org.example.albumes.repositories.AlbumRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+
+/**
+ * Exporta el catálogo completo a un fichero columnar comprimido (ColumnarAlbumWriter) para el equipo de análisis.
+ * <p>
+ * Recorre ALBUMES + ARTISTAS con un cursor de solo avance y va escribiendo grupos de filas:
+ * en memoria solo hay un grupo de filas cada vez, da igual lo grande que sea el catálogo.
+ */
+@Slf4j
+@Service
+public class ExportacionService {
+
+    private static final String EXTENSION = ".albc";
+    private static final DateTimeFormatter SELLO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final AlbumRepository albumRepository;
+    private final EntityManager entityManager;
+    private final Path directorio;
+    private final int filasPorGrupo;
+
+    public ExportacionService(AlbumRepository albumRepository, EntityManager entityManager,
+                              @Value("${albumes.exportacion.directorio:./exportaciones}") Path directorio,
+                              @Value("${albumes.exportacion.filas-por-grupo:65536}") int filasPorGrupo) {
+        this.albumRepository = albumRepository;
+        this.entityManager = entityManager;
+        this.directorio = directorio.toAbsolutePath().normalize();
+        this.filasPorGrupo = filasPorGrupo;
+    }
+
+    /**
+     * Genera un nuevo fichero con todo el catálogo.
+     * Se escribe primero en un fichero temporal y se renombra al terminar: nadie descarga un fichero a medias.
+     */
+    // @Transactional: el Stream del repositorio necesita la conexión abierta mientras se recorre.
+    @Transactional
+    public ExportacionDto exportar() {
+        long inicio = System.nanoTime();
+        LocalDateTime fecha = LocalDateTime.now();
+        String archivo = "albumes-" + SELLO.format(fecha) + EXTENSION;
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, "albumes-", ".tmp");
+            long filas;
+            int grupos;
+            try (Stream<AlbumExportable> albumes = albumRepository.streamParaExportar();
+                 ColumnarAlbumWriter writer = new ColumnarAlbumWriter(temporal, filasPorGrupo)) {
+                for (var it = albumes.iterator(); it.hasNext(); ) {
+                    writer.escribir(fila(it.next()));
+                }
+                filas = writer.getFilas();
+                grupos = writer.getGrupos();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporal);
+                throw e;
+            } finally {
+                // Por si el proveedor JPA hubiera guardado algo en el contexto de persistencia.
+                entityManager.clear();
+            }
+            Path destino = directorio.resolve(archivo);
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+
+            long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("Exportados {} álbumes a {} en {} ms", filas, archivo, milisegundos);
+            return ExportacionDto.builder()
+                    .archivo(archivo)
+                    .filas(filas)
+                    .gruposDeFilas(grupos)
+                    .bytes(Files.size(destino))
+                    .milisegundos(milisegundos)
+                    .fecha(fecha)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo exportar el catálogo", e);
+        }
+    }
+
+    /**
+     * Ruta de un fichero ya exportado (solo dentro del directorio de exportaciones).
+     *
+     * @throws ExportacionNotFoundException si no existe
+     */
+    public Path archivo(String archivo) {
+        Path ruta = directorio.resolve(archivo).normalize();
+        if (!ruta.startsWith(directorio) || !archivo.endsWith(EXTENSION) || !Files.isRegularFile(ruta)) {
+            throw new ExportacionNotFoundException(archivo);
+        }
+        return ruta;
+    }
+
+    private static FilaColumnar fila(AlbumExportable album) {
+        return new FilaColumnar(
+                album.getId(),
+                album.getNombre(),
+                album.getArtista(),
+                album.getGenero(),
+                album.getPrecio(),
+                // La fecha se guarda sin zona en la BD: la exportamos como si fuera UTC.
+                album.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+}
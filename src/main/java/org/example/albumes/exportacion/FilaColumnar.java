@@ -0,0 +1,9 @@
+package org.example.albumes.exportacion;
+
+/**
+ * Una fila del fichero columnar: los datos de un álbum que necesita el equipo de análisis.
+ *
+ * @param createdAt fecha de creación en milisegundos desde 1970 (epoch millis, UTC)
+ */
+public record FilaColumnar(long id, String nombre, String artista, String genero, float precio, long createdAt) {
+}
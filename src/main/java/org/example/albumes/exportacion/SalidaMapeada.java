@@ -0,0 +1,66 @@
+package org.example.albumes.exportacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritura secuencial a un fichero a través de memoria mapeada (MappedByteBuffer).
+ * <p>
+ * Se mapea una "ventana" del fichero de tamaño fijo y se copian los bytes directamente en ella:
+ * el sistema operativo los vuelca a disco sin pasar por los buffers de un OutputStream.
+ * Cuando la ventana se llena, se mapea la siguiente. Al cerrar, se recorta el fichero a lo escrito.
+ */
+final class SalidaMapeada implements Closeable {
+
+    private static final int TAMANO_VENTANA = 64 * 1024 * 1024;
+
+    private final FileChannel canal;
+    private MappedByteBuffer ventana;
+    private long inicioVentana;
+
+    SalidaMapeada(Path ruta) throws IOException {
+        this.canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.ventana = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANO_VENTANA);
+    }
+
+    long posicion() {
+        return inicioVentana + ventana.position();
+    }
+
+    void escribir(byte[] datos) throws IOException {
+        int escritos = 0;
+        while (escritos < datos.length) {
+            if (!ventana.hasRemaining()) {
+                siguienteVentana();
+            }
+            int n = Math.min(ventana.remaining(), datos.length - escritos);
+            ventana.put(datos, escritos, n);
+            escritos += n;
+        }
+    }
+
+    private void siguienteVentana() throws IOException {
+        long posicion = posicion();
+        ventana.force();
+        ventana = canal.map(FileChannel.MapMode.READ_WRITE, posicion, TAMANO_VENTANA);
+        inicioVentana = posicion;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long fin = posicion();
+            ventana.force();
+            ventana = null;
+            // La última ventana se mapeó entera: quitamos el hueco que sobra al final.
+            canal.truncate(fin);
+        } finally {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.albumes.importacion;
+
+import org.example.albumes.dto.AlbumCreateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Convierte una línea del fichero en un AlbumCreateDto.
+ * Las implementaciones no guardan estado mutable, así que se pueden usar desde varios hilos a la vez.
+ */
+public interface FilaParser {
+
+    /**
+     * @return el DTO de la línea, o null si la línea no contiene un álbum (ej: "[" o "]" de un array JSON)
+     * @throws IllegalArgumentException si la línea no tiene el formato esperado
+     */
+    AlbumCreateDto parsear(String linea);
+
+    static FilaParser para(FormatoImportacion formato, String cabecera, ObjectMapper objectMapper) {
+        return switch (formato) {
+            case CSV -> new Csv(cabecera);
+            case JSON -> new JsonLines(objectMapper);
+        };
+    }
+
+    // CSV con cabecera. Admite campos entre comillas ("Rock, Vol. 1") con "" para una comilla dentro.
+    // No admite saltos de línea dentro de un campo (leemos el fichero línea a línea).
+    final class Csv implements FilaParser {
+        private final int nombre;
+        private final int artista;
+        private final int genero;
+        private final int precio;
+
+        public Csv(String cabecera) {
+            Map<String, Integer> columnas = new HashMap<>();
+            List<String> campos = campos(cabecera);
+            for (int i = 0; i < campos.size(); i++) {
+                columnas.put(campos.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            this.nombre = columna(columnas, "nombre");
+            this.artista = columna(columnas, "artista");
+            this.genero = columna(columnas, "genero");
+            this.precio = columna(columnas, "precio");
+        }
+
+        @Override
+        public AlbumCreateDto parsear(String linea) {
+            List<String> campos = campos(linea);
+            try {
+                String textoPrecio = valor(campos, precio);
+                return AlbumCreateDto.builder()
+                        .nombre(valor(campos, nombre))
+                        .artista(valor(campos, artista))
+                        .genero(valor(campos, genero))
+                        .precio(textoPrecio == null || textoPrecio.isBlank() ? null : Float.parseFloat(textoPrecio))
+                        .build();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Precio no numérico");
+            }
+        }
+
+        private static int columna(Map<String, Integer> columnas, String nombre) {
+            Integer i = columnas.get(nombre);
+            if (i == null) {
+                throw new IllegalArgumentException("Falta la columna '" + nombre + "' en la cabecera del CSV");
+            }
+            return i;
+        }
+
+        private static String valor(List<String> campos, int i) {
+            return i < campos.size() ? campos.get(i).strip() : null;
+        }
+
+        public static List<String> campos(String linea) {
+            List<String> campos = new ArrayList<>();
+            StringBuilder actual = new StringBuilder();
+            boolean entreComillas = false;
+            for (int i = 0; i < linea.length(); i++) {
+                char c = linea.charAt(i);
+                if (entreComillas) {
+                    if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreComillas = false;
+                    } else {
+                        actual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreComillas = true;
+                } else if (c == ',') {
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                } else {
+                    actual.append(c);
+                }
+            }
+            if (entreComillas) {
+                throw new IllegalArgumentException("Comillas sin cerrar");
+            }
+            campos.add(actual.toString());
+            return campos;
+        }
+    }
+
+    // Un objeto JSON por línea. Ignora las líneas "[" y "]" y la coma final, para aceptar también
+    // los volcados en forma de array con un objeto por línea.
+    final class JsonLines implements FilaParser {
+        private final ObjectMapper objectMapper;
+
+        JsonLines(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public AlbumCreateDto parsear(String linea) {
+            String json = linea.strip();
+            if (json.endsWith(",")) {
+                json = json.substring(0, json.length() - 1);
+            }
+            if (json.isEmpty() || json.equals("[") || json.equals("]")) {
+                return null;
+            }
+            try {
+                return objectMapper.readValue(json, AlbumCreateDto.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON no válido: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.albumes.importacion;
+
+// Formatos de fichero que acepta el importador.
+// CSV: primera línea de cabecera (nombre,artista,genero,precio, en cualquier orden).
+// JSON: un objeto por línea (JSON Lines). También vale un array con un objeto por línea ("[", "{...},", "]").
+public enum FormatoImportacion {
+    CSV,
+    JSON
+}
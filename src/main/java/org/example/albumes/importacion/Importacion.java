@@ -0,0 +1,96 @@
+package org.example.albumes.importacion;
+
+import org.example.albumes.dto.ImportacionEstadoDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Estado en memoria de una importación en curso (lo que se devuelve al consultar su progreso).
+class Importacion {
+
+    enum Estado { EN_CURSO, COMPLETADA, FALLIDA }
+
+    // Guardamos solo los primeros errores, para no llenar la memoria con un fichero muy malo.
+    private static final int MAX_ERRORES = 100;
+
+    final String id;
+    final String archivo;
+    final FormatoImportacion formato;
+    final long bytesTotales;
+    final long reanudadaDesde;
+    private final long filasAlEmpezar;
+    private final long inicioNanos = System.nanoTime();
+    private final LocalDateTime inicio = LocalDateTime.now();
+
+    final AtomicLong bytesProcesados;
+    final AtomicLong filasLeidas;
+    final AtomicLong filasImportadas;
+    final AtomicLong filasConError;
+    private final Queue<String> errores = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger numErrores = new AtomicInteger();
+
+    private volatile Estado estado = Estado.EN_CURSO;
+    private volatile LocalDateTime fin;
+    private volatile long finNanos;
+
+    Importacion(String id, String archivo, FormatoImportacion formato, long bytesTotales, ImportacionCheckpoint checkpoint) {
+        this.id = id;
+        this.archivo = archivo;
+        this.formato = formato;
+        this.bytesTotales = bytesTotales;
+        this.reanudadaDesde = checkpoint != null ? checkpoint.getOffset() : 0;
+        this.bytesProcesados = new AtomicLong(reanudadaDesde);
+        this.filasLeidas = new AtomicLong(checkpoint != null ? checkpoint.getFilasLeidas() : 0);
+        this.filasImportadas = new AtomicLong(checkpoint != null ? checkpoint.getFilasImportadas() : 0);
+        this.filasConError = new AtomicLong(checkpoint != null ? checkpoint.getFilasConError() : 0);
+        this.filasAlEmpezar = filasLeidas.get();
+    }
+
+    void error(long fila, String motivo) {
+        filasConError.incrementAndGet();
+        if (numErrores.incrementAndGet() <= MAX_ERRORES) {
+            errores.add("Fila " + fila + ": " + motivo);
+        }
+    }
+
+    boolean enCurso() {
+        return estado == Estado.EN_CURSO;
+    }
+
+    void terminar(Estado estadoFinal, String motivo) {
+        if (motivo != null) {
+            errores.add(motivo);
+        }
+        finNanos = System.nanoTime();
+        fin = LocalDateTime.now();
+        estado = estadoFinal;
+    }
+
+    ImportacionEstadoDto aDto() {
+        double segundos = Duration.ofNanos((fin != null ? finNanos : System.nanoTime()) - inicioNanos).toMillis() / 1000.0;
+        long filas = filasLeidas.get() - filasAlEmpezar;
+        long bytes = bytesProcesados.get() - reanudadaDesde;
+        return ImportacionEstadoDto.builder()
+                .id(id)
+                .archivo(archivo)
+                .formato(formato.name())
+                .estado(estado.name())
+                .bytesTotales(bytesTotales)
+                .bytesProcesados(bytesProcesados.get())
+                .reanudadaDesde(reanudadaDesde)
+                .filasLeidas(filasLeidas.get())
+                .filasImportadas(filasImportadas.get())
+                .filasConError(filasConError.get())
+                .filasPorSegundo(segundos > 0 ? filas / segundos : 0)
+                .megabytesPorSegundo(segundos > 0 ? bytes / (1024.0 * 1024.0) / segundos : 0)
+                .inicio(inicio)
+                .fin(fin)
+                .errores(List.copyOf(errores))
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.albumes.importacion;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de control de una importación: hasta qué byte del fichero está ya guardado en la base de datos.
+ * <p>
+ * Se actualiza en la MISMA transacción que cada lote de álbumes. Si la aplicación se cae, al volver a
+ * lanzar la importación del mismo fichero seguimos justo después del último lote confirmado,
+ * sin repetir ni perder filas.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "IMPORTACIONES")
+public class ImportacionCheckpoint {
+
+    // Nombre del fichero dentro del directorio de importaciones.
+    @Id
+    private String archivo;
+
+    // Tamaño del fichero: si cambia, es otro fichero y empezamos de cero.
+    @Column(nullable = false)
+    private Long tamano;
+
+    @Column(nullable = false)
+    private String formato;
+
+    // Byte siguiente al último procesado y confirmado.
+    @Column(name = "posicion", nullable = false)
+    private Long offset;
+
+    @Column(nullable = false)
+    private Long filasLeidas;
+
+    @Column(nullable = false)
+    private Long filasImportadas;
+
+    @Column(nullable = false)
+    private Long filasConError;
+
+    @Column(nullable = false)
+    private Boolean completada;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
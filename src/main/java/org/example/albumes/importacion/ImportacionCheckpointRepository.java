@@ -0,0 +1,13 @@
+package org.example.albumes.importacion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportacionCheckpointRepository extends JpaRepository<ImportacionCheckpoint, String> {
+
+    // Importaciones que se quedaron a medias (por ejemplo, porque se cayó la aplicación).
+    List<ImportacionCheckpoint> findByCompletadaFalse();
+}
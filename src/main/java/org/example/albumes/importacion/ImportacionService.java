@@ -0,0 +1,326 @@
+package org.example.albumes.importacion;
+
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.ImportacionEstadoDto;
+import org.example.albumes.exceptions.AlbumBadRequestException;
+import org.example.albumes.exceptions.ImportacionNotFoundException;
+import org.example.albumes.services.AlbumService;
+import org.example.artistas.dto.ArtistaRequestDto;
+import org.example.artistas.exceptions.ArtistaConflictException;
+import org.example.artistas.exceptions.ArtistaNotFoundException;
+import org.example.artistas.services.ArtistaService;
+import org.example.common.TextoNormalizado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Importación masiva de álbumes desde ficheros CSV o JSON de varios GB.
+ * <p>
+ * Cada importación se ejecuta en segundo plano siguiendo estas etapas:
+ * <ol>
+ *     <li>Lee el fichero por bloques con NIO (LectorPorBloques), sin cargarlo entero en memoria.</li>
+ *     <li>Convierte las líneas de cada bloque en AlbumCreateDto EN PARALELO en un ForkJoinPool.</li>
+ *     <li>Las valida con las mismas reglas que POST /albumes (@NotBlank, @PositiveOrZero, @GeneroValido...).</li>
+ *     <li>Busca o crea cada artista UNA sola vez por nombre distinto.</li>
+ *     <li>Guarda los álbumes por lotes, cada lote en una transacción (AlbumService.saveAll).</li>
+ * </ol>
+ * En la misma transacción de cada lote se actualiza el punto de control (ImportacionCheckpoint):
+ * si la aplicación se cae, la importación continúa tras el último lote confirmado.
+ */
+@Slf4j
+@Service
+public class ImportacionService {
+
+    private final AlbumService albumService;
+    private final ArtistaService artistaService;
+    private final ImportacionCheckpointRepository checkpointRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // Solo se pueden importar ficheros de este directorio (nunca rutas arbitrarias del servidor).
+    private final Path directorio;
+    private final int tamanoBloque;
+    private final int tamanoLote;
+
+    // Hilos para convertir y validar las filas en paralelo.
+    private final ForkJoinPool pool;
+    // Cada importación corre en su propio hilo virtual.
+    private final ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Importacion> importaciones = new ConcurrentHashMap<>();
+
+    public ImportacionService(AlbumService albumService, ArtistaService artistaService,
+                              ImportacionCheckpointRepository checkpointRepository, Validator validator,
+                              ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                              @Value("${albumes.importacion.directorio:./importaciones}") Path directorio,
+                              @Value("${albumes.importacion.bloque-bytes:4194304}") int tamanoBloque,
+                              @Value("${albumes.importacion.tamano-lote:500}") int tamanoLote,
+                              @Value("${albumes.importacion.paralelismo:0}") int paralelismo) {
+        this.albumService = albumService;
+        this.artistaService = artistaService;
+        this.checkpointRepository = checkpointRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.directorio = directorio.toAbsolutePath().normalize();
+        this.tamanoBloque = tamanoBloque;
+        this.tamanoLote = tamanoLote;
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Resultado de analizar una línea: el DTO válido, o el motivo del error. Ambos null = línea sin álbum.
+    // 'numero' es el número de fila en el fichero (se asigna después, al recorrerlas en orden).
+    private record Fila(AlbumCreateDto dto, String error, long fin, long numero) {
+        Fila(AlbumCreateDto dto, String error, long fin) {
+            this(dto, error, fin, 0);
+        }
+
+        boolean valida() {
+            return dto != null && error == null;
+        }
+    }
+
+    /**
+     * Lanza (o reanuda) la importación de un fichero del directorio de importaciones.
+     *
+     * @param archivo nombre del fichero dentro del directorio configurado
+     * @param formato CSV o JSON
+     * @return el estado inicial; el progreso se consulta con estado(id)
+     */
+    public synchronized ImportacionEstadoDto iniciar(String archivo, FormatoImportacion formato) {
+        Path ruta = resolver(archivo);
+        boolean enCurso = importaciones.values().stream().anyMatch(i -> i.archivo.equals(archivo) && i.enCurso());
+        if (enCurso) {
+            throw new AlbumBadRequestException("Ya hay una importación en curso del fichero " + archivo);
+        }
+        long tamano = tamano(ruta);
+
+        // Si quedó a medias una importación de este mismo fichero, continuamos donde se quedó.
+        ImportacionCheckpoint checkpoint = checkpointRepository.findById(archivo)
+                .filter(c -> !c.getCompletada() && c.getTamano() == tamano && c.getFormato().equals(formato.name()))
+                .orElse(null);
+        if (checkpoint != null) {
+            log.info("Reanudando la importación de {} desde el byte {}", archivo, checkpoint.getOffset());
+        }
+
+        Importacion importacion = new Importacion(UUID.randomUUID().toString(), archivo, formato, tamano, checkpoint);
+        importaciones.put(importacion.id, importacion);
+        ejecutor.submit(() -> ejecutar(importacion, ruta));
+        return importacion.aDto();
+    }
+
+    public ImportacionEstadoDto estado(String id) {
+        Importacion importacion = importaciones.get(id);
+        if (importacion == null) {
+            throw new ImportacionNotFoundException(id);
+        }
+        return importacion.aDto();
+    }
+
+    public List<ImportacionEstadoDto> estados() {
+        return importaciones.values().stream().map(Importacion::aDto).toList();
+    }
+
+    // Al arrancar, relanzamos las importaciones que se quedaron a medias.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendientes() {
+        for (ImportacionCheckpoint pendiente : checkpointRepository.findByCompletadaFalse()) {
+            try {
+                iniciar(pendiente.getArchivo(), FormatoImportacion.valueOf(pendiente.getFormato()));
+            } catch (RuntimeException e) {
+                log.warn("No se pudo reanudar la importación de {}: {}", pendiente.getArchivo(), e.getMessage());
+            }
+        }
+    }
+
+    private void ejecutar(Importacion importacion, Path ruta) {
+        try {
+            long desde = importacion.reanudadaDesde;
+            String cabecera = null;
+            if (importacion.formato == FormatoImportacion.CSV) {
+                var primera = LectorPorBloques.primeraLinea(ruta);
+                cabecera = primera.lineas().getFirst();
+                desde = Math.max(desde, primera.fin()); // La cabecera no es un álbum.
+            }
+            FilaParser parser = FilaParser.para(importacion.formato, cabecera, objectMapper);
+            Set<String> artistas = new HashSet<>();
+
+            try (LectorPorBloques lector = new LectorPorBloques(ruta, desde, tamanoBloque)) {
+                LectorPorBloques.Bloque bloque;
+                while ((bloque = lector.siguiente()) != null) {
+                    procesar(importacion, parser, bloque, artistas);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(tx -> guardarCheckpoint(importacion, importacion.bytesTotales, true));
+            importacion.terminar(Importacion.Estado.COMPLETADA, null);
+            log.info("Importación de {} completada: {}", importacion.archivo, importacion.aDto());
+        } catch (Exception e) {
+            log.error("La importación de {} ha fallado", importacion.archivo, e);
+            importacion.terminar(Importacion.Estado.FALLIDA, "Importación interrumpida: " + e.getMessage());
+        }
+    }
+
+    private void procesar(Importacion importacion, FilaParser parser, LectorPorBloques.Bloque bloque,
+                          Set<String> artistas) throws ExecutionException, InterruptedException {
+        List<String> lineas = bloque.lineas();
+        long[] fines = bloque.fines();
+
+        // Etapas 2 y 3: convertir y validar en paralelo. El stream paralelo se ejecuta dentro de NUESTRO pool
+        // (y no en el común), y toList() conserva el orden de las líneas.
+        List<Fila> filas = pool.submit(() -> IntStream.range(0, lineas.size()).parallel()
+                .mapToObj(i -> analizar(parser, lineas.get(i), fines[i]))
+                .toList()).get();
+
+        // Etapa 4: artistas nuevos de este bloque, una vez por nombre.
+        filas.stream().filter(Fila::valida)
+                .map(f -> f.dto().getArtista())
+                .filter(nombre -> artistas.add(TextoNormalizado.normalizar(nombre)))
+                .forEach(this::asegurarArtista);
+
+        // Etapa 5: escribir por lotes, recorriendo las filas EN ORDEN para que el punto de control sea exacto.
+        List<Fila> lote = new ArrayList<>(tamanoLote);
+        for (Fila fila : filas) {
+            if (fila.dto() == null && fila.error() == null) {
+                continue;
+            }
+            long numero = importacion.filasLeidas.incrementAndGet();
+            if (fila.error() != null) {
+                importacion.error(numero, fila.error());
+                continue;
+            }
+            lote.add(new Fila(fila.dto(), null, fila.fin(), numero));
+            if (lote.size() == tamanoLote) {
+                escribir(importacion, lote, fila.fin());
+                lote.clear();
+            }
+        }
+        // Lo que queda del bloque (aunque sean solo filas con error, avanzamos el punto de control).
+        escribir(importacion, lote, bloque.fin());
+    }
+
+    private Fila analizar(FilaParser parser, String linea, long fin) {
+        try {
+            AlbumCreateDto dto = parser.parsear(linea);
+            if (dto == null) {
+                return new Fila(null, null, fin);
+            }
+            Set<ConstraintViolation<AlbumCreateDto>> errores = validator.validate(dto);
+            if (!errores.isEmpty()) {
+                String motivo = errores.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                return new Fila(dto, motivo, fin);
+            }
+            return new Fila(dto, null, fin);
+        } catch (IllegalArgumentException e) {
+            return new Fila(null, e.getMessage(), fin);
+        }
+    }
+
+    // Si el artista no existe lo creamos. Si otro lo crea a la vez (409), nos vale el suyo.
+    private void asegurarArtista(String nombre) {
+        try {
+            artistaService.findByNombre(nombre);
+        } catch (ArtistaNotFoundException e) {
+            try {
+                artistaService.save(ArtistaRequestDto.builder().nombre(nombre).build());
+            } catch (ArtistaConflictException yaExiste) {
+                log.debug("El artista {} se ha creado mientras importábamos", nombre);
+            }
+        }
+    }
+
+    private void escribir(Importacion importacion, List<Fila> lote, long hasta) {
+        List<AlbumCreateDto> dtos = lote.stream().map(Fila::dto).toList();
+        try {
+            // Lote y punto de control en la MISMA transacción: o se guardan los dos o ninguno.
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (!dtos.isEmpty()) {
+                    albumService.saveAll(dtos);
+                }
+                guardarCheckpoint(importacion, hasta, false, dtos.size());
+            });
+            importacion.filasImportadas.addAndGet(dtos.size());
+            importacion.bytesProcesados.set(hasta);
+        } catch (RuntimeException e) {
+            if (lote.size() <= 1) {
+                throw e;
+            }
+            // Ha fallado el lote entero: repetimos fila a fila para aislar las que dan problemas.
+            log.warn("Falló un lote de {} álbumes de {}, reintentando uno a uno", lote.size(), importacion.archivo);
+            for (Fila fila : lote) {
+                try {
+                    escribir(importacion, List.of(fila), fila.fin());
+                } catch (RuntimeException filaFallida) {
+                    importacion.error(fila.numero(), filaFallida.getMessage());
+                }
+            }
+            transactionTemplate.executeWithoutResult(tx -> guardarCheckpoint(importacion, hasta, false));
+            importacion.bytesProcesados.set(hasta);
+        }
+    }
+
+    private void guardarCheckpoint(Importacion importacion, long offset, boolean completada) {
+        guardarCheckpoint(importacion, offset, completada, 0);
+    }
+
+    // 'pendientes': álbumes del lote que se está guardando y que aún no están en los contadores.
+    private void guardarCheckpoint(Importacion importacion, long offset, boolean completada, int pendientes) {
+        checkpointRepository.save(ImportacionCheckpoint.builder()
+                .archivo(importacion.archivo)
+                .tamano(importacion.bytesTotales)
+                .formato(importacion.formato.name())
+                .offset(offset)
+                .filasLeidas(importacion.filasLeidas.get())
+                .filasImportadas(importacion.filasImportadas.get() + pendientes)
+                .filasConError(importacion.filasConError.get())
+                .completada(completada)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private Path resolver(String archivo) {
+        Path ruta = directorio.resolve(archivo).normalize();
+        if (!ruta.startsWith(directorio) || !Files.isRegularFile(ruta)) {
+            throw new AlbumBadRequestException("El fichero " + archivo + " no existe en el directorio de importaciones");
+        }
+        return ruta;
+    }
+
+    private static long tamano(Path ruta) {
+        try {
+            return Files.size(ruta);
+        } catch (IOException e) {
+            throw new AlbumBadRequestException("No se puede leer el fichero " + ruta.getFileName());
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        ejecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+}
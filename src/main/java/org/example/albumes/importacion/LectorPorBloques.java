@@ -0,0 +1,121 @@
+package org.example.albumes.importacion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee un fichero (que puede ocupar varios GB) por bloques de tamaño fijo con NIO (FileChannel).
+ * Cada bloque contiene solo líneas completas: lo que queda tras el último salto de línea
+ * se guarda para el bloque siguiente. Así la memoria usada no depende del tamaño del fichero.
+ * <p>
+ * Para cada línea devolvemos también la posición (en bytes) donde termina, que es lo que
+ * guardamos como punto de control para poder reanudar la importación.
+ */
+public class LectorPorBloques implements AutoCloseable {
+
+    // Un bloque de líneas completas y el offset en bytes del final de cada una.
+    public record Bloque(List<String> lineas, long[] fines) {
+        public long fin() {
+            return fines[fines.length - 1];
+        }
+    }
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    // Posición en el fichero del primer byte que hay ahora mismo en el buffer.
+    private long posicion;
+    private boolean finDeFichero;
+
+    public LectorPorBloques(Path ruta, long desde, int tamanoBloque) throws IOException {
+        this.canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        this.canal.position(desde);
+        this.posicion = desde;
+        this.buffer = ByteBuffer.allocate(tamanoBloque);
+    }
+
+    /**
+     * @return el siguiente bloque de líneas completas, o null si ya no queda nada por leer
+     */
+    public Bloque siguiente() throws IOException {
+        while (true) {
+            if (!finDeFichero && canal.read(buffer) == -1) {
+                finDeFichero = true;
+            }
+            buffer.flip();
+            int corte = ultimoSalto(buffer) + 1;
+            if (corte == 0 && finDeFichero) {
+                corte = buffer.limit(); // Última línea del fichero sin salto de línea final.
+            }
+            if (corte > 0) {
+                Bloque bloque = trocear(buffer.array(), corte);
+                posicion += corte;
+                buffer.position(corte);
+                buffer.compact(); // Lo que sobra (una línea a medias) pasa al principio del buffer.
+                return bloque.lineas().isEmpty() ? siguiente() : bloque;
+            }
+            if (finDeFichero) {
+                return null;
+            }
+            if (buffer.limit() == buffer.capacity()) {
+                throw new IOException("Hay una línea más larga que el bloque de lectura (" + buffer.capacity() + " bytes)");
+            }
+            // Aún no hay ninguna línea completa: seguimos leyendo a continuación de lo que ya tenemos.
+            buffer.position(buffer.limit());
+            buffer.limit(buffer.capacity());
+        }
+    }
+
+    // Lee la primera línea del fichero (la cabecera del CSV) y devuelve dónde termina.
+    public static Bloque primeraLinea(Path ruta) throws IOException {
+        try (LectorPorBloques lector = new LectorPorBloques(ruta, 0, 64 * 1024)) {
+            Bloque bloque = lector.siguiente();
+            if (bloque == null) {
+                throw new IOException("El fichero está vacío");
+            }
+            return new Bloque(List.of(bloque.lineas().getFirst()), new long[]{bloque.fines()[0]});
+        }
+    }
+
+    private Bloque trocear(byte[] bytes, int hasta) {
+        List<String> lineas = new ArrayList<>();
+        List<Long> fines = new ArrayList<>();
+        int inicio = 0;
+        for (int i = 0; i <= hasta; i++) {
+            if (i == hasta || bytes[i] == '\n') {
+                if (i == hasta && inicio == hasta) {
+                    break;
+                }
+                int fin = i;
+                if (fin > inicio && bytes[fin - 1] == '\r') {
+                    fin--; // Ficheros con saltos de línea de Windows.
+                }
+                if (fin > inicio) {
+                    lineas.add(new String(bytes, inicio, fin - inicio, StandardCharsets.UTF_8));
+                    fines.add(posicion + Math.min(i + 1, hasta));
+                }
+                inicio = i + 1;
+            }
+        }
+        return new Bloque(lineas, fines.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static int ultimoSalto(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
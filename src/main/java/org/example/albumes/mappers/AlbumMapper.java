@@ -4,6 +4,7 @@ import org.example.albumes.dto.AlbumCreateDto;
 import org.example.albumes.dto.AlbumResponseDto;
 import org.example.albumes.dto.AlbumUpdateDto;
 import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
 import org.example.artistas.models.Artista; // Importante: Necesitamos conocer el modelo de Artista
 import org.springframework.stereotype.Component;
 
@@ -15,11 +16,11 @@ import java.util.UUID;
 public class AlbumMapper {
 
     // MÉTODO PARA CREAR (De DTO -> Entidad)
-    // Recibe los datos crudos (dto) y el objeto Artista real de la base de datos.
-    public Album toAlbum(AlbumCreateDto createDto, Artista artista) {
+    // Recibe los datos crudos (dto) y los objetos Artista y Genero reales de la base de datos.
+    public Album toAlbum(AlbumCreateDto createDto, Artista artista, Genero genero) {
         return Album.builder()
                 .nombre(createDto.getNombre())
-                .genero(createDto.getGenero())
+                .genero(genero)
                 .precio(createDto.getPrecio())
                 .artista(artista) // Aquí "enchufamos" la relación con el padre.
                 .build();
@@ -28,7 +29,8 @@ public class AlbumMapper {
 
     // MÉTODO PARA ACTUALIZAR (De DTO + Entidad Vieja -> Entidad Nueva)
     // Coge los datos nuevos (updateDto) y los mezcla con los datos que ya existían (albumOriginal).
-    public Album toAlbum(AlbumUpdateDto updateDto, Album albumOriginal) {
+    // genero: el género ya resuelto en el catálogo, o null si no se quiere cambiar.
+    public Album toAlbum(AlbumUpdateDto updateDto, Album albumOriginal, Genero genero) {
         return Album.builder()
                 .id(albumOriginal.getId()) // Mantenemos el mismo ID
                 .uuid(albumOriginal.getUuid()) // Mantenemos el mismo UUID
@@ -39,7 +41,7 @@ public class AlbumMapper {
                 // "Si me envían un nombre nuevo, úsalo. Si es null, quédate con el que ya tenías".
                 // Esto permite actualizaciones parciales (PATCH).
                 .nombre(updateDto.getNombre() != null ? updateDto.getNombre() : albumOriginal.getNombre())
-                .genero(updateDto.getGenero() != null ? updateDto.getGenero() : albumOriginal.getGenero())
+                .genero(genero != null ? genero : albumOriginal.getGenero())
                 .precio(updateDto.getPrecio() != null ? updateDto.getPrecio() : albumOriginal.getPrecio())
 
                 // Actualizamos la fecha de modificación a "ahora mismo".
@@ -53,7 +55,8 @@ public class AlbumMapper {
         return AlbumResponseDto.builder()
                 .id(album.getId())
                 .nombre(album.getNombre())
-                .genero(album.getGenero())
+                // En la BD solo está la clave del género; al cliente le devolvemos su nombre.
+                .genero(album.getGenero() != null ? album.getGenero().getNombre() : null)
                 .precio(album.getPrecio())
                 // Sacamos solo el nombre del artista para que quede bonito en el JSON.
                 .artista(album.getArtista().getNombre())
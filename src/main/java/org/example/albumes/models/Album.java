@@ -1,6 +1,9 @@
 package org.example.albumes.models;
 
 import org.example.artistas.models.Artista;
+import org.example.common.TextoNormalizado;
+import org.example.common.UuidV7;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -20,7 +23,19 @@ import java.util.UUID;
 // @Entity: Marca esta clase como una Entidad JPA, lo que significa que se mapeará a una tabla en la base de datos.
 @Entity
 // @Table: Especifica el nombre de la tabla en la base de datos. En este caso, "ALBUMES".
-@Table(name = "ALBUMES")
+// indexes: Índices de la tabla. Sin ellos, cada búsqueda recorre la tabla entera.
+@Table(name = "ALBUMES", indexes = {
+        // Búsquedas por nombre (igualdad y prefijo) sobre la columna ya normalizada.
+        @Index(name = "idx_albumes_nombre_busqueda", columnList = "nombre_busqueda"),
+        // Álbumes de un artista (JOIN con ARTISTAS y comprobación antes de borrar un artista).
+        @Index(name = "idx_albumes_artista_id", columnList = "artista_id"),
+        // Búsqueda por uuid (el identificador público). Único.
+        @Index(name = "idx_albumes_uuid", columnList = "uuid", unique = true),
+        // Álbumes modificados recientemente.
+        @Index(name = "idx_albumes_updated_at", columnList = "updated_at"),
+        // Filtros por género (su clave numérica) y rango de precio.
+        @Index(name = "idx_albumes_genero_precio", columnList = "genero_id, precio")
+})
 public class Album {
     // @Id: Indica que este campo es la Clave Primaria (PK) de la tabla.
     @Id
@@ -34,33 +49,41 @@ public class Album {
     @Column(nullable = false)
     private String nombre;
 
-    // Columna obligatoria para el género.
-    @Column(nullable = false)
-    private String genero;
+    // El nombre en minúsculas y sin tildes, para buscar usando el índice (ver TextoNormalizado).
+    // No se rellena a mano: lo calcula normalizar() antes de cada INSERT y UPDATE.
+    @JsonIgnore // Es un detalle interno de la búsqueda, no se devuelve en el JSON.
+    @Column(name = "nombre_busqueda", nullable = false)
+    private String nombreBusqueda;
+
+    // Género obligatorio. En ALBUMES solo se guarda su clave pequeña (genero_id); el nombre está en GENEROS.
+    // Son muy pocos y casi siempre se necesitan, así que se cargan con el álbum (EAGER).
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @JoinColumn(name = "genero_id", nullable = false)
+    private Genero genero;
 
     // Columna obligatoria para el precio.
     @Column(nullable = false)
     private Float precio;
 
-    // @Builder.Default: Asegura que Lombok use el valor por defecto (LocalDateTime.now()) al construir el objeto.
-    @Builder.Default
+    // Las fechas y el UUID NO tienen valor inicial (nada de @Builder.Default con LocalDateTime.now()):
+    // Hibernate usa el constructor vacío para CADA fila que lee, y calcularlos ahí para luego sobrescribirlos
+    // con lo que viene de la BD es trabajo tirado. Se rellenan solo al insertar, en alCrear().
     // updatable = false: Protege este campo. Una vez guardado, JPA nunca intentará actualizarlo en la BD.
     // La fecha de creación debe ser inmutable.
     @Column(updatable = false, nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
-    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime createdAt;
 
     // Fecha de última actualización. Esta sí es actualizable por defecto.
-    @Builder.Default
     @Column(nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
-    private LocalDateTime updatedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt;
 
     // UUID: Identificador Universalmente Único.
     // Se usa a menudo como un ID público en las URLs para no exponer el ID numérico secuencial de la base de datos (seguridad por oscuridad).
-    @Builder.Default
-    // unique = true: Asegura que no haya dos álbumes con el mismo UUID.
+    // Es un UUID versión 7 (ordenado por fecha, ver UuidV7): el índice único crece siempre por el final.
+    // No ponemos unique = true aquí: ya lo garantiza el índice único idx_albumes_uuid de @Table.
     // updatable = false: Un UUID nunca debería cambiar una vez asignado.
-    @Column(unique = true, updatable = false, nullable = false)
-    private UUID uuid = UUID.randomUUID();
+    @Column(updatable = false, nullable = false)
+    private UUID uuid;
 
     // Campo para el Borrado Lógico.
     // false = Activo (visible). true = Borrado (oculto).
@@ -76,4 +99,28 @@ public class Album {
     // Aquí se guardará el ID del artista (Clave Foránea / Foreign Key).
     @JoinColumn(name = "artista_id")
     private Artista artista;
-}
\ No newline at end of file
+
+    // @PrePersist: JPA llama a este método justo antes de guardar (INSERT), solo para los álbumes nuevos.
+    // Aquí (y no al construir el objeto) se generan el UUID y las fechas que no se hayan puesto a mano.
+    @PrePersist
+    void alCrear() {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (uuid == null) {
+            uuid = UuidV7.generar();
+        }
+        if (createdAt == null) {
+            createdAt = ahora;
+        }
+        if (updatedAt == null) {
+            updatedAt = ahora;
+        }
+        normalizar();
+    }
+
+    // @PreUpdate: justo antes de actualizar (UPDATE).
+    // Así la columna de búsqueda siempre está sincronizada con el nombre.
+    @PreUpdate
+    void normalizar() {
+        nombreBusqueda = TextoNormalizado.normalizar(nombre);
+    }
+}
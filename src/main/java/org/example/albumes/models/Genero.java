@@ -0,0 +1,60 @@
+package org.example.albumes.models;
+
+import org.example.common.TextoNormalizado;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catálogo de géneros musicales (tabla GENEROS).
+ * <p>
+ * Antes cada álbum guardaba el género como texto libre. Ahora guarda solo su clave numérica pequeña
+ * (ALBUMES.genero_id, SMALLINT): filas más pequeñas y filtros por género que son una comparación de enteros
+ * sobre un índice. Para añadir un género basta con insertarlo aquí (POST /generos), sin tocar el código.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+// El índice ÚNICO sobre el nombre normalizado impide tener "Rock" y "rock" a la vez.
+@Table(name = "GENEROS", indexes = {
+        @Index(name = "uk_generos_nombre_busqueda", columnList = "nombre_busqueda", unique = true)
+})
+public class Genero {
+    // Short (SMALLINT): nunca habrá más de unos cientos de géneros.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    // @JsonValue: al convertir un Album a JSON, su género sale como el texto ("Rock"), igual que antes.
+    @JsonValue
+    @Column(unique = true, nullable = false)
+    private String nombre;
+
+    // El nombre en minúsculas y sin tildes (ver TextoNormalizado). Lo calcula normalizar() antes de guardar.
+    @JsonIgnore
+    @Column(name = "nombre_busqueda", nullable = false)
+    private String nombreBusqueda;
+
+    // Se rellena al insertar (alCrear), no en el constructor que usa Hibernate al leer.
+    @Column(updatable = false, nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void alCrear() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        normalizar();
+    }
+
+    @PreUpdate
+    void normalizar() {
+        nombreBusqueda = TextoNormalizado.normalizar(nombre);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.albumes.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * PROYECCIÓN: solo las columnas que se exportan al fichero columnar (ver AlbumRepository.streamParaExportar).
+ * Al no cargar entidades Album completas, Hibernate no las guarda en el contexto de persistencia
+ * y la memoria no crece con el número de álbumes recorridos.
+ */
+public interface AlbumExportable {
+    Long getId();
+
+    String getNombre();
+
+    String getArtista();
+
+    String getGenero();
+
+    Float getPrecio();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,18 @@
+package org.example.albumes.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * PROYECCIÓN: un resumen de toda la tabla de álbumes para saber si los índices en memoria se han desfasado
+ * (ver AlbumIndicesService.verificar). Con solo el número de filas no basta: un alta y una baja que no hayan
+ * llegado como eventos (otro nodo, una importación) lo dejan igual, y un cambio de precio no lo toca.
+ */
+public interface AlbumHuella {
+    Long getTotal();
+
+    // Cambia con cualquier alta o baja, aunque el total se quede igual.
+    Long getSumaIds();
+
+    // La última alta o modificación.
+    LocalDateTime getUltimaModificacion();
+}
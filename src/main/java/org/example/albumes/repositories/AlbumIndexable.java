@@ -0,0 +1,18 @@
+package org.example.albumes.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * PROYECCIÓN: solo las columnas de las que se construyen los índices en memoria (ver AlbumIndicesService).
+ */
+public interface AlbumIndexable {
+    Long getId();
+
+    String getGenero();
+
+    Float getPrecio();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
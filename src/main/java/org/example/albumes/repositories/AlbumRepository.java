@@ -1,44 +1,68 @@
 package org.example.albumes.repositories;
 
 import org.example.albumes.models.Album;
+import org.example.common.TextoNormalizado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 // @Repository: Indica a Spring que esta interfaz es un componente de acceso a datos (DAO).
 // extends JpaRepository<Album, Long>: ¡Magia de Spring Data!
 // Al heredar de esto, obtenemos automáticamente métodos para guardar, borrar y buscar (findAll, save, findById, delete)
 // para la entidad 'Album' cuyo ID es de tipo 'Long'. No hace falta implementarlos.
+// extends JpaSpecificationExecutor<Album>: Añade findAll(Specification), para las búsquedas con filtros
+// combinables que construye AlbumSpecifications.
 @Repository
-public interface AlbumRepository extends JpaRepository<Album, Long> {
+public interface AlbumRepository extends JpaRepository<Album, Long>, JpaSpecificationExecutor<Album> {
+
+    // BÚSQUEDAS POR TEXTO sobre las columnas normalizadas (nombre_busqueda, en minúsculas y sin tildes).
+    // Los métodos 'default' normalizan el texto recibido y llaman a la consulta sobre la columna tal cual:
+    // como no se aplica LOWER() a la columna, la base de datos puede usar su índice.
+
+    // "Contiene", ignorando mayúsculas y tildes ("abbey" encuentra "Abbey Road").
+    default List<Album> findByNombreContainingIgnoreCase(String nombre) {
+        return findByNombreBusquedaContaining(TextoNormalizado.normalizar(nombre));
+    }
 
     // CONSULTA DERIVADA (Derived Query):
     // Spring analiza el nombre del método y genera el SQL automáticamente.
-    // "findByNombre" -> Busca por columna nombre.
+    // "findByNombreBusqueda" -> Busca por la columna nombre_busqueda.
     // "Containing" -> Usa el operador LIKE %valor% (busca coincidencias parciales).
-    // "IgnoreCase" -> Ignora mayúsculas y minúsculas al comparar.
-    // SQL aprox: SELECT * FROM albumes WHERE UPPER(nombre) LIKE UPPER('%parametro%')
-    List<Album> findByNombreContainingIgnoreCase(String nombre);
+    List<Album> findByNombreBusquedaContaining(String texto);
+
+    // Álbumes cuyo artista contenga el texto, ignorando mayúsculas y tildes.
+    default List<Album> findByArtistaNombreContainingIgnoreCase(String artista) {
+        return findByArtistaNombreBusquedaContaining(TextoNormalizado.normalizar(artista));
+    }
 
     // CONSULTA JPQL (@Query):
     // Aquí escribimos la consulta manualmente usando el lenguaje de consulta de objetos de Java (JPQL).
     // No usamos nombres de tablas (ALBUMES), sino nombres de Clases (Album).
-    // "a.artista.nombre": Navegamos desde el objeto Album (a) a su propiedad 'artista' y de ahí a 'nombre'.
-    // LOWER(CONCAT('%', :artista, '%')): Convierte todo a minúsculas y añade los % para buscar "contiene".
-    // :artista hace referencia al parámetro del método String artista.
-    @Query("SELECT a FROM Album a WHERE LOWER(a.artista.nombre) LIKE LOWER(CONCAT('%', :artista, '%'))")
-    List<Album> findByArtistaNombreContainingIgnoreCase(String artista);
-
-    // Consulta JPQL más compleja con dos condiciones (AND).
-    // Busca álbumes donde el nombre coincida Y el artista coincida.
-    @Query("SELECT a FROM Album a WHERE LOWER(a.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) AND LOWER(a.artista" +
-            ".nombre) LIKE LOWER(CONCAT('%', :artista, '%'))")
-    List<Album> findByNombreAndArtista(String nombre, String artista);
+    // "a.artista.nombreBusqueda": Navegamos desde el objeto Album (a) a su propiedad 'artista' y de ahí al nombre normalizado.
+    // JOIN FETCH: trae el artista (y el género) en la misma consulta. :artista hace referencia al parámetro del método.
+    @Query("SELECT a FROM Album a JOIN FETCH a.artista ar JOIN FETCH a.genero WHERE ar.nombreBusqueda LIKE CONCAT('%', :artista, '%')")
+    List<Album> findByArtistaNombreBusquedaContaining(String artista);
+
+    // MULTI-GET: varios álbumes de golpe con UN solo SELECT ... WHERE id IN (...).
+    // LEFT JOIN FETCH: el artista y el género vienen en la misma consulta (sin consultas extra por cada uno).
+    @Query("SELECT a FROM Album a LEFT JOIN FETCH a.artista JOIN FETCH a.genero WHERE a.id IN :ids")
+    List<Album> findAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT a FROM Album a LEFT JOIN FETCH a.artista JOIN FETCH a.genero WHERE a.uuid IN :uuids")
+    List<Album> findAllByUuidIn(Collection<UUID> uuids);
 
     // Métodos que faltaban en la interfaz estándar de JpaRepository y añadimos manualmente.
     // Busca un álbum por su campo UUID. Devuelve Optional para evitar nulos si no existe.
@@ -59,4 +83,70 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
     @Modifying
     @Query("UPDATE Album a SET a.isDeleted = true WHERE a.id = :id")
     void updateIsDeletedToTrueById(Long id);
-}
\ No newline at end of file
+
+    // CONSULTAS DE AGREGACIÓN (GROUP BY):
+    // Solo se usan para reconstruir y verificar las estadísticas en memoria (AlbumEstadisticasService),
+    // nunca en cada petición. Los alias (AS grupo, AS total...) coinciden con los getters de PrecioAgregado.
+    // Se agrupa por la clave del género (entero) y solo se une con GENEROS para sacar su nombre.
+    @Query("SELECT g.nombre AS grupo, COUNT(a) AS total, MIN(a.precio) AS minimo, MAX(a.precio) AS maximo, " +
+            "SUM(a.precio) AS suma FROM Album a JOIN a.genero g GROUP BY g.id, g.nombre")
+    List<PrecioAgregado> agregadosPorGenero();
+
+    @Query("SELECT a.artista.nombre AS grupo, COUNT(a) AS total, MIN(a.precio) AS minimo, MAX(a.precio) AS maximo, " +
+            "SUM(a.precio) AS suma FROM Album a GROUP BY a.artista.nombre")
+    List<PrecioAgregado> agregadosPorArtista();
+
+    // Las mismas agregaciones para UN solo grupo (se usan para recalcular mínimo y máximo tras un borrado).
+    @Query("SELECT g.nombre AS grupo, COUNT(a) AS total, MIN(a.precio) AS minimo, MAX(a.precio) AS maximo, " +
+            "SUM(a.precio) AS suma FROM Album a JOIN a.genero g WHERE g.nombre = :genero GROUP BY g.id, g.nombre")
+    Optional<PrecioAgregado> agregadoDeGenero(String genero);
+
+    @Query("SELECT a.artista.nombre AS grupo, COUNT(a) AS total, MIN(a.precio) AS minimo, MAX(a.precio) AS maximo, " +
+            "SUM(a.precio) AS suma FROM Album a WHERE a.artista.nombre = :artista GROUP BY a.artista.nombre")
+    Optional<PrecioAgregado> agregadoDeArtista(String artista);
+
+    // Agregados de precio por género de UN artista (la ficha del artista, ver ArtistaOverviewService).
+    // Usa el índice idx_albumes_artista_id: solo se leen los álbumes de ese artista.
+    @Query("SELECT g.nombre AS grupo, COUNT(a) AS total, MIN(a.precio) AS minimo, MAX(a.precio) AS maximo, " +
+            "SUM(a.precio) AS suma FROM Album a JOIN a.genero g WHERE a.artista.id = :artistaId GROUP BY g.id, g.nombre")
+    List<PrecioAgregado> agregadosPorGeneroDeArtista(Long artistaId);
+
+    // Una página de los álbumes de un artista. Slice (y no Page): no lanza el COUNT, el total ya lo tenemos
+    // en el contador del artista (num_albumes). Spring Data pide una fila de más para saber si hay otra página.
+    @Query("SELECT a FROM Album a JOIN FETCH a.genero WHERE a.artista.id = :artistaId")
+    Slice<Album> findByArtistaId(Long artistaId, Pageable pagina);
+
+    // Lo justo para reconstruir los índices ordenados en memoria (AlbumIndicesService): sin entidades ni nombres.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a.id AS id, g.nombre AS genero, a.precio AS precio, a.createdAt AS createdAt, " +
+            "a.updatedAt AS updatedAt FROM Album a LEFT JOIN a.genero g")
+    List<AlbumIndexable> paraIndices();
+
+    // Para comparar esos índices con la tabla sin leerla entera (ver AlbumHuella).
+    @Query("SELECT COUNT(a) AS total, COALESCE(SUM(a.id), 0) AS sumaIds, MAX(a.updatedAt) AS ultimaModificacion " +
+            "FROM Album a")
+    AlbumHuella huella();
+
+    // Solo los UUID, para rellenar el filtro de Bloom de AlbumesAusentes. Con un cursor, como streamParaExportar:
+    // el filtro ocupa pocos bits por álbum, pero una lista con todos los UUID serían 16 bytes (y un objeto) por álbum.
+    // Debe llamarse dentro de una transacción y cerrarse al terminar (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.uuid FROM Album a")
+    Stream<UUID> streamUuids();
+
+    // EXPORTACIÓN: recorre TODO el catálogo (ALBUMES + ARTISTAS + GENEROS) con un cursor de solo avance.
+    // Stream: Spring Data lee las filas poco a poco (ScrollMode.FORWARD_ONLY) en lugar de cargar una lista.
+    // HINT_FETCH_SIZE: cuántas filas trae el driver JDBC en cada viaje a la base de datos.
+    // Debe llamarse dentro de una transacción y cerrarse al terminar (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.nombre AS nombre, ar.nombre AS artista, g.nombre AS genero, " +
+            "a.precio AS precio, a.createdAt AS createdAt FROM Album a LEFT JOIN a.artista ar LEFT JOIN a.genero g " +
+            "ORDER BY a.id")
+    Stream<AlbumExportable> streamParaExportar();
+}
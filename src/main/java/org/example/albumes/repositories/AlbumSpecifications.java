@@ -0,0 +1,155 @@
+package org.example.albumes.repositories;
+
+import org.example.albumes.dto.AlbumFiltro;
+import org.example.albumes.exceptions.AlbumBadRequestException;
+import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
+import org.example.artistas.models.Artista;
+import org.example.common.TextoNormalizado;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Motor de filtros de álbumes basado en Specifications (Criteria API de JPA).
+ * <p>
+ * Sustituye a los cuatro métodos fijos del repositorio: cada filtro de AlbumFiltro añade un predicado
+ * y todos se combinan con AND en UNA sola consulta SQL con UN solo JOIN a ARTISTAS
+ * (un JOIN FETCH, así el artista de cada álbum viene en la misma fila y no hay consultas extra).
+ * <p>
+ * Orden de los predicados: primero los que pueden usar un índice y descartan más filas
+ * (igualdad de género, rangos de precio y fecha) y al final los LIKE '%texto%', que no pueden.
+ * <p>
+ * El género se traduce ANTES de consultar a su clave numérica (con el catálogo en memoria), así el filtro
+ * es un genero_id = ? sobre el índice idx_albumes_genero_precio, sin LOWER() ni JOIN a GENEROS.
+ */
+public final class AlbumSpecifications {
+
+    // Campos por los que se puede ordenar (?sort=campo,asc|desc) y su ruta en la entidad.
+    private static final Map<String, String> ORDENABLES = Map.of(
+            "id", "id",
+            "nombre", "nombreBusqueda",
+            "genero", "genero.nombre",
+            "precio", "precio",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt",
+            "artista", "artista.nombreBusqueda"
+    );
+
+    // Carácter de escape de los LIKE: un '%' o '_' que escriba el usuario se busca tal cual, no como comodín.
+    private static final char ESCAPE = '\\';
+
+    private AlbumSpecifications() {
+    }
+
+    /**
+     * @param filtro  filtros y orden pedidos
+     * @param generos traduce un nombre de género a su fila de GENEROS (normalmente CatalogoGeneros::buscar)
+     */
+    public static Specification<Album> filtrar(AlbumFiltro filtro, Function<String, Optional<Genero>> generos) {
+        validarOrden(filtro.getOrden());
+        // Un género que no existe no puede tener álbumes: ni siquiera hace falta preguntar a la BD por él.
+        Optional<Genero> genero = tieneTexto(filtro.getGenero()) ? generos.apply(filtro.getGenero()) : Optional.empty();
+        return (root, query, cb) -> {
+            Join<Album, Artista> artista = unirArtista(root, query);
+            List<Predicate> predicados = new ArrayList<>();
+
+            // 1. Igualdad de género (por su clave): la condición más selectiva e indexable.
+            if (tieneTexto(filtro.getGenero())) {
+                predicados.add(genero.map(g -> cb.equal(root.get("genero"), g)).orElseGet(cb::disjunction));
+            }
+            // Prefijo del nombre: LIKE 'texto%' sí puede recorrer el índice idx_albumes_nombre_busqueda.
+            if (tieneTexto(filtro.getNombreEmpieza())) {
+                predicados.add(cb.like(root.get("nombreBusqueda"), empieza(filtro.getNombreEmpieza()), ESCAPE));
+            }
+            // 2. Rangos de precio y de fecha de creación.
+            if (filtro.getPrecioMin() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("precio"), filtro.getPrecioMin()));
+            }
+            if (filtro.getPrecioMax() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("precio"), filtro.getPrecioMax()));
+            }
+            if (filtro.getDesde() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filtro.getDesde()));
+            }
+            if (filtro.getHasta() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("createdAt"), filtro.getHasta()));
+            }
+            // 3. Búsquedas de texto "contiene" sobre las columnas normalizadas (sin LOWER() en la columna).
+            // Un LIKE '%texto%' no puede usar el índice, así que van las últimas.
+            if (tieneTexto(filtro.getArtista())) {
+                predicados.add(cb.like(artista.get("nombreBusqueda"), contiene(filtro.getArtista()), ESCAPE));
+            }
+            if (tieneTexto(filtro.getNombre())) {
+                predicados.add(cb.like(root.get("nombreBusqueda"), contiene(filtro.getNombre()), ESCAPE));
+            }
+
+            // El orden lo aplicamos aquí (y no con un Sort en el repositorio) para reutilizar el mismo JOIN.
+            if (filtro.getOrden().isSorted() && !esConsultaDeConteo(query)) {
+                query.orderBy(ordenar(filtro.getOrden(), root, artista, cb));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    // JOIN FETCH a ARTISTAS (y a GENEROS, para no lanzar una consulta por género) en las consultas de datos;
+    // en las de conteo (COUNT) basta con un JOIN normal a ARTISTAS.
+    @SuppressWarnings("unchecked")
+    private static Join<Album, Artista> unirArtista(Root<Album> root, CriteriaQuery<?> query) {
+        if (esConsultaDeConteo(query)) {
+            return root.join("artista", JoinType.INNER);
+        }
+        root.fetch("genero", JoinType.INNER);
+        Fetch<Album, Artista> fetch = root.fetch("artista", JoinType.INNER);
+        // Hibernate implementa el fetch como un Join, así podemos usarlo también en el WHERE y el ORDER BY.
+        return (Join<Album, Artista>) fetch;
+    }
+
+    private static List<Order> ordenar(Sort orden, Root<Album> root, Join<Album, Artista> artista, CriteriaBuilder cb) {
+        List<Order> res = new ArrayList<>();
+        for (Sort.Order o : orden) {
+            String ruta = ORDENABLES.get(o.getProperty());
+            Expression<?> campo = ruta.startsWith("artista.") ? artista.get("nombreBusqueda")
+                    : ruta.startsWith("genero.") ? root.get("genero").get("nombre")
+                    : root.get(ruta);
+            res.add(o.isAscending() ? cb.asc(campo) : cb.desc(campo));
+        }
+        return res;
+    }
+
+    private static void validarOrden(Sort orden) {
+        for (Sort.Order o : orden) {
+            if (!ORDENABLES.containsKey(o.getProperty())) {
+                throw new AlbumBadRequestException("No se puede ordenar por '" + o.getProperty()
+                        + "'. Campos válidos: " + ORDENABLES.keySet());
+            }
+        }
+    }
+
+    private static boolean esConsultaDeConteo(CriteriaQuery<?> query) {
+        return query.getResultType() == Long.class || query.getResultType() == long.class;
+    }
+
+    private static boolean tieneTexto(String s) {
+        return s != null && !s.isEmpty();
+    }
+
+    // El texto se normaliza igual que la columna (minúsculas, sin tildes).
+    private static String contiene(String texto) {
+        return "%" + escapar(TextoNormalizado.normalizar(texto)) + "%";
+    }
+
+    private static String empieza(String texto) {
+        return escapar(TextoNormalizado.normalizar(texto)) + "%";
+    }
+
+    private static String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.albumes.repositories;
+
+import org.example.albumes.models.Genero;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Repositorio del catálogo de géneros. Se lee entero al cargar CatalogoGeneros (son muy pocas filas).
+@Repository
+public interface GeneroRepository extends JpaRepository<Genero, Short> {
+
+    // SQL aprox: SELECT * FROM generos WHERE nombre_busqueda = ? (índice único)
+    Optional<Genero> findByNombreBusqueda(String nombreBusqueda);
+}
@@ -0,0 +1,15 @@
+package org.example.albumes.repositories;
+
+// Proyección (interfaz) para las consultas GROUP BY de AlbumRepository.
+// Spring Data rellena cada getter con la columna del mismo alias de la @Query.
+public interface PrecioAgregado {
+    String getGrupo();
+
+    Long getTotal();
+
+    Number getMinimo();
+
+    Number getMaximo();
+
+    Number getSuma();
+}
@@ -0,0 +1,236 @@
+package org.example.albumes.services;
+
+import org.example.albumes.dto.AlbumEstadisticasDto;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.EstadisticasPrecioDto;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.repositories.PrecioAgregado;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Estadísticas de precio del catálogo (total, mínimo, máximo, media y suma) por género y por artista.
+ * <p>
+ * En lugar de lanzar un GROUP BY sobre ALBUMES en cada petición, mantenemos los agregados en memoria
+ * con contadores sin bloqueos (LongAdder, DoubleAdder, LongAccumulator):
+ * <ul>
+ *     <li>Se reconstruyen desde la base de datos al arrancar.</li>
+ *     <li>Se actualizan con cada AlbumCambiadoEvent (save, update, deleteById).</li>
+ *     <li>Se comparan periódicamente con la base de datos y se reconstruyen si se han desviado.</li>
+ * </ul>
+ * El mínimo y el máximo no se pueden "deshacer" al borrar un álbum: si el borrado toca un extremo,
+ * marcamos el grupo y recalculamos solo ese grupo la próxima vez que se consulte.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AlbumEstadisticasService {
+
+    // Tolerancia al comparar sumas de precios (son float, se acumulan pequeños errores de redondeo).
+    private static final double TOLERANCIA = 0.01;
+    private static final String SIN_GRUPO = "(sin grupo)";
+
+    private final AlbumRepository albumRepository;
+
+    // Se sustituye entero al reconstruir, así los lectores nunca ven un estado a medias.
+    private volatile Estado estado = new Estado(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    private record Estado(ConcurrentHashMap<String, Acumulador> porGenero,
+                          ConcurrentHashMap<String, Acumulador> porArtista) {
+    }
+
+    /**
+     * Devuelve una foto de las estadísticas actuales.
+     */
+    public AlbumEstadisticasDto estadisticas() {
+        Estado actual = estado;
+        var porGenero = resumir(actual.porGenero(), albumRepository::agregadoDeGenero);
+        var porArtista = resumir(actual.porArtista(), albumRepository::agregadoDeArtista);
+        return AlbumEstadisticasDto.builder()
+                .global(global(actual.porGenero()))
+                .porGenero(porGenero)
+                .porArtista(porArtista)
+                .build();
+    }
+
+    // @TransactionalEventListener: si el cambio ocurre dentro de una transacción, solo lo contamos
+    // cuando se confirma (commit). fallbackExecution = true: si no hay transacción, lo contamos ya.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumCambiado(AlbumCambiadoEvent evento) {
+        Estado actual = estado;
+        if (evento.anterior() != null) {
+            restar(actual, evento.anterior());
+        }
+        if (evento.actual() != null) {
+            sumar(actual, evento.actual());
+        }
+    }
+
+    // Al arrancar, calculamos los agregados con dos GROUP BY (una sola vez).
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        var porGenero = new ConcurrentHashMap<String, Acumulador>();
+        var porArtista = new ConcurrentHashMap<String, Acumulador>();
+        albumRepository.agregadosPorGenero().forEach(a -> porGenero.put(grupo(a.getGrupo()), Acumulador.de(a)));
+        albumRepository.agregadosPorArtista().forEach(a -> porArtista.put(grupo(a.getGrupo()), Acumulador.de(a)));
+        estado = new Estado(porGenero, porArtista);
+        log.info("Estadísticas de álbumes reconstruidas: {} géneros, {} artistas", porGenero.size(), porArtista.size());
+    }
+
+    // Cada cierto tiempo comprobamos que los contadores en memoria coinciden con la base de datos.
+    @Scheduled(fixedDelayString = "${albumes.stats.verificacion-ms:300000}",
+            initialDelayString = "${albumes.stats.verificacion-ms:300000}")
+    public void verificar() {
+        Estado actual = estado;
+        boolean desviado = desviado(actual.porGenero(), albumRepository.agregadosPorGenero())
+                || desviado(actual.porArtista(), albumRepository.agregadosPorArtista());
+        if (desviado) {
+            log.warn("Las estadísticas de álbumes se han desviado de la base de datos, reconstruyendo");
+            reconstruir();
+        }
+    }
+
+    private void sumar(Estado actual, AlbumResponseDto album) {
+        if (album.getPrecio() == null) {
+            return;
+        }
+        actual.porGenero().computeIfAbsent(grupo(album.getGenero()), g -> new Acumulador()).sumar(album.getPrecio());
+        actual.porArtista().computeIfAbsent(grupo(album.getArtista()), g -> new Acumulador()).sumar(album.getPrecio());
+    }
+
+    private void restar(Estado actual, AlbumResponseDto album) {
+        if (album.getPrecio() == null) {
+            return;
+        }
+        Optional.ofNullable(actual.porGenero().get(grupo(album.getGenero()))).ifPresent(a -> a.restar(album.getPrecio()));
+        Optional.ofNullable(actual.porArtista().get(grupo(album.getArtista()))).ifPresent(a -> a.restar(album.getPrecio()));
+    }
+
+    private Map<String, EstadisticasPrecioDto> resumir(ConcurrentHashMap<String, Acumulador> grupos,
+                                                       Function<String, Optional<PrecioAgregado>> recalcular) {
+        Map<String, EstadisticasPrecioDto> res = new TreeMap<>();
+        grupos.forEach((nombre, acumulador) -> {
+            Acumulador vigente = acumulador;
+            if (acumulador.extremosDudosos) {
+                // Un borrado tocó el mínimo o el máximo: recalculamos solo este grupo.
+                vigente = recalcular.apply(nombre).map(Acumulador::de).orElseGet(Acumulador::new);
+                grupos.replace(nombre, acumulador, vigente);
+            }
+            if (vigente.total.sum() <= 0) {
+                grupos.remove(nombre, vigente);
+                return;
+            }
+            res.put(nombre, vigente.aDto());
+        });
+        return res;
+    }
+
+    private EstadisticasPrecioDto global(ConcurrentHashMap<String, Acumulador> porGenero) {
+        Acumulador global = new Acumulador();
+        porGenero.values().forEach(global::combinar);
+        return global.aDto();
+    }
+
+    private boolean desviado(Map<String, Acumulador> memoria, List<PrecioAgregado> bd) {
+        long gruposNoVacios = memoria.values().stream().filter(a -> a.total.sum() > 0).count();
+        if (gruposNoVacios != bd.size()) {
+            return true;
+        }
+        for (PrecioAgregado agregado : bd) {
+            Acumulador acumulador = memoria.get(grupo(agregado.getGrupo()));
+            if (acumulador == null
+                    || acumulador.total.sum() != agregado.getTotal()
+                    || Math.abs(acumulador.suma.sum() - agregado.getSuma().doubleValue()) > TOLERANCIA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String grupo(String nombre) {
+        return nombre != null ? nombre : SIN_GRUPO;
+    }
+
+    /**
+     * Contadores de un grupo. Todos son "lock-free": varios hilos pueden sumar a la vez sin esperarse.
+     * El mínimo y el máximo se guardan como long ordenable (ver clave()) para poder usar LongAccumulator.
+     */
+    static final class Acumulador {
+        final LongAdder total = new LongAdder();
+        final DoubleAdder suma = new DoubleAdder();
+        final LongAccumulator minimo = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        final LongAccumulator maximo = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        volatile boolean extremosDudosos;
+
+        static Acumulador de(PrecioAgregado agregado) {
+            Acumulador acumulador = new Acumulador();
+            acumulador.total.add(agregado.getTotal());
+            acumulador.suma.add(agregado.getSuma().doubleValue());
+            acumulador.minimo.accumulate(clave(agregado.getMinimo().floatValue()));
+            acumulador.maximo.accumulate(clave(agregado.getMaximo().floatValue()));
+            return acumulador;
+        }
+
+        void sumar(float precio) {
+            total.increment();
+            suma.add(precio);
+            minimo.accumulate(clave(precio));
+            maximo.accumulate(clave(precio));
+        }
+
+        void restar(float precio) {
+            total.decrement();
+            suma.add(-precio);
+            long clave = clave(precio);
+            if (clave <= minimo.get() || clave >= maximo.get()) {
+                extremosDudosos = true;
+            }
+        }
+
+        void combinar(Acumulador otro) {
+            total.add(otro.total.sum());
+            suma.add(otro.suma.sum());
+            minimo.accumulate(otro.minimo.get());
+            maximo.accumulate(otro.maximo.get());
+        }
+
+        EstadisticasPrecioDto aDto() {
+            long n = total.sum();
+            double s = suma.sum();
+            return EstadisticasPrecioDto.builder()
+                    .total(n)
+                    .suma(s)
+                    .media(n > 0 ? s / n : null)
+                    .minimo(n > 0 ? precio(minimo.get()) : null)
+                    .maximo(n > 0 ? precio(maximo.get()) : null)
+                    .build();
+        }
+
+        // Convierte un float en un long que se ordena igual que el número (también para negativos).
+        static long clave(float precio) {
+            int bits = Float.floatToIntBits(precio);
+            return bits ^ ((bits >> 31) & 0x7fffffff);
+        }
+
+        static float precio(long clave) {
+            int k = (int) clave;
+            return Float.intBitsToFloat(k ^ ((k >> 31) & 0x7fffffff));
+        }
+    }
+}
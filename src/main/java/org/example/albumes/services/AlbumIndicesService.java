@@ -0,0 +1,375 @@
+package org.example.albumes.services;
+
+import org.example.albumes.dto.AlbumPaginaDto;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.exceptions.AlbumBadRequestException;
+import org.example.albumes.repositories.AlbumHuella;
+import org.example.albumes.repositories.AlbumIndexable;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.common.TextoNormalizado;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índices ordenados en memoria para las consultas más comunes de la tienda:
+ * <ul>
+ *     <li>Los N más baratos de un género, y los álbumes entre dos precios (con o sin género): índice (género, precio, id).</li>
+ *     <li>Las N novedades: índice (fecha de alta, id).</li>
+ * </ul>
+ * Cada índice es un ConcurrentSkipListSet: se lee y se escribe a la vez sin bloqueos, y un rango o los N primeros
+ * se recorren en orden sin ordenar nada. De la base de datos solo se cargan los álbumes de la página, por id
+ * (y casi siempre salen de la caché "albumes", ver AlbumService.findAllById).
+ * <p>
+ * Como AlbumEstadisticasService: se construyen al arrancar, se actualizan con cada AlbumCambiadoEvent y se
+ * comparan periódicamente con la base de datos (con AlbumHuella, no solo el número de álbumes).
+ * Aun así el índice puede ir por detrás un momento (un cambio en otro nodo), así que los álbumes de cada página se
+ * vuelven a comprobar contra el filtro ya cargados.
+ * <p>
+ * Paginación por clave (keyset): cada página devuelve en "siguiente" la clave de su último álbum y la siguiente
+ * empieza justo después. Así pedir la página 100 cuesta lo mismo que la primera, y un alta o una baja no hace
+ * que se repitan o se salten álbumes entre páginas.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AlbumIndicesService {
+
+    // Como mucho una página del multi-get: es lo que se pide luego a AlbumService.findAllById.
+    public static final int MAX_LIMITE = AlbumServiceImpl.MAX_MULTI_GET;
+    private static final char SEPARADOR = '_';
+
+    private final AlbumRepository albumRepository;
+    private final AlbumService albumService;
+
+    // Se sustituye entero al reconstruir, así los lectores nunca ven un índice a medio llenar.
+    private volatile Indices indices = new Indices();
+    // El que se está rellenando: los cambios que llegan mientras tanto se aplican también aquí para no perderlos.
+    private volatile Indices enConstruccion;
+
+    /**
+     * Álbumes por precio de menor a mayor (a igual precio, por id).
+     *
+     * @param genero    solo los de este género (sin distinguir mayúsculas ni tildes); null para todos
+     * @param min       precio mínimo incluido; null sin mínimo
+     * @param max       precio máximo incluido; null sin máximo
+     * @param despuesDe "siguiente" de la página anterior; null para la primera
+     */
+    public AlbumPaginaDto porPrecio(String genero, Float min, Float max, int limite, String despuesDe) {
+        log.info("Álbumes por precio: genero={} min={} max={} limite={} despuesDe={}", genero, min, max, limite, despuesDe);
+        Indices actual = indices;
+        ClavePrecio cursor = despuesDe != null ? ClavePrecio.cursor(despuesDe) : null;
+        float desde = min != null ? min : Float.NEGATIVE_INFINITY;
+        float hasta = max != null ? max : Float.POSITIVE_INFINITY;
+        String generoNormalizado = genero != null ? TextoNormalizado.normalizar(genero) : null;
+
+        List<ClavePrecio> claves;
+        if (genero != null) {
+            claves = primeros(rango(actual.porPrecio, generoNormalizado, desde, hasta, cursor), limite + 1);
+        } else {
+            // Sin género: se recorre el rango de cada género y se mezclan. Los géneros son pocos y de cada uno
+            // basta con los limite + 1 primeros.
+            claves = new ArrayList<>();
+            String g = siguienteGenero(actual.porPrecio, null);
+            while (g != null) {
+                claves.addAll(primeros(rango(actual.porPrecio, g, desde, hasta, cursor), limite + 1));
+                g = siguienteGenero(actual.porPrecio, g);
+            }
+            claves.sort(ClavePrecio.SIN_GENERO);
+        }
+        return pagina(claves, limite, ClavePrecio::id, ClavePrecio::cursor, album -> album.getPrecio() != null
+                && album.getPrecio() >= desde && album.getPrecio() <= hasta
+                && (generoNormalizado == null || generoNormalizado.equals(TextoNormalizado.normalizar(album.getGenero()))));
+    }
+
+    /**
+     * Álbumes de más nuevo a más antiguo (a igual fecha, el de id mayor primero).
+     */
+    public AlbumPaginaDto novedades(int limite, String despuesDe) {
+        log.info("Novedades: limite={} despuesDe={}", limite, despuesDe);
+        NavigableSet<ClaveFecha> porFecha = indices.porFecha;
+        NavigableSet<ClaveFecha> rango = despuesDe != null
+                ? porFecha.headSet(ClaveFecha.cursor(despuesDe), false)
+                : porFecha;
+        return pagina(primeros(rango.descendingSet(), limite + 1), limite, ClaveFecha::id, ClaveFecha::cursor, album -> true);
+    }
+
+    // @TransactionalEventListener: el índice solo cambia cuando el cambio se confirma (commit).
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumCambiado(AlbumCambiadoEvent evento) {
+        // Primero el que se está construyendo: si ya no hay ninguno, es que ya ha sustituido a "indices".
+        Indices nuevos = enConstruccion;
+        Indices actual = indices;
+        if (nuevos != null && nuevos != actual) {
+            aplicar(nuevos, evento);
+        }
+        aplicar(actual, evento);
+    }
+
+    private static void aplicar(Indices destino, AlbumCambiadoEvent evento) {
+        if (evento.actual() != null) {
+            AlbumResponseDto album = evento.actual();
+            destino.poner(album.getId(), album.getGenero(), album.getPrecio(), album.getCreatedAt(), album.getUpdatedAt());
+        } else if (evento.anterior() != null) {
+            destino.quitar(evento.anterior().getId());
+        }
+    }
+
+    // Al arrancar, una sola consulta con cinco columnas por álbum.
+    // synchronized: el arranque y verificar() no construyen dos a la vez.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        Indices nuevos = new Indices();
+        nuevos.conEvento = ConcurrentHashMap.newKeySet();
+        enConstruccion = nuevos;
+        try {
+            for (AlbumIndexable album : albumRepository.paraIndices()) {
+                nuevos.cargar(album.getId(), album.getGenero(), album.getPrecio(), album.getCreatedAt(), album.getUpdatedAt());
+            }
+            indices = nuevos;
+            log.info("Índices de álbumes reconstruidos: {} álbumes", nuevos.porId.size());
+        } finally {
+            enConstruccion = null;
+            nuevos.conEvento = null;
+        }
+    }
+
+    // Cada cierto tiempo comprobamos que el índice tiene los mismos álbumes que la base de datos: cuántos, cuáles
+    // (la suma de sus id) y si hay alguna modificación posterior a la última que conoce.
+    @Scheduled(fixedDelayString = "${albumes.indices.verificacion-ms:300000}",
+            initialDelayString = "${albumes.indices.verificacion-ms:300000}")
+    public void verificar() {
+        AlbumHuella enBd = albumRepository.huella();
+        Indices actual = indices;
+        long total = actual.porId.size();
+        long sumaIds = actual.porId.reduceKeysToLong(Long.MAX_VALUE, Long::longValue, 0L, Long::sum);
+        LocalDateTime ultima = actual.ultimaModificacion.get();
+        // 1 ms de margen: la base de datos puede redondear la fecha que traía el evento.
+        boolean modificado = enBd.getUltimaModificacion() != null
+                && (ultima == null || enBd.getUltimaModificacion().isAfter(ultima.plus(1, ChronoUnit.MILLIS)));
+        if (total != enBd.getTotal() || sumaIds != enBd.getSumaIds() || modificado) {
+            log.warn("Los índices de álbumes ({} álbumes, suma de id {}, última modificación {}) no coinciden con la "
+                    + "base de datos ({}, {}, {}), reconstruyendo", total, sumaIds, ultima,
+                    enBd.getTotal(), enBd.getSumaIds(), enBd.getUltimaModificacion());
+            reconstruir();
+        }
+    }
+
+    private static NavigableSet<ClavePrecio> rango(NavigableSet<ClavePrecio> porPrecio, String genero,
+                                                   float min, float max, ClavePrecio cursor) {
+        ClavePrecio desde = new ClavePrecio(genero, min, Long.MIN_VALUE);
+        boolean incluido = true;
+        if (cursor != null && ClavePrecio.SIN_GENERO.compare(cursor, desde) >= 0) {
+            desde = new ClavePrecio(genero, cursor.precio(), cursor.id());
+            incluido = false;
+        }
+        ClavePrecio hasta = new ClavePrecio(genero, max, Long.MAX_VALUE);
+        if (desde.compareTo(hasta) > 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return porPrecio.subSet(desde, incluido, hasta, true);
+    }
+
+    // El primer género del índice mayor que el dado (o el primero de todos), saltando por el skip list.
+    private static String siguienteGenero(NavigableSet<ClavePrecio> porPrecio, String genero) {
+        ClavePrecio siguiente = genero == null
+                ? (porPrecio.isEmpty() ? null : porPrecio.first())
+                : porPrecio.higher(new ClavePrecio(genero, Float.NaN, Long.MAX_VALUE));
+        return siguiente != null ? siguiente.genero() : null;
+    }
+
+    private static <K> List<K> primeros(Iterable<K> claves, int n) {
+        List<K> res = new ArrayList<>(Math.min(n, 16));
+        Iterator<K> it = claves.iterator();
+        while (res.size() < n && it.hasNext()) {
+            res.add(it.next());
+        }
+        return res;
+    }
+
+    // De las limite + 1 claves, las limite primeras son la página; si sobra una, hay página siguiente.
+    // Los álbumes cargados que ya no cumplen el filtro (el índice iba por detrás) se quitan; el cursor sigue
+    // saliendo de las claves, así la página siguiente empieza donde debe.
+    private <K> AlbumPaginaDto pagina(List<K> claves, int limite, ToLongFunction<K> id, Function<K, String> cursor,
+                                      Predicate<AlbumResponseDto> cumpleFiltro) {
+        boolean hayMas = claves.size() > limite;
+        List<K> pagina = hayMas ? claves.subList(0, limite) : claves;
+        List<Long> ids = pagina.stream().map(id::applyAsLong).toList();
+        List<AlbumResponseDto> albumes = ids.isEmpty() ? List.of() : albumService.findAllById(ids);
+        List<AlbumResponseDto> vigentes = albumes.stream().filter(cumpleFiltro).toList();
+        if (vigentes.size() != albumes.size()) {
+            log.debug("Índices de álbumes desfasados: {} de {} álbumes de la página ya no cumplen el filtro",
+                    albumes.size() - vigentes.size(), albumes.size());
+        }
+        return AlbumPaginaDto.builder()
+                .albumes(vigentes)
+                .siguiente(hayMas ? cursor.apply(pagina.getLast()) : null)
+                .build();
+    }
+
+    /**
+     * Los dos índices y, por id, las claves con las que está cada álbum en ellos: para quitarlo o moverlo
+     * hace falta su clave exacta, y el evento puede traer un precio o una fecha distintos de los indexados.
+     */
+    static final class Indices {
+        final ConcurrentSkipListSet<ClavePrecio> porPrecio = new ConcurrentSkipListSet<>();
+        final ConcurrentSkipListSet<ClaveFecha> porFecha = new ConcurrentSkipListSet<>();
+        final ConcurrentHashMap<Long, Entradas> porId = new ConcurrentHashMap<>();
+        // La updatedAt más reciente que ha pasado por aquí (para verificar()).
+        final AtomicReference<LocalDateTime> ultimaModificacion = new AtomicReference<>();
+        // Solo mientras se construye: los id que ya han llegado por evento. Lo que traiga la consulta de ellos
+        // es igual o más antiguo, y cargar() no lo pisa.
+        volatile Set<Long> conEvento;
+
+        record Entradas(ClavePrecio precio, ClaveFecha fecha) {
+        }
+
+        // Un cambio confirmado (evento).
+        // compute() bloquea solo ese id: dos cambios del mismo álbum no se mezclan, los de otros álbumes no esperan.
+        void poner(Long id, String genero, Float precio, LocalDateTime createdAt, LocalDateTime updatedAt) {
+            marcar(id);
+            porId.compute(id, (k, anteriores) -> entradas(anteriores, id, genero, precio, createdAt));
+            modificado(updatedAt);
+        }
+
+        // Una fila de la consulta de reconstruir(): si el álbum ya ha cambiado por evento, se deja como está.
+        void cargar(Long id, String genero, Float precio, LocalDateTime createdAt, LocalDateTime updatedAt) {
+            porId.compute(id, (k, anteriores) -> {
+                Set<Long> marcados = conEvento;
+                return marcados != null && marcados.contains(id)
+                        ? anteriores
+                        : entradas(anteriores, id, genero, precio, createdAt);
+            });
+            modificado(updatedAt);
+        }
+
+        void quitar(Long id) {
+            marcar(id);
+            porId.computeIfPresent(id, (k, anteriores) -> {
+                quitar(anteriores);
+                return null;
+            });
+        }
+
+        // Se marca ANTES del compute(): si cargar() ya tiene el id bloqueado, este cambio espera y lo pisa después.
+        private void marcar(Long id) {
+            Set<Long> marcados = conEvento;
+            if (marcados != null) {
+                marcados.add(id);
+            }
+        }
+
+        private Entradas entradas(Entradas anteriores, Long id, String genero, Float precio, LocalDateTime createdAt) {
+            quitar(anteriores);
+            ClavePrecio clavePrecio = precio != null ? new ClavePrecio(TextoNormalizado.normalizar(genero), precio, id) : null;
+            ClaveFecha claveFecha = createdAt != null ? new ClaveFecha(createdAt, id) : null;
+            if (clavePrecio != null) {
+                porPrecio.add(clavePrecio);
+            }
+            if (claveFecha != null) {
+                porFecha.add(claveFecha);
+            }
+            return new Entradas(clavePrecio, claveFecha);
+        }
+
+        private void modificado(LocalDateTime updatedAt) {
+            if (updatedAt != null) {
+                ultimaModificacion.accumulateAndGet(updatedAt, (a, b) -> a == null || b.isAfter(a) ? b : a);
+            }
+        }
+
+        private void quitar(Entradas entradas) {
+            if (entradas == null) {
+                return;
+            }
+            if (entradas.precio() != null) {
+                porPrecio.remove(entradas.precio());
+            }
+            if (entradas.fecha() != null) {
+                porFecha.remove(entradas.fecha());
+            }
+        }
+    }
+
+    // Clave del índice por precio: género (normalizado), precio e id (para desempatar y como cursor).
+    record ClavePrecio(String genero, float precio, long id) implements Comparable<ClavePrecio> {
+
+        // Orden del resultado cuando se mezclan varios géneros.
+        static final Comparator<ClavePrecio> SIN_GENERO = Comparator
+                .comparingDouble(ClavePrecio::precio).thenComparingLong(ClavePrecio::id);
+
+        ClavePrecio {
+            genero = genero != null ? genero : "";
+        }
+
+        @Override
+        public int compareTo(ClavePrecio otra) {
+            int c = genero.compareTo(otra.genero);
+            if (c != 0) {
+                return c;
+            }
+            c = Float.compare(precio, otra.precio);
+            return c != 0 ? c : Long.compare(id, otra.id);
+        }
+
+        // "9.99_12": precio e id del último álbum de la página. El género no hace falta: va en la petición.
+        String cursor() {
+            return Float.toString(precio) + SEPARADOR + id;
+        }
+
+        static ClavePrecio cursor(String texto) {
+            int i = texto.lastIndexOf(SEPARADOR);
+            try {
+                return new ClavePrecio(null, Float.parseFloat(texto.substring(0, i)), Long.parseLong(texto.substring(i + 1)));
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                throw new AlbumBadRequestException("Cursor no válido: " + texto);
+            }
+        }
+    }
+
+    // Clave del índice por fecha de alta: fecha e id.
+    record ClaveFecha(LocalDateTime createdAt, long id) implements Comparable<ClaveFecha> {
+
+        @Override
+        public int compareTo(ClaveFecha otra) {
+            int c = createdAt.compareTo(otra.createdAt);
+            return c != 0 ? c : Long.compare(id, otra.id);
+        }
+
+        // "2024-05-01T10:15:30_12"
+        String cursor() {
+            return createdAt.toString() + SEPARADOR + id;
+        }
+
+        static ClaveFecha cursor(String texto) {
+            int i = texto.lastIndexOf(SEPARADOR);
+            try {
+                return new ClaveFecha(LocalDateTime.parse(texto.substring(0, i)), Long.parseLong(texto.substring(i + 1)));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new AlbumBadRequestException("Cursor no válido: " + texto);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.albumes.services;
 
 import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumFiltro;
 import org.example.albumes.dto.AlbumResponseDto;
 import org.example.albumes.dto.AlbumUpdateDto;
 
@@ -10,8 +11,8 @@ import java.util.List;
 // Esto permite cambiar la lógica interna sin romper el resto de la aplicación (Desacoplamiento).
 public interface AlbumService {
 
-    // Buscar con filtros opcionales
-    List<AlbumResponseDto> findAll(String nombre, String artista);
+    // Buscar con filtros opcionales (nombre, artista, género, precio, fechas) y orden
+    List<AlbumResponseDto> findAll(AlbumFiltro filtro);
 
     // Buscar uno concreto
     AlbumResponseDto findById(Long id);
@@ -19,9 +20,17 @@ public interface AlbumService {
     // Buscar por el código seguro
     AlbumResponseDto findByUuid(String uuid);
 
+    // Buscar varios a la vez (primero en caché, el resto con una sola consulta), en el orden pedido
+    List<AlbumResponseDto> findAllById(List<Long> ids);
+
+    List<AlbumResponseDto> findAllByUuid(List<String> uuids);
+
     // Guardar uno nuevo
     AlbumResponseDto save(AlbumCreateDto createDto);
 
+    // Guardar muchos de golpe, en una sola transacción (importaciones masivas)
+    List<AlbumResponseDto> saveAll(List<AlbumCreateDto> createDtos);
+
     // Actualizar uno existente
     AlbumResponseDto update(Long id, AlbumUpdateDto updateDto);
 
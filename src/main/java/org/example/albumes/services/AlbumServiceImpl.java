@@ -1,24 +1,47 @@
 package org.example.albumes.services;
 
+import org.example.albumes.cache.AlbumBytesCache;
 import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumFiltro;
 import org.example.albumes.dto.AlbumResponseDto;
 import org.example.albumes.dto.AlbumUpdateDto;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.exceptions.AlbumBadRequestException;
 import org.example.albumes.exceptions.AlbumBadUuidException;
 import org.example.albumes.exceptions.AlbumNotFoundException;
 import org.example.albumes.mappers.AlbumMapper;
 import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
 import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.repositories.AlbumSpecifications;
+import org.example.artistas.models.Artista;
 import org.example.artistas.services.ArtistaService;
+import org.example.common.SingleFlights;
+import org.example.common.TextoNormalizado;
+import org.example.common.cache.InvalidadorCache;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 // @CacheConfig: Configuración general de caché para esta clase. Todos los métodos usarán la caché llamada "albumes".
 @CacheConfig(cacheNames = {"albumes"})
@@ -35,27 +58,25 @@ public class AlbumServiceImpl implements AlbumService {
     private final AlbumRepository albumRepository; // Para acceder a la BD.
     private final AlbumMapper albumMapper;         // Para convertir datos.
     private final ArtistaService artistaService;   // Para buscar artistas (validación cruzada).
+    private final ApplicationEventPublisher eventPublisher; // Para avisar de altas, cambios y bajas (AlbumCambiadoEvent).
+    private final CacheManager cacheManager;       // Para leer y rellenar la caché "albumes" en los multi-get.
+    private final SingleFlights singleFlights;     // Para que las cargas simultáneas de la misma clave se hagan una sola vez.
+    private final CatalogoGeneros catalogoGeneros; // Para traducir el nombre del género a su fila de GENEROS (en memoria).
+    private final AlbumesAusentes albumesAusentes; // Para responder 404 a los que no existen sin ir a la BD.
+    private final InvalidadorCache invalidadorCache; // Para borrar de la caché (en todos los nodos) fuera de las anotaciones.
 
-    @Override
-    public List<AlbumResponseDto> findAll(String nombre, String artista) {
-        // Lógica de filtrado: decidimos qué método del repositorio llamar según los parámetros recibidos.
+    // Máximo de álbumes por petición de multi-get (?ids=...), para que el IN (...) no crezca sin límite.
+    static final int MAX_MULTI_GET = 100;
 
-        // Caso 1: No hay filtros (ambos son nulos o vacíos). Devolvemos todo.
-        if ((nombre == null || nombre.isEmpty()) && (artista == null || artista.isEmpty())) {
-            // .findAll() devuelve entidades Album. Usamos el mapper para convertirlas a DTOs.
-            return albumMapper.toResponseDtoList(albumRepository.findAll());
-        }
-        // Caso 2: Solo hay filtro de nombre. Buscamos por nombre.
-        if (nombre != null && (artista == null || artista.isEmpty())) {
-            return albumMapper.toResponseDtoList(albumRepository.findByNombreContainingIgnoreCase(nombre));
-        }
-        // Caso 3: Solo hay filtro de artista. Buscamos por artista.
-        if ((nombre == null || nombre.isEmpty()) && artista != null) {
-            return albumMapper.toResponseDtoList(albumRepository.findByArtistaNombreContainingIgnoreCase(artista));
-        }
-        // Caso 4: Hay ambos filtros. Llamamos a la consulta que filtra por los dos (AND).
-        // Esta llamada coincide con el @Query que acabamos de poner en el repositorio
-        return albumMapper.toResponseDtoList(albumRepository.findByNombreAndArtista(nombre, artista));
+    @Override
+    public List<AlbumResponseDto> findAll(AlbumFiltro filtro) {
+        log.info("Buscando álbumes con filtro: {}", filtro);
+        // AlbumSpecifications traduce TODOS los filtros a una única consulta SQL (con un solo JOIN a ARTISTAS).
+        // Añadir un filtro nuevo es añadir un predicado allí, no otra rama con otra consulta aquí.
+        // SingleFlight: si llegan a la vez varias búsquedas con el MISMO filtro, solo una va a la base de datos.
+        return singleFlights.cargar("albumes.findAll", filtro,
+                () -> albumMapper.toResponseDtoList(albumRepository.findAll(
+                        AlbumSpecifications.filtrar(filtro, catalogoGeneros::buscar))));
     }
 
     // @Cacheable: Antes de ejecutar el método, Spring mira si ya tiene guardado el resultado para este 'id'.
@@ -66,30 +87,102 @@ public class AlbumServiceImpl implements AlbumService {
         log.info("Buscando álbum por id {}", id);
         // Buscamos en el repositorio.
         // .orElseThrow: Si el Optional está vacío (no existe), lanzamos nuestra excepción personalizada 404.
-        return albumMapper.toAlbumResponseDto(albumRepository.findById(id)
-                .orElseThrow(() -> new AlbumNotFoundException(id)));
+        // SingleFlight: si varias peticiones fallan la caché a la vez para este id, solo una consulta la BD
+        // y las demás esperan su resultado (o su excepción 404).
+        // Los que se buscaron hace poco y no existían se responden sin consulta (AlbumesAusentes).
+        long version = albumesAusentes.comprobar(id);
+        return singleFlights.cargar("albumes.findById", id, () -> albumMapper.toAlbumResponseDto(albumRepository.findById(id)
+                .orElseThrow(() -> albumesAusentes.noExiste(id, version))));
     }
 
-    // @Cacheable con el UUID como clave. Misma lógica que arriba.
-    @Cacheable(key = "#uuid")
+    // @Cacheable con el UUID como clave, normalizado (ver claveUuid): así comparte entradas con findAllByUuid
+    // y con las escrituras, aunque el cliente lo envíe en mayúsculas.
+    @Cacheable(key = "T(org.example.albumes.services.AlbumServiceImpl).claveUuid(#uuid)")
     @Override
     public AlbumResponseDto findByUuid(String uuid) {
         log.info("Buscando álbum por uuid: {}", uuid);
         try {
             // Intentamos convertir el String a UUID. Si el formato es malo, Java lanza IllegalArgumentException.
             var myUUID = UUID.fromString(uuid);
+            // Si ya lo buscamos hace poco, 404 sin consulta; si el filtro de Bloom dice que no está, 404 tras
+            // comprobar solo el índice (ver AlbumesAusentes).
+            long version = albumesAusentes.comprobar(myUUID);
             // Buscamos en BD.
-            return albumMapper.toAlbumResponseDto(albumRepository.findByUuid(myUUID)
-                    .orElseThrow(() -> new AlbumNotFoundException(myUUID)));
+            return singleFlights.cargar("albumes.findByUuid", myUUID, () -> albumMapper.toAlbumResponseDto(
+                    albumRepository.findByUuid(myUUID).orElseThrow(() -> albumesAusentes.noExiste(myUUID, version))));
         } catch (IllegalArgumentException e) {
             // Capturamos el error de formato y lanzamos nuestra excepción personalizada (que dará un 400 Bad Request).
             throw new AlbumBadUuidException(uuid);
         }
     }
 
+    // MULTI-GET: en lugar de N llamadas a findById (N viajes y hasta N consultas), una sola llamada:
+    // 1. Miramos TODAS las claves en la caché "albumes" (la misma que usa @Cacheable).
+    // 2. Los que falten se buscan con UNA consulta (WHERE id IN (...)).
+    // 3. Los guardamos en la caché y devolvemos todo en el orden en que se pidió.
+    // Los que no existen simplemente no aparecen en la respuesta (no es un 404).
+    @Override
+    public List<AlbumResponseDto> findAllById(List<Long> ids) {
+        log.info("Buscando álbumes por ids {}", ids);
+        return buscarVarios(ids, albumRepository::findAllByIdIn, AlbumResponseDto::getId);
+    }
+
+    // Igual, con los UUID. Se guardan en caché con la misma clave que usa findByUuid (el UUID como texto).
+    @Override
+    public List<AlbumResponseDto> findAllByUuid(List<String> uuids) {
+        log.info("Buscando álbumes por uuids {}", uuids);
+        List<UUID> validos = uuids.stream().map(uuid -> {
+            try {
+                return UUID.fromString(uuid);
+            } catch (IllegalArgumentException e) {
+                throw new AlbumBadUuidException(uuid);
+            }
+        }).toList();
+        // Usamos el texto normalizado del UUID (en minúsculas) como clave de la caché.
+        // Los que hace poco que no existían ni se piden: tampoco aparecerían en la respuesta.
+        List<String> claves = validos.stream().filter(albumesAusentes::puedeExistir).map(UUID::toString).toList();
+        return buscarVarios(claves, faltan -> albumRepository.findAllByUuidIn(faltan.stream().map(UUID::fromString).toList()),
+                dto -> dto.getUuid().toString());
+    }
+
+    private <K> List<AlbumResponseDto> buscarVarios(List<K> claves, Function<Collection<K>, List<Album>> cargar,
+                                                    Function<AlbumResponseDto, K> claveDe) {
+        // Sin repetidos, pero conservando el orden de la petición.
+        var distintas = new LinkedHashSet<>(claves);
+        if (distintas.size() > MAX_MULTI_GET) {
+            throw new AlbumBadRequestException("Como máximo se pueden pedir " + MAX_MULTI_GET + " álbumes a la vez");
+        }
+        Cache cache = cacheManager.getCache("albumes");
+        Map<K, AlbumResponseDto> encontrados = new HashMap<>();
+        List<K> faltan = new ArrayList<>();
+        for (K clave : distintas) {
+            AlbumResponseDto enCache = cache != null ? cache.get(clave, AlbumResponseDto.class) : null;
+            if (enCache != null) {
+                encontrados.put(clave, enCache);
+            } else {
+                faltan.add(clave);
+            }
+        }
+
+        if (!faltan.isEmpty()) {
+            for (Album album : cargar.apply(faltan)) {
+                var dto = albumMapper.toAlbumResponseDto(album);
+                encontrados.put(claveDe.apply(dto), dto);
+                if (cache != null) {
+                    cache.put(claveDe.apply(dto), dto);
+                }
+            }
+        }
+        log.debug("Multi-get: {} en caché, {} buscados en la base de datos", distintas.size() - faltan.size(), faltan.size());
+
+        return distintas.stream().map(encontrados::get).filter(Objects::nonNull).toList();
+    }
+
     // @CachePut: Este método SIEMPRE se ejecuta. El resultado que devuelve se guarda/actualiza en la caché con la clave 'result.id'.
     // Se usa para mantener la caché actualizada cuando creamos un dato nuevo.
+    // @Transactional: el álbum y el contador de álbumes de su artista se guardan juntos (o ninguno).
     @CachePut(key = "#result.id")
+    @Transactional
     @Override
     public AlbumResponseDto save(AlbumCreateDto createDto) {
         log.info("Guardando álbum: {}", createDto);
@@ -100,15 +193,53 @@ public class AlbumServiceImpl implements AlbumService {
         var artista = artistaService.findByNombre(createDto.getArtista());
 
         // 2. Usamos el Mapper para convertir el DTO en una Entidad Album.
-        // Le pasamos el objeto 'artista' real que acabamos de recuperar para establecer la relación.
-        Album nuevoAlbum = albumMapper.toAlbum(createDto, artista);
+        // Le pasamos el objeto 'artista' real que acabamos de recuperar y el género del catálogo.
+        Album nuevoAlbum = albumMapper.toAlbum(createDto, artista, genero(createDto.getGenero()));
 
         // 3. Guardamos el nuevo álbum en la base de datos y convertimos el resultado a DTO para devolverlo.
-        return albumMapper.toAlbumResponseDto(albumRepository.save(nuevoAlbum));
+        var guardado = albumMapper.toAlbumResponseDto(albumRepository.save(nuevoAlbum));
+        artistaService.sumarAlbumes(artista.getId(), 1);
+
+        // 4. Avisamos del alta (estadísticas, etc.).
+        eventPublisher.publishEvent(AlbumCambiadoEvent.alta(guardado));
+        return guardado;
+    }
+
+    // Guardado por lotes (lo usa el importador masivo).
+    // @Transactional: o se guardan todos los álbumes del lote o ninguno.
+    // No usamos @CachePut: son muchos álbumes nuevos y normalmente nadie los ha pedido todavía.
+    @Transactional
+    @Override
+    public List<AlbumResponseDto> saveAll(List<AlbumCreateDto> createDtos) {
+        log.info("Guardando lote de {} álbumes", createDtos.size());
+
+        // Buscamos cada artista UNA vez por lote, aunque tenga muchos álbumes en él.
+        Map<String, Artista> artistas = new HashMap<>();
+        List<Album> nuevos = createDtos.stream()
+                .map(dto -> albumMapper.toAlbum(dto, artistas.computeIfAbsent(
+                        TextoNormalizado.normalizar(dto.getArtista()), n -> artistaService.findByNombre(dto.getArtista())),
+                        genero(dto.getGenero())))
+                .toList();
+
+        var guardados = albumMapper.toResponseDtoList(albumRepository.saveAll(nuevos));
+        // Un solo UPDATE del contador por artista, con todos sus álbumes del lote.
+        nuevos.stream()
+                .collect(Collectors.groupingBy(album -> album.getArtista().getId(), Collectors.summingInt(album -> 1)))
+                .forEach(artistaService::sumarAlbumes);
+        guardados.forEach(guardado -> eventPublisher.publishEvent(AlbumCambiadoEvent.alta(guardado)));
+        return guardados;
     }
 
     // @CachePut: Igual que arriba. Actualiza la caché con el álbum modificado.
-    @CachePut(key = "#result.id")
+    // Además borramos su JSON ya serializado (AlbumBytesCache), que ha dejado de ser válido.
+    // El álbum también está en la caché por su uuid (findByUuid y los multi-get): lo actualizamos igual.
+    @Caching(
+            put = {
+                    @CachePut(key = "#result.id"),
+                    @CachePut(key = "#result.uuid.toString()")
+            },
+            evict = @CacheEvict(cacheNames = AlbumBytesCache.CACHE_NAME, key = "#id")
+    )
     @Override
     public AlbumResponseDto update(Long id, AlbumUpdateDto updateDto) {
         log.info("Actualizando álbum por id: {}", id);
@@ -116,24 +247,71 @@ public class AlbumServiceImpl implements AlbumService {
         var albumActual = albumRepository.findById(id)
                 .orElseThrow(() -> new AlbumNotFoundException(id));
 
+        // Guardamos cómo era antes del cambio para poder avisar de qué ha cambiado.
+        var anterior = albumMapper.toAlbumResponseDto(albumActual);
+
         // 2. Usamos el mapper para actualizar los campos del álbum original con los datos nuevos del DTO.
-        // Esto modifica el objeto 'albumActual' en memoria.
-        Album albumActualizado = albumMapper.toAlbum(updateDto, albumActual);
+        // Esto crea un objeto nuevo con los datos mezclados (el original no se toca).
+        // Si no se envía género, se mantiene el que tenía.
+        Genero genero = updateDto.getGenero() != null ? genero(updateDto.getGenero()) : null;
+        Album albumActualizado = albumMapper.toAlbum(updateDto, albumActual, genero);
 
         // 3. Guardamos los cambios en la base de datos.
-        return albumMapper.toAlbumResponseDto(albumRepository.save(albumActualizado));
+        var actualizado = albumMapper.toAlbumResponseDto(albumRepository.save(albumActualizado));
+
+        // 4. Avisamos del cambio.
+        eventPublisher.publishEvent(AlbumCambiadoEvent.modificacion(anterior, actualizado));
+        return actualizado;
     }
 
     // @CacheEvict: Cuando borramos un dato, es OBLIGATORIO borrarlo también de la caché.
     // Si no, si alguien pide este ID después de borrarlo, ¡la caché se lo devolvería como si existiera!
-    @CacheEvict(key = "#id")
+    // Lo mismo con su JSON ya serializado.
+    @Caching(evict = {
+            @CacheEvict(key = "#id"),
+            @CacheEvict(cacheNames = AlbumBytesCache.CACHE_NAME, key = "#id")
+    })
+    @Transactional
     @Override
     public void deleteById(Long id) {
         log.debug("Borrando álbum por id: {}", id);
         // Verificamos que el álbum exista antes de intentar borrarlo. Si no, error 404.
-        albumRepository.findById(id)
+        var album = albumRepository.findById(id)
                 .orElseThrow(() -> new AlbumNotFoundException(id));
         // Borrado físico (elimina la fila de la tabla).
         albumRepository.deleteById(id);
+        // El id lo quita @CacheEvict; la entrada por uuid solo la conocemos ahora que tenemos el álbum.
+        olvidarUuid(album.getUuid());
+        if (album.getArtista() != null) {
+            artistaService.sumarAlbumes(album.getArtista().getId(), -1);
+        }
+
+        // Avisamos de la baja.
+        eventPublisher.publishEvent(AlbumCambiadoEvent.baja(albumMapper.toAlbumResponseDto(album)));
+    }
+
+    // Clave de la caché "albumes" para un uuid: su forma canónica (minúsculas), la misma que usan
+    // findAllByUuid y las escrituras. Si no es un uuid válido se deja tal cual (findByUuid dará 400).
+    public static String claveUuid(String uuid) {
+        try {
+            return UUID.fromString(uuid).toString();
+        } catch (IllegalArgumentException e) {
+            return uuid;
+        }
+    }
+
+    // Quita el álbum de la caché por su uuid cuando se confirma el borrado (si lo hiciéramos antes,
+    // otra petición podría volver a cachearlo mientras la transacción sigue abierta). También en los demás nodos.
+    private void olvidarUuid(UUID uuid) {
+        if (uuid != null) {
+            invalidadorCache.invalidarTrasCommit("albumes", uuid.toString());
+        }
+    }
+
+    // Traduce el nombre del género a su fila de GENEROS. El validador ya lo comprueba en la API,
+    // pero el importador y la escritura asíncrona llegan aquí sin pasar por él.
+    private Genero genero(String nombre) {
+        return catalogoGeneros.buscar(nombre)
+                .orElseThrow(() -> new AlbumBadRequestException("El género " + nombre + " no existe"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,191 @@
+package org.example.albumes.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.exceptions.AlbumNotFoundException;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.common.cache.CacheNegativa;
+import org.example.common.cache.FiltroBloom;
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Responde 404 a los álbumes que no existen sin cargarlos de la base de datos.
+ * <ul>
+ *   <li>Por id y por UUID: una caché negativa con los que se han buscado hace poco y no existían. Los siguientes
+ *   404 de la misma clave no hacen ninguna consulta.</li>
+ *   <li>Por UUID: un filtro de Bloom con los UUID de todos los álbumes. Si dice que no está, basta con comprobar
+ *   que existe en el índice (existsByUuid) en lugar de cargar el álbum. No nos fiamos solo del filtro: solo ve las
+ *   altas de este nodo, y otra instancia o un INSERT directo pueden haber creado el álbum después de la última
+ *   reconstrucción. Si la consulta lo encuentra, se añade al filtro.</li>
+ * </ul>
+ * Las altas se añaden al filtro y se quitan de la caché negativa al confirmarse. Los álbumes borrados siguen en el
+ * filtro (un filtro de Bloom no permite quitar) hasta la siguiente reconstrucción: solo cuestan una consulta.
+ * <p>
+ * Con varias instancias (near-cache), cada alta avisa también a las demás, como una invalidación más de la caché
+ * "albumes.ausentes" (ver DifusionInvalidaciones.vincular): las quitan de su caché negativa y las añaden a su filtro.
+ * Una búsqueda que falló mientras se creaba no deja anotado el 404 (ver las versiones de CacheNegativa).
+ */
+@Slf4j
+@Component
+public class AlbumesAusentes {
+
+    // Nombre con el que viajan las claves entre nodos (no es una caché de Spring).
+    public static final String CACHE = "albumes.ausentes";
+
+    private final AlbumRepository albumRepository;
+    private final ObjectProvider<DifusionInvalidaciones> difusion;
+    private final CacheNegativa<Object> ausentes;
+    private final long esperados;
+    private final double falsosPositivos;
+    private final Counter evitadasBloom;
+    private final Counter evitadasCache;
+
+    // null mientras no se ha construido: entonces no se descarta nada por el filtro.
+    private volatile FiltroBloom uuids;
+    // El que se está rellenando: las altas que llegan mientras tanto se añaden también aquí para no perderlas.
+    private volatile FiltroBloom enConstruccion;
+
+    public AlbumesAusentes(AlbumRepository albumRepository, MeterRegistry registry,
+                           ObjectProvider<DifusionInvalidaciones> difusion,
+                           @Value("${ausentes.ttl-ms:30000}") long ttlMs,
+                           @Value("${ausentes.max-entradas:100000}") int maxEntradas,
+                           @Value("${albumes.bloom.esperados:100000}") long esperados,
+                           @Value("${albumes.bloom.falsos-positivos:0.01}") double falsosPositivos) {
+        this.albumRepository = albumRepository;
+        this.ausentes = new CacheNegativa<>(ttlMs, maxEntradas);
+        this.esperados = esperados;
+        this.falsosPositivos = falsosPositivos;
+        this.evitadasBloom = evitadas(registry, "bloom");
+        this.evitadasCache = evitadas(registry, "cache");
+        this.difusion = difusion;
+        // Las claves llegan como se registraron en onAlbumCambiado: el id (Long) o el UUID como texto.
+        difusion.ifAvailable(d -> d.vincular(CACHE, clave -> {
+            if (clave == null) {
+                ausentes.vaciar();
+            } else if (clave instanceof String texto) {
+                olvidarAlta(UUID.fromString(texto));
+            } else {
+                ausentes.olvidar(clave);
+            }
+        }));
+    }
+
+    // Lanza el 404 si ya sabemos que el álbum no existe. Si no, devuelve la versión que hay que pasar a noExiste().
+    public long comprobar(Long id) {
+        if (ausentes.contiene(id)) {
+            evitadasCache.increment();
+            throw new AlbumNotFoundException(id);
+        }
+        return ausentes.version(id);
+    }
+
+    public long comprobar(UUID uuid) {
+        if (ausentes.contiene(uuid)) {
+            evitadasCache.increment();
+            throw new AlbumNotFoundException(uuid);
+        }
+        long version = ausentes.version(uuid);
+        FiltroBloom filtro = uuids;
+        if (filtro != null && !filtro.puedeContener(uuid)) {
+            if (!albumRepository.existsByUuid(uuid)) {
+                evitadasBloom.increment();
+                throw noExiste(uuid, version);
+            }
+            // Lo ha creado otro nodo o alguien fuera de la aplicación: el filtro estaba desfasado.
+            log.debug("Álbum {} ausente del filtro de Bloom pero presente en la base de datos", uuid);
+            filtro.anadir(uuid);
+        }
+        return version;
+    }
+
+    // Para los multi-get: false si hace poco que no existía (no hace falta pedirlo a la base de datos).
+    // Aquí no se usa el filtro: los que descarta irían en la misma consulta IN (...) que los demás, que es
+    // lo único que podríamos ahorrar, y podría descartar alguno creado en otro nodo.
+    public boolean puedeExistir(UUID uuid) {
+        return !ausentes.contiene(uuid);
+    }
+
+    // La consulta no lo ha encontrado: lo anotamos y devolvemos la excepción para lanzarla.
+    // version: la que devolvió comprobar() antes de la consulta; si se ha creado entre medias, no se anota.
+    public AlbumNotFoundException noExiste(Long id, long version) {
+        ausentes.anotar(id, version);
+        return new AlbumNotFoundException(id);
+    }
+
+    public AlbumNotFoundException noExiste(UUID uuid, long version) {
+        ausentes.anotar(uuid, version);
+        return new AlbumNotFoundException(uuid);
+    }
+
+    // Solo nos interesan las altas; con fallbackExecution también fuera de una transacción (como los demás oyentes).
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumCambiado(AlbumCambiadoEvent evento) {
+        if (evento.anterior() != null || evento.actual() == null) {
+            return;
+        }
+        Long id = evento.actual().getId();
+        UUID uuid = evento.actual().getUuid();
+        olvidarAlta(uuid);
+        ausentes.olvidar(id);
+        difusion.ifAvailable(d -> {
+            d.registrar(CACHE, id);
+            d.registrar(CACHE, uuid.toString());
+        });
+    }
+
+    private void olvidarAlta(UUID uuid) {
+        FiltroBloom filtro = uuids;
+        if (filtro != null) {
+            filtro.anadir(uuid);
+        }
+        FiltroBloom nuevo = enConstruccion;
+        if (nuevo != null) {
+            nuevo.anadir(uuid);
+        }
+        ausentes.olvidar(uuid);
+    }
+
+    // Al arrancar y cada cierto tiempo (para soltar los borrados y crecer si hay más álbumes de los esperados).
+    // Con el doble de los que hay, el filtro aguanta muchas altas antes de pasarse de la tasa de falsos positivos.
+    // @Transactional: el Stream del repositorio necesita la conexión abierta mientras se recorre.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${albumes.bloom.reconstruccion-ms:3600000}",
+            initialDelayString = "${albumes.bloom.reconstruccion-ms:3600000}")
+    @Transactional(readOnly = true)
+    public synchronized void reconstruir() {
+        FiltroBloom nuevo = new FiltroBloom(Math.max(esperados, 2 * albumRepository.count()), falsosPositivos);
+        enConstruccion = nuevo;
+        long total = 0;
+        try (Stream<UUID> todos = albumRepository.streamUuids()) {
+            for (var it = todos.iterator(); it.hasNext(); total++) {
+                nuevo.anadir(it.next());
+            }
+            uuids = nuevo;
+            log.info("Filtro de Bloom de álbumes reconstruido: {} UUID en {} KB ({} funciones hash)",
+                    total, nuevo.getBits() / 8 / 1024, nuevo.getFunciones());
+        } finally {
+            enConstruccion = null;
+        }
+    }
+
+    private static Counter evitadas(MeterRegistry registry, String motivo) {
+        return Counter.builder("albumes.ausentes.evitadas")
+                .tag("motivo", motivo)
+                .description("Búsquedas de álbumes inexistentes respondidas sin cargarlos (cache: sin consulta; "
+                        + "bloom: con una consulta de existencia)")
+                .register(registry);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.albumes.services;
+
+import org.example.albumes.exceptions.GeneroConflictException;
+import org.example.albumes.models.Genero;
+import org.example.albumes.repositories.GeneroRepository;
+import org.example.common.TextoNormalizado;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catálogo de géneros en memoria: la tabla GENEROS entera en un mapa indexado por el nombre normalizado
+ * (minúsculas y sin tildes). Validar un género o traducirlo a su clave es una búsqueda O(1), sin ir a la BD.
+ * <p>
+ * El mapa se recarga al crear un género desde la API y, cada cierto tiempo, por si se han insertado
+ * directamente en la base de datos.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CatalogoGeneros {
+
+    private final GeneroRepository generoRepository;
+
+    // Se sustituye entero al recargar (volatile): los lectores nunca ven un mapa a medias.
+    // null = todavía no se ha cargado (se carga en la primera consulta, cuando la BD ya tiene datos).
+    private volatile Map<String, Genero> porNombre;
+
+    /**
+     * Busca un género por nombre, sin distinguir mayúsculas ni tildes ("rock", "ROCK" -> Rock).
+     */
+    public Optional<Genero> buscar(String nombre) {
+        if (nombre == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mapa().get(TextoNormalizado.normalizar(nombre)));
+    }
+
+    public boolean existe(String nombre) {
+        return buscar(nombre).isPresent();
+    }
+
+    // Todos los géneros, por orden alfabético.
+    public List<Genero> todos() {
+        return mapa().values().stream().sorted(Comparator.comparing(Genero::getNombre)).toList();
+    }
+
+    /**
+     * Añade un género al catálogo.
+     *
+     * @throws GeneroConflictException si ya existe (409)
+     */
+    public Genero crear(String nombre) {
+        if (generoRepository.findByNombreBusqueda(TextoNormalizado.normalizar(nombre)).isPresent()) {
+            throw new GeneroConflictException(nombre);
+        }
+        Genero guardado;
+        try {
+            guardado = generoRepository.save(Genero.builder().nombre(nombre.strip()).build());
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición lo ha creado entre la comprobación y el INSERT: salta el índice único.
+            throw new GeneroConflictException(nombre);
+        }
+        recargar();
+        return guardado;
+    }
+
+    @Scheduled(fixedDelayString = "${albumes.generos.recarga-ms:60000}",
+            initialDelayString = "${albumes.generos.recarga-ms:60000}")
+    public void recargar() {
+        porNombre = generoRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Genero::getNombreBusqueda, Function.identity()));
+        log.debug("Catálogo de géneros cargado: {} géneros", porNombre.size());
+    }
+
+    private Map<String, Genero> mapa() {
+        Map<String, Genero> actual = porNombre;
+        if (actual == null) {
+            recargar();
+            actual = porNombre;
+        }
+        return actual;
+    }
+}
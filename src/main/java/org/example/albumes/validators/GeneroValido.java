@@ -12,7 +12,7 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GeneroValido {
     // El mensaje de error por defecto que saldrá si la validación falla.
-    String message() default "El género no es válido. Debe ser Rock o Pop";
+    String message() default "El género no es válido. Consulta los géneros disponibles en /generos";
 
     // Grupos de validación (avanzado, se suele dejar por defecto).
     Class<?>[] groups() default{};
@@ -1,15 +1,18 @@
 package org.example.albumes.validators;
 
+import org.example.albumes.services.CatalogoGeneros;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-
-import java.util.Set;
+import lombok.RequiredArgsConstructor;
 
 // Implementa la interfaz ConstraintValidator<Anotación, TipoDeDatoAValidar>
+// Spring crea el validador y le inyecta el catálogo de géneros (igual que a cualquier otro bean).
+@RequiredArgsConstructor
 public class GeneroValidoValidator implements ConstraintValidator<GeneroValido, String> {
 
-    // Definimos una lista inmutable con los géneros que aceptamos.
-    private static final Set<String> GENEROS_PERMITIDOS = Set.of("Rock", "Pop");
+    // Los géneros permitidos ya no están fijos en el código: son las filas de la tabla GENEROS,
+    // que CatalogoGeneros mantiene en memoria.
+    private final CatalogoGeneros catalogoGeneros;
 
     @Override
     public void initialize(GeneroValido constraintAnnotation){
@@ -26,9 +29,8 @@ public class GeneroValidoValidator implements ConstraintValidator<GeneroValido,
         if(generoField == null || generoField.isBlank()){
             return true;
         }
-        // Comprobamos si el texto está en nuestra lista de permitidos (ignorando mayúsculas/minúsculas).
+        // Búsqueda O(1) en el mapa del catálogo, ignorando mayúsculas y tildes.
         // Rock, rock, ROCK -> Todos valen.
-        return GENEROS_PERMITIDOS.stream()
-                .anyMatch(g -> g.equalsIgnoreCase(generoField));
+        return catalogoGeneros.existe(generoField);
     }
-}
\ No newline at end of file
+}
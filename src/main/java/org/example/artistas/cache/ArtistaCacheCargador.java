@@ -0,0 +1,26 @@
+package org.example.artistas.cache;
+
+import org.example.artistas.repositories.ArtistaRepository;
+import org.example.common.cache.CargadorCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recarga las entradas de la caché "{artista}" (clave: id del artista) directamente de la base de datos.
+ */
+@RequiredArgsConstructor
+@Component
+public class ArtistaCacheCargador implements CargadorCache {
+
+    private final ArtistaRepository artistaRepository;
+
+    @Override
+    public String cache() {
+        return "{artista}";
+    }
+
+    @Override
+    public Object cargar(Object clave) {
+        return clave instanceof Long id ? artistaRepository.findById(id).orElse(null) : null;
+    }
+}
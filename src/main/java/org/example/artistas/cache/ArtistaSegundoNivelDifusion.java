@@ -0,0 +1,33 @@
+package org.example.artistas.cache;
+
+import org.example.artistas.models.Artista;
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Con varias instancias (near-cache): cuando otro nodo invalida un artista de "{artista}", lo borramos también
+ * de la caché de segundo nivel de Hibernate (región "artistas"). Si no, la siguiente lectura volvería a llenar
+ * "{artista}" con la versión antigua que sigue en esa región.
+ * <p>
+ * Sin difusión (un solo nodo) no hace nada: Hibernate ya actualiza su caché con las escrituras de este nodo.
+ */
+@Component
+public class ArtistaSegundoNivelDifusion {
+
+    public ArtistaSegundoNivelDifusion(ObjectProvider<DifusionInvalidaciones> difusion,
+                                       EntityManagerFactory entityManagerFactory) {
+        difusion.ifAvailable(d -> d.vincular("{artista}", clave -> {
+            var cache = entityManagerFactory.getCache();
+            if (clave == null) {
+                cache.evict(Artista.class);
+            } else {
+                cache.evict(Artista.class, clave);
+            }
+            // Si le han cambiado el nombre, su natural-id (nombre -> id) también es el antiguo. No sabemos
+            // cuál era: se borran todos (son pocos y los artistas cambian poco).
+            cache.unwrap(org.hibernate.Cache.class).evictNaturalIdData(Artista.class);
+        }));
+    }
+}
@@ -1,7 +1,9 @@
 package org.example.artistas.controllers;
 
+import org.example.artistas.dto.ArtistaOverviewDto;
 import org.example.artistas.dto.ArtistaRequestDto;
 import org.example.artistas.models.Artista;
+import org.example.artistas.services.ArtistaOverviewService;
 import org.example.artistas.services.ArtistaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,10 @@ import java.util.Map;
 @RequestMapping("api/${api.version}/artistas") // Ruta base: /api/v1/artistas
 public class ArtistaRestController {
     private final ArtistaService artistaService;
+    private final ArtistaOverviewService artistaOverviewService;
+
+    // Tamaño máximo de página de la ficha del artista.
+    static final int MAX_TAMANO = 100;
 
     // GET /api/v1/artistas?nombre=Queen
     @GetMapping()
@@ -39,6 +45,17 @@ public class ArtistaRestController {
         return ResponseEntity.ok(artistaService.findById(id));
     }
 
+    // GET /api/v1/artistas/5/overview?pagina=0&tamano=20
+    // La ficha completa: artista, una página de sus álbumes y sus precios (en total y por género).
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<ArtistaOverviewDto> getOverview(@PathVariable Long id,
+                                                          @RequestParam(defaultValue = "0") int pagina,
+                                                          @RequestParam(defaultValue = "20") int tamano){
+        log.info("Ficha del artista id={}", id);
+        return ResponseEntity.ok(artistaOverviewService.overview(id, Math.max(pagina, 0),
+                Math.clamp(tamano, 1, MAX_TAMANO)));
+    }
+
     // POST /api/v1/artistas (Crea uno nuevo)
     @PostMapping()
     public ResponseEntity<Artista> create(@Valid @RequestBody ArtistaRequestDto artistaRequestDto){
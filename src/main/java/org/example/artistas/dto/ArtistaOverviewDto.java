@@ -0,0 +1,35 @@
+package org.example.artistas.dto;
+
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.EstadisticasPrecioDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Respuesta de GET /artistas/{id}/overview: todo lo que necesita la ficha de un artista en una sola llamada.
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArtistaOverviewDto {
+    private Long id;
+    private String nombre;
+    private int numAlbumes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Una página de sus álbumes.
+    private List<AlbumResponseDto> albumes;
+    private int pagina;
+    private int tamano;
+    private boolean hayMas;
+
+    // Precios de todos sus álbumes y desglosados por género.
+    private EstadisticasPrecioDto precios;
+    private Map<String, EstadisticasPrecioDto> porGenero;
+}
@@ -4,6 +4,8 @@ import org.example.artistas.dto.ArtistaRequestDto;
 import org.example.artistas.models.Artista;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 // @Component: Fundamental para que Spring lo detecte y podamos usarlo en el Servicio.
 @Component
 public class ArtistaMapper {
@@ -26,8 +28,11 @@ public class ArtistaMapper {
                 // Si el nombre viene en el DTO, lo cambiamos. Si es null, dejamos el viejo.
                 .nombre(dto.getNombre() != null ? dto.getNombre() : artista.getNombre())
                 .createdAt(artista.getCreatedAt()) // Mantiene fecha creación
+                .updatedAt(LocalDateTime.now()) // Fecha de modificación: ahora mismo
                 // Actualizamos estado de borrado si viene en el DTO
                 .isDeleted(dto.getIsDeleted() != null ? dto.getIsDeleted() : artista.getIsDeleted())
+                // El contador no se guarda desde aquí (no es actualizable), pero sí se devuelve en la respuesta.
+                .numAlbumes(artista.getNumAlbumes())
                 .build();
     }
 }
\ No newline at end of file
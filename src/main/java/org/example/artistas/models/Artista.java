@@ -1,9 +1,15 @@
 package org.example.artistas.models;
 
 import org.example.albumes.models.Album;
+import org.example.common.TextoNormalizado;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,7 +31,22 @@ import java.util.List;
 @Entity
 // @Table: Sirve para especificar el nombre exacto que tendrá la tabla en la base de datos.
 // Si no lo ponemos, usaría el nombre de la clase, pero es buena práctica ponerlo en mayúsculas y plural ("ARTISTAS").
-@Table(name = "ARTISTAS")
+// indexes: El índice ÚNICO sobre el nombre normalizado hace que buscar un artista por nombre sea una sola
+// búsqueda en el índice, e impide que existan "Rosalía" y "rosalia" a la vez.
+@Table(name = "ARTISTAS", indexes = {
+        @Index(name = "uk_artistas_nombre_busqueda", columnList = "nombre_busqueda", unique = true),
+        @Index(name = "idx_artistas_updated_at", columnList = "updated_at")
+})
+// @Cacheable + @Cache: Caché de SEGUNDO NIVEL de Hibernate (compartida por todas las sesiones).
+// Cada álbum que convertimos a DTO lee album.getArtista(); sin esta caché, Hibernate va a la base de datos
+// por cada artista que no esté ya en la sesión actual. Los artistas casi nunca cambian, así que la mayoría
+// de esas lecturas (y los findById del repositorio) salen de la memoria.
+// READ_WRITE: al modificar o borrar un artista, Hibernate bloquea su entrada hasta el commit,
+// así ninguna otra sesión lee una versión a medias.
+// @NaturalIdCache: también se cachea la relación nombre de búsqueda -> id (ver nombreBusqueda).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "artistas")
+@NaturalIdCache
 public class Artista {
     // @Id: Indica que este campo es la CLAVE PRIMARIA (Primary Key) de la tabla. Es el identificador único.
     @Id
@@ -40,19 +61,26 @@ public class Artista {
     @Column(unique = true, nullable = false)
     private String nombre;
 
-    // @Builder.Default: Cuando usamos el patrón Builder (ver arriba), los campos toman su valor por defecto de Java (null para objetos).
-    // Esta anotación obliga a Lombok a usar el valor que asignamos aquí (= LocalDateTime.now()) en lugar de null.
-    @Builder.Default
+    // El nombre en minúsculas y sin tildes (ver TextoNormalizado). Lo calcula normalizar() antes de guardar.
+    // @NaturalId: Es el identificador "de negocio" del artista (único, como el id). Buscar por él con
+    // bySimpleNaturalId() usa la caché de segundo nivel en lugar de lanzar un SELECT.
+    // mutable = true: el nombre de un artista se puede cambiar.
+    @NaturalId(mutable = true)
+    @JsonIgnore // Es un detalle interno de la búsqueda, no se devuelve en el JSON.
+    @Column(name = "nombre_busqueda", nullable = false)
+    private String nombreBusqueda;
+
+    // Sin valor inicial: Hibernate usa el constructor vacío para cada fila que lee y un LocalDateTime.now()
+    // ahí sería trabajo tirado (se sobrescribe con el valor de la BD). Se rellena al insertar, en alCrear().
     // updatable = false: Significa que una vez se guarda el registro, esta columna NUNCA se actualizará en la base de datos,
     // aunque cambies el valor en el objeto Java. Es útil para fechas de creación.
     // columnDefinition: Inyecta SQL directo al crear la tabla para definir un valor por defecto a nivel de base de datos.
     @Column(updatable = false, nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
-    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime createdAt;
 
     // Similar al anterior, pero sin 'updatable = false', porque la fecha de actualización SÍ queremos que cambie.
-    @Builder.Default
     @Column(nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
-    private LocalDateTime updatedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt;
 
     // Esto es para el "Borrado Lógico" (Soft Delete).
     // En lugar de eliminar la fila con un DELETE (que pierde el dato para siempre), marcaremos este campo como TRUE.
@@ -61,6 +89,14 @@ public class Artista {
     @Builder.Default
     private Boolean isDeleted = false;
 
+    // Número de álbumes del artista (incluidos los de borrado lógico: su fila sigue apuntando al artista
+    // e impide borrarlo). Es un dato "desnormalizado": evita un COUNT sobre ALBUMES cada vez que se consulta.
+    // insertable/updatable = false: Hibernate nunca lo escribe (ni al guardar un artista editado, que podría
+    // traer un valor antiguo). Solo lo cambia ArtistaRepository.sumarAlbumes() al crear o borrar álbumes.
+    @Column(name = "num_albumes", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int numAlbumes;
+
     // RELACIÓN UNO A MUCHOS (1:N).
     // Un (1) Artista puede tener Muchos (N) Álbumes asociados.
     // mappedBy = "artista": Esto es crucial. Le dice a JPA: "No crees una tabla intermedia. La relación ya está definida
@@ -72,4 +108,23 @@ public class Artista {
     // Esta anotación dice: "Cuando pintes los objetos de esta lista 'albumes', IGNORA su campo 'artista'".
     @JsonIgnoreProperties("artista") // Para evitar bucles infinitos al convertir a JSON
     private List<Album> albumes;
-}
\ No newline at end of file
+
+    // Antes del INSERT: fechas que no se hayan puesto a mano y nombre de búsqueda.
+    @PrePersist
+    void alCrear() {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = ahora;
+        }
+        if (updatedAt == null) {
+            updatedAt = ahora;
+        }
+        normalizar();
+    }
+
+    // Antes de cada UPDATE recalculamos el nombre de búsqueda.
+    @PreUpdate
+    void normalizar() {
+        nombreBusqueda = TextoNormalizado.normalizar(nombre);
+    }
+}
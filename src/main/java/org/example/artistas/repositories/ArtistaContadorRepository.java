@@ -0,0 +1,14 @@
+package org.example.artistas.repositories;
+
+/**
+ * Mantenimiento del contador de álbumes de cada artista (columna num_albumes).
+ * Lo implementa ArtistaContadorRepositoryImpl y ArtistaRepository lo hereda.
+ */
+public interface ArtistaContadorRepository {
+
+    // Suma delta (negativo al borrar) al contador del artista, dentro de la transacción actual.
+    void sumarAlbumes(Long id, int delta);
+
+    // El contador leído de la base de datos, no de la caché, con la fila bloqueada hasta el commit.
+    int contarAlbumes(Long id);
+}
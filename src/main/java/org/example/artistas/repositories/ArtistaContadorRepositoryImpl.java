@@ -0,0 +1,56 @@
+package org.example.artistas.repositories;
+
+import org.example.artistas.models.Artista;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ArtistaContadorRepositoryImpl implements ArtistaContadorRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Un UPDATE atómico en la base de datos (num_albumes = num_albumes + delta): dos altas a la vez del
+    // mismo artista no se pisan, y no hay que leer el artista antes. La fila queda bloqueada hasta el commit.
+    //
+    // Hibernate no sabe qué filas toca un UPDATE nativo y, por si acaso, vaciaría la caché de segundo nivel
+    // ENTERA. addSynchronizedQuerySpace("") le dice que no afecta a ninguna entidad cacheada, y nosotros
+    // quitamos de la caché solo este artista: ahora y otra vez tras el commit, por si otra sesión lo volvió
+    // a cargar con el valor antiguo mientras tanto.
+    @Override
+    @Transactional
+    public void sumarAlbumes(Long id, int delta) {
+        entityManager.createNativeQuery("UPDATE ARTISTAS SET num_albumes = num_albumes + :delta WHERE id = :id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("")
+                .setParameter("delta", delta)
+                .setParameter("id", id)
+                .executeUpdate();
+
+        var cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Artista.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(Artista.class, id);
+                }
+            });
+        }
+    }
+
+    // Para decidir si se puede borrar un artista: el Artista de la caché de segundo nivel puede traer un
+    // contador antiguo (otro nodo ha dado de alta un álbum). FOR UPDATE: un alta a la vez espera a que
+    // terminemos, en lugar de colarse entre la comprobación y el DELETE.
+    @Override
+    @Transactional
+    public int contarAlbumes(Long id) {
+        Object numAlbumes = entityManager.createNativeQuery("SELECT num_albumes FROM ARTISTAS WHERE id = :id FOR UPDATE")
+                .setParameter("id", id)
+                .getSingleResult();
+        return ((Number) numAlbumes).intValue();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.artistas.repositories;
+
+import org.example.artistas.models.Artista;
+
+import java.util.Optional;
+
+/**
+ * Búsqueda de artistas por su natural-id (el nombre normalizado).
+ * <p>
+ * Spring Data no sabe derivar esta consulta: la implementa ArtistaNaturalIdRepositoryImpl y
+ * ArtistaRepository la hereda (los "fragmentos" de repositorio se unen por el sufijo Impl).
+ */
+public interface ArtistaNaturalIdRepository {
+
+    // El texto debe llegar ya normalizado (ver TextoNormalizado).
+    Optional<Artista> buscarPorNombreBusqueda(String nombreBusqueda);
+}
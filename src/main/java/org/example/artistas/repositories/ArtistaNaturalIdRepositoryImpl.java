@@ -0,0 +1,25 @@
+package org.example.artistas.repositories;
+
+import org.example.artistas.models.Artista;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class ArtistaNaturalIdRepositoryImpl implements ArtistaNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // bySimpleNaturalId() mira primero la sesión, luego la caché de natural-id (nombre -> id) y la caché
+    // de entidades de segundo nivel. Solo si el artista no está en ninguna lanza el SELECT por nombre_busqueda.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Artista> buscarPorNombreBusqueda(String nombreBusqueda) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Artista.class)
+                .loadOptional(nombreBusqueda);
+    }
+}
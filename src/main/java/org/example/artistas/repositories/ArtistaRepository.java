@@ -1,27 +1,34 @@
 package org.example.artistas.repositories;
 
 import org.example.artistas.models.Artista;
+import org.example.common.TextoNormalizado;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ArtistaRepository extends JpaRepository<Artista, Long> {
+public interface ArtistaRepository extends JpaRepository<Artista, Long>, ArtistaNaturalIdRepository,
+        ArtistaContadorRepository {
 
-    // Busca un artista por nombre EXACTO (ignorando mayúsculas).
+    // Busca un artista por nombre EXACTO (ignorando mayúsculas y tildes).
     // Útil para comprobar duplicados antes de guardar.
-    Optional<Artista> findByNombreEqualsIgnoreCase(String nombre);
+    // Es un método 'default': normaliza el texto y busca por nombre_busqueda, que es el natural-id del
+    // artista. Normalmente se resuelve en la caché de segundo nivel; si no, la base de datos va directa
+    // a la fila por su índice ÚNICO en lugar de aplicar UPPER() a todas.
+    default Optional<Artista> findByNombreEqualsIgnoreCase(String nombre) {
+        return buscarPorNombreBusqueda(TextoNormalizado.normalizar(nombre));
+    }
 
-    // Busca artistas cuyo nombre CONTENGA el texto (ej: "a" -> "Ana", "Paco").
-    List<Artista> findByNombreContainingIgnoreCase(String nombre);
+    // Busca artistas cuyo nombre CONTENGA el texto (ej: "a" -> "Ana", "Paco"), ignorando mayúsculas y tildes.
+    default List<Artista> findByNombreContainingIgnoreCase(String nombre) {
+        return findByNombreBusquedaContaining(TextoNormalizado.normalizar(nombre));
+    }
 
-    // CONSULTA COMPLEJA (@Query):
-    // Aquí cruzamos fronteras. Estamos en ArtistaRepository, pero preguntamos por Álbumes.
-    // "Cuenta los álbumes (COUNT) que tengan como artista el ID que te paso".
-    // Si el conteo > 0 devuelve TRUE (no se puede borrar). Si no, FALSE (se puede borrar).
-    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Album a WHERE a.artista.id = :id")
-    Boolean existsAlbumById(Long id);
+    // Consultas derivadas sobre la columna ya normalizada: el texto debe llegar normalizado.
+    // SQL aprox: SELECT * FROM artistas WHERE nombre_busqueda = ?  (búsqueda en el índice único)
+    Optional<Artista> findByNombreBusqueda(String nombreBusqueda);
+
+    List<Artista> findByNombreBusquedaContaining(String texto);
 }
\ No newline at end of file
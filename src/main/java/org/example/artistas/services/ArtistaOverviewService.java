@@ -0,0 +1,111 @@
+package org.example.artistas.services;
+
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.EstadisticasPrecioDto;
+import org.example.albumes.mappers.AlbumMapper;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.repositories.PrecioAgregado;
+import org.example.artistas.dto.ArtistaOverviewDto;
+import org.example.artistas.models.Artista;
+import org.example.common.concurrencia.TareasEstructuradas;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ficha de un artista (GET /artistas/{id}/overview): el artista, una página de sus álbumes y sus precios
+ * (en total y por género).
+ * <p>
+ * Las tres partes no dependen unas de otras (todas salen del id), así que se piden A LA VEZ, cada una en
+ * su hilo virtual (ver TareasEstructuradas): la respuesta tarda lo que la más lenta, no la suma de las tres.
+ * Si una falla (p. ej. el artista no existe, 404) o se pasa de su plazo (503), las demás se cancelan.
+ */
+@Slf4j
+@Service
+public class ArtistaOverviewService {
+
+    private final ArtistaService artistaService;
+    private final AlbumRepository albumRepository;
+    private final AlbumMapper albumMapper;
+    private final Duration plazoArtista;
+    private final Duration plazoAlbumes;
+    private final Duration plazoPrecios;
+
+    public ArtistaOverviewService(ArtistaService artistaService, AlbumRepository albumRepository, AlbumMapper albumMapper,
+                                  @Value("${artistas.overview.plazo.artista-ms:300}") long plazoArtistaMs,
+                                  @Value("${artistas.overview.plazo.albumes-ms:1000}") long plazoAlbumesMs,
+                                  @Value("${artistas.overview.plazo.precios-ms:1000}") long plazoPreciosMs) {
+        this.artistaService = artistaService;
+        this.albumRepository = albumRepository;
+        this.albumMapper = albumMapper;
+        this.plazoArtista = Duration.ofMillis(plazoArtistaMs);
+        this.plazoAlbumes = Duration.ofMillis(plazoAlbumesMs);
+        this.plazoPrecios = Duration.ofMillis(plazoPreciosMs);
+    }
+
+    public ArtistaOverviewDto overview(Long id, int pagina, int tamano) {
+        log.info("Ficha del artista {} (página {} de {})", id, pagina, tamano);
+        try (var tareas = new TareasEstructuradas("artista-" + id)) {
+            var artista = tareas.lanzar("artista", plazoArtista, () -> artistaService.findById(id));
+            var albumes = tareas.lanzar("albumes", plazoAlbumes, () -> albumRepository
+                    .findByArtistaId(id, PageRequest.of(pagina, tamano, Sort.by("id")))
+                    .map(albumMapper::toAlbumResponseDto));
+            var porGenero = tareas.lanzar("precios", plazoPrecios, () -> albumRepository.agregadosPorGeneroDeArtista(id));
+            tareas.esperar();
+            return componer(artista.get(), albumes.get(), porGenero.get(), pagina, tamano);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ficha del artista " + id + " interrumpida", e);
+        }
+    }
+
+    private ArtistaOverviewDto componer(Artista artista, Slice<AlbumResponseDto> albumes,
+                                        List<PrecioAgregado> porGenero, int pagina, int tamano) {
+        Map<String, EstadisticasPrecioDto> generos = new TreeMap<>();
+        long total = 0;
+        double suma = 0;
+        Float minimo = null;
+        Float maximo = null;
+        // El total del artista sale de sumar sus géneros: no hace falta otra consulta.
+        for (PrecioAgregado agregado : porGenero) {
+            EstadisticasPrecioDto dto = dto(agregado.getTotal(), agregado.getSuma().doubleValue(),
+                    agregado.getMinimo().floatValue(), agregado.getMaximo().floatValue());
+            generos.put(agregado.getGrupo(), dto);
+            total += dto.getTotal();
+            suma += dto.getSuma();
+            minimo = minimo == null ? dto.getMinimo() : Math.min(minimo, dto.getMinimo());
+            maximo = maximo == null ? dto.getMaximo() : Math.max(maximo, dto.getMaximo());
+        }
+        return ArtistaOverviewDto.builder()
+                .id(artista.getId())
+                .nombre(artista.getNombre())
+                .numAlbumes(artista.getNumAlbumes())
+                .createdAt(artista.getCreatedAt())
+                .updatedAt(artista.getUpdatedAt())
+                .albumes(albumes.getContent())
+                .pagina(pagina)
+                .tamano(tamano)
+                .hayMas(albumes.hasNext())
+                .precios(dto(total, suma, minimo, maximo))
+                .porGenero(generos)
+                .build();
+    }
+
+    private EstadisticasPrecioDto dto(long total, double suma, Float minimo, Float maximo) {
+        return EstadisticasPrecioDto.builder()
+                .total(total)
+                .suma(suma)
+                .media(total > 0 ? suma / total : null)
+                .minimo(minimo)
+                .maximo(maximo)
+                .build();
+    }
+}
@@ -32,4 +32,8 @@ public interface ArtistaService {
     // Método para BORRAR un artista por su ID.
     // No devuelve nada (void).
     void deleteById(Long id);
+
+    // Suma (o resta, con delta negativo) álbumes al contador del artista. Lo llama el servicio de álbumes
+    // dentro de la misma transacción en la que crea o borra los álbumes.
+    void sumarAlbumes(Long id, int delta);
 }
\ No newline at end of file
@@ -3,10 +3,10 @@ package org.example.artistas.services;
 
 import org.example.artistas.dto.ArtistaRequestDto;
 import org.example.artistas.exceptions.ArtistaConflictException;
-import org.example.artistas.exceptions.ArtistaNotFoundException;
 import org.example.artistas.mappers.ArtistaMapper;
 import org.example.artistas.models.Artista;
 import org.example.artistas.repositories.ArtistaRepository;
+import org.example.common.cache.InvalidadorCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +27,8 @@ public class ArtistaServiceImpl implements ArtistaService{
     // Inyectamos repositorio (BD) y mapper (Traductor)
     private final ArtistaRepository artistaRepository;
     private final ArtistaMapper artistaMapper;
+    private final InvalidadorCache invalidadorCache; // Para borrar de la caché (en todos los nodos) fuera de las anotaciones.
+    private final ArtistasAusentes artistasAusentes; // Los que no existen: 404 sin ir a la BD.
 
     @Override
     public List<Artista> findAll(String nombre) {
@@ -42,17 +44,19 @@ public class ArtistaServiceImpl implements ArtistaService{
     @Override
     public Artista findByNombre(String nombre) {
         log.info("Buscando artista por nombre: {}", nombre);
-        // Busca exacto. Si no está -> Error 404.
+        // Busca exacto. Si no está -> Error 404 (y lo recordamos un rato para no volver a buscarlo).
+        long version = artistasAusentes.comprobar(nombre);
         return artistaRepository.findByNombreEqualsIgnoreCase(nombre)
-                .orElseThrow(() -> new ArtistaNotFoundException(nombre));
+                .orElseThrow(() -> artistasAusentes.noExiste(nombre, version));
     }
 
     @Override
     @Cacheable // Guarda el resultado en RAM para ir rápido la próxima vez.
     public Artista findById(Long id) {
         log.info("Buscando artista por id:{}", id);
+        long version = artistasAusentes.comprobar(id);
         return artistaRepository.findById(id)
-                .orElseThrow(() -> new ArtistaNotFoundException(id));
+                .orElseThrow(() -> artistasAusentes.noExiste(id, version));
     }
 
     @Override
@@ -66,8 +70,10 @@ public class ArtistaServiceImpl implements ArtistaService{
             throw new ArtistaConflictException("Ya existe un artista con el nombre " + artistaRequestDto.getNombre());
         });
 
-        // Si no existe, lo convertimos y guardamos.
-        return artistaRepository.save(artistaMapper.toArtista(artistaRequestDto));
+        // Si no existe, lo convertimos y guardamos. Ya existe: si alguien lo buscó antes, que deje de ser un 404.
+        Artista guardado = artistaRepository.save(artistaMapper.toArtista(artistaRequestDto));
+        artistasAusentes.olvidar(guardado.getId(), guardado.getNombre());
+        return guardado;
     }
 
     @Override
@@ -85,8 +91,10 @@ public class ArtistaServiceImpl implements ArtistaService{
             }
         });
 
-        // 3. Guardamos la actualización.
-        return artistaRepository.save(artistaMapper.toArtista(artistaRequestDto, artistaActual));
+        // 3. Guardamos la actualización. El nombre nuevo ya existe: lo quitamos de los ausentes.
+        Artista guardado = artistaRepository.save(artistaMapper.toArtista(artistaRequestDto, artistaActual));
+        artistasAusentes.olvidar(guardado.getId(), guardado.getNombre());
+        return guardado;
     }
 
     @Override
@@ -94,19 +102,30 @@ public class ArtistaServiceImpl implements ArtistaService{
     @Transactional // Asegura la operación.
     public void deleteById(Long id) {
         log.info("Borrando artista por id: {}", id);
-        // 1. Verificamos si existe el artista.
-        findById(id);
+        // 1. Verificamos si existe el artista (una sola fila, normalmente desde la caché de segundo nivel).
+        Artista artista = findById(id);
 
         // 2. REGLA DE INTEGRIDAD: No puedes borrar un padre si tiene hijos (álbumes) colgando.
-        // Usamos la consulta personalizada que hicimos en el repositorio.
-        if (artistaRepository.existsAlbumById(id)){
+        // El contador num_albumes nos lo dice sin contar las filas de ALBUMES. Se lee de la base de datos:
+        // el del artista cacheado puede ser antiguo.
+        if (artistaRepository.contarAlbumes(id) > 0){
             String mensaje = "No se puede borrar el artista con id: " + id + " porque tiene álbumes asociados";
             log.warn(mensaje);
             throw new ArtistaConflictException(mensaje); // Error 409 Conflict.
         }else {
-            // Si no tiene hijos, lo borramos sin piedad.
-            artistaRepository.deleteById(id);
+            // Si no tiene hijos, lo borramos sin piedad (el artista ya está cargado, no se vuelve a leer).
+            artistaRepository.delete(artista);
         }
 
     }
+
+    @Override
+    @Transactional
+    public void sumarAlbumes(Long id, int delta) {
+        artistaRepository.sumarAlbumes(id, delta);
+        // La caché "{artista}" guarda el artista entero, con su contador: lo quitamos cuando el cambio
+        // ya está confirmado (si lo hiciéramos antes, otra petición podría volver a cachear el valor antiguo).
+        // En los demás nodos también (y con él, su caché de segundo nivel: ver ArtistaSegundoNivelDifusion).
+        invalidadorCache.invalidarTrasCommit("{artista}", id);
+    }
 }
\ No newline at end of file
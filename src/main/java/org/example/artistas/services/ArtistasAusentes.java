@@ -0,0 +1,112 @@
+package org.example.artistas.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.artistas.exceptions.ArtistaNotFoundException;
+import org.example.common.cache.CacheNegativa;
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * Caché negativa de artistas: los ids y nombres que se han buscado hace poco y no existían se responden
+ * con 404 sin consultar la base de datos. ArtistaServiceImpl los olvida al crear o renombrar un artista;
+ * el ttl cubre lo demás (un alta por SQL directo...).
+ * <ul>
+ *     <li>Se olvidan tras el commit y con la versión de CacheNegativa: una búsqueda que falló justo mientras
+ *     se creaba no deja anotado el 404.</li>
+ *     <li>Con varias instancias (near-cache), olvidar() avisa también a las demás, como una invalidación más
+ *     de la caché "artistas.ausentes" (ver DifusionInvalidaciones.vincular).</li>
+ * </ul>
+ * Los nombres se guardan en minúsculas, igual que los compara findByNombreEqualsIgnoreCase.
+ */
+@Component
+public class ArtistasAusentes {
+
+    // Nombre con el que viajan las claves entre nodos (no es una caché de Spring).
+    public static final String CACHE = "artistas.ausentes";
+
+    private final CacheNegativa<Object> ausentes;
+    private final Counter evitadas;
+    private final ObjectProvider<DifusionInvalidaciones> difusion;
+
+    public ArtistasAusentes(MeterRegistry registry, ObjectProvider<DifusionInvalidaciones> difusion,
+                            @Value("${ausentes.ttl-ms:30000}") long ttlMs,
+                            @Value("${ausentes.max-entradas:100000}") int maxEntradas) {
+        this.ausentes = new CacheNegativa<>(ttlMs, maxEntradas);
+        this.evitadas = Counter.builder("artistas.ausentes.evitadas")
+                .description("Búsquedas de artistas inexistentes respondidas sin consultar la base de datos")
+                .register(registry);
+        this.difusion = difusion;
+        // Las claves llegan tal cual se registraron: el id (Long) o el nombre ya en minúsculas (String).
+        difusion.ifAvailable(d -> d.vincular(CACHE, clave -> {
+            if (clave == null) {
+                ausentes.vaciar();
+            } else {
+                ausentes.olvidar(clave);
+            }
+        }));
+    }
+
+    // Lanza el 404 si ya sabemos que no existe. Si no, devuelve la versión que hay que pasar a noExiste().
+    public long comprobar(Long id) {
+        if (ausentes.contiene(id)) {
+            evitadas.increment();
+            throw new ArtistaNotFoundException(id);
+        }
+        return ausentes.version(id);
+    }
+
+    public long comprobar(String nombre) {
+        String clave = clave(nombre);
+        if (ausentes.contiene(clave)) {
+            evitadas.increment();
+            throw new ArtistaNotFoundException(nombre);
+        }
+        return ausentes.version(clave);
+    }
+
+    // version: la que devolvió comprobar() antes de la consulta.
+    public ArtistaNotFoundException noExiste(Long id, long version) {
+        ausentes.anotar(id, version);
+        return new ArtistaNotFoundException(id);
+    }
+
+    public ArtistaNotFoundException noExiste(String nombre, long version) {
+        ausentes.anotar(clave(nombre), version);
+        return new ArtistaNotFoundException(nombre);
+    }
+
+    // Tras el commit: antes, una búsqueda aún no lo vería y volvería a anotarlo.
+    public void olvidar(Long id, String nombre) {
+        String clave = clave(nombre);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    olvidarYDifundir(id, clave);
+                }
+            });
+        } else {
+            olvidarYDifundir(id, clave);
+        }
+    }
+
+    private void olvidarYDifundir(Long id, String clave) {
+        ausentes.olvidar(id);
+        ausentes.olvidar(clave);
+        difusion.ifAvailable(d -> {
+            d.registrar(CACHE, id);
+            d.registrar(CACHE, clave);
+        });
+    }
+
+    private static String clave(String nombre) {
+        return nombre.toLowerCase(Locale.ROOT);
+    }
+}
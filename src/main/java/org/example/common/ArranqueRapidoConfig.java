@@ -0,0 +1,32 @@
+package org.example.common;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
+
+/**
+ * Perfil "rapido" (application-rapido.properties): los beans se crean la primera vez que se usan
+ * (spring.main.lazy-initialization), no todos al arrancar.
+ * <p>
+ * Excepción: los beans con tareas @Scheduled. Spring solo programa sus tareas cuando crea el bean,
+ * así que si fueran perezosos, la recarga del catálogo de géneros o la verificación de las
+ * estadísticas no se ejecutarían hasta que alguien los usase.
+ */
+@Configuration
+@Profile("rapido")
+public class ArranqueRapidoConfig {
+
+    // static: el filtro se consulta antes de crear ningún bean de la aplicación.
+    @Bean
+    static LazyInitializationExcludeFilter beansConTareasProgramadas() {
+        return (nombre, definicion, tipo) -> tipo != null
+                && Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(tipo))
+                .anyMatch(metodo -> AnnotatedElementUtils.hasAnnotation(metodo, Scheduled.class));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * "Single-flight": si varios hilos piden a la vez la misma clave, solo UNO hace la carga
+ * (la consulta a la base de datos) y el resto espera su resultado en un CompletableFuture.
+ * <p>
+ * Evita la estampida que se produce cuando un álbum muy pedido sale de la caché: sin esto,
+ * todas las peticiones concurrentes fallarían la caché y lanzarían la misma consulta a la vez.
+ * <p>
+ * Solo agrupa cargas SIMULTÁNEAS: en cuanto termina una carga, la siguiente petición vuelve a cargar
+ * (para eso ya está la caché). Se crean con SingleFlights, que les asigna sus métricas.
+ *
+ * @param <K> tipo de la clave (id, uuid, filtro...)
+ * @param <V> tipo del resultado
+ */
+public final class SingleFlight<K, V> {
+
+    private final String nombre;
+    private final Duration espera;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enVuelo = new ConcurrentHashMap<>();
+
+    // Métricas: cargas reales, peticiones que se ahorraron una carga y esperas que superaron el tiempo.
+    private final Counter cargas;
+    private final Counter compartidas;
+    private final Counter timeouts;
+
+    SingleFlight(String nombre, Duration espera, MeterRegistry registry) {
+        this.nombre = nombre;
+        this.espera = espera;
+        this.cargas = Counter.builder("singleflight.cargas").tag("nombre", nombre)
+                .description("Cargas ejecutadas").register(registry);
+        this.compartidas = Counter.builder("singleflight.compartidas").tag("nombre", nombre)
+                .description("Peticiones que reutilizaron una carga en curso").register(registry);
+        this.timeouts = Counter.builder("singleflight.timeouts").tag("nombre", nombre)
+                .description("Esperas que superaron el tiempo máximo").register(registry);
+        Gauge.builder("singleflight.en-vuelo", enVuelo, ConcurrentHashMap::size).tag("nombre", nombre)
+                .description("Cargas en curso ahora mismo").register(registry);
+    }
+
+    /**
+     * Devuelve el valor de la clave. Si ya hay una carga en curso para ella, espera a esa carga
+     * (como mucho el tiempo configurado); si no, la hace este mismo hilo con el cargador.
+     * Las excepciones del cargador (por ejemplo un 404) llegan igual a todos los que esperaban.
+     *
+     * @throws SingleFlightTimeoutException si la carga en curso tarda más de lo permitido
+     */
+    public V cargar(K clave, Supplier<V> cargador) {
+        CompletableFuture<V> nueva = new CompletableFuture<>();
+        CompletableFuture<V> enCurso = enVuelo.putIfAbsent(clave, nueva);
+        if (enCurso == null) {
+            return ejecutar(clave, nueva, cargador);
+        }
+        compartidas.increment();
+        return esperar(clave, enCurso);
+    }
+
+    public long getCargas() {
+        return (long) cargas.count();
+    }
+
+    public long getCompartidas() {
+        return (long) compartidas.count();
+    }
+
+    private V ejecutar(K clave, CompletableFuture<V> futuro, Supplier<V> cargador) {
+        cargas.increment();
+        try {
+            V valor = cargador.get();
+            futuro.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            futuro.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Quitamos la carga del mapa: quien llegue a partir de ahora leerá de la caché o cargará de nuevo.
+            enVuelo.remove(clave, futuro);
+        }
+    }
+
+    private V esperar(K clave, CompletableFuture<V> futuro) {
+        try {
+            return futuro.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new SingleFlightTimeoutException(nombre, clave, espera);
+        } catch (ExecutionException e) {
+            // Relanzamos la excepción original (AlbumNotFoundException, etc.) para que se traduzca igual a HTTP.
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException(nombre, clave, espera);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+// 503: la carga compartida no terminó a tiempo; el cliente puede reintentar.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SingleFlightTimeoutException extends RuntimeException {
+    public SingleFlightTimeoutException(String nombre, Object clave, Duration espera) {
+        super("La carga " + nombre + " de " + clave + " no terminó en " + espera.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro de los grupos SingleFlight de la aplicación, uno por tipo de carga ("albumes.findById"...).
+ * Cada grupo publica sus métricas con su nombre en la etiqueta "nombre"
+ * (GET /actuator/metrics/singleflight.compartidas?tag=nombre:albumes.findById).
+ */
+@Component
+public class SingleFlights {
+
+    private final MeterRegistry registry;
+    // Tiempo máximo que una petición espera la carga que está haciendo otra.
+    private final Duration espera;
+    private final ConcurrentHashMap<String, SingleFlight<?, ?>> grupos = new ConcurrentHashMap<>();
+
+    public SingleFlights(MeterRegistry registry, @Value("${singleflight.espera-ms:2000}") long esperaMs) {
+        this.registry = registry;
+        this.espera = Duration.ofMillis(esperaMs);
+    }
+
+    // Atajo para: grupo(nombre).cargar(clave, cargador).
+    public <K, V> V cargar(String nombre, K clave, Supplier<V> cargador) {
+        return this.<K, V>grupo(nombre).cargar(clave, cargador);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K, V> SingleFlight<K, V> grupo(String nombre) {
+        return (SingleFlight<K, V>) grupos.computeIfAbsent(nombre, n -> new SingleFlight<>(n, espera, registry));
+    }
+}
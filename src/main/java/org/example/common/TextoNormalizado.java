@@ -0,0 +1,44 @@
+package org.example.common;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza textos para las columnas de búsqueda (nombre_busqueda de ALBUMES y ARTISTAS):
+ * minúsculas y sin tildes ("Rosalía" -> "rosalia", "ÉXITOS" -> "exitos").
+ * <p>
+ * Guardando el texto ya normalizado en su propia columna indexada, las búsquedas comparan
+ * la columna tal cual (sin LOWER() ni UPPER()) y la base de datos puede usar el índice.
+ * Al buscar hay que normalizar también el texto que nos pasan, con este mismo método.
+ */
+public final class TextoNormalizado {
+
+    // Marcas diacríticas (tildes, diéresis...) que quedan sueltas tras descomponer con NFD.
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private TextoNormalizado() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String limpio = texto.strip();
+        // Camino rápido: si es ASCII puro no hay tildes que quitar.
+        if (esAscii(limpio)) {
+            return limpio.toLowerCase(Locale.ROOT);
+        }
+        String descompuesto = Normalizer.normalize(limpio, Normalizer.Form.NFD);
+        return DIACRITICOS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.common.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Recuerda durante un rato (ttl) las claves que se han buscado y NO existen, para responder 404 sin volver a
+ * la base de datos. Es lo contrario de las cachés normales, que solo guardan lo que sí se ha encontrado.
+ * <p>
+ * El ttl es corto a propósito: si la clave se crea después, quien la haya creado debe llamar a olvidar(),
+ * y el ttl solo cubre lo que se escape (otra instancia, un alta por SQL directo...).
+ * Con la caché llena, primero se quitan las caducadas y, si sigue llena, la clave nueva no se anota.
+ * <p>
+ * Versiones: quien busca la clave pide antes su version() y se la pasa a anotar(). Si entre medias alguien
+ * la ha olvidado (se ha creado mientras la buscábamos), la búsqueda ya no vale y no se anota. Las versiones
+ * van por grupos de claves (por su hash), así no crecen con cada clave: si se olvida otra clave del mismo
+ * grupo, como mucho se deja de anotar una ausencia, que es lo seguro.
+ */
+public class CacheNegativa<K> {
+
+    private static final int GRUPOS = 1024;
+
+    private final ConcurrentHashMap<K, Long> caducidades = new ConcurrentHashMap<>();
+    private final AtomicLongArray versiones = new AtomicLongArray(GRUPOS);
+    private final long ttl;
+    private final int maxEntradas;
+    private final LongSupplier reloj;
+
+    // ttl 0: desactivada (nunca anota nada).
+    public CacheNegativa(long ttlMs, int maxEntradas) {
+        this(ttlMs, maxEntradas, System::currentTimeMillis);
+    }
+
+    public CacheNegativa(long ttlMs, int maxEntradas, LongSupplier reloj) {
+        this.ttl = ttlMs;
+        this.maxEntradas = maxEntradas;
+        this.reloj = reloj;
+    }
+
+    public boolean contiene(K clave) {
+        Long hasta = caducidades.get(clave);
+        if (hasta == null) {
+            return false;
+        }
+        if (reloj.getAsLong() >= hasta) {
+            caducidades.remove(clave, hasta);
+            return false;
+        }
+        return true;
+    }
+
+    // Se pide antes de buscar la clave en la base de datos.
+    public long version(K clave) {
+        return versiones.get(grupo(clave));
+    }
+
+    public void anotar(K clave) {
+        anotar(clave, version(clave));
+    }
+
+    // Solo si nadie la ha olvidado desde que se pidió la versión.
+    public void anotar(K clave, long version) {
+        if (ttl <= 0) {
+            return;
+        }
+        int grupo = grupo(clave);
+        if (versiones.get(grupo) != version) {
+            return;
+        }
+        long ahora = reloj.getAsLong();
+        if (caducidades.size() >= maxEntradas) {
+            caducidades.values().removeIf(hasta -> ahora >= hasta);
+            if (caducidades.size() >= maxEntradas) {
+                return;
+            }
+        }
+        long hasta = ahora + ttl;
+        caducidades.put(clave, hasta);
+        // Si la han olvidado justo mientras la anotábamos, olvidar() puede haber borrado antes de este put.
+        if (versiones.get(grupo) != version) {
+            caducidades.remove(clave, hasta);
+        }
+    }
+
+    // Primero la versión y luego el borrado: un anotar() a medias o ve la versión nueva o su put ya está y se borra.
+    public void olvidar(K clave) {
+        versiones.incrementAndGet(grupo(clave));
+        caducidades.remove(clave);
+    }
+
+    // Todas (p. ej. si se han perdido invalidaciones de otro nodo y no sabemos cuáles).
+    public void vaciar() {
+        for (int i = 0; i < GRUPOS; i++) {
+            versiones.incrementAndGet(i);
+        }
+        caducidades.clear();
+    }
+
+    public int tamano() {
+        return caducidades.size();
+    }
+
+    private static int grupo(Object clave) {
+        int h = clave.hashCode();
+        return (h ^ (h >>> 16)) & (GRUPOS - 1);
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calentamiento de las cachés tras cada despliegue.
+ * <p>
+ * Mientras la aplicación funciona, guardamos cada cierto tiempo (y al pararla) las claves más leídas
+ * de cada caché en un fichero. Al arrancar, ANTES de que la aplicación se declare lista para recibir
+ * tráfico (los ApplicationRunner se ejecutan antes de ApplicationReadyEvent), precargamos esas claves
+ * en paralelo. Así las primeras peticiones no pagan el coste de llenar la caché.
+ * <p>
+ * Formato del fichero: una clave por línea, "cache TAB tipo TAB valor" (tipo L = Long, S = String).
+ */
+@Slf4j
+@Component
+public class CalentamientoCache implements ApplicationRunner {
+
+    private static final String SEPARADOR = "\t";
+
+    private final CacheManager cacheManager;
+    private final Path archivo;
+    private final int clavesPorCache;
+    private final long esperaMaxima;
+
+    public CalentamientoCache(CacheManager cacheManager,
+                              @Value("${cache.calentamiento.archivo:./cache/claves-calientes.txt}") Path archivo,
+                              @Value("${cache.calentamiento.claves:100}") int clavesPorCache,
+                              @Value("${cache.calentamiento.espera-maxima-ms:30000}") long esperaMaxima) {
+        this.cacheManager = cacheManager;
+        this.archivo = archivo;
+        this.clavesPorCache = clavesPorCache;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!(cacheManager instanceof RefrescoCacheManager caches) || !Files.isRegularFile(archivo)) {
+            log.info("Sin claves calientes de la ejecución anterior, no se calientan las cachés");
+            return;
+        }
+        long inicio = System.nanoTime();
+        AtomicInteger cargadas = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>();
+        // Hilos virtuales: cada precarga es una consulta, se pueden lanzar todas a la vez.
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+                String[] partes = linea.split(SEPARADOR, 3);
+                // Sin decorar: precargar no es una lectura de la aplicación (ni cuenta como acierto o fallo).
+                RefrescoCache cache = partes.length < 3 ? null : caches.refrescoCache(partes[0]);
+                if (cache == null) {
+                    continue;
+                }
+                Object clave = decodificar(partes[1], partes[2]);
+                if (clave != null) {
+                    tareas.add(hilos.submit(() -> {
+                        if (cache.precargar(clave)) {
+                            cargadas.incrementAndGet();
+                        }
+                    }));
+                }
+            }
+            esperar(tareas, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMaxima));
+        } catch (IOException e) {
+            log.warn("No se pudo leer el fichero de claves calientes {}: {}", archivo, e.getMessage());
+        }
+        log.info("Cachés calentadas: {} de {} claves en {} ms", cargadas.get(), tareas.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    // Si la base de datos va lenta no bloqueamos el arranque: lo que no llegue se cargará con la primera lectura.
+    private void esperar(List<Future<?>> tareas, long limite) {
+        for (Future<?> tarea : tareas) {
+            try {
+                tarea.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                tarea.cancel(true);
+            }
+        }
+    }
+
+    // Guardamos periódicamente por si la aplicación se cae sin poder hacerlo al cerrar.
+    @Scheduled(fixedDelayString = "${cache.calentamiento.guardado-ms:300000}",
+            initialDelayString = "${cache.calentamiento.guardado-ms:300000}")
+    @EventListener(ContextClosedEvent.class)
+    public void guardar() {
+        if (!(cacheManager instanceof RefrescoCacheManager manager)) {
+            return;
+        }
+        List<String> lineas = new ArrayList<>();
+        for (RefrescoCache cache : manager.cachesConCargador()) {
+            for (Object clave : cache.clavesCalientes(clavesPorCache)) {
+                String codificada = codificar(clave);
+                if (codificada != null) {
+                    lineas.add(cache.getName() + SEPARADOR + codificada);
+                }
+            }
+        }
+        if (lineas.isEmpty()) {
+            return;
+        }
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, "claves-calientes", ".tmp");
+            Files.write(temporal, lineas, StandardCharsets.UTF_8);
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Guardadas {} claves calientes en {}", lineas.size(), archivo);
+        } catch (IOException e) {
+            log.warn("No se pudieron guardar las claves calientes en {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    // Solo sabemos guardar claves simples (ids y uuids). El resto no se calienta.
+    private static String codificar(Object clave) {
+        if (clave instanceof Long id) {
+            return "L" + SEPARADOR + id;
+        }
+        if (clave instanceof String texto && !texto.contains(SEPARADOR) && !texto.contains("\n")) {
+            return "S" + SEPARADOR + texto;
+        }
+        return null;
+    }
+
+    private static Object decodificar(String tipo, String valor) {
+        try {
+            return switch (tipo) {
+                case "L" -> Long.valueOf(valor);
+                case "S" -> valor;
+                default -> null;
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
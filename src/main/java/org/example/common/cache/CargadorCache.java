@@ -0,0 +1,21 @@
+package org.example.common.cache;
+
+/**
+ * Sabe cargar desde la base de datos los valores de UNA caché, sin pasar por la propia caché.
+ * <p>
+ * RefrescoCache lo usa para recargar en segundo plano las entradas que están a punto de caducar
+ * y CalentamientoCache para precargar las claves más usadas al arrancar.
+ * Cada módulo declara el suyo como un @Component más (ver AlbumCacheCargador, ArtistaCacheCargador).
+ */
+public interface CargadorCache {
+
+    // Nombre de la caché que sabe cargar ("albumes", "{artista}"...).
+    String cache();
+
+    /**
+     * Carga el valor de una clave.
+     *
+     * @return el valor, o null si ya no existe (la entrada se borra de la caché)
+     */
+    Object cargar(Object clave);
+}
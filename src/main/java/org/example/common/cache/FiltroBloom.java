@@ -0,0 +1,110 @@
+package org.example.common.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom: responde "seguro que no está" o "puede que esté" usando unos pocos bits por elemento.
+ * Nunca da falsos negativos (si se añadió, puedeContener() es true); los falsos positivos son la fracción
+ * configurada mientras no se añadan más elementos de los esperados.
+ * <p>
+ * Con n elementos esperados y una tasa p de falsos positivos usa m = -n·ln(p) / ln(2)² bits y k = m/n·ln(2)
+ * funciones hash (1% -> unos 9,6 bits y 7 funciones por elemento). Las k posiciones salen de dos hashes de
+ * 64 bits (h1 + i·h2), sin calcular k hashes distintos.
+ * <p>
+ * Se puede añadir y consultar desde varios hilos a la vez: cada bit se pone con un CAS sobre su palabra.
+ * No se puede quitar un elemento; para eso se construye uno nuevo.
+ */
+public final class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray palabras;
+    private final long bits;
+    private final int funciones;
+    private final AtomicLong anadidos = new AtomicLong();
+
+    public FiltroBloom(long esperados, double falsosPositivos) {
+        if (esperados <= 0 || falsosPositivos <= 0 || falsosPositivos >= 1) {
+            throw new IllegalArgumentException("Filtro de Bloom con " + esperados + " elementos y tasa " + falsosPositivos);
+        }
+        long m = (long) Math.ceil(-esperados * Math.log(falsosPositivos) / (LN2 * LN2));
+        int numPalabras = Math.toIntExact(Math.max(1, (m + 63) / 64));
+        this.palabras = new AtomicLongArray(numPalabras);
+        this.bits = numPalabras * 64L;
+        this.funciones = Math.max(1, (int) Math.round((double) bits / esperados * LN2));
+    }
+
+    public void anadir(UUID uuid) {
+        anadir(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean puedeContener(UUID uuid) {
+        return puedeContener(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    // Un elemento de 128 bits (a, b): un UUID, o un long con b = 0.
+    public void anadir(long a, long b) {
+        long h1 = hash1(a, b);
+        long h2 = hash2(b);
+        for (int i = 0; i < funciones; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = palabras.get(palabra);
+            while ((actual & mascara) == 0 && !palabras.weakCompareAndSetVolatile(palabra, actual, actual | mascara)) {
+                actual = palabras.get(palabra);
+            }
+        }
+        anadidos.incrementAndGet();
+    }
+
+    public boolean puedeContener(long a, long b) {
+        long h1 = hash1(a, b);
+        long h2 = hash2(b);
+        for (int i = 0; i < funciones; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((palabras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBits() {
+        return bits;
+    }
+
+    public int getFunciones() {
+        return funciones;
+    }
+
+    public long getAnadidos() {
+        return anadidos.get();
+    }
+
+    // Tasa de falsos positivos esperada con los elementos añadidos hasta ahora: (1 - e^(-k·n/m))^k.
+    public double tasaFalsosPositivos() {
+        return Math.pow(1 - Math.exp(-funciones * (double) anadidos.get() / bits), funciones);
+    }
+
+    private static long hash1(long a, long b) {
+        return mezclar(a ^ mezclar(b));
+    }
+
+    // Impar: así h1 + i·h2 recorre posiciones distintas aunque el número de bits sea par.
+    private static long hash2(long b) {
+        return mezclar(b + 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    // Finalizador de MurmurHash3 (fmix64): cada bit de la entrada afecta a todos los de la salida.
+    private static long mezclar(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.common.cache;
+
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Borra claves de una caché desde el código, sin @CacheEvict.
+ * <p>
+ * Con varias instancias (near-cache), solo las anotaciones avisan a los demás nodos (ver ResolutorCacheDifusion):
+ * un cacheManager.getCache(...).evict(...) directo borra aquí y nada más. Esto borra aquí y, si la difusión
+ * está activa, registra la clave para que la borren también los demás.
+ */
+@Component
+public class InvalidadorCache {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<DifusionInvalidaciones> difusion;
+
+    public InvalidadorCache(CacheManager cacheManager, ObjectProvider<DifusionInvalidaciones> difusion) {
+        this.cacheManager = cacheManager;
+        this.difusion = difusion;
+    }
+
+    public void invalidar(String nombre, Object clave) {
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache != null) {
+            cache.evict(clave);
+        }
+        difusion.ifAvailable(d -> d.registrar(nombre, clave));
+    }
+
+    /**
+     * Igual que invalidar, pero cuando se confirme la transacción actual (o ya, si no hay ninguna).
+     * Si se borrase antes del commit, otra petición podría volver a cachear el valor antiguo mientras tanto.
+     */
+    public void invalidarTrasCommit(String nombre, Object clave) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar(nombre, clave);
+                }
+            });
+        } else {
+            invalidar(nombre, clave);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché en memoria con caducidad (TTL) y "refresh-ahead".
+ * <p>
+ * Ciclo de vida de una entrada, según su edad:
+ * <ul>
+ *     <li>Menos de umbral de refresco (por defecto el 80% del TTL): se sirve tal cual.</li>
+ *     <li>Entre el umbral y el TTL: se sirve tal cual Y se lanza una recarga en segundo plano con el
+ *     CargadorCache de la caché. Así el lector nunca paga el coste de la carga.</li>
+ *     <li>Caducada: si está activado servir-caducado, se espera un poco a la recarga; si la base de datos
+ *     va lenta y no llega a tiempo, se devuelve el valor antiguo. Si no, es un fallo normal de caché.</li>
+ * </ul>
+ * Si una escritura (put/evict) cambia la entrada mientras se recarga, la recarga se descarta:
+ * nunca pisamos un valor nuevo con uno leído antes.
+ */
+@Slf4j
+public class RefrescoCache extends AbstractValueAdaptingCache {
+
+    /**
+     * Configuración de las cachés (tiempos en milisegundos).
+     *
+     * @param ttl             vida de una entrada
+     * @param umbralRefresco  edad a partir de la cual se recarga en segundo plano
+     * @param servirCaducado  si se devuelve el valor caducado cuando la recarga tarda
+     * @param esperaRecarga   cuánto espera un lector a la recarga de una entrada caducada
+     * @param caducadoMaximo  cuánto tiempo después de caducar se puede seguir sirviendo
+     */
+    public record Config(long ttl, long umbralRefresco, boolean servirCaducado, long esperaRecarga,
+                         long caducadoMaximo) {
+    }
+
+    // Identidad (no equals): la recarga solo sustituye la entrada si sigue siendo EXACTAMENTE la misma.
+    static final class Entrada {
+        final Object valor;
+        final long cargadaEn;
+        // Lecturas de esta clave: sirve para saber qué claves están "calientes".
+        final LongAdder accesos;
+
+        Entrada(Object valor, long cargadaEn, LongAdder accesos) {
+            this.valor = valor;
+            this.cargadaEn = cargadaEn;
+            this.accesos = accesos;
+        }
+    }
+
+    private final String nombre;
+    private final Config config;
+    private final CargadorCache cargador; // null: la caché solo caduca, no se recarga sola
+    private final Executor ejecutor;
+    private final LongSupplier reloj;
+    private final ConcurrentHashMap<Object, Entrada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> recargas = new ConcurrentHashMap<>();
+
+    public RefrescoCache(String nombre, Config config, CargadorCache cargador, Executor ejecutor, LongSupplier reloj) {
+        // false: no guardamos nulos. Para el cargador, null significa "ya no existe".
+        super(false);
+        this.nombre = nombre;
+        this.config = config;
+        this.cargador = cargador;
+        this.ejecutor = ejecutor;
+        this.reloj = reloj;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entrada entrada = entradas.get(key);
+        if (entrada == null) {
+            return null;
+        }
+        entrada.accesos.increment();
+        long edad = reloj.getAsLong() - entrada.cargadaEn;
+        if (edad < config.umbralRefresco()) {
+            return entrada.valor;
+        }
+        if (edad < config.ttl()) {
+            if (cargador != null) {
+                recargar(key, entrada);
+            }
+            return entrada.valor;
+        }
+        // Caducada.
+        if (cargador != null && config.servirCaducado() && edad < config.ttl() + config.caducadoMaximo()) {
+            return recargadoOCaducado(key, entrada);
+        }
+        entradas.remove(key, entrada);
+        return null;
+    }
+
+    // Esperamos un poco a la recarga; si la base de datos va lenta, servimos el valor antiguo.
+    private Object recargadoOCaducado(Object key, Entrada entrada) {
+        try {
+            Object nuevo = recargar(key, entrada).get(config.esperaRecarga(), TimeUnit.MILLISECONDS);
+            return nuevo != null ? toStoreValue(nuevo) : null;
+        } catch (TimeoutException e) {
+            log.debug("Recarga lenta de {}[{}], sirviendo el valor caducado", nombre, key);
+            return entrada.valor;
+        } catch (ExecutionException e) {
+            log.warn("Error recargando {}[{}], sirviendo el valor caducado: {}", nombre, key, e.getCause().getMessage());
+            return entrada.valor;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return entrada.valor;
+        }
+    }
+
+    // Como mucho UNA recarga a la vez por clave.
+    private CompletableFuture<Object> recargar(Object key, Entrada anterior) {
+        CompletableFuture<Object> nueva = new CompletableFuture<>();
+        CompletableFuture<Object> enCurso = recargas.putIfAbsent(key, nueva);
+        if (enCurso != null) {
+            return enCurso;
+        }
+        ejecutor.execute(() -> {
+            try {
+                Object valor = cargador.cargar(key);
+                if (valor == null) {
+                    entradas.remove(key, anterior);
+                } else {
+                    entradas.replace(key, anterior, new Entrada(toStoreValue(valor), reloj.getAsLong(), anterior.accesos));
+                }
+                nueva.complete(valor);
+            } catch (RuntimeException e) {
+                nueva.completeExceptionally(e);
+            } finally {
+                recargas.remove(key, nueva);
+            }
+        });
+        return nueva;
+    }
+
+    /**
+     * Carga una clave con el cargador y la guarda (la usa el calentamiento al arrancar).
+     *
+     * @return true si existía y se ha guardado
+     */
+    public boolean precargar(Object key) {
+        if (cargador == null) {
+            return false;
+        }
+        Object valor = cargador.cargar(key);
+        if (valor == null) {
+            return false;
+        }
+        entradas.putIfAbsent(key, new Entrada(toStoreValue(valor), reloj.getAsLong(), new LongAdder()));
+        return true;
+    }
+
+    // Las n claves más leídas, de más a menos.
+    public List<Object> clavesCalientes(int n) {
+        return entradas.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Object, Entrada> e) -> e.getValue().accesos.sum()).reversed())
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public boolean tieneCargador() {
+        return cargador != null;
+    }
+
+    @Override
+    public String getName() {
+        return nombre;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entradas;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper existente = get(key);
+        if (existente != null) {
+            return (T) existente.get();
+        }
+        try {
+            T valor = valueLoader.call();
+            put(key, valor);
+            return valor;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object valor = toStoreValue(value);
+        long ahora = reloj.getAsLong();
+        // Conservamos el contador de accesos: actualizar un álbum no lo hace menos "caliente".
+        entradas.compute(key, (k, anterior) -> new Entrada(valor, ahora, anterior != null ? anterior.accesos : new LongAdder()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        entradas.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        entradas.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.common.cache;
+
+import org.example.common.jfr.CacheJfr;
+import org.example.common.tiempos.CacheMedida;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Sustituye el CacheManager por defecto de Spring Boot por RefrescoCacheManager.
+ * Al declarar nuestro propio bean CacheManager, Spring Boot no crea el suyo.
+ */
+@Configuration
+public class RefrescoCacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<CargadorCache> cargadores,
+                                     ObjectProvider<Cache> propias,
+                                     @Value("${cache.ttl-ms:600000}") long ttl,
+                                     @Value("${cache.refresco-anticipado:0.8}") double refrescoAnticipado,
+                                     @Value("${cache.servir-caducado:true}") boolean servirCaducado,
+                                     @Value("${cache.espera-recarga-ms:200}") long esperaRecarga,
+                                     @Value("${cache.caducado-maximo-ms:3600000}") long caducadoMaximo,
+                                     @Value("${tiempos.activo:false}") boolean medirTiempos,
+                                     @Value("${jfr.eventos.activo:true}") boolean eventosJfr) {
+        var config = new RefrescoCache.Config(ttl, (long) (ttl * refrescoAnticipado), servirCaducado,
+                esperaRecarga, caducadoMaximo);
+        // Cachés declaradas como bean (p. ej. AlbumOffHeapCache): sustituyen a la RefrescoCache de su nombre.
+        return new RefrescoCacheManager(config, cargadores.orderedStream().toList(), propias.orderedStream().toList(),
+                decorador(medirTiempos, eventosJfr));
+    }
+
+    // Con jfr.eventos.activo, cada operación emite un evento JFR (CacheJfr); con tiempos.activo, cada caché
+    // anota además sus aciertos y fallos en la cabecera Server-Timing (CacheMedida).
+    private static UnaryOperator<Cache> decorador(boolean medirTiempos, boolean eventosJfr) {
+        if (medirTiempos && eventosJfr) {
+            return cache -> new CacheMedida(new CacheJfr(cache));
+        }
+        if (medirTiempos) {
+            return CacheMedida::new;
+        }
+        return eventosJfr ? CacheJfr::new : null;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.common.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * CacheManager de la aplicación: crea una RefrescoCache por cada nombre que se pida
+ * ("albumes", "{artista}", "albumesBytes"...), igual que hacía el ConcurrentMapCacheManager por defecto,
+ * pero con caducidad y recarga anticipada. Las cachés con un CargadorCache se recargan solas.
+ * <p>
+ * Si se le pasa una caché ya construida para un nombre (p. ej. la caché "albumes" fuera del heap),
+ * se usa esa en lugar de crear una RefrescoCache.
+ * <p>
+ * Con un decorador (p. ej. CacheMedida, que anota aciertos y fallos), getCache() devuelve cada caché
+ * envuelta; se envuelve una sola vez por nombre.
+ */
+public class RefrescoCacheManager implements CacheManager, DisposableBean {
+
+    private final RefrescoCache.Config config;
+    private final Function<String, CargadorCache> cargadores;
+    // Las recargas en segundo plano se hacen en hilos virtuales: casi todo el tiempo es esperar a la BD.
+    private final ExecutorService recargas = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, RefrescoCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> propias;
+    private final UnaryOperator<Cache> decorador;
+    private final Map<String, Cache> decoradas = new ConcurrentHashMap<>();
+
+    public RefrescoCacheManager(RefrescoCache.Config config, Collection<CargadorCache> cargadores) {
+        this(config, cargadores, List.of());
+    }
+
+    public RefrescoCacheManager(RefrescoCache.Config config, Collection<CargadorCache> cargadores,
+                                Collection<? extends Cache> propias) {
+        this(config, cargadores, propias, null);
+    }
+
+    public RefrescoCacheManager(RefrescoCache.Config config, Collection<CargadorCache> cargadores,
+                                Collection<? extends Cache> propias, UnaryOperator<Cache> decorador) {
+        this.config = config;
+        this.decorador = decorador;
+        this.propias = propias.stream().collect(Collectors.toUnmodifiableMap(Cache::getName, Function.identity()));
+        Map<String, CargadorCache> porCache = cargadores.stream()
+                .collect(Collectors.toMap(CargadorCache::cache, Function.identity()));
+        this.cargadores = porCache::get;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (decorador == null) {
+            return cache(name);
+        }
+        return decoradas.computeIfAbsent(name, n -> decorador.apply(cache(n)));
+    }
+
+    private Cache cache(String name) {
+        Cache propia = propias.get(name);
+        if (propia != null) {
+            return propia;
+        }
+        return caches.computeIfAbsent(name, n ->
+                new RefrescoCache(n, config, cargadores.apply(n), recargas, System::currentTimeMillis));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Stream.concat(propias.keySet().stream(), caches.keySet().stream()).toList();
+    }
+
+    // La RefrescoCache de ese nombre sin decorar (para precargarla), o null si ese nombre usa una caché propia.
+    public RefrescoCache refrescoCache(String name) {
+        return cache(name) instanceof RefrescoCache cache ? cache : null;
+    }
+
+    // Cachés que saben recargarse (las que tiene sentido calentar al arrancar).
+    public List<RefrescoCache> cachesConCargador() {
+        return caches.values().stream().filter(RefrescoCache::tieneCargador).toList();
+    }
+
+    @Override
+    public void destroy() {
+        recargas.shutdownNow();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.common.cache.difusion;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Envoltorio de una caché que, además de escribir en la local, avisa a los demás nodos para que
+ * BORREN esa clave (no se envía el valor: el otro nodo lo volverá a leer de la BD cuando lo necesite).
+ * <p>
+ * Solo se usa en las operaciones de escritura (@CachePut / @CacheEvict), ver ResolutorCacheDifusion.
+ * Las lecturas (@Cacheable) rellenan la caché local sin avisar a nadie: no cambian ningún dato.
+ */
+class CacheDifundida implements Cache {
+
+    private final Cache local;
+    private final DifusionInvalidaciones difusion;
+
+    CacheDifundida(Cache local, DifusionInvalidaciones difusion) {
+        this.local = local;
+        this.difusion = difusion;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return local.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return local.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        difusion.registrar(getName(), key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        difusion.registrar(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean estaba = local.evictIfPresent(key);
+        // Aunque aquí no estuviera, otro nodo sí puede tenerla.
+        difusion.registrar(getName(), key);
+        return estaba;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        difusion.registrarLimpieza(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean habia = local.invalidate();
+        difusion.registrarLimpieza(getName());
+        return habia;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.common.cache.difusion;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Modo near-cache para varias instancias detrás de un balanceador (cache.difusion.transporte = udp | memoria).
+ * Con "ninguno" (por defecto) no se crea nada y cada nodo solo ve sus propias escrituras.
+ * <p>
+ * CachingConfigurer: sustituye el CacheResolver de TODAS las anotaciones de caché por ResolutorCacheDifusion.
+ */
+@Configuration
+@ConditionalOnExpression("'${cache.difusion.transporte:ninguno}' != 'ninguno'")
+public class DifusionCacheConfig implements CachingConfigurer {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ObjectProvider<DifusionInvalidaciones> difusion;
+
+    public DifusionCacheConfig(ObjectProvider<CacheManager> cacheManager,
+                               ObjectProvider<DifusionInvalidaciones> difusion) {
+        this.cacheManager = cacheManager;
+        this.difusion = difusion;
+    }
+
+    @Bean(destroyMethod = "close")
+    public TransporteInvalidaciones transporteInvalidaciones(
+            @Value("${cache.difusion.transporte}") String transporte,
+            @Value("${cache.difusion.udp.direccion:127.0.0.1}") String direccion,
+            @Value("${cache.difusion.udp.puerto:9700}") int puerto,
+            @Value("${cache.difusion.udp.pares:}") String pares) {
+        return switch (transporte) {
+            case "udp" -> new TransporteUdp(new InetSocketAddress(direccion, puerto), direcciones(pares));
+            case "memoria" -> RedEnMemoria.COMPARTIDA.conectar();
+            default -> throw new IllegalStateException("Transporte de invalidaciones desconocido: " + transporte
+                    + " (valores válidos: udp, memoria, ninguno)");
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public DifusionInvalidaciones difusionInvalidaciones(CacheManager cacheManager, TransporteInvalidaciones transporte,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${cache.difusion.intervalo-ms:50}") long intervalo,
+                                                         @Value("${cache.difusion.latido-ms:1000}") long latido,
+                                                         @Value("${cache.difusion.max-bytes:1400}") int maxBytes) {
+        var difusion = new DifusionInvalidaciones(cacheManager, transporte, maxBytes, meterRegistry);
+        difusion.iniciar(intervalo, latido);
+        return difusion;
+    }
+
+    @Override
+    public CacheResolver cacheResolver() {
+        return new ResolutorCacheDifusion(cacheManager, difusion);
+    }
+
+    // "host1:9700,host2:9700" -> lista de direcciones.
+    private static List<InetSocketAddress> direcciones(String pares) {
+        return Arrays.stream(pares.split(","))
+                .map(String::strip)
+                .filter(p -> !p.isEmpty())
+                .map(p -> {
+                    int dosPuntos = p.lastIndexOf(':');
+                    return new InetSocketAddress(p.substring(0, dosPuntos), Integer.parseInt(p.substring(dosPuntos + 1)));
+                })
+                .toList();
+    }
+}
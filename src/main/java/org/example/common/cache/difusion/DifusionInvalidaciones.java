@@ -0,0 +1,212 @@
+package org.example.common.cache.difusion;
+
+import org.example.common.cache.difusion.MensajeInvalidacion.Invalidacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Near-cache: cada nodo tiene su propia caché en memoria y, cuando escribe, avisa a los demás para que
+ * borren esas claves de las suyas.
+ * <p>
+ * <ul>
+ *     <li>Las invalidaciones se acumulan y se envían en lotes cada intervalo-ms. Si la misma clave se
+ *     invalida varias veces en ese tiempo, viaja una sola vez; si se vacía una caché entera, sus claves
+ *     pendientes sobran.</li>
+ *     <li>Cada mensaje lleva el número siguiente de la secuencia del nodo. Si un receptor ve un salto
+ *     (se ha perdido un mensaje), no sabe qué claves se ha perdido y vacía TODAS sus cachés.</li>
+ *     <li>Si no hay nada que enviar, cada latido-ms se envía un mensaje vacío con la última secuencia:
+ *     así un mensaje perdido se detecta aunque el emisor deje de escribir.</li>
+ * </ul>
+ * Al recibir, se borra directamente en las cachés del CacheManager (sin envoltorio): no se reenvía nada.
+ * Las cachés que no son de Spring pero guardan lo mismo (la de segundo nivel de Hibernate) se enganchan
+ * con vincular() y se borran a la vez. También las que solo viajan por aquí, con un nombre propio (las cachés
+ * negativas: "albumes.ausentes", "artistas.ausentes").
+ */
+@Slf4j
+public class DifusionInvalidaciones implements AutoCloseable {
+
+    private final CacheManager cacheManager;
+    private final TransporteInvalidaciones transporte;
+    private final int maxBytes;
+    private final long nodo = new SecureRandom().nextLong();
+    // Última secuencia enviada. Solo la modifica enviarPendientes (sincronizado).
+    private long secuencia;
+    private long ultimoEnvio;
+    private final Set<Invalidacion> pendientes = new LinkedHashSet<>();
+    // Última secuencia recibida de cada nodo.
+    private final Map<Long, Long> recibidas = new ConcurrentHashMap<>();
+    // Qué más borrar al invalidar cada caché (ver vincular).
+    private final Map<String, List<Consumer<Object>>> vinculadas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "cache-difusion");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final Counter enviados;
+    private final Counter recibidos;
+    private final Counter huecos;
+
+    /**
+     * @param maxBytes tamaño máximo de cada mensaje (para UDP, por debajo de la MTU evita fragmentar)
+     */
+    public DifusionInvalidaciones(CacheManager cacheManager, TransporteInvalidaciones transporte, int maxBytes,
+                                  MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.transporte = transporte;
+        this.maxBytes = maxBytes;
+        this.enviados = Counter.builder("cache.difusion.enviados")
+                .description("Mensajes de invalidación enviados a los demás nodos").register(meterRegistry);
+        this.recibidos = Counter.builder("cache.difusion.recibidos")
+                .description("Mensajes de invalidación recibidos de otros nodos").register(meterRegistry);
+        this.huecos = Counter.builder("cache.difusion.huecos")
+                .description("Mensajes perdidos detectados (cada uno vacía las cachés locales)").register(meterRegistry);
+    }
+
+    /**
+     * Empieza a escuchar a los demás nodos y a enviar los lotes.
+     *
+     * @param intervaloMs cada cuánto se envían las invalidaciones acumuladas
+     * @param latidoMs    cada cuánto se anuncia la última secuencia si no se ha enviado nada
+     */
+    public void iniciar(long intervaloMs, long latidoMs) {
+        transporte.escuchar(this::recibir);
+        programador.scheduleWithFixedDelay(() -> {
+            try {
+                enviarPendientes();
+                if (System.currentTimeMillis() - ultimoEnvio >= latidoMs) {
+                    enviarLatido();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Error enviando invalidaciones: {}", e.getMessage());
+            }
+        }, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        log.info("Near-cache activada: nodo {}, lotes cada {} ms", Long.toHexString(nodo), intervaloMs);
+    }
+
+    /**
+     * Al recibir una invalidación de la caché indicada, borra también la clave en otro sitio.
+     *
+     * @param borrar recibe la clave a borrar, o null si hay que borrarlo todo
+     */
+    public void vincular(String cache, Consumer<Object> borrar) {
+        vinculadas.computeIfAbsent(cache, c -> new CopyOnWriteArrayList<>()).add(borrar);
+    }
+
+    // Lo llama CacheDifundida en cada @CachePut / @CacheEvict.
+    public synchronized void registrar(String cache, Object clave) {
+        if (!pendientes.contains(Invalidacion.todo(cache))) {
+            pendientes.add(Invalidacion.de(cache, clave));
+        }
+    }
+
+    public synchronized void registrarLimpieza(String cache) {
+        pendientes.removeIf(i -> i.cache().equals(cache));
+        pendientes.add(Invalidacion.todo(cache));
+    }
+
+    /**
+     * Envía lo acumulado, en tantos mensajes como haga falta para no superar maxBytes.
+     */
+    public synchronized void enviarPendientes() {
+        List<Invalidacion> lote = new ArrayList<>();
+        int bytes = 0;
+        for (Invalidacion i : pendientes) {
+            int tamano = MensajeInvalidacion.tamanoAproximado(i);
+            if (!lote.isEmpty() && bytes + tamano > maxBytes) {
+                enviar(lote);
+                lote = new ArrayList<>();
+                bytes = 0;
+            }
+            lote.add(i);
+            bytes += tamano;
+        }
+        if (!lote.isEmpty()) {
+            enviar(lote);
+        }
+        pendientes.clear();
+    }
+
+    private void enviar(List<Invalidacion> lote) {
+        transporte.enviar(new MensajeInvalidacion(nodo, ++secuencia, List.copyOf(lote)).codificar());
+        ultimoEnvio = System.currentTimeMillis();
+        enviados.increment();
+    }
+
+    // El latido NO consume número de secuencia: repite el último.
+    private synchronized void enviarLatido() {
+        transporte.enviar(new MensajeInvalidacion(nodo, secuencia, List.of()).codificar());
+        ultimoEnvio = System.currentTimeMillis();
+    }
+
+    void recibir(byte[] bytes) {
+        MensajeInvalidacion mensaje = MensajeInvalidacion.decodificar(bytes);
+        if (mensaje.nodo() == nodo) {
+            return;
+        }
+        recibidos.increment();
+        // La secuencia que esperábamos: la siguiente a la última (o la misma, si es un latido).
+        long esperada = mensaje.esLatido() ? mensaje.secuencia() : mensaje.secuencia() - 1;
+        Long anterior = recibidas.put(mensaje.nodo(), Math.max(mensaje.secuencia(),
+                recibidas.getOrDefault(mensaje.nodo(), 0L)));
+        // Con un nodo nuevo no podemos saber si nos hemos perdido algo anterior: empezamos a contar desde aquí.
+        if (anterior != null && esperada > anterior) {
+            huecos.increment();
+            log.warn("Perdidas invalidaciones del nodo {} (esperada {}, recibida {}): vaciando las cachés",
+                    Long.toHexString(mensaje.nodo()), anterior + 1, mensaje.secuencia());
+            vaciarTodo();
+            return;
+        }
+        for (Invalidacion i : mensaje.invalidaciones()) {
+            // Primero lo vinculado: si no, una lectura entre medias rellenaría la caché con lo que hay ahí.
+            vinculadas.getOrDefault(i.cache(), List.of()).forEach(borrar -> borrar.accept(i.clave()));
+            // Solo las que ya existen en este nodo: getCache() crearía una vacía (p. ej. para "albumes.ausentes",
+            // que solo existe vinculada) y en una caché que no existe no hay nada que borrar.
+            Cache cache = cacheManager.getCacheNames().contains(i.cache()) ? cacheManager.getCache(i.cache()) : null;
+            if (cache == null) {
+                continue;
+            }
+            if (i.clave() == null) {
+                cache.clear();
+            } else {
+                cache.evict(i.clave());
+            }
+        }
+    }
+
+    private void vaciarTodo() {
+        vinculadas.values().forEach(borrados -> borrados.forEach(borrar -> borrar.accept(null)));
+        for (String nombre : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        programador.shutdown();
+        try {
+            enviarPendientes();
+        } finally {
+            transporte.close();
+        }
+    }
+}
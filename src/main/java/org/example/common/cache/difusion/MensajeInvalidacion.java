@@ -0,0 +1,107 @@
+package org.example.common.cache.difusion;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mensaje entre nodos: "borrad estas claves de estas cachés".
+ * <p>
+ * Formato binario compacto (un datagrama): versión, nodo, secuencia, número de invalidaciones y, por cada una,
+ * el nombre de la caché y la clave (L = Long, S = String, * = toda la caché).
+ * Un mensaje sin invalidaciones es un latido: solo sirve para anunciar la última secuencia enviada.
+ *
+ * @param nodo           identificador aleatorio del nodo emisor (cambia en cada arranque)
+ * @param secuencia      número del mensaje; consecutivo por nodo
+ * @param invalidaciones claves a borrar
+ */
+record MensajeInvalidacion(long nodo, long secuencia, List<Invalidacion> invalidaciones) {
+
+    private static final byte VERSION = 1;
+    private static final byte LONG = 'L';
+    private static final byte TEXTO = 'S';
+    private static final byte TODO = '*';
+
+    /**
+     * Una clave de una caché. clave == null: la caché entera.
+     */
+    record Invalidacion(String cache, Object clave) {
+        static Invalidacion todo(String cache) {
+            return new Invalidacion(cache, null);
+        }
+
+        // Solo sabemos enviar claves Long y String; cualquier otra se convierte en "vaciar la caché".
+        static Invalidacion de(String cache, Object clave) {
+            return clave instanceof Long || clave instanceof String ? new Invalidacion(cache, clave) : todo(cache);
+        }
+    }
+
+    boolean esLatido() {
+        return invalidaciones.isEmpty();
+    }
+
+    byte[] codificar() {
+        var bytes = new ByteArrayOutputStream(32 + invalidaciones.size() * 48);
+        try (var salida = new DataOutputStream(bytes)) {
+            salida.writeByte(VERSION);
+            salida.writeLong(nodo);
+            salida.writeLong(secuencia);
+            salida.writeShort(invalidaciones.size());
+            for (Invalidacion i : invalidaciones) {
+                salida.writeUTF(i.cache());
+                switch (i.clave()) {
+                    case Long id -> {
+                        salida.writeByte(LONG);
+                        salida.writeLong(id);
+                    }
+                    case String texto -> {
+                        salida.writeByte(TEXTO);
+                        salida.writeUTF(texto);
+                    }
+                    case null, default -> salida.writeByte(TODO);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static MensajeInvalidacion decodificar(byte[] bytes) {
+        try (var entrada = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = entrada.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Versión de mensaje desconocida: " + version);
+            }
+            long nodo = entrada.readLong();
+            long secuencia = entrada.readLong();
+            int total = entrada.readUnsignedShort();
+            List<Invalidacion> invalidaciones = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                String cache = entrada.readUTF();
+                byte tipo = entrada.readByte();
+                invalidaciones.add(switch (tipo) {
+                    case LONG -> new Invalidacion(cache, entrada.readLong());
+                    case TEXTO -> new Invalidacion(cache, entrada.readUTF());
+                    case TODO -> Invalidacion.todo(cache);
+                    default -> throw new IllegalArgumentException("Tipo de clave desconocido: " + tipo);
+                });
+            }
+            return new MensajeInvalidacion(nodo, secuencia, invalidaciones);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Mensaje de invalidación truncado", e);
+        }
+    }
+
+    // Para comprobar que un lote cabe en un datagrama.
+    static int tamanoAproximado(Invalidacion i) {
+        int clave = i.clave() instanceof String s ? 2 + s.getBytes(StandardCharsets.UTF_8).length : 8;
+        return 2 + i.cache().getBytes(StandardCharsets.UTF_8).length + 1 + clave;
+    }
+}
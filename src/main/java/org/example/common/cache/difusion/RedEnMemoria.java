@@ -0,0 +1,61 @@
+package org.example.common.cache.difusion;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * "Red" dentro de la misma JVM: sustituye a UDP en las pruebas. Cada conectar() es un nodo;
+ * lo que envía uno lo reciben todos los demás, en el mismo hilo y en orden.
+ */
+public class RedEnMemoria {
+
+    // La que usa el transporte "memoria" de la aplicación.
+    public static final RedEnMemoria COMPARTIDA = new RedEnMemoria();
+
+    private final List<Nodo> nodos = new CopyOnWriteArrayList<>();
+    private final AtomicInteger aPerder = new AtomicInteger();
+
+    public TransporteInvalidaciones conectar() {
+        Nodo nodo = new Nodo();
+        nodos.add(nodo);
+        return nodo;
+    }
+
+    // Los próximos n mensajes no llegan a nadie (para probar la detección de huecos).
+    public void perder(int n) {
+        aPerder.addAndGet(n);
+    }
+
+    private boolean seDebePerder() {
+        return aPerder.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+    }
+
+    private final class Nodo implements TransporteInvalidaciones {
+        private volatile Consumer<byte[]> receptor;
+
+        @Override
+        public void enviar(byte[] mensaje) {
+            if (seDebePerder()) {
+                return;
+            }
+            for (Nodo otro : nodos) {
+                Consumer<byte[]> r = otro.receptor;
+                if (otro != this && r != null) {
+                    r.accept(mensaje.clone());
+                }
+            }
+        }
+
+        @Override
+        public void escuchar(Consumer<byte[]> receptor) {
+            this.receptor = receptor;
+        }
+
+        @Override
+        public void close() {
+            nodos.remove(this);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.common.cache.difusion;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheEvictOperation;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CachePutOperation;
+import org.springframework.cache.interceptor.CacheResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decide qué caché recibe cada anotación de caché (@Cacheable, @CachePut, @CacheEvict).
+ * Para @CachePut y @CacheEvict devuelve la caché envuelta en CacheDifundida (avisa a los demás nodos);
+ * para @Cacheable, la local tal cual.
+ * <p>
+ * Así basta con las anotaciones que ya tienen AlbumServiceImpl y ArtistaServiceImpl: no hay que tocar los servicios.
+ */
+class ResolutorCacheDifusion implements CacheResolver {
+
+    // Se piden al usarse: el resolutor se crea antes que estos beans.
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ObjectProvider<DifusionInvalidaciones> difusion;
+
+    ResolutorCacheDifusion(ObjectProvider<CacheManager> cacheManager, ObjectProvider<DifusionInvalidaciones> difusion) {
+        this.cacheManager = cacheManager;
+        this.difusion = difusion;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        boolean escritura = context.getOperation() instanceof CachePutOperation
+                || context.getOperation() instanceof CacheEvictOperation;
+        List<Cache> caches = new ArrayList<>();
+        for (String nombre : context.getOperation().getCacheNames()) {
+            Cache cache = cacheManager.getObject().getCache(nombre);
+            if (cache == null) {
+                throw new IllegalArgumentException("No se encuentra la caché '" + nombre + "' para " + context.getOperation());
+            }
+            caches.add(escritura ? new CacheDifundida(cache, difusion.getObject()) : cache);
+        }
+        return caches;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.common.cache.difusion;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por el que los nodos se envían los mensajes de invalidación (ya codificados).
+ * No garantiza la entrega: si se pierde un mensaje, el receptor lo detecta por el hueco en la secuencia.
+ */
+public interface TransporteInvalidaciones extends AutoCloseable {
+
+    // Envía el mensaje a todos los demás nodos.
+    void enviar(byte[] mensaje);
+
+    // Empieza a recibir los mensajes de los demás nodos.
+    void escuchar(Consumer<byte[]> receptor);
+
+    @Override
+    void close();
+}
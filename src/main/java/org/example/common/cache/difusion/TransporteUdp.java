@@ -0,0 +1,79 @@
+package org.example.common.cache.difusion;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Transporte por UDP: cada mensaje es un datagrama que se envía a cada par de la lista.
+ * Sin conexión ni reintentos; un datagrama perdido se detecta por la secuencia (ver DifusionInvalidaciones).
+ */
+@Slf4j
+public class TransporteUdp implements TransporteInvalidaciones {
+
+    // Tamaño máximo de un datagrama UDP.
+    private static final int TAMANO_MAXIMO = 65_507;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> pares;
+
+    /**
+     * @param local dirección y puerto donde escucha este nodo
+     * @param pares direcciones de los demás nodos
+     */
+    public TransporteUdp(InetSocketAddress local, List<InetSocketAddress> pares) {
+        try {
+            this.socket = new DatagramSocket(local);
+        } catch (SocketException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto UDP " + local, e);
+        }
+        this.pares = List.copyOf(pares);
+    }
+
+    @Override
+    public void enviar(byte[] mensaje) {
+        for (InetSocketAddress par : pares) {
+            try {
+                socket.send(new DatagramPacket(mensaje, mensaje.length, par));
+            } catch (IOException e) {
+                // El par lo notará por el hueco en la secuencia y vaciará su caché.
+                log.warn("No se pudo enviar la invalidación a {}: {}", par, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void escuchar(Consumer<byte[]> receptor) {
+        Thread hilo = new Thread(() -> {
+            byte[] buffer = new byte[TAMANO_MAXIMO];
+            while (!socket.isClosed()) {
+                DatagramPacket paquete = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(paquete);
+                    receptor.accept(Arrays.copyOfRange(buffer, 0, paquete.getLength()));
+                } catch (IOException e) {
+                    if (!socket.isClosed()) {
+                        log.warn("Error recibiendo invalidaciones: {}", e.getMessage());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Mensaje de invalidación no válido: {}", e.getMessage());
+                }
+            }
+        }, "cache-difusion-udp");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+}
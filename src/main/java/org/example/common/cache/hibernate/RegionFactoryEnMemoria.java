@@ -0,0 +1,190 @@
+package org.example.common.cache.hibernate;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.ExtendedStatisticsSupport;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proveedor de la caché de segundo nivel de Hibernate que guarda cada región en un ConcurrentHashMap
+ * de esta misma JVM. No necesitamos JCache ni Ehcache: Hibernate ya trae las estrategias de acceso
+ * (read-only, read-write...) y aquí solo ponemos el almacén.
+ * <p>
+ * Se activa con:
+ * <pre>
+ * spring.jpa.properties.hibernate.cache.use_second_level_cache=true
+ * spring.jpa.properties.hibernate.cache.region.factory_class=org.example.common.cache.hibernate.RegionFactoryEnMemoria
+ * </pre>
+ * El máximo de entradas por región se configura con {@value #MAX_ENTRADAS} (10000 por defecto) y cuánto
+ * dura cada entrada con {@value #TTL_MS} (0, por defecto, = sin caducidad). Con TTL, lo que cambie otro nodo
+ * o un UPDATE hecho fuera de Hibernate deja de servirse desde la caché pasado ese tiempo.
+ */
+public class RegionFactoryEnMemoria extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRADAS = "hibernate.cache.memoria.max-entradas";
+    public static final String TTL_MS = "hibernate.cache.memoria.ttl-ms";
+
+    private int maxEntradas = 10_000;
+    private long ttlNanos;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object valor = configValues.get(MAX_ENTRADAS);
+        if (valor != null) {
+            maxEntradas = Integer.parseInt(valor.toString().trim());
+        }
+        Object ttl = configValues.get(TTL_MS);
+        if (ttl != null) {
+            ttlNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(ttl.toString().trim()));
+        }
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // Las regiones se vacían en release(); no hay nada más que liberar.
+    }
+
+    @Override
+    public DomainDataRegion buildDomainDataRegion(DomainDataRegionConfig config, DomainDataRegionBuildingContext contexto) {
+        verifyStarted();
+        return new RegionEnMemoria(config, this, new Almacen(maxEntradas, ttlNanos), getImplicitCacheKeysFactory(), contexto);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String region, SessionFactoryImplementor sessionFactory) {
+        return new Almacen(maxEntradas, ttlNanos);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String region, SessionFactoryImplementor sessionFactory) {
+        // Una marca de tiempo por tabla: no hace falta límite. Tampoco caducan: sin la marca de una tabla,
+        // Hibernate daría por buenas las consultas cacheadas sobre ella.
+        return new Almacen(Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Región de entidades (y de sus natural-id) que además informa a Hibernate de cuántas entradas tiene,
+     * para que las estadísticas de la región incluyan el tamaño y no solo aciertos y fallos.
+     */
+    static final class RegionEnMemoria extends DomainDataRegionTemplate implements ExtendedStatisticsSupport {
+
+        private final Almacen almacen;
+
+        RegionEnMemoria(DomainDataRegionConfig config, RegionFactory factory, Almacen almacen,
+                        CacheKeysFactory claves, DomainDataRegionBuildingContext contexto) {
+            super(config, factory, almacen, claves, contexto);
+            this.almacen = almacen;
+        }
+
+        @Override
+        public long getElementCountInMemory() {
+            return almacen.datos.size();
+        }
+
+        @Override
+        public long getElementCountOnDisk() {
+            return 0;
+        }
+
+        @Override
+        public long getSizeInMemory() {
+            return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+        }
+    }
+
+    /**
+     * Almacén de una región.
+     * <p>
+     * Con la estrategia read-write, Hibernate guarda aquí tanto los datos como los "bloqueos" (SoftLock) que
+     * pone sobre una entidad mientras se actualiza. Los bloqueos hay que guardarlos siempre: si se perdieran,
+     * una lectura concurrente podría volver a meter en la caché la versión anterior. Por eso, cuando la región
+     * está llena, solo descartamos los datos de claves NUEVAS; descartarlos equivale a un fallo de caché.
+     * Por lo mismo, con TTL solo caducan los datos: los bloqueos ya tienen su propio plazo en Hibernate.
+     */
+    static final class Almacen implements DomainDataStorageAccess {
+
+        private final ConcurrentHashMap<Object, Object> datos = new ConcurrentHashMap<>();
+        private final int maxEntradas;
+        private final long ttlNanos;
+
+        Almacen(int maxEntradas, long ttlNanos) {
+            this.maxEntradas = maxEntradas;
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public Object getFromCache(Object clave, SharedSessionContractImplementor session) {
+            Object valor = datos.get(clave);
+            if (valor instanceof Caducable caducable) {
+                if (System.nanoTime() - caducable.caduca() >= 0) {
+                    // Caducado: lo quitamos (si nadie lo ha sustituido ya) y es un fallo de caché.
+                    datos.remove(clave, caducable);
+                    return null;
+                }
+                return caducable.valor();
+            }
+            return valor;
+        }
+
+        @Override
+        public void putIntoCache(Object clave, Object valor, SharedSessionContractImplementor session) {
+            Object guardado = ttlNanos > 0 && !(valor instanceof SoftLock)
+                    ? new Caducable(valor, System.nanoTime() + ttlNanos)
+                    : valor;
+            if (datos.size() >= maxEntradas && !(valor instanceof SoftLock)) {
+                datos.computeIfPresent(clave, (k, anterior) -> guardado);
+                return;
+            }
+            datos.put(clave, guardado);
+        }
+
+        @Override
+        public void removeFromCache(Object clave, SharedSessionContractImplementor session) {
+            datos.remove(clave);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            datos.clear();
+        }
+
+        @Override
+        public boolean contains(Object clave) {
+            return getFromCache(clave, null) != null;
+        }
+
+        @Override
+        public void evictData() {
+            datos.clear();
+        }
+
+        @Override
+        public void evictData(Object clave) {
+            datos.remove(clave);
+        }
+
+        @Override
+        public void release() {
+            datos.clear();
+        }
+    }
+
+    // Un dato con su instante de caducidad (System.nanoTime).
+    private record Caducable(Object valor, long caduca) {
+    }
+}
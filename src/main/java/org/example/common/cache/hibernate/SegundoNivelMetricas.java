@@ -0,0 +1,59 @@
+package org.example.common.cache.hibernate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica en Micrometer las estadísticas de cada región de la caché de segundo nivel de Hibernate
+ * (ej: /actuator/metrics/cache.segundo-nivel.aciertos?tag=region:artistas).
+ * <p>
+ * Hibernate solo cuenta aciertos y fallos con hibernate.generate_statistics=true.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SegundoNivelMetricas implements MeterBinder {
+
+    private final Statistics estadisticas;
+
+    public SegundoNivelMetricas(EntityManagerFactory entityManagerFactory) {
+        this.estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : estadisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = estadisticas.getDomainDataRegionStatistics(region);
+            if (stats == null) {
+                continue; // Regiones de consultas y de marcas de tiempo: no son de entidades.
+            }
+            contador(registry, "cache.segundo-nivel.aciertos", region, stats, CacheRegionStatistics::getHitCount,
+                    "Lecturas resueltas en la caché de segundo nivel");
+            contador(registry, "cache.segundo-nivel.fallos", region, stats, CacheRegionStatistics::getMissCount,
+                    "Lecturas que no estaban en la caché y fueron a la base de datos");
+            contador(registry, "cache.segundo-nivel.escrituras", region, stats, CacheRegionStatistics::getPutCount,
+                    "Entradas guardadas en la caché de segundo nivel");
+            Gauge.builder("cache.segundo-nivel.entradas", stats, CacheRegionStatistics::getElementCountInMemory)
+                    .tag("region", region)
+                    .description("Entradas (entidades y natural-id) que hay ahora en la región")
+                    .register(registry);
+        }
+    }
+
+    private void contador(MeterRegistry registry, String nombre, String region, CacheRegionStatistics stats,
+                          ToDoubleFunction<CacheRegionStatistics> valor, String descripcion) {
+        FunctionCounter.builder(nombre, stats, valor)
+                .tag("region", region)
+                .description(descripcion)
+                .register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.common.concurrencia;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Tipos de petición, cada uno con su propio límite de concurrencia.
+ * Los valores por defecto se pueden cambiar con propiedades "limite.&lt;clave&gt;.*" (ver application.properties).
+ */
+public enum ClaseEndpoint {
+    // GET (también los multi-get, ?ids= y ?uuids=, acotados por página): rápidas y casi siempre servidas desde caché.
+    LECTURA("lectura", 50, 5, 500, 100, 1),
+    // POST, PUT, PATCH, DELETE: tocan la base de datos y las cachés.
+    ESCRITURA("escritura", 20, 2, 200, 250, 1),
+    // Importaciones y exportaciones: pocas, largas y pesadas.
+    MASIVA("masiva", 2, 1, 8, 5000, 30);
+
+    final String clave;
+    final int inicial;
+    final int minimo;
+    final int maximo;
+    final long latenciaObjetivoMs;
+    final long reintentarEnSegundos;
+
+    ClaseEndpoint(String clave, int inicial, int minimo, int maximo, long latenciaObjetivoMs, long reintentarEnSegundos) {
+        this.clave = clave;
+        this.inicial = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaObjetivoMs = latenciaObjetivoMs;
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public static ClaseEndpoint de(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        if (ruta.contains("/importaciones") || ruta.contains("/exportaciones")) {
+            return MASIVA;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> LECTURA;
+            default -> ESCRITURA;
+        };
+    }
+}
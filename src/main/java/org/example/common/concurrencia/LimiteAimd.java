@@ -0,0 +1,97 @@
+package org.example.common.concurrencia;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia adaptativo AIMD (Additive Increase, Multiplicative Decrease), como el control
+ * de congestión de TCP:
+ * <ul>
+ *     <li>Si una petición tarda más que la latencia objetivo (o falla con 5xx), el límite se multiplica
+ *     por el factor de reducción (por defecto 0.9): hay cola en algún sitio, dejamos pasar menos.
+ *     Como mucho una vez por ventana (la latencia objetivo): las peticiones que ya estaban en curso
+ *     cuando empezó la cola acaban lentas todas a la vez, y es una sola señal, no una por petición.</li>
+ *     <li>Si tarda menos y estamos usando al menos la mitad del límite, el límite sube en 1/límite:
+ *     aproximadamente +1 por cada "ronda" completa de peticiones.</li>
+ * </ul>
+ * Las peticiones que no caben en el límite no esperan: se rechazan en el acto.
+ */
+public final class LimiteAimd {
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaObjetivoNanos;
+    private final double factorReduccion;
+    private final LongSupplier reloj;
+
+    // El límite es decimal para poder sumar fracciones (1/límite); se redondea al comparar.
+    private volatile double limite;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    // Instante (System.nanoTime) de la última reducción; el primer fallo siempre reduce.
+    private final AtomicLong ultimaReduccion;
+
+    public LimiteAimd(int inicial, int minimo, int maximo, long latenciaObjetivoNanos, double factorReduccion) {
+        this(inicial, minimo, maximo, latenciaObjetivoNanos, factorReduccion, System::nanoTime);
+    }
+
+    // Con el reloj como parámetro para poder probar las ventanas sin esperar.
+    public LimiteAimd(int inicial, int minimo, int maximo, long latenciaObjetivoNanos, double factorReduccion,
+                      LongSupplier reloj) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaObjetivoNanos = latenciaObjetivoNanos;
+        this.factorReduccion = factorReduccion;
+        this.limite = Math.clamp(inicial, minimo, maximo);
+        this.reloj = reloj;
+        this.ultimaReduccion = new AtomicLong(reloj.getAsLong() - latenciaObjetivoNanos);
+    }
+
+    /**
+     * Intenta ocupar un hueco.
+     *
+     * @return false si ya hay tantas peticiones en curso como marca el límite (hay que rechazar)
+     */
+    public boolean adquirir() {
+        while (true) {
+            int actuales = enCurso.get();
+            if (actuales >= getLimite()) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actuales, actuales + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco y ajusta el límite con la latencia observada.
+     *
+     * @param latenciaNanos lo que ha tardado la petición
+     * @param sobrecarga    true si la petición falló por sobrecarga (5xx que no sea un 503 de la aplicación)
+     */
+    public void liberar(long latenciaNanos, boolean sobrecarga) {
+        int enCursoAlTerminar = enCurso.getAndDecrement();
+        // No es crítico que dos hilos ajusten a la vez: como mucho se pierde un ajuste pequeño.
+        double actual = limite;
+        if (sobrecarga || latenciaNanos > latenciaObjetivoNanos) {
+            long ahora = reloj.getAsLong();
+            long ultima = ultimaReduccion.get();
+            // Solo reduce el primer hilo que llega pasada la ventana; el resto de la ventana se ignora.
+            if (ahora - ultima >= latenciaObjetivoNanos && ultimaReduccion.compareAndSet(ultima, ahora)) {
+                limite = Math.max(minimo, actual * factorReduccion);
+            }
+        } else if (enCursoAlTerminar * 2 >= actual) {
+            // Solo subimos si el límite se está usando: si sobra capacidad, subirlo no aporta nada.
+            limite = Math.min(maximo, actual + 1.0 / actual);
+        }
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.common.concurrencia;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Filtro que limita cuántas peticiones a la API se atienden a la vez (load shedding).
+ * <p>
+ * Sin él, en una ráfaga las peticiones se encolan dentro de Tomcat: la latencia sube para todos
+ * hasta agotar el pool de conexiones. Aquí cada tipo de petición (ClaseEndpoint) tiene un límite
+ * adaptativo (LimiteAimd) que baja cuando la latencia supera el objetivo y sube cuando va bien.
+ * Lo que no cabe se rechaza en el acto con 503 y la cabecera Retry-After, en lugar de esperar.
+ * <p>
+ * Métricas (con la etiqueta "clase"): concurrencia.limite, concurrencia.en-curso y concurrencia.rechazos.
+ */
+@Slf4j
+@Component
+// Lo antes posible: una petición rechazada no debe consumir nada más.
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private final boolean activo;
+    private final Map<ClaseEndpoint, LimiteAimd> limites = new EnumMap<>(ClaseEndpoint.class);
+    private final Map<ClaseEndpoint, Counter> rechazos = new EnumMap<>(ClaseEndpoint.class);
+
+    public LimiteConcurrenciaFilter(Environment entorno, MeterRegistry registry) {
+        this.activo = entorno.getProperty("limite.activo", Boolean.class, true);
+        double factorReduccion = entorno.getProperty("limite.factor-reduccion", Double.class, 0.9);
+        for (ClaseEndpoint clase : ClaseEndpoint.values()) {
+            String prefijo = "limite." + clase.clave + ".";
+            LimiteAimd limite = new LimiteAimd(
+                    entorno.getProperty(prefijo + "inicial", Integer.class, clase.inicial),
+                    entorno.getProperty(prefijo + "minimo", Integer.class, clase.minimo),
+                    entorno.getProperty(prefijo + "maximo", Integer.class, clase.maximo),
+                    entorno.getProperty(prefijo + "latencia-objetivo-ms", Long.class, clase.latenciaObjetivoMs) * 1_000_000,
+                    factorReduccion);
+            limites.put(clase, limite);
+            Gauge.builder("concurrencia.limite", limite, LimiteAimd::getLimite).tag("clase", clase.clave)
+                    .description("Límite actual de peticiones simultáneas").register(registry);
+            Gauge.builder("concurrencia.en-curso", limite, LimiteAimd::getEnCurso).tag("clase", clase.clave)
+                    .description("Peticiones en curso").register(registry);
+            rechazos.put(clase, Counter.builder("concurrencia.rechazos").tag("clase", clase.clave)
+                    .description("Peticiones rechazadas con 503 por superar el límite").register(registry));
+        }
+    }
+
+    // Solo limitamos la API; la consola de H2, actuator, etc. pasan siempre.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !activo || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClaseEndpoint clase = ClaseEndpoint.de(request);
+        LimiteAimd limite = limites.get(clase);
+        if (!limite.adquirir()) {
+            rechazar(response, clase, limite);
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean sobrecarga = true;
+        try {
+            chain.doFilter(request, response);
+            sobrecarga = esSobrecarga(response.getStatus());
+        } finally {
+            limite.liberar(System.nanoTime() - inicio, sobrecarga);
+        }
+    }
+
+    // Un 503 lo devuelve la propia aplicación cuando deja de esperar a propósito (PlazoAgotadoException,
+    // SingleFlightTimeoutException): no es congestión. Si además tardó, ya lo cuenta la latencia.
+    public static boolean esSobrecarga(int estado) {
+        return estado >= HttpStatus.INTERNAL_SERVER_ERROR.value() && estado != HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private void rechazar(HttpServletResponse response, ClaseEndpoint clase, LimiteAimd limite) throws IOException {
+        rechazos.get(clase).increment();
+        log.debug("Petición {} rechazada: {} en curso, límite {}", clase, limite.getEnCurso(), limite.getLimite());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(clase.reintentarEnSegundos));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":503,\"title\":\"Service Unavailable\","
+                + "\"detail\":\"Servidor saturado, vuelve a intentarlo en " + clase.reintentarEnSegundos + " s\"}");
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.common.concurrencia;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+// 503: una parte de la respuesta no llegó a tiempo y se cancelaron las demás; el cliente puede reintentar.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PlazoAgotadoException extends RuntimeException {
+    public PlazoAgotadoException(String ambito, String subtarea, Duration plazo) {
+        super("La subtarea " + subtarea + " de " + ambito + " no terminó en " + plazo.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.common.concurrencia;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrencia estructurada: lanza varias subtareas en hilos virtuales y las trata como UNA sola operación.
+ * <pre>
+ * try (var tareas = new TareasEstructuradas("overview")) {
+ *     var artista = tareas.lanzar("artista", Duration.ofMillis(300), () -> ...);
+ *     var albumes = tareas.lanzar("albumes", Duration.ofMillis(800), () -> ...);
+ *     tareas.esperar();                      // lanza el primer error, si lo hay
+ *     return new Dto(artista.get(), albumes.get());
+ * }
+ * </pre>
+ * <ul>
+ *     <li>Si una subtarea falla, se cancelan (interrumpen) las demás y esperar() lanza ese error.</li>
+ *     <li>Cada subtarea tiene su propio plazo: si no termina a tiempo, se cancela todo y esperar() lanza
+ *     PlazoAgotadoException.</li>
+ *     <li>close() no vuelve hasta que han terminado todos los hilos: ninguna subtarea sobrevive al bloque.</li>
+ * </ul>
+ * Es lo mismo que StructuredTaskScope (Joiner "todas con éxito o el primer fallo" + timeout), que en Java 25
+ * sigue siendo una API en preview; cuando sea definitiva esta clase se puede sustituir por ella.
+ * Se usa desde un solo hilo (el que la crea); las subtareas solo avisan de que han terminado.
+ */
+public final class TareasEstructuradas implements AutoCloseable {
+
+    private final String nombre;
+    private final List<Subtarea<?>> subtareas = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition terminada = lock.newCondition();
+    private Throwable fallo;
+    private boolean cancelada;
+
+    public TareasEstructuradas(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public <T> Subtarea<T> lanzar(String subtarea, Duration plazo, Callable<? extends T> tarea) {
+        Subtarea<T> s = new Subtarea<>(subtarea, plazo);
+        subtareas.add(s);
+        s.hilo = Thread.ofVirtual().name(nombre + "-" + subtarea).start(() -> ejecutar(s, tarea));
+        return s;
+    }
+
+    /**
+     * Espera a que terminen todas las subtareas. Si alguna falla o se pasa de su plazo, cancela
+     * las demás y lanza el error (las RuntimeException tal cual, para conservar su código HTTP).
+     */
+    public void esperar() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                if (fallo != null) {
+                    cancelar();
+                    throw relanzable(fallo);
+                }
+                long ahora = System.nanoTime();
+                long proximoLimite = Long.MAX_VALUE;
+                for (Subtarea<?> s : subtareas) {
+                    if (s.terminada) {
+                        continue;
+                    }
+                    if (ahora - s.limite >= 0) {
+                        cancelar();
+                        throw new PlazoAgotadoException(nombre, s.nombre, s.plazo);
+                    }
+                    proximoLimite = Math.min(proximoLimite, s.limite - ahora);
+                }
+                if (proximoLimite == Long.MAX_VALUE) {
+                    return; // Todas terminadas con éxito.
+                }
+                terminada.awaitNanos(proximoLimite);
+            }
+        } catch (InterruptedException e) {
+            cancelar();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            cancelar();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrumpido = false;
+        for (Subtarea<?> s : subtareas) {
+            while (s.hilo.isAlive()) {
+                try {
+                    s.hilo.join();
+                } catch (InterruptedException e) {
+                    interrumpido = true; // Esperamos igualmente y restauramos la marca al final.
+                }
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void ejecutar(Subtarea<T> s, Callable<? extends T> tarea) {
+        T valor = null;
+        Throwable error = null;
+        try {
+            valor = tarea.call();
+        } catch (Throwable t) {
+            error = t;
+        }
+        lock.lock();
+        try {
+            s.valor = valor;
+            s.terminada = true;
+            s.exito = error == null;
+            // Tras cancelar, los errores de las demás son consecuencia de la interrupción: los ignoramos.
+            if (error != null && fallo == null && !cancelada) {
+                fallo = error;
+            }
+            terminada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Se llama con el lock cogido.
+    private void cancelar() {
+        if (cancelada) {
+            return;
+        }
+        cancelada = true;
+        for (Subtarea<?> s : subtareas) {
+            if (!s.terminada) {
+                s.hilo.interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException relanzable(Throwable t) {
+        if (t instanceof RuntimeException e) {
+            return e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException(t.getMessage(), t);
+    }
+
+    /**
+     * Resultado de una subtarea. get() solo se puede llamar después de que esperar() haya terminado bien.
+     */
+    public static final class Subtarea<T> {
+        private final String nombre;
+        private final Duration plazo;
+        private final long limite;
+        private Thread hilo;
+        // Escritos por el hilo de la subtarea y leídos por el que espera, siempre con el lock cogido.
+        private T valor;
+        private boolean terminada;
+        private boolean exito;
+
+        private Subtarea(String nombre, Duration plazo) {
+            this.nombre = nombre;
+            this.plazo = plazo;
+            this.limite = System.nanoTime() + plazo.toNanos();
+        }
+
+        public T get() {
+            if (!exito) {
+                throw new IllegalStateException("La subtarea " + nombre + " no ha terminado con éxito");
+            }
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Una operación sobre una caché de Spring (ver CacheJfr). La duración la pone JFR.
+@Name("org.example.Cache")
+@Label("Operación de caché")
+@Category({"Albumes", "Cache"})
+@Description("get, put o evict sobre una caché de la aplicación")
+@StackTrace(false)
+class CacheEvento extends Event {
+
+    @Label("Caché")
+    String cache;
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Clave")
+    String clave;
+
+    @Label("Acierto")
+    @Description("Solo en las lecturas: si el valor estaba en la caché")
+    boolean acierto;
+}
@@ -0,0 +1,153 @@
+package org.example.common.jfr;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Envuelve una caché para emitir un evento JFR (CacheEvento) por cada lectura, escritura y borrado:
+ * son las fronteras de caché de AlbumServiceImpl y ArtistaServiceImpl (@Cacheable, @CachePut, @CacheEvict).
+ * Sin una grabación que los pida, cada operación solo comprueba isEnabled() y sigue.
+ */
+public class CacheJfr implements Cache {
+
+    // Longitud máxima de la clave en el evento.
+    static final int MAX_CLAVE = 100;
+
+    private final Cache cache;
+
+    public CacheJfr(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEvento evento = empezar();
+        ValueWrapper valor = cache.get(key);
+        terminar(evento, "get", key, valor != null);
+        return valor;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        CacheEvento evento = empezar();
+        T valor = cache.get(key, type);
+        terminar(evento, "get", key, valor != null);
+        return valor;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEvento evento = empezar();
+        if (evento == null) {
+            return cache.get(key, valueLoader);
+        }
+        // Es un fallo solo si la caché ha tenido que llamar al cargador (y el evento incluye la carga).
+        boolean[] cargado = new boolean[1];
+        T valor = cache.get(key, () -> {
+            cargado[0] = true;
+            return valueLoader.call();
+        });
+        terminar(evento, "get", key, !cargado[0]);
+        return valor;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return cache.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return cache.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        CacheEvento evento = empezar();
+        cache.put(key, value);
+        terminar(evento, "put", key, false);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        CacheEvento evento = empezar();
+        ValueWrapper anterior = cache.putIfAbsent(key, value);
+        terminar(evento, "putIfAbsent", key, anterior != null);
+        return anterior;
+    }
+
+    @Override
+    public void evict(Object key) {
+        CacheEvento evento = empezar();
+        cache.evict(key);
+        terminar(evento, "evict", key, false);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        CacheEvento evento = empezar();
+        boolean estaba = cache.evictIfPresent(key);
+        terminar(evento, "evict", key, estaba);
+        return estaba;
+    }
+
+    @Override
+    public void clear() {
+        CacheEvento evento = empezar();
+        cache.clear();
+        terminar(evento, "clear", null, false);
+    }
+
+    @Override
+    public boolean invalidate() {
+        CacheEvento evento = empezar();
+        boolean habia = cache.invalidate();
+        terminar(evento, "clear", null, habia);
+        return habia;
+    }
+
+    // Null si ninguna grabación tiene habilitado el evento: entonces no se mide nada.
+    private static CacheEvento empezar() {
+        CacheEvento evento = new CacheEvento();
+        if (!evento.isEnabled()) {
+            return null;
+        }
+        evento.begin();
+        return evento;
+    }
+
+    private void terminar(CacheEvento evento, String operacion, Object clave, boolean acierto) {
+        if (evento == null) {
+            return;
+        }
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.cache = cache.getName();
+            evento.operacion = operacion;
+            evento.clave = clave(clave);
+            evento.acierto = acierto;
+            evento.commit();
+        }
+    }
+
+    private static String clave(Object clave) {
+        if (clave == null) {
+            return null;
+        }
+        String texto = clave.toString();
+        return texto.length() <= MAX_CLAVE ? texto : texto.substring(0, MAX_CLAVE - 3) + "...";
+    }
+}
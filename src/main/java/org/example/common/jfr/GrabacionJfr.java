@@ -0,0 +1,75 @@
+package org.example.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Grabación JFR continua desde la propia aplicación, con la configuración jfr/albumes.jfc: sin opciones de
+ * la JVM ni agentes. Guarda solo los últimos jfr.grabacion.max-edad-min minutos (y como mucho
+ * jfr.grabacion.max-mb) y los vuelca a jfr.grabacion.fichero al parar la aplicación.
+ * <p>
+ * En cualquier momento se puede volcar sin parar nada: {@code jcmd <pid> JFR.dump name=albumes filename=x.jfr}.
+ * Para resumirla: ResumenJfr.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jfr.grabacion.activa", havingValue = "true")
+public class GrabacionJfr implements ApplicationRunner, DisposableBean {
+
+    public static final String CONFIGURACION = "/jfr/albumes.jfc";
+    public static final String NOMBRE = "albumes";
+
+    private final Path fichero;
+    private final Duration maxEdad;
+    private final long maxBytes;
+    private Recording grabacion;
+
+    public GrabacionJfr(@Value("${jfr.grabacion.fichero:albumes.jfr}") Path fichero,
+                        @Value("${jfr.grabacion.max-edad-min:30}") long maxEdadMin,
+                        @Value("${jfr.grabacion.max-mb:100}") long maxMb) {
+        this.fichero = fichero;
+        this.maxEdad = Duration.ofMinutes(maxEdadMin);
+        this.maxBytes = maxMb * 1024 * 1024;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, ParseException {
+        try (Reader jfc = new InputStreamReader(Objects.requireNonNull(getClass().getResourceAsStream(CONFIGURACION),
+                CONFIGURACION), StandardCharsets.UTF_8)) {
+            grabacion = new Recording(Configuration.create(jfc));
+        }
+        grabacion.setName(NOMBRE);
+        grabacion.setToDisk(true);
+        grabacion.setMaxAge(maxEdad);
+        grabacion.setMaxSize(maxBytes);
+        grabacion.setDestination(fichero);
+        grabacion.start();
+        log.info("Grabación JFR '{}' en marcha (últimos {} min, se vuelca en {} al parar)", NOMBRE,
+                maxEdad.toMinutes(), fichero.toAbsolutePath());
+    }
+
+    @Override
+    public void destroy() {
+        if (grabacion != null) {
+            // Con destino, stop() escribe la grabación en el fichero.
+            grabacion.stop();
+            grabacion.close();
+        }
+    }
+}
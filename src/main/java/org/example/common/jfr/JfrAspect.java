@@ -0,0 +1,127 @@
+package org.example.common.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.BaseStream;
+
+/**
+ * Emite un evento JFR por cada llamada a un repositorio (RepositorioEvento) y a un mapper (MapeoEvento).
+ * <p>
+ * Pensado para estar siempre activo: si no hay ninguna grabación JFR en marcha con estos eventos
+ * habilitados, isEnabled() es falso y la llamada sigue sin más. Y aunque la haya, los campos (resumir los
+ * argumentos, contar filas) solo se calculan si el evento supera el umbral y se va a guardar.
+ * Para grabar: ver jfr/albumes.jfc.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "jfr.eventos.activo", havingValue = "true", matchIfMissing = true)
+public class JfrAspect {
+
+    // Longitud máxima del filtro: un evento JFR no es un log.
+    static final int MAX_FILTRO = 200;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repositorio(ProceedingJoinPoint punto) throws Throwable {
+        RepositorioEvento evento = new RepositorioEvento();
+        if (!evento.isEnabled()) {
+            return punto.proceed();
+        }
+        evento.begin();
+        Object resultado = punto.proceed();
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacion = operacion(punto);
+            evento.filtro = filtro(punto.getArgs());
+            evento.filas = filas(resultado);
+            evento.commit();
+        }
+        return resultado;
+    }
+
+    @Around("within(org.example..mappers..*)")
+    public Object mapeo(ProceedingJoinPoint punto) throws Throwable {
+        MapeoEvento evento = new MapeoEvento();
+        if (!evento.isEnabled()) {
+            return punto.proceed();
+        }
+        evento.begin();
+        Object resultado = punto.proceed();
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacion = operacion(punto);
+            evento.elementos = resultado instanceof Collection<?> c ? c.size() : resultado == null ? 0 : 1;
+            evento.commit();
+        }
+        return resultado;
+    }
+
+    // "AlbumRepository.findByUuid": el tipo declarado (la interfaz), no el proxy que lo implementa.
+    private static String operacion(ProceedingJoinPoint punto) {
+        Class<?> tipo = punto.getSignature().getDeclaringType();
+        Class<?>[] interfaces = punto.getThis() != null ? punto.getThis().getClass().getInterfaces() : new Class<?>[0];
+        for (Class<?> i : interfaces) {
+            if (tipo.isAssignableFrom(i) && i.getName().startsWith("org.example.")) {
+                tipo = i;
+                break;
+            }
+        }
+        return tipo.getSimpleName() + "." + punto.getSignature().getName();
+    }
+
+    static String filtro(Object[] args) {
+        if (args.length == 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Object arg : args) {
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(resumen(arg));
+            if (sb.length() >= MAX_FILTRO) {
+                sb.setLength(MAX_FILTRO - 3);
+                return sb.append("...").toString();
+            }
+        }
+        return sb.toString();
+    }
+
+    // Los valores simples tal cual; de los demás (entidades, Specification...) solo el tipo o el tamaño.
+    private static String resumen(Object arg) {
+        return switch (arg) {
+            case null -> "null";
+            case CharSequence s -> "'" + s + "'";
+            case Number n -> n.toString();
+            case Boolean b -> b.toString();
+            case UUID u -> u.toString();
+            case Enum<?> e -> e.name();
+            case Temporal t -> t.toString();
+            case Pageable p -> p.isPaged() ? "pagina=" + p.getPageNumber() + " tamano=" + p.getPageSize() : "sin paginar";
+            case Collection<?> c -> arg.getClass().getSimpleName() + "[" + c.size() + "]";
+            default -> arg.getClass().getSimpleName();
+        };
+    }
+
+    // Filas devueltas (listas, páginas, Optional) o modificadas (@Modifying devuelve un int).
+    static long filas(Object resultado) {
+        return switch (resultado) {
+            case null -> 0;
+            case Collection<?> c -> c.size();
+            case Slice<?> s -> s.getNumberOfElements();
+            case Optional<?> o -> o.isPresent() ? 1 : 0;
+            case BaseStream<?, ?> s -> -1; // Se lee después, fuera de la llamada.
+            case Number n -> n.longValue();
+            default -> 1;
+        };
+    }
+}
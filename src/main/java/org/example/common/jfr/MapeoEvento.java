@@ -0,0 +1,21 @@
+package org.example.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Una conversión de un mapper (entidad <-> DTO, ver JfrAspect). La duración la pone JFR.
+@Name("org.example.Mapeo")
+@Label("Conversión de mapper")
+@Category({"Albumes", "Mapeo"})
+@StackTrace(false)
+class MapeoEvento extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Elementos")
+    long elementos;
+}
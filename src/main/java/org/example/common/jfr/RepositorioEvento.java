@@ -0,0 +1,28 @@
+package org.example.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Una llamada a un repositorio de Spring Data (ver JfrAspect). La duración la pone JFR.
+@Name("org.example.Repositorio")
+@Label("Llamada a repositorio")
+@Category({"Albumes", "Repositorio"})
+@StackTrace(false)
+class RepositorioEvento extends Event {
+
+    @Label("Operación")
+    @Description("Repositorio.método, p. ej. AlbumRepository.findByUuid")
+    String operacion;
+
+    @Label("Filtro")
+    @Description("Argumentos de la llamada, resumidos")
+    String filtro;
+
+    @Label("Filas")
+    @Description("Filas devueltas o modificadas; -1 si no se sabe (Stream)")
+    long filas;
+}
@@ -0,0 +1,130 @@
+package org.example.common.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resume una grabación JFR: para cada operación (caché, repositorio o mapper) cuántas veces se ha llamado y
+ * la distribución de su duración (p50, p90, p99 y máximo), más la tasa de aciertos (cachés) o las filas
+ * medias (repositorios).
+ * <pre>
+ * java -cp target/classes org.example.common.jfr.ResumenJfr grabacion.jfr
+ * </pre>
+ * Solo usa el JDK (jdk.jfr.consumer): no necesita arrancar la aplicación ni tener Spring en el classpath.
+ */
+public final class ResumenJfr {
+
+    private static final String PREFIJO = "org.example.";
+
+    private ResumenJfr() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: ResumenJfr <grabacion.jfr>");
+            System.exit(2);
+        }
+        imprimir(resumir(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * Operaciones de la grabación ordenadas por nombre ("Cache albumes.get", "Repositorio AlbumRepository.findById"...).
+     */
+    public static Map<String, Estadisticas> resumir(Path grabacion) throws IOException {
+        Map<String, Estadisticas> operaciones = new TreeMap<>();
+        try (RecordingFile fichero = new RecordingFile(grabacion)) {
+            while (fichero.hasMoreEvents()) {
+                RecordedEvent evento = fichero.readEvent();
+                String tipo = evento.getEventType().getName();
+                if (!tipo.startsWith(PREFIJO)) {
+                    continue;
+                }
+                String nombre = tipo.substring(PREFIJO.length()) + " " + switch (tipo) {
+                    case "org.example.Cache" -> evento.getString("cache") + "." + evento.getString("operacion");
+                    default -> evento.getString("operacion");
+                };
+                Estadisticas estadisticas = operaciones.computeIfAbsent(nombre, n -> new Estadisticas());
+                estadisticas.anadir(evento.getDuration().toNanos());
+                switch (tipo) {
+                    case "org.example.Cache" -> estadisticas.aciertos += evento.getBoolean("acierto") ? 1 : 0;
+                    case "org.example.Repositorio" -> estadisticas.filas += Math.max(0, evento.getLong("filas"));
+                    case "org.example.Mapeo" -> estadisticas.filas += evento.getLong("elementos");
+                    default -> { }
+                }
+            }
+        }
+        return operaciones;
+    }
+
+    public static void imprimir(Map<String, Estadisticas> operaciones, PrintStream salida) {
+        salida.printf(Locale.ROOT, "%-60s %8s %9s %9s %9s %9s %14s%n",
+                "operación", "llamadas", "p50 ms", "p90 ms", "p99 ms", "max ms", "aciertos/filas");
+        operaciones.forEach((nombre, e) -> salida.printf(Locale.ROOT, "%-60s %8d %9.3f %9.3f %9.3f %9.3f %14s%n",
+                nombre, e.llamadas(), ms(e.percentil(50)), ms(e.percentil(90)), ms(e.percentil(99)),
+                ms(e.percentil(100)), e.extra(nombre)));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Duraciones (ns) de todas las llamadas a una operación.
+     */
+    public static final class Estadisticas {
+        private long[] duraciones = new long[64];
+        private int llamadas;
+        private boolean ordenadas;
+        private long aciertos;
+        private long filas;
+
+        void anadir(long nanos) {
+            if (llamadas == duraciones.length) {
+                duraciones = Arrays.copyOf(duraciones, llamadas * 2);
+            }
+            duraciones[llamadas++] = nanos;
+            ordenadas = false;
+        }
+
+        public int llamadas() {
+            return llamadas;
+        }
+
+        public long aciertos() {
+            return aciertos;
+        }
+
+        public long filas() {
+            return filas;
+        }
+
+        // Percentil por el método del rango más cercano: el valor que deja por debajo el p% de las llamadas.
+        public long percentil(int p) {
+            if (llamadas == 0) {
+                return 0;
+            }
+            if (!ordenadas) {
+                Arrays.sort(duraciones, 0, llamadas);
+                ordenadas = true;
+            }
+            int rango = (int) Math.ceil(p / 100.0 * llamadas);
+            return duraciones[Math.clamp(rango - 1, 0, llamadas - 1)];
+        }
+
+        private String extra(String nombre) {
+            if (nombre.startsWith("Cache ")) {
+                // Solo las lecturas tienen acierto o fallo.
+                return nombre.endsWith(".get") ? String.format(Locale.ROOT, "%.0f%%", 100.0 * aciertos / llamadas) : "-";
+            }
+            return String.format(Locale.ROOT, "%.1f", (double) filas / llamadas);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.common.tiempos;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Envuelve una caché para anotar sus aciertos y fallos en la petición en curso (ver TiemposPeticion).
+ * El resto de operaciones pasan tal cual a la caché real.
+ */
+public class CacheMedida implements Cache {
+
+    private final Cache cache;
+
+    public CacheMedida(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return anotar(cache.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return anotar(cache.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Es un fallo solo si la caché ha tenido que llamar al cargador.
+        boolean[] cargado = new boolean[1];
+        T valor = cache.get(key, () -> {
+            cargado[0] = true;
+            return valueLoader.call();
+        });
+        anotar(!cargado[0]);
+        return valor;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return cache.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return cache.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return cache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return cache.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return cache.invalidate();
+    }
+
+    private <T> T anotar(T valor) {
+        anotar(valor != null);
+        return valor;
+    }
+
+    private void anotar(boolean acierto) {
+        TiemposPeticion tiempos = TiemposPeticion.actual();
+        if (tiempos == null) {
+            return;
+        }
+        if (acierto) {
+            tiempos.aciertoCache();
+        } else {
+            tiempos.falloCache();
+        }
+    }
+}
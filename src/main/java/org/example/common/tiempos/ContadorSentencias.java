@@ -0,0 +1,19 @@
+package org.example.common.tiempos;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate nos pasa aquí cada sentencia SQL antes de prepararla: la contamos en la petición en curso
+ * y la devolvemos sin tocar.
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        TiemposPeticion tiempos = TiemposPeticion.actual();
+        if (tiempos != null) {
+            tiempos.sentenciaSql();
+        }
+        return sql;
+    }
+}
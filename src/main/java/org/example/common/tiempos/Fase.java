@@ -0,0 +1,18 @@
+package org.example.common.tiempos;
+
+/**
+ * Capas de la aplicación cuyo tiempo medimos en cada petición (ver TiemposPeticion).
+ * El nombre es el que aparece en la cabecera Server-Timing.
+ */
+public enum Fase {
+    CONTROLADOR("controlador"),
+    SERVICIO("servicio"),
+    REPOSITORIO("repositorio"),
+    MAPEO("mapeo");
+
+    final String nombre;
+
+    Fase(String nombre) {
+        this.nombre = nombre;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.common.tiempos;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide cuánto tiempo pasa cada petición en controladores, servicios, repositorios y mappers.
+ * <p>
+ * Solo existe con tiempos.activo=true: desactivado no hay proxies ni ninguna comprobación extra.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tiempos.activo", havingValue = "true")
+public class TiemposAspect {
+
+    @Around("within(org.example..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object controlador(ProceedingJoinPoint punto) throws Throwable {
+        return medir(Fase.CONTROLADOR, punto);
+    }
+
+    @Around("within(org.example..*) && @within(org.springframework.stereotype.Service)")
+    public Object servicio(ProceedingJoinPoint punto) throws Throwable {
+        return medir(Fase.SERVICIO, punto);
+    }
+
+    // Los repositorios de Spring Data son proxies de interfaces: los reconocemos por su tipo.
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repositorio(ProceedingJoinPoint punto) throws Throwable {
+        return medir(Fase.REPOSITORIO, punto);
+    }
+
+    @Around("within(org.example..mappers..*)")
+    public Object mapeo(ProceedingJoinPoint punto) throws Throwable {
+        return medir(Fase.MAPEO, punto);
+    }
+
+    private Object medir(Fase fase, ProceedingJoinPoint punto) throws Throwable {
+        TiemposPeticion tiempos = TiemposPeticion.actual();
+        if (tiempos == null) {
+            return punto.proceed();
+        }
+        long entrada = tiempos.entrar(fase);
+        try {
+            return punto.proceed();
+        } finally {
+            tiempos.salir(fase, entrada);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.common.tiempos;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Con tiempos.activo=true, Hibernate avisa de cada sentencia SQL a ContadorSentencias.
+ * (Las cachés las envuelve RefrescoCacheConfig con CacheMedida.)
+ */
+@Configuration
+@ConditionalOnProperty(name = "tiempos.activo", havingValue = "true")
+public class TiemposConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSentencias() {
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSentencias());
+    }
+}
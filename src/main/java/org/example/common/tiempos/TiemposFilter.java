@@ -0,0 +1,65 @@
+package org.example.common.tiempos;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Abre un TiemposPeticion para cada petición a la API y, al terminar:
+ * <ul>
+ *     <li>Añade la cabecera Server-Timing si nadie la ha puesto aún (respuestas sin cuerpo, ver TiemposResponseAdvice).</li>
+ *     <li>Si la petición ha tardado más de tiempos.lenta-ms, la escribe en el log de peticiones lentas con el
+ *     desglose completo, incluido el tiempo fuera del controlador (sobre todo, serializar y escribir el JSON).</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tiempos.activo", havingValue = "true")
+// Justo después del límite de concurrencia: una petición rechazada no se mide.
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class TiemposFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA = "Server-Timing";
+
+    private final long umbralLenta;
+
+    public TiemposFilter(@Value("${tiempos.lenta-ms:500}") long lentaMs) {
+        this.umbralLenta = lentaMs * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TiemposPeticion tiempos = TiemposPeticion.empezar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TiemposPeticion.terminar();
+            if (!response.isCommitted() && !response.containsHeader(CABECERA)) {
+                response.addHeader(CABECERA, tiempos.serverTiming());
+            }
+            long total = tiempos.transcurrido();
+            if (total >= umbralLenta) {
+                log.warn("Petición lenta: {} {} -> {} en {} ms (fuera del controlador {} ms): {}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        TiemposPeticion.ms(total), TiemposPeticion.ms(total - tiempos.nanos(Fase.CONTROLADOR)),
+                        tiempos.serverTiming());
+            }
+        }
+    }
+}
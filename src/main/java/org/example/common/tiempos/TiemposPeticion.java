@@ -0,0 +1,105 @@
+package org.example.common.tiempos;
+
+import java.util.Locale;
+
+/**
+ * Lo que ha costado la petición en curso: tiempo por capa (Fase), aciertos y fallos de caché y número
+ * de sentencias SQL. Lo crea TiemposFilter al empezar la petición y lo deja en un ThreadLocal para que
+ * el aspecto, la caché y Hibernate anoten en él sin tener que pasarlo de mano en mano.
+ * <p>
+ * Los tiempos son inclusivos (el del servicio incluye el de sus repositorios) y, si una capa se llama a sí
+ * misma (un servicio que usa otro servicio), solo cuenta la llamada exterior.
+ * Un objeto por petición y un solo hilo: no necesita sincronización.
+ */
+public final class TiemposPeticion {
+
+    private static final ThreadLocal<TiemposPeticion> ACTUAL = new ThreadLocal<>();
+    private static final Fase[] FASES = Fase.values();
+
+    private final long inicio = System.nanoTime();
+    private final long[] nanos = new long[FASES.length];
+    private final int[] profundidad = new int[FASES.length];
+    private int aciertosCache;
+    private int fallosCache;
+    private int sentenciasSql;
+
+    // Null si la medición está desactivada o estamos fuera de una petición (tareas programadas, hilos propios...).
+    public static TiemposPeticion actual() {
+        return ACTUAL.get();
+    }
+
+    static TiemposPeticion empezar() {
+        TiemposPeticion tiempos = new TiemposPeticion();
+        ACTUAL.set(tiempos);
+        return tiempos;
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    // Devuelve el instante de entrada si esta es la llamada exterior de la fase, o -1 si ya estábamos dentro.
+    long entrar(Fase fase) {
+        return profundidad[fase.ordinal()]++ == 0 ? System.nanoTime() : -1;
+    }
+
+    void salir(Fase fase, long entrada) {
+        profundidad[fase.ordinal()]--;
+        if (entrada >= 0) {
+            nanos[fase.ordinal()] += System.nanoTime() - entrada;
+        }
+    }
+
+    public void aciertoCache() {
+        aciertosCache++;
+    }
+
+    public void falloCache() {
+        fallosCache++;
+    }
+
+    public void sentenciaSql() {
+        sentenciasSql++;
+    }
+
+    long nanos(Fase fase) {
+        return nanos[fase.ordinal()];
+    }
+
+    long transcurrido() {
+        return System.nanoTime() - inicio;
+    }
+
+    int aciertosCache() {
+        return aciertosCache;
+    }
+
+    int fallosCache() {
+        return fallosCache;
+    }
+
+    int sentenciasSql() {
+        return sentenciasSql;
+    }
+
+    /**
+     * Valor de la cabecera Server-Timing, por ejemplo:
+     * {@code controlador;dur=12.4, servicio;dur=11.9, repositorio;dur=9.1, mapeo;dur=0.6, cache;desc="aciertos=0 fallos=1", sql;desc="2"}
+     * Las fases por las que no ha pasado la petición no aparecen.
+     */
+    public String serverTiming() {
+        StringBuilder sb = new StringBuilder(160);
+        for (Fase fase : FASES) {
+            if (nanos[fase.ordinal()] > 0) {
+                sb.append(fase.nombre).append(";dur=").append(ms(nanos[fase.ordinal()])).append(", ");
+            }
+        }
+        sb.append("cache;desc=\"aciertos=").append(aciertosCache).append(" fallos=").append(fallosCache).append('"');
+        sb.append(", sql;desc=\"").append(sentenciasSql).append('"');
+        return sb.toString();
+    }
+
+    static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.common.tiempos;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Pone la cabecera Server-Timing justo antes de escribir el cuerpo de la respuesta: después ya no se
+ * pueden añadir cabeceras. En ese momento el controlador ha terminado, así que todas las fases están
+ * medidas; la serialización en sí solo aparece en el log de peticiones lentas (ver TiemposFilter).
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "tiempos.activo", havingValue = "true")
+public class TiemposResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        TiemposPeticion tiempos = TiemposPeticion.actual();
+        if (tiempos != null) {
+            response.getHeaders().set(TiemposFilter.CABECERA, tiempos.serverTiming());
+        }
+        return body;
+    }
+}
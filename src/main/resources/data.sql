@@ -1,7 +1,11 @@
-INSERT INTO ARTISTAS (nombre, created_at, updated_at) VALUES
-('The Beatles', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-('Michael Jackson', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO ARTISTAS (nombre, nombre_busqueda, num_albumes, created_at, updated_at) VALUES
+('The Beatles', 'the beatles', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+('Michael Jackson', 'michael jackson', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 
-INSERT INTO ALBUMES (nombre, genero, precio, artista_id, uuid, created_at, updated_at) VALUES
-('Abbey Road', 'Rock', 19.99, 1, UUID(), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-('Thriller', 'Pop', 29.99, 2, UUID(), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
\ No newline at end of file
+INSERT INTO GENEROS (nombre, nombre_busqueda, created_at) VALUES
+('Rock', 'rock', CURRENT_TIMESTAMP),
+('Pop', 'pop', CURRENT_TIMESTAMP);
+
+INSERT INTO ALBUMES (nombre, nombre_busqueda, genero_id, precio, artista_id, uuid, created_at, updated_at) VALUES
+('Abbey Road', 'abbey road', 1, 19.99, 1, UUID(), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+('Thriller', 'thriller', 2, 29.99, 2, UUID(), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
\ No newline at end of file
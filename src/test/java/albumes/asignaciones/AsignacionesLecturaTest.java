@@ -0,0 +1,118 @@
+package albumes.asignaciones;
+
+import common.asignaciones.PresupuestoAsignaciones;
+import org.example.Application;
+import org.example.albumes.mappers.AlbumMapper;
+import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.services.AlbumService;
+import org.example.artistas.models.Artista;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Presupuestos de memoria de las lecturas más frecuentes (ver PresupuestoAsignaciones y asignaciones.properties).
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+class AsignacionesLecturaTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private AlbumMapper albumMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long id;
+
+    private static Object sumidero;
+
+    @BeforeEach
+    void setUp() {
+        id = albumRepository.findAll().getFirst().getId();
+    }
+
+    @Test
+    void findById_ConAciertoDeCache() {
+        albumService.findById(id); // Lo deja en la caché.
+
+        PresupuestoAsignaciones.comprobar("albumes.findById.cache", 10_000, () -> albumService.findById(id));
+    }
+
+    // Sin caché: cada llamada abre su sesión, lanza el SELECT y crea 500 Album con los valores de sus filas
+    // (constructor vacío y setters, como Hibernate con cada fila leída). Lo que se reserve de más por fila,
+    // en el constructor de Album o al hidratarlo, se multiplica por 500.
+    @Test
+    void findAllById_Hidrata500Albumes() {
+        Album semilla = albumRepository.findById(id).orElseThrow();
+        List<Album> guardados = albumRepository.saveAll(LongStream.rangeClosed(1, 500)
+                .mapToObj(i -> Album.builder().nombre("Hidratación " + i).precio(9.99f)
+                        .genero(semilla.getGenero()).artista(semilla.getArtista()).build())
+                .toList());
+        List<Long> ids = guardados.stream().map(Album::getId).toList();
+        try {
+            PresupuestoAsignaciones.comprobar("albumes.repositorio.findAllById-500", 5,
+                    () -> albumRepository.findAllById(ids));
+        } finally {
+            // Sin pasar por el servicio: el contador de álbumes del artista no llegó a cambiar.
+            albumRepository.deleteAllInBatch(guardados);
+        }
+    }
+
+    // El constructor vacío de Album, aislado: es el que usa Hibernate para cada fila leída. Con 500 filas, lo que
+    // reserve de más (un @Builder.Default con UUID.randomUUID() o LocalDateTime.now()...) se pierde entre los
+    // ~7 KB por fila de findAllById; aquí es casi todo lo que se mide.
+    @Test
+    void constructorVacio_MilAlbumes() {
+        PresupuestoAsignaciones.comprobar("albumes.constructor-1000", 20, () -> {
+            Album[] albumes = new Album[1000];
+            for (int i = 0; i < albumes.length; i++) {
+                albumes[i] = new Album();
+            }
+            sumidero = albumes; // Que escapen: si no, el JIT puede eliminar las reservas.
+        });
+    }
+
+    @Test
+    void toResponseDtoList_MilAlbumes() {
+        var artista = Artista.builder().id(1L).nombre("The Beatles").build();
+        var rock = Genero.builder().id((short) 1).nombre("Rock").build();
+        var ahora = LocalDateTime.now();
+        List<Album> albumes = LongStream.rangeClosed(1, 1000)
+                .mapToObj(i -> Album.builder().id(i).nombre("Álbum " + i).precio(9.99f).genero(rock)
+                        .artista(artista).uuid(UUID.randomUUID()).createdAt(ahora).updatedAt(ahora).build())
+                .toList();
+
+        PresupuestoAsignaciones.comprobar("albumes.mapper.lista-1000", 200, () -> albumMapper.toResponseDtoList(albumes));
+    }
+
+    @Test
+    void getPorId_PeticionCompleta() {
+        var peticion = get("/api/v1/albumes/{id}", id);
+
+        PresupuestoAsignaciones.comprobar("albumes.get-por-id", 500, () -> {
+            try {
+                mockMvc.perform(peticion).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,165 @@
+package albumes.cache;
+
+import org.example.albumes.cache.AlbumOffHeapCache;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlbumOffHeapCacheTest {
+
+    private final AtomicLong ahora = new AtomicLong(1_000);
+
+    private AlbumOffHeapCache cache(long capacidad, int slab) {
+        return new AlbumOffHeapCache(capacidad, slab, 60_000, ahora::get);
+    }
+
+    private AlbumResponseDto album(long id) {
+        return AlbumResponseDto.builder()
+                .id(id).uuid(UUID.randomUUID())
+                .nombre("Álbum " + id).artista("Artista " + (id % 500)).genero(id % 2 == 0 ? "Rock" : "Pop")
+                .precio((id % 3000) / 100f)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123_456_789).plusMinutes(id))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 0, 0))
+                .build();
+    }
+
+    @Test
+    void putYGet_DevuelveElMismoAlbumPorIdYPorUuid() {
+        var cache = cache(1 << 20, 64 * 1024);
+        var album = album(7);
+        var sinDatos = AlbumResponseDto.builder().id(8L).nombre("Sin artista").build();
+
+        cache.put(7L, album);
+        cache.put(8L, sinDatos);
+
+        assertEquals(album, cache.get(7L, AlbumResponseDto.class));
+        // Un solo registro, accesible también por su uuid.
+        assertEquals(album, cache.get(album.getUuid().toString(), AlbumResponseDto.class));
+        // Los campos null siguen siendo null.
+        assertEquals(sinDatos, cache.get(8L, AlbumResponseDto.class));
+        assertNull(cache.get(9L));
+    }
+
+    @Test
+    void putSobreLaMismaClave_SirveLaVersionNuevaYEvictLaBorra() {
+        var cache = cache(1 << 20, 64 * 1024);
+        var album = album(1);
+        cache.put(1L, album);
+        album.setPrecio(99.5f);
+
+        cache.put(1L, album);
+        assertEquals(99.5f, cache.get(1L, AlbumResponseDto.class).getPrecio());
+
+        cache.evict(1L);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void evictPorId_TambienDejaDeServirloPorUuid() {
+        var cache = cache(1 << 20, 64 * 1024);
+        var album = album(1);
+        var otro = album(2);
+        cache.put(1L, album);
+        cache.put(2L, otro);
+
+        // deleteById solo hace @CacheEvict del id.
+        cache.evict(1L);
+
+        assertNull(cache.get(album.getUuid().toString()));
+        assertEquals(2, cache.entradas(), "Solo debería quedar el otro álbum (su id y su uuid)");
+        assertEquals(otro, cache.get(otro.getUuid().toString(), AlbumResponseDto.class));
+
+        // Y al revés: por uuid también quita el id.
+        cache.evict(otro.getUuid().toString());
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void entradasCaducadas_NoSeSirven() {
+        var cache = cache(1 << 20, 64 * 1024);
+        cache.put(1L, album(1));
+
+        ahora.addAndGet(60_000);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void alLlenarse_ReciclaElSlabMasAntiguo() {
+        // 4 slabs de 4 KB: caben unos 160 álbumes.
+        var cache = cache(16 * 1024, 4 * 1024);
+        for (long id = 1; id <= 1000; id++) {
+            cache.put(id, album(id));
+        }
+
+        assertNull(cache.get(1L), "Los primeros álbumes deberían haberse expulsado");
+        assertEquals(album(1000).getNombre(), cache.get(1000L, AlbumResponseDto.class).getNombre());
+        assertEquals(16 * 1024, cache.bytesReservados());
+        // Cada álbum se indexa por id y por uuid.
+        assertTrue(cache.entradas() < 2 * 200, "Solo quedan indexados los álbumes que caben: " + cache.entradas());
+    }
+
+    // Comparación con la caché en el heap: memoria ocupada en el heap y duración de un GC completo
+    // con 300.000 álbumes cacheados. Depende de la JVM y del GC: solo con mvn test -Pbenchmark.
+    @Tag("benchmark")
+    @Test
+    void benchmark_HeapFrenteAOffHeap(TestReporter informe) {
+        int total = 300_000;
+        long base = heapUsado();
+
+        Map<Object, Object> enHeap = new ConcurrentHashMap<>();
+        for (long id = 1; id <= total; id++) {
+            enHeap.put(id, album(id));
+        }
+        long heapEnHeap = heapUsado() - base;
+        long gcEnHeap = duracionGcCompleto();
+        assertEquals(total, enHeap.size());
+        enHeap = null;
+
+        base = heapUsado();
+        var offHeap = cache(256L << 20, 16 << 20);
+        for (long id = 1; id <= total; id++) {
+            offHeap.put(id, album(id));
+        }
+        long heapOffHeap = heapUsado() - base;
+        long gcOffHeap = duracionGcCompleto();
+        assertNotNull(offHeap.get((long) total));
+
+        informe.publishEntry("heap", heapEnHeap / 1024 + " KB, GC completo " + gcEnHeap + " ms");
+        informe.publishEntry("off-heap", heapOffHeap / 1024 + " KB de heap + " + offHeap.bytesReservados() / 1024
+                + " KB directos, GC completo " + gcOffHeap + " ms");
+
+        // Los tiempos de GC dependen de la máquina, así que solo comprobamos la memoria del heap.
+        assertTrue(heapOffHeap * 3 < heapEnHeap, "Off-heap debería ocupar menos de 1/3 del heap que los objetos");
+    }
+
+    private static long heapUsado() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Tiempo que el GC ha dedicado a un System.gc() (marca y compacta todo lo que sigue vivo).
+    private static long duracionGcCompleto() {
+        long antes = tiempoGc();
+        System.gc();
+        return tiempoGc() - antes;
+    }
+
+    private static long tiempoGc() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(t -> t > 0)
+                .sum();
+    }
+}
@@ -2,6 +2,7 @@ package albumes.controllers;
 
 import org.example.Application;
 import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumFiltro;
 import org.example.albumes.dto.AlbumResponseDto;
 import org.example.albumes.services.AlbumService;
 import org.junit.jupiter.api.Test;
@@ -37,7 +38,7 @@ class AlbumRestControllerTest {
     @Test
     void getAll() {
         // Arrange: Si el controlador llama al servicio, este devuelve la lista preparada.
-        when(albumService.findAll(null, null)).thenReturn(List.of(albumResponse1));
+        when(albumService.findAll(any(AlbumFiltro.class))).thenReturn(List.of(albumResponse1));
 
         // Act: Hacemos un GET a la URL
         var result = mockMvcTester.get()
@@ -53,6 +54,55 @@ class AlbumRestControllerTest {
                 });
     }
 
+    @Test
+    void getAll_WithFilters() {
+        when(albumService.findAll(any(AlbumFiltro.class))).thenReturn(List.of(albumResponse1));
+
+        var result = mockMvcTester.get()
+                .uri(ENDPOINT + "?genero=Rock&precioMin=10&precioMax=20&sort=precio,desc")
+                .exchange();
+
+        assertThat(result).hasStatusOk();
+        // Comprobamos que el controlador traduce los parámetros de la URL al filtro.
+        verify(albumService).findAll(argThat(f -> "Rock".equals(f.getGenero())
+                && f.getPrecioMin() == 10f && f.getPrecioMax() == 20f
+                && f.getOrden().getOrderFor("precio").isDescending()));
+    }
+
+    @Test
+    void getAll_ByIds() {
+        when(albumService.findAllById(List.of(3L, 1L))).thenReturn(List.of(albumResponse1));
+
+        var result = mockMvcTester.get()
+                .uri(ENDPOINT + "?ids=3,1")
+                .exchange();
+
+        // Con ?ids=... se hace un multi-get (no se usan los filtros).
+        assertThat(result).hasStatusOk()
+                .bodyJson().satisfies(json -> assertThat(json).extractingPath("$[0].id").isEqualTo(1));
+        verify(albumService, never()).findAll(any(AlbumFiltro.class));
+    }
+
+    @Test
+    void getById() {
+        // Arrange: El servicio devuelve el álbum 1.
+        when(albumService.findById(1L)).thenReturn(albumResponse1);
+
+        // Act: GET /albumes/1 (la respuesta sale de los bytes JSON serializados por AlbumBytesCache)
+        var result = mockMvcTester.get()
+                .uri(ENDPOINT + "/1")
+                .exchange();
+
+        // Assert: 200 OK, tipo JSON y el contenido correcto
+        assertThat(result)
+                .hasStatusOk()
+                .hasContentType(MediaType.APPLICATION_JSON)
+                .bodyJson().satisfies(json -> {
+                    assertThat(json).extractingPath("$.nombre").isEqualTo("Abbey Road");
+                    assertThat(json).extractingPath("$.artista").isEqualTo("The Beatles");
+                });
+    }
+
     @Test
     void create() {
         // JSON que enviamos en el cuerpo
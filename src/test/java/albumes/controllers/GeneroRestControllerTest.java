@@ -0,0 +1,81 @@
+package albumes.controllers;
+
+import org.example.Application;
+import org.example.albumes.exceptions.GeneroConflictException;
+import org.example.albumes.models.Genero;
+import org.example.albumes.services.CatalogoGeneros;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = Application.class)
+@AutoConfigureMockMvc
+class GeneroRestControllerTest {
+
+    private final String ENDPOINT = "/api/v1/generos";
+
+    @Autowired
+    private MockMvcTester mockMvcTester;
+
+    @MockitoBean
+    private CatalogoGeneros catalogoGeneros;
+
+    @Test
+    void getAll() {
+        when(catalogoGeneros.todos()).thenReturn(List.of(
+                Genero.builder().id((short) 1).nombre("Pop").build(),
+                Genero.builder().id((short) 2).nombre("Rock").build()));
+
+        var result = mockMvcTester.get().uri(ENDPOINT).exchange();
+
+        // Cada género sale como su nombre (@JsonValue).
+        assertThat(result).hasStatusOk()
+                .bodyJson().isLenientlyEqualTo("[\"Pop\", \"Rock\"]");
+    }
+
+    @Test
+    void create() {
+        when(catalogoGeneros.crear("Jazz")).thenReturn(Genero.builder().id((short) 3).nombre("Jazz").build());
+
+        var result = mockMvcTester.post().uri(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"Jazz\"}")
+                .exchange();
+
+        assertThat(result).hasStatus(HttpStatus.CREATED)
+                .bodyJson().isLenientlyEqualTo("\"Jazz\"");
+    }
+
+    @Test
+    void create_SiYaExiste_Conflicto() {
+        when(catalogoGeneros.crear("rock")).thenThrow(new GeneroConflictException("rock"));
+
+        var result = mockMvcTester.post().uri(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"rock\"}")
+                .exchange();
+
+        assertThat(result).hasStatus(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void create_SinNombre_BadRequest() {
+        var result = mockMvcTester.post().uri(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"\"}")
+                .exchange();
+
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+        verify(catalogoGeneros, never()).crear(any());
+    }
+}
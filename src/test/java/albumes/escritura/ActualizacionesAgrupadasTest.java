@@ -0,0 +1,107 @@
+package albumes.escritura;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.AlbumUpdateDto;
+import org.example.albumes.escritura.ActualizacionesAgrupadas;
+import org.example.albumes.exceptions.AlbumNotFoundException;
+import org.example.albumes.services.AlbumService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ActualizacionesAgrupadasTest {
+
+    private final AlbumService albumService = mock(AlbumService.class);
+
+    private ActualizacionesAgrupadas agrupadas(boolean activa) {
+        // Ventana larga para que las peticiones del test entren seguro en el mismo lote.
+        return new ActualizacionesAgrupadas(albumService, new SimpleMeterRegistry(), activa, 300);
+    }
+
+    // Lanza las actualizaciones en hilos distintos y en este orden (separadas unos milisegundos).
+    private List<Future<AlbumResponseDto>> rafaga(ActualizacionesAgrupadas agrupadas, ExecutorService hilos,
+                                                  AlbumUpdateDto... cambios) throws InterruptedException {
+        List<Future<AlbumResponseDto>> respuestas = new ArrayList<>();
+        for (AlbumUpdateDto cambio : cambios) {
+            respuestas.add(hilos.submit(() -> agrupadas.actualizar(1L, cambio)));
+            Thread.sleep(30);
+        }
+        return respuestas;
+    }
+
+    @Test
+    void desactivada_CadaActualizacionEsUnaEscritura() {
+        var agrupadas = agrupadas(false);
+
+        agrupadas.actualizar(1L, AlbumUpdateDto.builder().precio(10f).build());
+        agrupadas.actualizar(1L, AlbumUpdateDto.builder().precio(11f).build());
+
+        verify(albumService, times(2)).update(eq(1L), any());
+    }
+
+    @Test
+    void rafaga_UnaSolaEscrituraCampoACampoGanaElUltimo() throws Exception {
+        var agrupadas = agrupadas(true);
+        AlbumResponseDto estadoFinal = AlbumResponseDto.builder().id(1L).nombre("Jazz").genero("Pop").precio(12f).build();
+        when(albumService.update(eq(1L), any())).thenReturn(estadoFinal);
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            var respuestas = rafaga(agrupadas, hilos,
+                    AlbumUpdateDto.builder().nombre("Innuendo").precio(10f).build(),
+                    AlbumUpdateDto.builder().precio(12f).build(),
+                    AlbumUpdateDto.builder().nombre("Jazz").genero("Pop").build());
+
+            // Todas reciben el estado final.
+            for (var respuesta : respuestas) {
+                assertSame(estadoFinal, respuesta.get());
+            }
+        }
+
+        ArgumentCaptor<AlbumUpdateDto> mezcla = ArgumentCaptor.forClass(AlbumUpdateDto.class);
+        verify(albumService, times(1)).update(eq(1L), mezcla.capture());
+        // El nombre de la tercera pisa al de la primera; el precio de la segunda al de la primera;
+        // y la tercera, que no envía precio, no lo borra.
+        assertEquals(AlbumUpdateDto.builder().nombre("Jazz").genero("Pop").precio(12f).build(), mezcla.getValue());
+    }
+
+    @Test
+    void rafaga_SiFallaTodasRecibenLaMismaExcepcion() throws Exception {
+        var agrupadas = agrupadas(true);
+        when(albumService.update(eq(1L), any())).thenThrow(new AlbumNotFoundException(1L));
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            var respuestas = rafaga(agrupadas, hilos,
+                    AlbumUpdateDto.builder().precio(10f).build(),
+                    AlbumUpdateDto.builder().precio(11f).build());
+
+            for (var respuesta : respuestas) {
+                var error = assertThrows(ExecutionException.class, respuesta::get);
+                assertInstanceOf(AlbumNotFoundException.class, error.getCause());
+            }
+        }
+        verify(albumService, times(1)).update(eq(1L), any());
+    }
+
+    @Test
+    void cerradaLaVentana_LaSiguienteAbreOtroLote() {
+        var agrupadas = new ActualizacionesAgrupadas(albumService, new SimpleMeterRegistry(), true, 1);
+
+        agrupadas.actualizar(1L, AlbumUpdateDto.builder().precio(10f).build());
+        agrupadas.actualizar(1L, AlbumUpdateDto.builder().precio(11f).build());
+
+        verify(albumService).update(1L, AlbumUpdateDto.builder().precio(10f).build());
+        verify(albumService).update(1L, AlbumUpdateDto.builder().precio(11f).build());
+    }
+}
@@ -0,0 +1,98 @@
+package albumes.escritura;
+
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.escritura.EscrituraAsincronaService;
+import org.example.albumes.exceptions.ColaLlenaException;
+import org.example.albumes.services.AlbumService;
+import org.example.artistas.exceptions.ArtistaNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class EscrituraAsincronaServiceTest {
+
+    private final AlbumService albumService = mock(AlbumService.class);
+    private final AtomicLong ids = new AtomicLong();
+    private EscrituraAsincronaService service;
+
+    private AlbumCreateDto album(String nombre, String artista) {
+        return AlbumCreateDto.builder().nombre(nombre).artista(artista).genero("Rock").precio(10f).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.parar();
+        }
+    }
+
+    @Test
+    void albumesEncolados_SeGuardanPorLotesYSeConfirman() throws InterruptedException {
+        when(albumService.saveAll(anyList())).thenAnswer(inv -> inv.<List<AlbumCreateDto>>getArgument(0).stream()
+                .map(dto -> AlbumResponseDto.builder().id(ids.incrementAndGet()).nombre(dto.getNombre()).build())
+                .toList());
+        service = new EscrituraAsincronaService(albumService, 100, 50, 100, 60_000);
+
+        var encolados = List.of(
+                service.encolar(album("Abbey Road", "The Beatles")),
+                service.encolar(album("Let It Be", "The Beatles")),
+                service.encolar(album("Help!", "The Beatles")));
+        assertEquals("PENDIENTE", encolados.get(0).getEstado());
+
+        service.iniciar();
+        esperarA(() -> encolados.stream().allMatch(e -> "CONFIRMADO".equals(service.estado(e.getId()).getEstado())));
+
+        // Los tres ya estaban en la cola al arrancar el escritor: una sola transacción.
+        verify(albumService, times(1)).saveAll(anyList());
+        assertNotNull(service.estado(encolados.get(2).getId()).getAlbumId());
+    }
+
+    @Test
+    void albumConError_FallaSoloEseYElRestoSeConfirma() throws InterruptedException {
+        when(albumService.saveAll(anyList())).thenAnswer(inv -> {
+            List<AlbumCreateDto> dtos = inv.getArgument(0);
+            if (dtos.stream().anyMatch(d -> d.getArtista().equals("Nadie"))) {
+                throw new ArtistaNotFoundException("Nadie");
+            }
+            return dtos.stream().map(d -> AlbumResponseDto.builder().id(ids.incrementAndGet()).build()).toList();
+        });
+        service = new EscrituraAsincronaService(albumService, 100, 50, 100, 60_000);
+
+        var bueno = service.encolar(album("Abbey Road", "The Beatles"));
+        var malo = service.encolar(album("Nada", "Nadie"));
+        service.iniciar();
+        esperarA(() -> !"PENDIENTE".equals(service.estado(malo.getId()).getEstado())
+                && !"PENDIENTE".equals(service.estado(bueno.getId()).getEstado()));
+
+        assertEquals("CONFIRMADO", service.estado(bueno.getId()).getEstado());
+        assertEquals("FALLIDO", service.estado(malo.getId()).getEstado());
+        assertNotNull(service.estado(malo.getId()).getError());
+    }
+
+    @Test
+    void colaLlena_RechazaConContrapresion() {
+        // Sin iniciar el escritor, nadie vacía la cola.
+        service = new EscrituraAsincronaService(albumService, 2, 50, 10, 60_000);
+        service.encolar(album("Uno", "A"));
+        service.encolar(album("Dos", "A"));
+
+        assertThrows(ColaLlenaException.class, () -> service.encolar(album("Tres", "A")));
+        service.iniciar(); // para que parar() pueda esperar al escritor
+    }
+
+    private static void esperarA(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Tiempo de espera agotado");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package albumes.exportacion;
+
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.exportacion.ColumnarAlbumReader;
+import org.example.albumes.exportacion.ColumnarAlbumWriter;
+import org.example.albumes.exportacion.FilaColumnar;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarAlbumWriterTest {
+
+    private static final String[] GENEROS = {"Rock", "Pop", "Jazz", "Clásica", "Electrónica"};
+    private static final long INICIO = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path directorio;
+
+    private FilaColumnar fila(long id) {
+        String artista = id % 97 == 0 ? null : "Artista " + (id % 500);
+        return new FilaColumnar(id, "Álbum " + id, artista, GENEROS[(int) (id % GENEROS.length)],
+                (id % 3000) / 100f, INICIO + id * 60_000);
+    }
+
+    @Test
+    void escribirYLeer_DevuelveLasMismasFilasEnVariosGrupos() throws IOException {
+        Path ruta = directorio.resolve("albumes.albc");
+        try (var writer = new ColumnarAlbumWriter(ruta, 1000)) {
+            for (long id = 1; id <= 2500; id++) {
+                writer.escribir(fila(id));
+            }
+            assertEquals(3, writer.getGrupos()); // 1000 + 1000 + 500
+        }
+
+        List<FilaColumnar> leidas = new ArrayList<>();
+        long filas = ColumnarAlbumReader.leer(ruta, leidas::add);
+
+        assertEquals(2500, filas);
+        for (int i = 0; i < leidas.size(); i++) {
+            assertEquals(fila(i + 1), leidas.get(i));
+        }
+    }
+
+    @Test
+    void ficheroVacio_SoloTienePie() throws IOException {
+        Path ruta = directorio.resolve("vacio.albc");
+        new ColumnarAlbumWriter(ruta, 1000).close();
+
+        assertEquals(0, ColumnarAlbumReader.leer(ruta, f -> fail("No debería haber filas")));
+    }
+
+    // La misma información que la respuesta de GET /albumes, serializada como JSON con Jackson.
+    private Path escribirJson(int total) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        List<AlbumResponseDto> dtos = new ArrayList<>(total);
+        for (long id = 1; id <= total; id++) {
+            FilaColumnar f = fila(id);
+            dtos.add(AlbumResponseDto.builder().id(f.id()).nombre(f.nombre()).artista(f.artista())
+                    .genero(f.genero()).precio(f.precio())
+                    .createdAt(LocalDateTime.ofEpochSecond(f.createdAt() / 1000, 0, ZoneOffset.UTC)).build());
+        }
+        Path json = directorio.resolve("albumes.json");
+        try (OutputStream salida = Files.newOutputStream(json)) {
+            objectMapper.writeValue(salida, dtos);
+        }
+        return json;
+    }
+
+    private Path escribirColumnar(int total) throws IOException {
+        Path columnar = directorio.resolve("albumes.albc");
+        try (var writer = new ColumnarAlbumWriter(columnar, 65536)) {
+            for (long id = 1; id <= total; id++) {
+                writer.escribir(fila(id));
+            }
+        }
+        return columnar;
+    }
+
+    @Test
+    void columnar_OcupaMenosDeUnCuartoQueElJson() throws IOException {
+        long bytesJson = Files.size(escribirJson(20_000));
+        long bytesColumnar = Files.size(escribirColumnar(20_000));
+
+        assertTrue(bytesColumnar * 4 < bytesJson, "El fichero columnar debería ocupar menos de 1/4 del JSON");
+    }
+
+    // mvn test -Pbenchmark: tiempos de las dos exportaciones con el catálogo grande (dependen de la máquina).
+    @Tag("benchmark")
+    @Test
+    void benchmark_ColumnarFrenteAJson(TestReporter informe) throws IOException {
+        int total = 200_000;
+
+        long inicioJson = System.nanoTime();
+        long bytesJson = Files.size(escribirJson(total));
+        long msJson = (System.nanoTime() - inicioJson) / 1_000_000;
+
+        long inicioColumnar = System.nanoTime();
+        long bytesColumnar = Files.size(escribirColumnar(total));
+        long msColumnar = (System.nanoTime() - inicioColumnar) / 1_000_000;
+
+        informe.publishEntry("json", bytesJson + " bytes en " + msJson + " ms");
+        informe.publishEntry("columnar", bytesColumnar + " bytes en " + msColumnar + " ms");
+        assertTrue(bytesColumnar * 4 < bytesJson, "El fichero columnar debería ocupar menos de 1/4 del JSON");
+    }
+}
@@ -0,0 +1,63 @@
+package albumes.importacion;
+
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.importacion.FilaParser;
+import org.example.albumes.importacion.FormatoImportacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilaParserTest {
+
+    private final FilaParser csv = new FilaParser.Csv("Precio, nombre ,genero,ARTISTA");
+
+    @Test
+    void csv_ColumnasEnCualquierOrdenYSinDistinguirMayusculas() {
+        AlbumCreateDto dto = csv.parsear("19.99,Abbey Road,Rock,The Beatles");
+
+        assertEquals("Abbey Road", dto.getNombre());
+        assertEquals("The Beatles", dto.getArtista());
+        assertEquals("Rock", dto.getGenero());
+        assertEquals(19.99f, dto.getPrecio());
+    }
+
+    @Test
+    void csv_CamposEntreComillasConComasYComillasEscapadas() {
+        AlbumCreateDto dto = csv.parsear("10,\"Rock, Vol. 1\",Rock,\"The \"\"Best\"\" Band\"");
+
+        assertEquals("Rock, Vol. 1", dto.getNombre());
+        assertEquals("The \"Best\" Band", dto.getArtista());
+    }
+
+    @Test
+    void csv_CamposCortosOVacios() {
+        assertEquals(List.of("a", "", ""), FilaParser.Csv.campos("a,,"));
+        assertEquals(List.of(""), FilaParser.Csv.campos(""));
+
+        // Precio vacío: null (lo rechazará la validación, no el parser).
+        assertNull(csv.parsear(",Abbey Road,Rock,The Beatles").getPrecio());
+    }
+
+    @Test
+    void csv_ErroresDeFormato() {
+        assertThrows(IllegalArgumentException.class, () -> csv.parsear("10,\"Abbey Road,Rock,The Beatles"));
+        assertThrows(IllegalArgumentException.class, () -> csv.parsear("diez,Abbey Road,Rock,The Beatles"));
+        assertThrows(IllegalArgumentException.class, () -> new FilaParser.Csv("nombre,artista,genero"));
+    }
+
+    @Test
+    void json_UnObjetoPorLineaTambienDentroDeUnArray() {
+        // El mismo ObjectMapper que configura Spring (con los nombres de los parámetros del constructor).
+        FilaParser json = FilaParser.para(FormatoImportacion.JSON, null, Jackson2ObjectMapperBuilder.json().build());
+
+        assertNull(json.parsear("["));
+        assertNull(json.parsear("]"));
+        AlbumCreateDto dto = json.parsear("  {\"nombre\":\"Help!\",\"artista\":\"The Beatles\",\"genero\":\"Rock\",\"precio\":9.5},");
+        assertEquals("Help!", dto.getNombre());
+        assertEquals(9.5f, dto.getPrecio());
+        assertThrows(IllegalArgumentException.class, () -> json.parsear("{\"nombre\":"));
+    }
+}
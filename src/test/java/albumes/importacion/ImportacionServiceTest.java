@@ -0,0 +1,148 @@
+package albumes.importacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.ImportacionEstadoDto;
+import org.example.albumes.importacion.FormatoImportacion;
+import org.example.albumes.importacion.ImportacionCheckpoint;
+import org.example.albumes.importacion.ImportacionCheckpointRepository;
+import org.example.albumes.importacion.ImportacionService;
+import org.example.albumes.services.AlbumService;
+import org.example.artistas.services.ArtistaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ImportacionServiceTest {
+
+    private static final String CSV = """
+            nombre,artista,genero,precio
+            Abbey Road,The Beatles,Rock,19.99
+            Let It Be,The Beatles,Rock,9.99
+            Malo,The Beatles,Rock,5
+            Help!,The Beatles,Rock,12
+            """;
+
+    @TempDir
+    Path directorio;
+
+    private final AlbumService albumService = mock(AlbumService.class);
+    private final ArtistaService artistaService = mock(ArtistaService.class);
+    private final ImportacionCheckpointRepository checkpoints = mock(ImportacionCheckpointRepository.class);
+    private final Validator validator = mock(Validator.class);
+    // Cada llamada a saveAll, con los nombres de los álbumes que recibe.
+    private final List<List<String>> guardados = new ArrayList<>();
+    private ImportacionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(directorio.resolve("albumes.csv"), CSV, StandardCharsets.UTF_8);
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(checkpoints.findById("albumes.csv")).thenReturn(Optional.empty());
+        // El álbum "Malo" hace fallar el lote en el que vaya (como una restricción de la base de datos).
+        when(albumService.saveAll(anyList())).thenAnswer(inv -> {
+            List<String> nombres = inv.<List<AlbumCreateDto>>getArgument(0).stream().map(AlbumCreateDto::getNombre).toList();
+            if (nombres.contains("Malo")) {
+                throw new IllegalStateException("Restricción violada");
+            }
+            guardados.add(nombres);
+            return List.of();
+        });
+        // Sin base de datos: el gestor de transacciones simulado no hace nada.
+        var transacciones = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        service = new ImportacionService(albumService, artistaService, checkpoints, validator, new ObjectMapper(),
+                transacciones, directorio, 1024, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.cerrar();
+    }
+
+    private ImportacionEstadoDto esperar(ImportacionEstadoDto inicial) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        ImportacionEstadoDto estado = inicial;
+        while (estado.getEstado().equals("EN_CURSO") && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            estado = service.estado(inicial.getId());
+        }
+        return estado;
+    }
+
+    private ImportacionCheckpoint ultimoCheckpoint() {
+        ArgumentCaptor<ImportacionCheckpoint> captor = ArgumentCaptor.forClass(ImportacionCheckpoint.class);
+        verify(checkpoints, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void loteQueFalla_SeReintentaFilaAFilaYSoloSePierdeLaMala() throws InterruptedException {
+        var estado = esperar(service.iniciar("albumes.csv", FormatoImportacion.CSV));
+
+        assertEquals("COMPLETADA", estado.getEstado());
+        assertEquals(4, estado.getFilasLeidas());
+        assertEquals(3, estado.getFilasImportadas());
+        assertEquals(1, estado.getFilasConError());
+        assertTrue(estado.getErrores().getFirst().startsWith("Fila 3: "));
+        // El primer lote entra entero; el segundo ("Malo", "Help!") falla y se repite uno a uno.
+        assertEquals(List.of(List.of("Abbey Road", "Let It Be"), List.of("Help!")), guardados);
+
+        ImportacionCheckpoint checkpoint = ultimoCheckpoint();
+        assertTrue(checkpoint.getCompletada());
+        assertEquals(CSV.getBytes(StandardCharsets.UTF_8).length, checkpoint.getOffset());
+    }
+
+    @Test
+    void conUnPuntoDeControl_SigueDesdeElUltimoLoteConfirmado() throws InterruptedException {
+        // Guardados ya: la cabecera y las dos primeras filas.
+        long offset = CSV.indexOf("Malo");
+        when(checkpoints.findById("albumes.csv")).thenReturn(Optional.of(ImportacionCheckpoint.builder()
+                .archivo("albumes.csv").tamano((long) CSV.length()).formato("CSV").offset(offset)
+                .filasLeidas(2L).filasImportadas(2L).filasConError(0L).completada(false)
+                .updatedAt(LocalDateTime.now()).build()));
+
+        var estado = esperar(service.iniciar("albumes.csv", FormatoImportacion.CSV));
+
+        assertEquals("COMPLETADA", estado.getEstado());
+        assertEquals(offset, estado.getReanudadaDesde());
+        // Solo las filas pendientes; los contadores siguen desde los del punto de control.
+        assertEquals(List.of(List.of("Help!")), guardados);
+        assertEquals(4, estado.getFilasLeidas());
+        assertEquals(3, estado.getFilasImportadas());
+        assertTrue(estado.getErrores().getFirst().startsWith("Fila 3: "));
+    }
+
+    @Test
+    void puntoDeControlDeOtroFichero_EmpiezaDeCero() throws InterruptedException {
+        // Mismo nombre pero otro tamaño: es otro fichero.
+        when(checkpoints.findById("albumes.csv")).thenReturn(Optional.of(ImportacionCheckpoint.builder()
+                .archivo("albumes.csv").tamano(1L).formato("CSV").offset(1L)
+                .filasLeidas(2L).filasImportadas(2L).filasConError(0L).completada(false)
+                .updatedAt(LocalDateTime.now()).build()));
+
+        var estado = esperar(service.iniciar("albumes.csv", FormatoImportacion.CSV));
+
+        assertEquals(0, estado.getReanudadaDesde());
+        assertEquals(3, estado.getFilasImportadas());
+    }
+}
@@ -0,0 +1,96 @@
+package albumes.importacion;
+
+import org.example.albumes.importacion.LectorPorBloques;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorPorBloquesTest {
+
+    @TempDir
+    Path directorio;
+
+    private Path fichero(String contenido) throws IOException {
+        return Files.writeString(directorio.resolve("albumes.csv"), contenido, StandardCharsets.UTF_8);
+    }
+
+    // Todas las líneas y el fin de cada una, leyendo hasta el final.
+    private static List<String> leer(Path ruta, long desde, int tamanoBloque, List<Long> fines) throws IOException {
+        List<String> lineas = new ArrayList<>();
+        try (LectorPorBloques lector = new LectorPorBloques(ruta, desde, tamanoBloque)) {
+            LectorPorBloques.Bloque bloque;
+            while ((bloque = lector.siguiente()) != null) {
+                lineas.addAll(bloque.lineas());
+                for (long fin : bloque.fines()) {
+                    fines.add(fin);
+                }
+            }
+        }
+        return lineas;
+    }
+
+    @Test
+    void lineasQueCruzanElLimiteDelBloque_SeDevuelvenEnteras() throws IOException {
+        // Bloques de 12 bytes: casi todas las líneas empiezan en un bloque y terminan en el siguiente.
+        Path ruta = fichero("Abbey Road\nLet It Be\nHelp!\n");
+        List<Long> fines = new ArrayList<>();
+
+        assertEquals(List.of("Abbey Road", "Let It Be", "Help!"), leer(ruta, 0, 12, fines));
+        // Cada fin es el byte siguiente a su salto de línea.
+        assertEquals(List.of(11L, 21L, 27L), fines);
+    }
+
+    @Test
+    void saltosDeLineaDeWindows_SinRetornoDeCarroEnLaLinea() throws IOException {
+        Path ruta = fichero("uno\r\ndos\r\n\r\ntres");
+        List<Long> fines = new ArrayList<>();
+
+        // La línea vacía se salta y la última, sin salto final, también se lee.
+        assertEquals(List.of("uno", "dos", "tres"), leer(ruta, 0, 6, fines));
+        assertEquals(List.of(5L, 10L, 16L), fines);
+    }
+
+    @Test
+    void reanudarDesdeElFinDeUnaLinea_SigueEnLaSiguiente() throws IOException {
+        Path ruta = fichero("uno\r\ndos\r\ntres\r\n");
+        List<Long> fines = new ArrayList<>();
+        leer(ruta, 0, 64, fines);
+
+        List<Long> finesReanudada = new ArrayList<>();
+        assertEquals(List.of("tres"), leer(ruta, fines.get(1), 64, finesReanudada));
+        // Los fines siguen siendo posiciones absolutas en el fichero (son el punto de control).
+        assertEquals(List.of(16L), finesReanudada);
+    }
+
+    @Test
+    void textoNoAscii_PartidoEntreBloques() throws IOException {
+        Path ruta = fichero("Rosalía\nMotomami\n");
+
+        assertEquals(List.of("Rosalía", "Motomami"), leer(ruta, 0, 10, new ArrayList<>()));
+    }
+
+    @Test
+    void lineaMasLargaQueElBloque_Falla() throws IOException {
+        Path ruta = fichero("una línea demasiado larga\n");
+
+        assertThrows(IOException.class, () -> leer(ruta, 0, 8, new ArrayList<>()));
+    }
+
+    @Test
+    void primeraLinea_LaCabeceraYDondeTermina() throws IOException {
+        Path ruta = fichero("nombre,artista\r\nAbbey Road,The Beatles\n");
+
+        LectorPorBloques.Bloque cabecera = LectorPorBloques.primeraLinea(ruta);
+
+        assertEquals(List.of("nombre,artista"), cabecera.lineas());
+        assertEquals(16, cabecera.fin());
+    }
+}
@@ -1,7 +1,9 @@
 package albumes.mappers;
 
 import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumUpdateDto;
 import org.example.albumes.mappers.AlbumMapper;
+import org.example.albumes.models.Genero;
 import org.example.artistas.models.Artista;
 import org.junit.jupiter.api.Test;
 
@@ -11,6 +13,7 @@ class AlbumMapperTest {
 
     private final AlbumMapper albumMapper = new AlbumMapper();
     private final Artista artista = Artista.builder().id(1L).nombre("The Beatles").build();
+    private final Genero rock = Genero.builder().id((short) 1).nombre("Rock").build();
 
     @Test
     void toAlbum_create() {
@@ -23,12 +26,27 @@ class AlbumMapperTest {
                 .build();
 
         // Act: Convertimos usando el objeto artista real
-        var res = albumMapper.toAlbum(createDto, artista);
+        var res = albumMapper.toAlbum(createDto, artista, rock);
 
         // Assert: Comprobamos que el objeto Album resultante tiene el objeto Artista dentro
         assertAll(
                 () -> assertEquals(createDto.getNombre(), res.getNombre()),
-                () -> assertEquals(artista, res.getArtista()) // Aquí comprobamos la relación
+                () -> assertEquals(artista, res.getArtista()), // Aquí comprobamos la relación
+                () -> assertEquals(rock, res.getGenero())
+        );
+    }
+
+    @Test
+    void toAlbum_update_SinGenero_MantieneElOriginal() {
+        var original = albumMapper.toAlbum(AlbumCreateDto.builder().nombre("Abbey Road").precio(19.99f).build(),
+                artista, rock);
+
+        var res = albumMapper.toAlbum(AlbumUpdateDto.builder().precio(9.99f).build(), original, null);
+
+        assertAll(
+                () -> assertEquals(rock, res.getGenero()),
+                () -> assertEquals("Rock", albumMapper.toAlbumResponseDto(res).getGenero()),
+                () -> assertEquals(9.99f, res.getPrecio())
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package albumes.models;
+
+import org.example.albumes.models.Album;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hibernate crea cada Album que lee de la BD con el constructor vacío y luego le pone los valores de la fila.
+class AlbumHidratacionTest {
+
+    @Test
+    void constructorVacio_NoGeneraUuidNiFechas() {
+        Album album = new Album();
+
+        assertNull(album.getUuid());
+        assertNull(album.getCreatedAt());
+        assertNull(album.getUpdatedAt());
+    }
+
+    // Antes: @Builder.Default hacía que el constructor vacío llamase a UUID.randomUUID() (SecureRandom,
+    // con un cerrojo compartido) y dos veces a LocalDateTime.now() por cada fila leída.
+    // Depende de la máquina: solo con mvn test -Pbenchmark.
+    @Tag("benchmark")
+    @Test
+    void benchmark_HidratacionAntesYDespues(TestReporter informe) throws Exception {
+        int hilos = 8;
+        int porHilo = 200_000;
+        Supplier<Album> antes = () -> {
+            Album album = new Album();
+            album.setUuid(UUID.randomUUID());
+            album.setCreatedAt(LocalDateTime.now());
+            album.setUpdatedAt(LocalDateTime.now());
+            return album;
+        };
+        Supplier<Album> despues = Album::new;
+
+        // Calentamiento del JIT.
+        medir(antes, hilos, porHilo / 10);
+        medir(despues, hilos, porHilo / 10);
+
+        long msAntes = medir(antes, hilos, porHilo);
+        long msDespues = medir(despues, hilos, porHilo);
+        informe.publishEntry("antes", msAntes + " ms para " + hilos * porHilo + " álbumes en " + hilos + " hilos");
+        informe.publishEntry("después", msDespues + " ms para " + hilos * porHilo + " álbumes en " + hilos + " hilos");
+
+        // Solo comprobamos que no es más lento.
+        assertTrue(msDespues <= msAntes, "Crear un Album vacío debería ser más barato que antes");
+    }
+
+    private long medir(Supplier<Album> crear, int hilos, int porHilo) throws Exception {
+        long inicio = System.nanoTime();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            Future<?>[] tareas = new Future<?>[hilos];
+            for (int h = 0; h < hilos; h++) {
+                tareas[h] = ejecutor.submit(() -> {
+                    int vivos = 0;
+                    for (int i = 0; i < porHilo; i++) {
+                        vivos += crear.get().hashCode() & 1;
+                    }
+                    return vivos;
+                });
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+}
@@ -2,21 +2,30 @@ package albumes.repositories;
 
 import org.example.Application; // Importamos la configuración principal
 import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
 import org.example.artistas.models.Artista;
 import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.dto.AlbumFiltro;
+import org.example.albumes.repositories.AlbumSpecifications;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 // @DataJpaTest: Esta anotación configura un entorno de prueba SOLO para la capa de datos.
 // Arranca una base de datos H2 en memoria y configura Hibernate automáticamente.
@@ -37,6 +46,7 @@ public class AlbumRepositoryTest {
     private TestEntityManager entityManager;
 
     private Artista artista;
+    private Genero rock;
 
     // @BeforeEach: Este método se ejecuta antes de CADA test individual.
     @BeforeEach
@@ -44,11 +54,13 @@ public class AlbumRepositoryTest {
         // 1. Creamos un artista y lo guardamos en la BD (necesario porque el álbum requiere un artista).
         artista = Artista.builder().nombre("The Beatles").build();
         entityManager.persist(artista);
+        // El género también es una fila (tabla GENEROS): el álbum solo guarda su clave.
+        rock = entityManager.persist(Genero.builder().nombre("Rock").build());
 
         // 2. Creamos un álbum vinculado a ese artista.
         Album album = Album.builder()
                 .nombre("Abbey Road")
-                .genero("Rock")
+                .genero(rock)
                 .precio(19.99f)
                 .artista(artista)
                 .uuid(UUID.randomUUID())
@@ -59,6 +71,16 @@ public class AlbumRepositoryTest {
         entityManager.flush();
     }
 
+    @Test
+    void persist_GeneraUuidV7YFechasAlInsertar(){
+        var album = entityManager.persist(Album.builder().nombre("Help!").genero(rock).precio(9.99f)
+                .artista(artista).build());
+
+        assertEquals(7, album.getUuid().version());
+        assertNotNull(album.getCreatedAt());
+        assertEquals(album.getCreatedAt(), album.getUpdatedAt());
+    }
+
     @Test
     void findAll(){
         // Act: Llamamos al método real del repositorio.
@@ -82,4 +104,103 @@ public class AlbumRepositoryTest {
         List<Album> albumes = albumRepository.findByArtistaNombreContainingIgnoreCase("beatles");
         assertEquals(1, albumes.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllSpecification_CombinaFiltrosYOrdenaEnUnaSolaConsulta(){
+        // Añadimos un segundo álbum más barato del mismo artista.
+        entityManager.persist(Album.builder().nombre("Let It Be").genero(rock).precio(9.99f)
+                .artista(artista).uuid(UUID.randomUUID()).build());
+        entityManager.flush();
+        // Vaciamos el contexto de persistencia para que el artista tenga que venir de la BD.
+        entityManager.clear();
+
+        var estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+
+        var filtro = AlbumFiltro.builder()
+                .artista("beatles").genero("rock").precioMax(50f)
+                .orden(Sort.by("precio"))
+                .build();
+        // Así traduce CatalogoGeneros el nombre a su fila, sin ir a la BD.
+        List<Album> albumes = albumRepository.findAll(AlbumSpecifications.filtrar(filtro,
+                nombre -> nombre.equalsIgnoreCase("Rock") ? Optional.of(rock) : Optional.empty()));
+
+        // Los dos álbumes, ordenados por precio, y con el artista ya cargado...
+        assertEquals(2, albumes.size());
+        assertEquals("Let It Be", albumes.get(0).getNombre());
+        assertEquals("The Beatles", albumes.get(1).getArtista().getNombre());
+        // ...con UNA sola sentencia SQL (el artista y el género vienen en el mismo JOIN).
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllSpecification_NombreEmpieza_PrefijoSinTildesNiMayusculas(){
+        entityManager.persist(Album.builder().nombre("Ábbey Sessions").genero(rock).precio(5f).artista(artista).build());
+        entityManager.persist(Album.builder().nombre("Live at Abbey").genero(rock).precio(5f).artista(artista).build());
+        entityManager.flush();
+
+        var filtro = AlbumFiltro.builder().nombreEmpieza("ABBEY").orden(Sort.by("nombre")).build();
+        List<Album> albumes = albumRepository.findAll(AlbumSpecifications.filtrar(filtro, nombre -> Optional.empty()));
+
+        // "Live at Abbey" contiene el texto pero no empieza por él.
+        assertEquals(List.of("Abbey Road", "Ábbey Sessions"), albumes.stream().map(Album::getNombre).toList());
+    }
+
+    @Test
+    void findAllSpecification_ComodinesDelUsuarioSeBuscanTalCual(){
+        entityManager.persist(Album.builder().nombre("100% Hits").genero(rock).precio(5f).artista(artista).build());
+        entityManager.flush();
+
+        // Sin escapar, "_" y "%" casarían con cualquier carácter y con "Abbey Road".
+        assertTrue(albumRepository.findAll(AlbumSpecifications.filtrar(
+                AlbumFiltro.builder().nombreEmpieza("a_b").build(), nombre -> Optional.empty())).isEmpty());
+        List<Album> porcentaje = albumRepository.findAll(AlbumSpecifications.filtrar(
+                AlbumFiltro.builder().nombre("%").build(), nombre -> Optional.empty()));
+        assertEquals(List.of("100% Hits"), porcentaje.stream().map(Album::getNombre).toList());
+    }
+
+    @Test
+    void findAllSpecification_GeneroInexistente_NoDevuelveNada(){
+        var filtro = AlbumFiltro.builder().genero("Jazz").build();
+
+        List<Album> albumes = albumRepository.findAll(AlbumSpecifications.filtrar(filtro, nombre -> Optional.empty()));
+
+        assertTrue(albumes.isEmpty());
+    }
+
+    @Test
+    void findAllByIdIn_TraeVariosConSuArtistaEnUnaSolaConsulta(){
+        var otro = entityManager.persist(Album.builder().nombre("Let It Be").genero(rock).precio(9.99f)
+                .artista(artista).uuid(UUID.randomUUID()).build());
+        var primero = albumRepository.findAll().get(0);
+        entityManager.flush();
+        entityManager.clear();
+
+        var estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+
+        List<Album> albumes = albumRepository.findAllByIdIn(List.of(primero.getId(), otro.getId(), -1L));
+
+        assertEquals(2, albumes.size());
+        assertEquals("The Beatles", albumes.get(0).getArtista().getNombre());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamParaExportar_RecorreElCatalogoSinCargarEntidades(){
+        entityManager.clear();
+
+        try (var albumes = albumRepository.streamParaExportar()) {
+            var filas = albumes.toList();
+            assertEquals(1, filas.size());
+            assertEquals("Abbey Road", filas.get(0).getNombre());
+            assertEquals("The Beatles", filas.get(0).getArtista());
+        }
+        // Las proyecciones no se guardan en el contexto de persistencia: la memoria no crece al recorrer.
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+}
@@ -0,0 +1,77 @@
+package albumes.services;
+
+import org.example.Application;
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumFiltro;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.dto.AlbumUpdateDto;
+import org.example.albumes.exceptions.AlbumNotFoundException;
+import org.example.albumes.services.AlbumService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// La caché "albumes" guarda cada álbum por id y por uuid (en minúsculas). Las dos claves deben
+// compartirse entre findByUuid y el multi-get, y seguir al día tras modificar o borrar el álbum.
+@SpringBootTest(classes = Application.class)
+class AlbumCacheUuidTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache albumes;
+    private AlbumResponseDto album;
+
+    @BeforeEach
+    void setUp() {
+        albumes = cacheManager.getCache("albumes");
+        String artista = albumService.findAll(AlbumFiltro.builder().build()).getFirst().getArtista();
+        album = albumService.save(AlbumCreateDto.builder()
+                .nombre("Cache uuid").artista(artista).genero("Rock").precio(10f).build());
+    }
+
+    private String uuid() {
+        return album.getUuid().toString();
+    }
+
+    @Test
+    void findByUuidEnMayusculas_UsaLaMismaClaveQueElMultiGet() {
+        albumService.findByUuid(uuid().toUpperCase(Locale.ROOT));
+
+        assertNotNull(albumes.get(uuid()), "Debería estar en la caché con el uuid en minúsculas");
+        assertEquals(List.of(album.getId()),
+                albumService.findAllByUuid(List.of(uuid())).stream().map(AlbumResponseDto::getId).toList());
+    }
+
+    @Test
+    void update_ActualizaTambienLaEntradaPorUuid() {
+        albumService.findByUuid(uuid());
+
+        albumService.update(album.getId(), AlbumUpdateDto.builder().precio(77f).build());
+
+        assertEquals(77f, albumes.get(uuid(), AlbumResponseDto.class).getPrecio());
+        assertEquals(77f, albumService.findAllByUuid(List.of(uuid())).getFirst().getPrecio());
+    }
+
+    @Test
+    void deleteById_QuitaTambienLaEntradaPorUuid() {
+        albumService.findByUuid(uuid());
+
+        albumService.deleteById(album.getId());
+
+        assertNull(albumes.get(uuid()));
+        assertThrows(AlbumNotFoundException.class, () -> albumService.findByUuid(uuid()));
+        assertTrue(albumService.findAllByUuid(List.of(uuid())).isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package albumes.services;
+
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.repositories.PrecioAgregado;
+import org.example.albumes.services.AlbumEstadisticasService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlbumEstadisticasServiceTest {
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @InjectMocks
+    private AlbumEstadisticasService estadisticasService;
+
+    private AlbumResponseDto album(long id, String artista, String genero, float precio) {
+        return AlbumResponseDto.builder().id(id).artista(artista).genero(genero).precio(precio).build();
+    }
+
+    @Test
+    void altasYModificaciones_ActualizanLosContadores() {
+        // Sin consultas a la BD: todo sale de los eventos.
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.alta(album(1, "Queen", "Rock", 10f)));
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.alta(album(2, "Queen", "Rock", 20f)));
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.alta(album(3, "Queen", "Rock", 30f)));
+        // Cambiamos un álbum que no es ni el más barato ni el más caro de su género ni de su artista.
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.modificacion(
+                album(2, "Queen", "Rock", 20f), album(2, "Queen", "Pop", 25f)));
+
+        var res = estadisticasService.estadisticas();
+
+        assertAll(
+                () -> assertEquals(3, res.getGlobal().getTotal()),
+                () -> assertEquals(65.0, res.getGlobal().getSuma(), 0.001),
+                () -> assertEquals(10f, res.getGlobal().getMinimo()),
+                () -> assertEquals(2, res.getPorGenero().get("Rock").getTotal()),
+                () -> assertEquals(30f, res.getPorGenero().get("Rock").getMaximo()),
+                () -> assertEquals(25f, res.getPorGenero().get("Pop").getMinimo()),
+                () -> assertEquals(3, res.getPorArtista().get("Queen").getTotal())
+        );
+        verifyNoInteractions(albumRepository);
+    }
+
+    @Test
+    void bajaDeUnExtremo_RecalculaSoloEseGrupo() {
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.alta(album(1, "The Beatles", "Rock", 10f)));
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.alta(album(2, "The Beatles", "Rock", 30f)));
+
+        // Borramos el más caro: el máximo ya no se puede deducir de los contadores.
+        estadisticasService.onAlbumCambiado(AlbumCambiadoEvent.baja(album(2, "The Beatles", "Rock", 30f)));
+        PrecioAgregado rock = agregado("Rock", 1, 10f, 10f, 10.0);
+        PrecioAgregado beatles = agregado("The Beatles", 1, 10f, 10f, 10.0);
+        when(albumRepository.agregadoDeGenero("Rock")).thenReturn(Optional.of(rock));
+        when(albumRepository.agregadoDeArtista("The Beatles")).thenReturn(Optional.of(beatles));
+
+        var res = estadisticasService.estadisticas();
+
+        assertEquals(10f, res.getPorGenero().get("Rock").getMaximo());
+        assertEquals(10f, res.getGlobal().getMaximo());
+        verify(albumRepository).agregadoDeGenero("Rock");
+        verify(albumRepository, never()).agregadosPorGenero();
+    }
+
+    @Test
+    void verificar_ReconstruyeSiHayDesviacion() {
+        PrecioAgregado rock = agregado("Rock", 2, 10f, 30f, 40.0);
+        PrecioAgregado beatles = agregado("The Beatles", 2, 10f, 30f, 40.0);
+        when(albumRepository.agregadosPorGenero()).thenReturn(List.of(rock));
+        when(albumRepository.agregadosPorArtista()).thenReturn(List.of(beatles));
+
+        // En memoria no hay nada, en la BD hay 2 álbumes: debe reconstruir.
+        estadisticasService.verificar();
+
+        assertEquals(2, estadisticasService.estadisticas().getGlobal().getTotal());
+    }
+
+    private PrecioAgregado agregado(String grupo, long total, float min, float max, double suma) {
+        return new PrecioAgregado() {
+            public String getGrupo() { return grupo; }
+            public Long getTotal() { return total; }
+            public Number getMinimo() { return min; }
+            public Number getMaximo() { return max; }
+            public Number getSuma() { return suma; }
+        };
+    }
+}
@@ -0,0 +1,224 @@
+package albumes.services;
+
+import org.example.albumes.dto.AlbumPaginaDto;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.exceptions.AlbumBadRequestException;
+import org.example.albumes.repositories.AlbumHuella;
+import org.example.albumes.repositories.AlbumIndexable;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.services.AlbumIndicesService;
+import org.example.albumes.services.AlbumService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlbumIndicesServiceTest {
+
+    private static final LocalDateTime HOY = LocalDateTime.of(2025, 1, 10, 12, 0);
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @Mock
+    private AlbumService albumService;
+
+    @InjectMocks
+    private AlbumIndicesService indicesService;
+
+    // Lo que hay "en la base de datos": lo que devuelve findAllById.
+    private final Map<Long, AlbumResponseDto> enBd = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // Hidratar por id: los que existen, en el orden pedido (como findAllById).
+        lenient().when(albumService.findAllById(anyList())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).stream()
+                .map(enBd::get).filter(Objects::nonNull).toList());
+        alta(1, "Rock", 15f, 1);
+        alta(2, "Rock", 9.99f, 2);
+        alta(3, "Pop", 12f, 3);
+        alta(4, "Rock", 9.99f, 4);
+        alta(5, "Jazz", 30f, 5);
+    }
+
+    private void alta(long id, String genero, float precio, int dia) {
+        indicesService.onAlbumCambiado(AlbumCambiadoEvent.alta(album(id, genero, precio, dia)));
+    }
+
+    private AlbumResponseDto album(long id, String genero, float precio, int dia) {
+        AlbumResponseDto album = AlbumResponseDto.builder().id(id).genero(genero).precio(precio)
+                .createdAt(HOY.plusDays(dia)).updatedAt(HOY.plusDays(dia)).build();
+        enBd.put(id, album);
+        return album;
+    }
+
+    private static AlbumIndexable fila(long id, String genero, float precio, int dia) {
+        return new AlbumIndexable() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getGenero() {
+                return genero;
+            }
+
+            public Float getPrecio() {
+                return precio;
+            }
+
+            public LocalDateTime getCreatedAt() {
+                return HOY.plusDays(dia);
+            }
+
+            public LocalDateTime getUpdatedAt() {
+                return HOY.plusDays(dia);
+            }
+        };
+    }
+
+    private static AlbumHuella huella(long total, long sumaIds, LocalDateTime ultimaModificacion) {
+        return new AlbumHuella() {
+            public Long getTotal() {
+                return total;
+            }
+
+            public Long getSumaIds() {
+                return sumaIds;
+            }
+
+            public LocalDateTime getUltimaModificacion() {
+                return ultimaModificacion;
+            }
+        };
+    }
+
+    private static List<Long> ids(AlbumPaginaDto pagina) {
+        return pagina.getAlbumes().stream().map(AlbumResponseDto::getId).toList();
+    }
+
+    @Test
+    void porPrecio_LosMasBaratosDeUnGenero_ConPaginacionPorClave() {
+        var primera = indicesService.porPrecio("rock", null, null, 2, null);
+
+        // A igual precio, por id. Sin distinguir mayúsculas en el género.
+        assertEquals(List.of(2L, 4L), ids(primera));
+        assertEquals("9.99_4", primera.getSiguiente());
+
+        var segunda = indicesService.porPrecio("Rock", null, null, 2, primera.getSiguiente());
+        assertEquals(List.of(1L), ids(segunda));
+        assertNull(segunda.getSiguiente());
+    }
+
+    @Test
+    void porPrecio_RangoSinGenero_MezclaTodosLosGeneros() {
+        var pagina = indicesService.porPrecio(null, 10f, 20f, 10, null);
+
+        assertEquals(List.of(3L, 1L), ids(pagina));
+        assertNull(pagina.getSiguiente());
+
+        var primera = indicesService.porPrecio(null, null, null, 3, null);
+        var segunda = indicesService.porPrecio(null, null, null, 3, primera.getSiguiente());
+        assertEquals(List.of(2L, 4L, 3L), ids(primera));
+        assertEquals(List.of(1L, 5L), ids(segunda));
+    }
+
+    @Test
+    void novedades_DeMasNuevoAMasAntiguo() {
+        var primera = indicesService.novedades(3, null);
+        var segunda = indicesService.novedades(3, primera.getSiguiente());
+
+        assertEquals(List.of(5L, 4L, 3L), ids(primera));
+        assertEquals(List.of(2L, 1L), ids(segunda));
+        verifyNoInteractions(albumRepository);
+    }
+
+    @Test
+    void modificacionYBaja_MuevenYQuitanElAlbum() {
+        var anterior = enBd.get(1L);
+        indicesService.onAlbumCambiado(AlbumCambiadoEvent.modificacion(anterior, album(1, "Rock", 5f, 1)));
+        indicesService.onAlbumCambiado(AlbumCambiadoEvent.baja(enBd.remove(4L)));
+
+        assertEquals(List.of(1L, 2L), ids(indicesService.porPrecio("Rock", null, null, 10, null)));
+        assertEquals(List.of(5L, 3L, 2L, 1L), ids(indicesService.novedades(10, null)));
+    }
+
+    @Test
+    void porPrecio_QuitaLosAlbumesQueYaNoCumplenElFiltro() {
+        // Cambiados sin que llegue el evento (otro nodo): el índice aún los tiene como Rock a 9.99.
+        album(2, "Pop", 9.99f, 2);
+        album(4, "Rock", 25f, 4);
+
+        var pagina = indicesService.porPrecio("Rock", null, 20f, 2, null);
+
+        assertEquals(List.of(), ids(pagina));
+        assertEquals("9.99_4", pagina.getSiguiente()); // El cursor sigue al índice: la siguiente página no repite.
+        assertEquals(List.of(1L), ids(indicesService.porPrecio("Rock", null, 20f, 2, pagina.getSiguiente())));
+    }
+
+    @Test
+    void reconstruir_NoPierdeLosCambiosQueLleganMientrasSeConstruye() {
+        // La consulta ve el álbum 1 a 15 y el 4 todavía vivo; mientras se lee, se confirman un cambio de precio
+        // del 1, la baja del 4 y el alta del 6.
+        when(albumRepository.paraIndices()).thenAnswer(inv -> {
+            indicesService.onAlbumCambiado(AlbumCambiadoEvent.modificacion(enBd.get(1L), album(1, "Rock", 5f, 1)));
+            indicesService.onAlbumCambiado(AlbumCambiadoEvent.baja(enBd.remove(4L)));
+            alta(6, "Rock", 7f, 6);
+            return List.of(fila(1, "Rock", 15f, 1), fila(2, "Rock", 9.99f, 2), fila(4, "Rock", 9.99f, 4));
+        });
+
+        indicesService.reconstruir();
+
+        assertEquals(List.of(1L, 6L, 2L), ids(indicesService.porPrecio("Rock", null, null, 10, null)));
+    }
+
+    @Test
+    void verificar_ReconstruyeSiNoCoincideConLaBaseDeDatos() {
+        when(albumRepository.huella()).thenReturn(huella(6, 21, HOY.plusDays(5)));
+        when(albumRepository.paraIndices()).thenReturn(List.of());
+
+        indicesService.verificar();
+
+        verify(albumRepository).paraIndices();
+        assertTrue(indicesService.novedades(10, null).getAlbumes().isEmpty());
+    }
+
+    @Test
+    void verificar_ConElMismoTotal_DetectaAltasBajasYModificacionesPerdidas() {
+        // Igual: 5 álbumes, ids 1..5 y la última modificación la del 5.
+        when(albumRepository.huella()).thenReturn(huella(5, 15, HOY.plusDays(5)));
+        indicesService.verificar();
+        verify(albumRepository, never()).paraIndices();
+
+        // Baja del 5 y alta del 6 en otro nodo: el total no cambia, la suma de id sí.
+        when(albumRepository.huella()).thenReturn(huella(5, 16, HOY.plusDays(6)));
+        when(albumRepository.paraIndices()).thenReturn(List.of(fila(6, "Rock", 1f, 6)));
+        indicesService.verificar();
+        verify(albumRepository).paraIndices();
+
+        // Un cambio de precio en otro nodo: solo cambia la última modificación.
+        when(albumRepository.huella()).thenReturn(huella(1, 6, HOY.plusDays(7)));
+        when(albumRepository.paraIndices()).thenReturn(List.of(fila(6, "Rock", 2f, 7)));
+        indicesService.verificar();
+        verify(albumRepository, times(2)).paraIndices();
+    }
+
+    @Test
+    void cursorNoValido_Lanza400() {
+        assertThrows(AlbumBadRequestException.class, () -> indicesService.porPrecio("Rock", null, null, 5, "barato"));
+        assertThrows(AlbumBadRequestException.class, () -> indicesService.novedades(5, "ayer_3"));
+    }
+}
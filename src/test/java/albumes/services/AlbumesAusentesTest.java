@@ -0,0 +1,126 @@
+package albumes.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.events.AlbumCambiadoEvent;
+import org.example.albumes.exceptions.AlbumNotFoundException;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.services.AlbumesAusentes;
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import org.example.common.cache.difusion.RedEnMemoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AlbumesAusentesTest {
+
+    private final AlbumRepository albumRepository = mock(AlbumRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AlbumesAusentes ausentes = ausentes(new StaticListableBeanFactory());
+    private final UUID existente = UUID.randomUUID();
+
+    private AlbumesAusentes ausentes(StaticListableBeanFactory beans) {
+        return new AlbumesAusentes(albumRepository, registry, beans.getBeanProvider(DifusionInvalidaciones.class),
+                30_000, 1_000, 1_000, 0.01);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(albumRepository.count()).thenReturn(1L);
+        when(albumRepository.streamUuids()).thenAnswer(inv -> Stream.of(existente));
+    }
+
+    @Test
+    void sinFiltroConstruidoNoDescartaNada() {
+        assertDoesNotThrow(() -> ausentes.comprobar(UUID.randomUUID()));
+    }
+
+    @Test
+    void conElFiltroUnUuidQueNoExisteEsUn404SinCargarlo() {
+        ausentes.reconstruir();
+        UUID inventado = UUID.randomUUID();
+
+        assertDoesNotThrow(() -> ausentes.comprobar(existente));
+        assertThrows(AlbumNotFoundException.class, () -> ausentes.comprobar(inventado));
+        assertEquals(1, registry.counter("albumes.ausentes.evitadas", "motivo", "bloom").count());
+        // Solo el índice, y una vez: el segundo 404 sale de la caché negativa.
+        assertThrows(AlbumNotFoundException.class, () -> ausentes.comprobar(inventado));
+        verify(albumRepository, times(1)).existsByUuid(inventado);
+        verify(albumRepository, never()).existsByUuid(existente);
+        verify(albumRepository, never()).findByUuid(any());
+    }
+
+    @Test
+    void unAlbumCreadoEnOtroNodoNoEsUn404() {
+        ausentes.reconstruir();
+        // No ha pasado por este nodo (ni por su evento de alta): el filtro no lo tiene.
+        UUID deOtroNodo = UUID.randomUUID();
+        when(albumRepository.existsByUuid(deOtroNodo)).thenReturn(true);
+
+        assertDoesNotThrow(() -> ausentes.comprobar(deOtroNodo));
+        assertTrue(ausentes.puedeExistir(deOtroNodo));
+        // Ya está en el filtro: no se vuelve a consultar.
+        assertDoesNotThrow(() -> ausentes.comprobar(deOtroNodo));
+        verify(albumRepository, times(1)).existsByUuid(deOtroNodo);
+    }
+
+    @Test
+    void unaAltaEntraEnElFiltroYSaleDeLosAusentes() {
+        ausentes.reconstruir();
+        UUID nuevo = UUID.randomUUID();
+        assertThrows(AlbumNotFoundException.class, () -> ausentes.comprobar(nuevo));
+        ausentes.noExiste(7L, ausentes.comprobar(7L));
+        assertThrows(AlbumNotFoundException.class, () -> ausentes.comprobar(7L));
+
+        ausentes.onAlbumCambiado(AlbumCambiadoEvent.alta(AlbumResponseDto.builder().id(7L).uuid(nuevo).build()));
+
+        assertDoesNotThrow(() -> ausentes.comprobar(nuevo));
+        assertDoesNotThrow(() -> ausentes.comprobar(7L));
+        assertTrue(ausentes.puedeExistir(nuevo));
+    }
+
+    @Test
+    void unaBusquedaQueFallaMientrasSeCrea_NoDejaAnotadoEl404() {
+        long version = ausentes.comprobar(7L);
+        // La consulta no lo encuentra, pero antes de anotarlo se confirma su alta.
+        ausentes.onAlbumCambiado(AlbumCambiadoEvent.alta(AlbumResponseDto.builder().id(7L).uuid(UUID.randomUUID()).build()));
+        ausentes.noExiste(7L, version);
+
+        assertDoesNotThrow(() -> ausentes.comprobar(7L));
+    }
+
+    @Test
+    void unaAltaEnOtroNodo_SaleDeLosAusentesDeTodos() {
+        var red = new RedEnMemoria();
+        var caches = new ConcurrentMapCacheManager();
+        try (var difusionA = new DifusionInvalidaciones(caches, red.conectar(), 1400, registry);
+             var difusionB = new DifusionInvalidaciones(caches, red.conectar(), 1400, registry)) {
+            difusionA.iniciar(60_000, 60_000);
+            difusionB.iniciar(60_000, 60_000);
+            AlbumesAusentes nodoA = ausentes(new StaticListableBeanFactory(Map.of("difusion", difusionA)));
+            AlbumesAusentes nodoB = ausentes(new StaticListableBeanFactory(Map.of("difusion", difusionB)));
+            nodoB.reconstruir();
+            UUID nuevo = UUID.randomUUID();
+            nodoB.noExiste(7L, nodoB.comprobar(7L));
+            assertThrows(AlbumNotFoundException.class, () -> nodoB.comprobar(nuevo));
+
+            nodoA.onAlbumCambiado(AlbumCambiadoEvent.alta(AlbumResponseDto.builder().id(7L).uuid(nuevo).build()));
+            difusionA.enviarPendientes();
+
+            assertDoesNotThrow(() -> nodoB.comprobar(7L));
+            assertDoesNotThrow(() -> nodoB.comprobar(nuevo));
+            // Y ya está en su filtro: no hace falta consultarlo.
+            verify(albumRepository, times(1)).existsByUuid(nuevo);
+            // Las cachés negativas no son de Spring: no se crea ninguna con su nombre.
+            assertFalse(caches.getCacheNames().contains(AlbumesAusentes.CACHE));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package albumes.services;
+
+import org.example.albumes.exceptions.GeneroConflictException;
+import org.example.albumes.models.Genero;
+import org.example.albumes.repositories.GeneroRepository;
+import org.example.albumes.services.CatalogoGeneros;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoGenerosTest {
+
+    private final Genero rock = Genero.builder().id((short) 1).nombre("Rock").nombreBusqueda("rock").build();
+    private final Genero electronica = Genero.builder().id((short) 2).nombre("Electrónica").nombreBusqueda("electronica").build();
+
+    @Mock
+    private GeneroRepository generoRepository;
+
+    @InjectMocks
+    private CatalogoGeneros catalogoGeneros;
+
+    @Test
+    void buscar_IgnoraMayusculasYTildes() {
+        when(generoRepository.findAll()).thenReturn(List.of(rock, electronica));
+
+        assertEquals(Optional.of(rock), catalogoGeneros.buscar("ROCK"));
+        assertEquals(Optional.of(electronica), catalogoGeneros.buscar("electronica"));
+        assertEquals(Optional.of(electronica), catalogoGeneros.buscar("ELECTRÓNICA"));
+        assertTrue(catalogoGeneros.buscar("Jazz").isEmpty());
+        assertTrue(catalogoGeneros.buscar(null).isEmpty());
+        // La tabla se lee una sola vez: el resto de búsquedas van al mapa.
+        verify(generoRepository, times(1)).findAll();
+    }
+
+    @Test
+    void crear_RecargaElCatalogo() {
+        Genero jazz = Genero.builder().id((short) 3).nombre("Jazz").nombreBusqueda("jazz").build();
+        when(generoRepository.findAll()).thenReturn(List.of(rock), List.of(rock, jazz));
+        when(generoRepository.findByNombreBusqueda("jazz")).thenReturn(Optional.empty());
+        when(generoRepository.save(any(Genero.class))).thenReturn(jazz);
+        assertFalse(catalogoGeneros.existe("Jazz"));
+
+        catalogoGeneros.crear(" Jazz ");
+
+        assertTrue(catalogoGeneros.existe("jazz"));
+        verify(generoRepository).save(argThat(g -> "Jazz".equals(g.getNombre())));
+    }
+
+    @Test
+    void crear_SiYaExiste_Conflicto() {
+        when(generoRepository.findByNombreBusqueda("rock")).thenReturn(Optional.of(rock));
+
+        assertThrows(GeneroConflictException.class, () -> catalogoGeneros.crear("rOck"));
+        verify(generoRepository, never()).save(any());
+    }
+
+    @Test
+    void crear_SiOtraPeticionLoCreaALaVez_Conflicto() {
+        // La comprobación no lo ve, pero el índice único rechaza el INSERT.
+        when(generoRepository.findByNombreBusqueda("jazz")).thenReturn(Optional.empty());
+        when(generoRepository.save(any(Genero.class))).thenThrow(new DataIntegrityViolationException("uk_generos_nombre_busqueda"));
+
+        assertThrows(GeneroConflictException.class, () -> catalogoGeneros.crear("Jazz"));
+    }
+}
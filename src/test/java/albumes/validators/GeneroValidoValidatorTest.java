@@ -0,0 +1,53 @@
+package albumes.validators;
+
+import org.example.albumes.models.Genero;
+import org.example.albumes.repositories.GeneroRepository;
+import org.example.albumes.services.CatalogoGeneros;
+import org.example.albumes.validators.GeneroValidoValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeneroValidoValidatorTest {
+
+    private final Genero rock = Genero.builder().id((short) 1).nombre("Rock").nombreBusqueda("rock").build();
+
+    @Mock
+    private GeneroRepository generoRepository;
+
+    @Test
+    void generoDelCatalogo_EsValido() {
+        when(generoRepository.findAll()).thenReturn(List.of(rock));
+        GeneroValidoValidator validator = new GeneroValidoValidator(new CatalogoGeneros(generoRepository));
+
+        assertTrue(validator.isValid("rock", null));
+        assertFalse(validator.isValid("Jazz", null));
+        // Vacío o nulo lo comprueba @NotBlank, no este validador.
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid(" ", null));
+    }
+
+    @Test
+    void generoRecienCreado_SeAceptaSinReiniciar() {
+        Genero jazz = Genero.builder().id((short) 2).nombre("Jazz").nombreBusqueda("jazz").build();
+        when(generoRepository.findAll()).thenReturn(List.of(rock), List.of(rock, jazz));
+        when(generoRepository.findByNombreBusqueda("jazz")).thenReturn(Optional.empty());
+        when(generoRepository.save(any(Genero.class))).thenReturn(jazz);
+        CatalogoGeneros catalogo = new CatalogoGeneros(generoRepository);
+        GeneroValidoValidator validator = new GeneroValidoValidator(catalogo);
+        assertFalse(validator.isValid("Jazz", null));
+
+        catalogo.crear("Jazz");
+
+        assertTrue(validator.isValid("JAZZ", null));
+    }
+}
@@ -2,6 +2,7 @@ package artistas.controllers;
 
 import org.example.Application;
 import org.example.artistas.dto.ArtistaRequestDto;
+import org.example.artistas.exceptions.ArtistaNotFoundException;
 import org.example.artistas.models.Artista;
 import org.example.artistas.services.ArtistaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -46,4 +48,25 @@ class ArtistaRestControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.nombre").value("Queen"));
     }
+
+    @Test
+    void getOverview_ArtistaNoExiste_ShouldReturnNotFound() throws Exception {
+        when(artistaService.findById(99L)).thenThrow(new ArtistaNotFoundException(99L));
+
+        // El 404 de la subtarea del artista llega al cliente tal cual, aunque las demás subtareas terminen bien.
+        mockMvc.perform(get("/api/v1/artistas/99/overview"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getOverview_ShouldReturnFicha() throws Exception {
+        when(artistaService.findById(1L)).thenReturn(Artista.builder().id(1L).nombre("Queen").build());
+
+        mockMvc.perform(get("/api/v1/artistas/1/overview?tamano=500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Queen"))
+                // El tamaño de página se limita al máximo.
+                .andExpect(jsonPath("$.tamano").value(100))
+                .andExpect(jsonPath("$.precios.total").isNumber());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package artistas.repositories;
+
+import org.example.Application;
+import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
+import org.example.artistas.models.Artista;
+import org.example.artistas.repositories.ArtistaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// La caché de segundo nivel se llena al confirmar (commit) cada transacción, así que aquí no usamos
+// la transacción de test de @DataJpaTest (que se deshace al final): cada operación confirma la suya.
+@DataJpaTest
+@ContextConfiguration(classes = Application.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(value = "/reset.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ArtistaCacheSegundoNivelTest {
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics estadisticas;
+    private Artista queen;
+
+    @BeforeEach
+    void setUp() {
+        // reset.sql borra las tablas con SQL directo, a espaldas de Hibernate: vaciamos también su caché.
+        entityManagerFactory.getCache().evictAll();
+        queen = artistaRepository.save(Artista.builder().nombre("Queen").build());
+        // Con ids IDENTITY, Hibernate no guarda en la caché al insertar: la primera lectura va a la BD
+        // y es la que deja el artista (y su natural-id) en la caché.
+        artistaRepository.findById(queen.getId());
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    // Para que los demás tests (que reinician los ids con reset.sql) no lean artistas de este.
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_SeLeeDeLaCacheSinConsultarLaBd() {
+        var artista = artistaRepository.findById(queen.getId());
+
+        assertTrue(artista.isPresent());
+        assertEquals("Queen", artista.get().getNombre());
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getDomainDataRegionStatistics("artistas").getHitCount());
+    }
+
+    @Test
+    void findByNombreEqualsIgnoreCase_UsaLaCacheDeNaturalId() {
+        var artista = artistaRepository.findByNombreEqualsIgnoreCase("QUEEN");
+
+        assertTrue(artista.isPresent());
+        assertEquals(queen.getId(), artista.get().getId());
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getNaturalIdCacheHitCount());
+
+        // Un nombre que no existe sí va a la base de datos (y no encuentra nada).
+        assertTrue(artistaRepository.findByNombreEqualsIgnoreCase("Nirvana").isEmpty());
+    }
+
+    @Test
+    void sumarAlbumes_SoloQuitaDeLaCacheEseArtista() {
+        var beatles = artistaRepository.save(Artista.builder().nombre("The Beatles").build());
+        artistaRepository.findById(beatles.getId());
+
+        artistaRepository.sumarAlbumes(queen.getId(), 3);
+        estadisticas.clear();
+
+        // Queen se vuelve a leer de la BD con el contador nuevo; The Beatles sigue en la caché.
+        assertEquals(3, artistaRepository.findById(queen.getId()).orElseThrow().getNumAlbumes());
+        assertEquals(0, artistaRepository.findById(beatles.getId()).orElseThrow().getNumAlbumes());
+        assertEquals(1, estadisticas.getDomainDataRegionStatistics("artistas").getHitCount());
+        assertEquals(1, estadisticas.getDomainDataRegionStatistics("artistas").getMissCount());
+    }
+
+    @Test
+    void contarAlbumes_LeeLaBdAunqueLaCacheEsteAnticuada() {
+        // Como haría otro nodo: un UPDATE a espaldas de la caché de este.
+        jdbcTemplate.update("UPDATE ARTISTAS SET num_albumes = 2 WHERE id = ?", queen.getId());
+
+        assertEquals(0, artistaRepository.findById(queen.getId()).orElseThrow().getNumAlbumes());
+        assertEquals(2, artistaRepository.contarAlbumes(queen.getId()));
+    }
+
+    @Test
+    void cargarAlbumes_ResuelveElArtistaDesdeLaCache() {
+        var em = entityManagerFactory.createEntityManager();
+        em.getTransaction().begin();
+        var rock = Genero.builder().nombre("Rock").build();
+        em.persist(rock);
+        em.persist(Album.builder().nombre("A Night at the Opera").genero(rock).precio(12f)
+                .artista(em.getReference(Artista.class, queen.getId())).build());
+        em.getTransaction().commit();
+        em.close();
+        estadisticas.clear();
+
+        // Una sesión nueva: el artista no está en ella, pero sí en la caché de segundo nivel.
+        em = entityManagerFactory.createEntityManager();
+        List<Album> albumes = em.createQuery("SELECT a FROM Album a", Album.class).getResultList();
+        em.close();
+
+        assertEquals("Queen", albumes.getFirst().getArtista().getNombre());
+        assertEquals(1, estadisticas.getDomainDataRegionStatistics("artistas").getHitCount());
+    }
+}
@@ -52,4 +52,17 @@ class ArtistaRepositoryTest {
         // Verificamos que la caja (Optional) está vacía.
         assertTrue(artista.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByNombreEqualsIgnoreCase_IgnoraTildes(){
+        entityManager.persist(Artista.builder().nombre("Rosalía").build());
+        entityManager.flush();
+
+        // La columna nombre_busqueda guarda "rosalia": da igual cómo escriban el nombre.
+        Optional<Artista> artista = artistaRepository.findByNombreEqualsIgnoreCase("ROSALIA");
+
+        assertTrue(artista.isPresent());
+        assertEquals("Rosalía", artista.get().getNombre());
+        assertEquals("rosalia", artista.get().getNombreBusqueda());
+    }
+}
@@ -0,0 +1,137 @@
+package artistas.services;
+
+import org.example.albumes.mappers.AlbumMapper;
+import org.example.albumes.models.Album;
+import org.example.albumes.models.Genero;
+import org.example.albumes.repositories.AlbumRepository;
+import org.example.albumes.repositories.PrecioAgregado;
+import org.example.artistas.dto.ArtistaOverviewDto;
+import org.example.artistas.exceptions.ArtistaNotFoundException;
+import org.example.artistas.models.Artista;
+import org.example.artistas.services.ArtistaOverviewService;
+import org.example.artistas.services.ArtistaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArtistaOverviewServiceTest {
+
+    private final Artista queen = Artista.builder().id(1L).nombre("Queen").numAlbumes(3).build();
+    private final Genero rock = Genero.builder().id((short) 1).nombre("Rock").build();
+
+    @Mock
+    private ArtistaService artistaService;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    private ArtistaOverviewService overviewService;
+
+    @BeforeEach
+    void setUp() {
+        overviewService = new ArtistaOverviewService(artistaService, albumRepository, new AlbumMapper(), 1000, 1000, 1000);
+    }
+
+    @Test
+    void overview_ComponeArtistaAlbumesYPrecios() {
+        when(artistaService.findById(1L)).thenReturn(queen);
+        List<Album> pagina = List.of(
+                Album.builder().id(10L).nombre("A Night at the Opera").genero(rock).precio(10f).artista(queen).build(),
+                Album.builder().id(11L).nombre("News of the World").genero(rock).precio(20f).artista(queen).build());
+        when(albumRepository.findByArtistaId(eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(pagina, PageRequest.of(0, 2), true));
+        when(albumRepository.agregadosPorGeneroDeArtista(1L)).thenReturn(List.of(
+                agregado("Rock", 2, 10f, 20f, 30.0),
+                agregado("Pop", 1, 5f, 5f, 5.0)));
+
+        ArtistaOverviewDto ficha = overviewService.overview(1L, 0, 2);
+
+        assertEquals("Queen", ficha.getNombre());
+        assertEquals(3, ficha.getNumAlbumes());
+        assertEquals(List.of("A Night at the Opera", "News of the World"),
+                ficha.getAlbumes().stream().map(a -> a.getNombre()).toList());
+        assertEquals("Queen", ficha.getAlbumes().getFirst().getArtista());
+        assertTrue(ficha.isHayMas());
+        assertEquals(2, ficha.getTamano());
+
+        // El total sale de sumar los géneros.
+        assertEquals(3, ficha.getPrecios().getTotal());
+        assertEquals(35.0, ficha.getPrecios().getSuma());
+        assertEquals(35.0 / 3, ficha.getPrecios().getMedia(), 1e-9);
+        assertEquals(5f, ficha.getPrecios().getMinimo());
+        assertEquals(20f, ficha.getPrecios().getMaximo());
+        // Por género, en orden alfabético.
+        assertEquals(List.of("Pop", "Rock"), List.copyOf(ficha.getPorGenero().keySet()));
+        assertEquals(15.0, ficha.getPorGenero().get("Rock").getMedia());
+    }
+
+    @Test
+    void overview_SinAlbumes_PreciosVacios() {
+        when(artistaService.findById(1L)).thenReturn(queen);
+        when(albumRepository.findByArtistaId(eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+        when(albumRepository.agregadosPorGeneroDeArtista(1L)).thenReturn(List.of());
+
+        ArtistaOverviewDto ficha = overviewService.overview(1L, 0, 20);
+
+        assertTrue(ficha.getAlbumes().isEmpty());
+        assertFalse(ficha.isHayMas());
+        assertEquals(0, ficha.getPrecios().getTotal());
+        assertNull(ficha.getPrecios().getMedia());
+        assertNull(ficha.getPrecios().getMinimo());
+        assertTrue(ficha.getPorGenero().isEmpty());
+    }
+
+    @Test
+    void overview_ArtistaNoExiste_LanzaElNotFoundTalCual() {
+        when(artistaService.findById(99L)).thenThrow(new ArtistaNotFoundException(99L));
+        lenient().when(albumRepository.findByArtistaId(eq(99L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+        lenient().when(albumRepository.agregadosPorGeneroDeArtista(99L)).thenReturn(List.of());
+
+        // Sin envolver: así el controlador sigue devolviendo 404.
+        assertThrows(ArtistaNotFoundException.class, () -> overviewService.overview(99L, 0, 20));
+    }
+
+    private static PrecioAgregado agregado(String grupo, long total, float minimo, float maximo, double suma) {
+        return new PrecioAgregado() {
+            @Override
+            public String getGrupo() {
+                return grupo;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Number getMinimo() {
+                return minimo;
+            }
+
+            @Override
+            public Number getMaximo() {
+                return maximo;
+            }
+
+            @Override
+            public Number getSuma() {
+                return suma;
+            }
+        };
+    }
+}
@@ -7,12 +7,16 @@ import org.example.artistas.mappers.ArtistaMapper;
 import org.example.artistas.models.Artista;
 import org.example.artistas.repositories.ArtistaRepository;
 import org.example.artistas.services.ArtistaServiceImpl;
+import org.example.artistas.services.ArtistasAusentes;
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 import java.util.Optional;
 
@@ -29,6 +33,10 @@ class ArtistaServiceImplTest {
     @Spy
     private ArtistaMapper artistaMapper;
 
+    @Spy
+    private ArtistasAusentes artistasAusentes = new ArtistasAusentes(new SimpleMeterRegistry(),
+            new StaticListableBeanFactory().getBeanProvider(DifusionInvalidaciones.class), 30_000, 1_000);
+
     @InjectMocks
     private ArtistaServiceImpl artistaService;
 
@@ -58,14 +66,52 @@ class ArtistaServiceImplTest {
         assertThrows(ArtistaConflictException.class, () -> artistaService.save(dto));
     }
 
+    @Test
+    void findById_NoExiste_LaSegundaVezNoConsultaLaBd(){
+        when(artistaRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ArtistaNotFoundException.class, () -> artistaService.findById(99L));
+        assertThrows(ArtistaNotFoundException.class, () -> artistaService.findById(99L));
+
+        verify(artistaRepository, times(1)).findById(99L);
+    }
+
+    @Test
+    void save_OlvidaQueElNombreNoExistia(){
+        when(artistaRepository.findByNombreEqualsIgnoreCase(any())).thenReturn(Optional.empty());
+        assertThrows(ArtistaNotFoundException.class, () -> artistaService.findByNombre("Queen"));
+
+        Artista queen = Artista.builder().id(1L).nombre("Queen").build();
+        when(artistaRepository.save(any(Artista.class))).thenReturn(queen);
+        artistaService.save(ArtistaRequestDto.builder().nombre("Queen").build());
+        when(artistaRepository.findByNombreEqualsIgnoreCase("QUEEN")).thenReturn(Optional.of(queen));
+
+        // Sin el olvidar() del alta, esto seguiría siendo un 404 hasta que caducara.
+        assertEquals(1L, artistaService.findByNombre("QUEEN").getId());
+    }
+
     @Test
     void delete_ShouldThrowConflict_IfHasAlbums(){
-        // Simulamos que el artista existe...
-        when(artistaRepository.findById(1L)).thenReturn(Optional.of(Artista.builder().id(1L).build()));
-        // ...pero que tiene álbumes asociados.
-        when(artistaRepository.existsAlbumById(1L)).thenReturn(true);
+        // Simulamos que el artista existe y que su contador dice que tiene álbumes asociados.
+        // El artista leído (de la caché) dice 0: manda el contador de la base de datos.
+        when(artistaRepository.findById(1L)).thenReturn(Optional.of(Artista.builder().id(1L).numAlbumes(0).build()));
+        when(artistaRepository.contarAlbumes(1L)).thenReturn(2);
 
         // No debe dejar borrarlo (Integridad referencial).
         assertThrows(ArtistaConflictException.class, () -> artistaService.deleteById(1L));
+        verify(artistaRepository, never()).delete(any());
+    }
+
+    @Test
+    void delete_SinAlbumes_BorraElArtistaYaCargado(){
+        Artista artista = Artista.builder().id(1L).numAlbumes(0).build();
+        when(artistaRepository.findById(1L)).thenReturn(Optional.of(artista));
+        when(artistaRepository.contarAlbumes(1L)).thenReturn(0);
+
+        artistaService.deleteById(1L);
+
+        // Se borra con la misma entidad leída: una sola lectura de la fila del artista.
+        verify(artistaRepository).delete(artista);
+        verify(artistaRepository, times(1)).findById(1L);
     }
 }
\ No newline at end of file
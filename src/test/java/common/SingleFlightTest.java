@@ -0,0 +1,103 @@
+package common;
+
+import org.example.common.SingleFlight;
+import org.example.common.SingleFlightTimeoutException;
+import org.example.common.SingleFlights;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void peticionesSimultaneas_CompartenUnaSolaCarga() throws Exception {
+        SingleFlight<Long, String> grupo = new SingleFlights(registry, 5000).grupo("test");
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            // El primero empieza la carga y se queda "consultando la BD" hasta que lo soltemos.
+            Future<String> primero = hilos.submit(() -> grupo.cargar(1L, () -> {
+                consultas.incrementAndGet();
+                dentro.countDown();
+                await(soltar);
+                return "Abbey Road";
+            }));
+            assertTrue(dentro.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> resto = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                resto.add(hilos.submit(() -> grupo.cargar(1L, () -> {
+                    consultas.incrementAndGet();
+                    return "otra consulta";
+                })));
+            }
+            // Esperamos a que los 10 estén esperando la carga en curso antes de soltarla.
+            while (grupo.getCompartidas() < 10) {
+                Thread.onSpinWait();
+            }
+            soltar.countDown();
+
+            assertEquals("Abbey Road", primero.get());
+            for (Future<String> f : resto) {
+                assertEquals("Abbey Road", f.get());
+            }
+        }
+        assertEquals(1, consultas.get());
+        assertEquals(1, grupo.getCargas());
+        assertEquals(10.0, registry.get("singleflight.compartidas").tag("nombre", "test").counter().count());
+    }
+
+    @Test
+    void excepcionDeLaCarga_LlegaATodos_YNoSeQuedaEnMemoria() {
+        SingleFlight<Long, String> grupo = new SingleFlights(registry, 5000).grupo("errores");
+
+        assertThrows(IllegalStateException.class, () -> grupo.cargar(1L, () -> {
+            throw new IllegalStateException("no existe");
+        }));
+        // La siguiente petición vuelve a cargar (no se guarda el error).
+        assertEquals("ok", grupo.cargar(1L, () -> "ok"));
+        assertEquals(2, grupo.getCargas());
+    }
+
+    @Test
+    void esperaDemasiadoLarga_LanzaTimeout() throws Exception {
+        SingleFlight<Long, String> grupo = new SingleFlights(registry, 50).grupo("lenta");
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            hilos.submit(() -> grupo.cargar(1L, () -> {
+                dentro.countDown();
+                await(soltar);
+                return "tarde";
+            }));
+            assertTrue(dentro.await(5, TimeUnit.SECONDS));
+
+            assertThrows(SingleFlightTimeoutException.class, () -> grupo.cargar(1L, () -> "no debería cargar"));
+            soltar.countDown();
+        }
+        assertEquals(1.0, registry.get("singleflight.timeouts").tag("nombre", "lenta").counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package common;
+
+import org.example.common.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generar_EsVersion7ConLaHoraActual() {
+        long antes = System.currentTimeMillis();
+        UUID uuid = UuidV7.generar();
+        long despues = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant()); // RFC 9562 (bits 10)
+        long milisegundos = uuid.getMostSignificantBits() >>> 16;
+        // Puede ir algún milisegundo por delante si otro test ha generado muchos en el mismo milisegundo.
+        assertTrue(milisegundos >= antes && milisegundos <= despues + 10, "Marca de tiempo: " + milisegundos);
+    }
+
+    @Test
+    void generar_EnVariosHilos_SonUnicosYCrecientesEnCadaHilo() throws Exception {
+        int hilos = 8;
+        int porHilo = 50_000;
+        List<Future<List<UUID>>> resultados = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            for (int h = 0; h < hilos; h++) {
+                resultados.add(ejecutor.submit(() -> {
+                    List<UUID> uuids = new ArrayList<>(porHilo);
+                    for (int i = 0; i < porHilo; i++) {
+                        uuids.add(UuidV7.generar());
+                    }
+                    return uuids;
+                }));
+            }
+        }
+
+        Set<UUID> todos = new HashSet<>();
+        for (Future<List<UUID>> resultado : resultados) {
+            List<UUID> uuids = resultado.get();
+            for (int i = 1; i < uuids.size(); i++) {
+                // Los 64 bits altos (hora + contador) nunca se repiten ni retroceden.
+                assertTrue(Long.compareUnsigned(uuids.get(i - 1).getMostSignificantBits(),
+                        uuids.get(i).getMostSignificantBits()) < 0);
+            }
+            todos.addAll(uuids);
+        }
+        assertEquals(hilos * porHilo, todos.size());
+    }
+}
@@ -0,0 +1,91 @@
+package common.asignaciones;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mide cuántos bytes reserva en el heap el hilo actual en cada llamada a una operación y falla si supera
+ * su presupuesto. Así, una regresión que pase desapercibida en los tiempos (un UUID.randomUUID() por entidad
+ * cargada, un stream nuevo por validación...) rompe el test.
+ * <p>
+ * Los presupuestos están en asignaciones.properties (bytes por llamada) y se pueden cambiar sin tocar el código:
+ * <ul>
+ *     <li>-Dasignaciones.&lt;operación&gt;=N: otro presupuesto para esa operación.</li>
+ *     <li>-Dasignaciones.factor=1.5: multiplica todos (p. ej. con otra versión de la JVM).</li>
+ *     <li>-Dasignaciones.desactivadas=true: no comprueba nada (con agentes de cobertura o perfiladores, que reservan por su cuenta).</li>
+ * </ul>
+ * La medida es la mejor de varias rondas tras calentar, para que el JIT ya haya compilado (y eliminado las
+ * reservas que no escapan) y no cuenten inicializaciones perezosas de la primera llamada.
+ */
+public final class PresupuestoAsignaciones {
+
+    private static final String PREFIJO = "asignaciones.";
+    private static final int RONDAS = 5;
+    private static final Properties PRESUPUESTOS = cargar();
+
+    private PresupuestoAsignaciones() {
+    }
+
+    /**
+     * Ejecuta la operación repeticiones veces por ronda y comprueba que, en la mejor ronda, la media de bytes
+     * por llamada no pasa del presupuesto. Devuelve esa media.
+     */
+    public static long comprobar(String operacion, int repeticiones, Runnable accion) {
+        assumeTrue(!Boolean.getBoolean(PREFIJO + "desactivadas"), "Presupuestos de asignación desactivados");
+        com.sun.management.ThreadMXBean hilos = hilos();
+        long presupuesto = presupuesto(operacion);
+
+        // Calentamiento: que el JIT compile la ruta entera antes de medir.
+        for (int i = 0; i < repeticiones * 5; i++) {
+            accion.run();
+        }
+        long mejor = Long.MAX_VALUE;
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            long antes = hilos.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < repeticiones; i++) {
+                accion.run();
+            }
+            mejor = Math.min(mejor, (hilos.getCurrentThreadAllocatedBytes() - antes) / repeticiones);
+        }
+        long medido = mejor;
+        assertTrue(medido <= presupuesto, () -> operacion + ": " + medido + " bytes por llamada, presupuesto "
+                + presupuesto + " (" + PREFIJO + operacion + " en asignaciones.properties)");
+        return medido;
+    }
+
+    static long presupuesto(String operacion) {
+        String valor = System.getProperty(PREFIJO + operacion, PRESUPUESTOS.getProperty(operacion));
+        if (valor == null) {
+            throw new IllegalArgumentException("Sin presupuesto para " + operacion + " en asignaciones.properties");
+        }
+        double factor = Double.parseDouble(System.getProperty(PREFIJO + "factor", "1"));
+        return (long) (Long.parseLong(valor.trim()) * factor);
+    }
+
+    private static com.sun.management.ThreadMXBean hilos() {
+        boolean soportado = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hilos
+                && hilos.isThreadAllocatedMemorySupported();
+        assumeTrue(soportado, "Esta JVM no mide los bytes reservados por hilo");
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        return hilos;
+    }
+
+    private static Properties cargar() {
+        Properties propiedades = new Properties();
+        try (InputStream in = PresupuestoAsignaciones.class.getResourceAsStream("/asignaciones.properties")) {
+            if (in != null) {
+                propiedades.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return propiedades;
+    }
+}
@@ -0,0 +1,89 @@
+package common.cache;
+
+import org.example.common.cache.CacheNegativa;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheNegativaTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    void recuerdaLasClavesHastaQueCaducan() {
+        CacheNegativa<Long> cache = new CacheNegativa<>(1000, 10, reloj::get);
+        cache.anotar(1L);
+
+        reloj.set(999);
+        assertTrue(cache.contiene(1L));
+        reloj.set(1000);
+        assertFalse(cache.contiene(1L));
+        // La caducada se quita al consultarla.
+        assertEquals(0, cache.tamano());
+    }
+
+    @Test
+    void olvidarLaQuitaAntesDeCaducar() {
+        CacheNegativa<Long> cache = new CacheNegativa<>(1000, 10, reloj::get);
+        cache.anotar(1L);
+
+        cache.olvidar(1L);
+
+        assertFalse(cache.contiene(1L));
+    }
+
+    @Test
+    void llenaPrimeroQuitaLasCaducadasYSiNoHaySitioNoAnota() {
+        CacheNegativa<Long> cache = new CacheNegativa<>(1000, 2, reloj::get);
+        cache.anotar(1L);
+        reloj.set(500);
+        cache.anotar(2L);
+
+        cache.anotar(3L);
+        assertFalse(cache.contiene(3L));
+
+        reloj.set(1200); // La 1 ha caducado: deja sitio.
+        cache.anotar(3L);
+        assertTrue(cache.contiene(3L));
+        assertTrue(cache.contiene(2L));
+        assertEquals(2, cache.tamano());
+    }
+
+    @Test
+    void siSeOlvidaMientrasSeBusca_NoSeAnota() {
+        CacheNegativa<Long> cache = new CacheNegativa<>(1000, 10, reloj::get);
+        long version = cache.version(1L);
+
+        cache.olvidar(1L); // Se ha creado mientras la consulta no la encontraba.
+        cache.anotar(1L, version);
+        assertFalse(cache.contiene(1L));
+
+        // Una búsqueda posterior sí la anota.
+        cache.anotar(1L, cache.version(1L));
+        assertTrue(cache.contiene(1L));
+    }
+
+    @Test
+    void vaciarOlvidaTodasYLasBusquedasEnCurso() {
+        CacheNegativa<Long> cache = new CacheNegativa<>(1000, 10, reloj::get);
+        cache.anotar(1L);
+        long version = cache.version(2L);
+
+        cache.vaciar();
+        cache.anotar(2L, version);
+
+        assertFalse(cache.contiene(1L));
+        assertFalse(cache.contiene(2L));
+        assertEquals(0, cache.tamano());
+    }
+
+    @Test
+    void conTtlCeroEstaDesactivada() {
+        CacheNegativa<Long> cache = new CacheNegativa<>(0, 10, reloj::get);
+        cache.anotar(1L);
+
+        assertFalse(cache.contiene(1L));
+    }
+}
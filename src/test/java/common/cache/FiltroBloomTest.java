@@ -0,0 +1,60 @@
+package common.cache;
+
+import org.example.common.cache.FiltroBloom;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void loAnadidoSiemprePuedeEstar() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        List<UUID> anadidos = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID uuid = UUID.randomUUID();
+            filtro.anadir(uuid);
+            anadidos.add(uuid);
+        }
+
+        // Sin falsos negativos: es lo que permite responder 404 sin consultar la base de datos.
+        assertTrue(anadidos.stream().allMatch(filtro::puedeContener));
+        assertEquals(10_000, filtro.getAnadidos());
+    }
+
+    @Test
+    void falsosPositivosCercaDeLaTasaPedida() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.anadir(UUID.randomUUID()));
+
+        long falsos = IntStream.range(0, 100_000).filter(i -> filtro.puedeContener(UUID.randomUUID())).count();
+
+        // 1% de 100000 = 1000; dejamos margen para el azar.
+        assertTrue(falsos < 1_500, "falsos positivos: " + falsos);
+        assertEquals(0.01, filtro.tasaFalsosPositivos(), 0.003);
+        // ~9,6 bits y 7 funciones hash por elemento.
+        assertEquals(7, filtro.getFunciones());
+        assertTrue(filtro.getBits() < 10 * 10_000);
+    }
+
+    @Test
+    void anadirDesdeVariosHilosNoPierdeBits() {
+        FiltroBloom filtro = new FiltroBloom(100_000, 0.01);
+        List<UUID> uuids = IntStream.range(0, 100_000).mapToObj(i -> UUID.randomUUID()).toList();
+
+        uuids.parallelStream().forEach(filtro::anadir);
+
+        assertTrue(uuids.stream().allMatch(filtro::puedeContener));
+    }
+
+    @Test
+    void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1));
+    }
+}
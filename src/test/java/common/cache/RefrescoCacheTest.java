@@ -0,0 +1,119 @@
+package common.cache;
+
+import org.example.common.cache.CargadorCache;
+import org.example.common.cache.RefrescoCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefrescoCacheTest {
+
+    // TTL 1000 ms, refresco a partir de 800 ms, se espera 50 ms a la recarga de una entrada caducada.
+    private final RefrescoCache.Config config = new RefrescoCache.Config(1000, 800, true, 50, 10_000);
+    private final AtomicLong reloj = new AtomicLong();
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private RefrescoCache cache(Function<Object, Object> carga, Executor ejecutor) {
+        CargadorCache cargador = new CargadorCache() {
+            public String cache() {
+                return "albumes";
+            }
+
+            public Object cargar(Object clave) {
+                cargas.incrementAndGet();
+                return carga.apply(clave);
+            }
+        };
+        return new RefrescoCache("albumes", config, cargador, ejecutor, reloj::get);
+    }
+
+    @Test
+    void cercaDeCaducar_SirveElValorYRecargaEnSegundoPlano() {
+        // Ejecutor directo: la "recarga en segundo plano" se hace en el acto, para poder comprobarla.
+        RefrescoCache cache = cache(clave -> "nuevo", Runnable::run);
+        cache.put(1L, "viejo");
+
+        reloj.set(500);
+        assertEquals("viejo", cache.get(1L).get());
+        assertEquals(0, cargas.get());
+
+        reloj.set(900);
+        assertEquals("viejo", cache.get(1L).get()); // El lector no espera a la recarga...
+        assertEquals(1, cargas.get());
+        assertEquals("nuevo", cache.get(1L).get()); // ...y la siguiente lectura ya tiene el valor nuevo.
+    }
+
+    @Test
+    void caducadaYBaseDeDatosLenta_SirveElValorCaducado() throws Exception {
+        CountDownLatch soltar = new CountDownLatch(1);
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            RefrescoCache cache = cache(clave -> {
+                await(soltar);
+                return "nuevo";
+            }, hilos);
+            cache.put(1L, "viejo");
+
+            reloj.set(1500);
+            assertEquals("viejo", cache.get(1L).get());
+            soltar.countDown();
+        }
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void escrituraDuranteLaRecarga_NoSePisaConElValorRecargado() {
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            RefrescoCache cache = cache(clave -> {
+                dentro.countDown();
+                await(soltar);
+                return "leido antes del cambio";
+            }, hilos);
+            cache.put(1L, "v1");
+            reloj.set(900);
+            cache.get(1L); // lanza la recarga
+            await(dentro);
+
+            cache.put(1L, "v2"); // una actualización mientras se recarga
+            soltar.countDown();
+            hilos.shutdown();
+            assertTrue(hilos.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals("v2", cache.get(1L).get());
+        } catch (InterruptedException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void clavesCalientes_OrdenadasPorLecturas() {
+        RefrescoCache cache = cache(clave -> clave, Runnable::run);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.put(3L, "c");
+        cache.get(2L);
+        cache.get(2L);
+        cache.get(3L);
+
+        assertEquals(List.of(2L, 3L), cache.clavesCalientes(2));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
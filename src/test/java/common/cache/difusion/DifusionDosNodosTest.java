@@ -0,0 +1,131 @@
+package common.cache.difusion;
+
+import org.example.Application;
+import org.example.albumes.dto.AlbumCreateDto;
+import org.example.albumes.dto.AlbumResponseDto;
+import org.example.albumes.exceptions.AlbumNotFoundException;
+import org.example.albumes.services.AlbumService;
+import org.example.artistas.dto.ArtistaRequestDto;
+import org.example.artistas.exceptions.ArtistaNotFoundException;
+import org.example.artistas.models.Artista;
+import org.example.artistas.services.ArtistaService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dos instancias de la aplicación en la misma JVM, con la misma base de datos y unidas por el transporte
+// "memoria" (RedEnMemoria.COMPARTIDA): lo que escribe una deja de servirse desde la caché de la otra.
+class DifusionDosNodosTest {
+
+    private static final String BD = "--spring.datasource.url=jdbc:h2:mem:dosnodos;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext nodoA;
+    private static ConfigurableApplicationContext nodoB;
+
+    @BeforeAll
+    static void arrancar() {
+        nodoA = nodo();
+        // El segundo nodo usa las tablas y los datos que ya ha creado el primero.
+        nodoB = nodo("--spring.jpa.hibernate.ddl-auto=none", "--spring.sql.init.mode=never");
+    }
+
+    @AfterAll
+    static void parar() {
+        nodoB.close();
+        nodoA.close();
+    }
+
+    private static ConfigurableApplicationContext nodo(String... extra) {
+        List<String> argumentos = new ArrayList<>(List.of(BD,
+                "--cache.difusion.transporte=memoria",
+                "--cache.difusion.intervalo-ms=10",
+                "--spring.jmx.enabled=false"));
+        argumentos.addAll(List.of(extra));
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    @Test
+    void borrarEnUnNodo_DejaDeServirsePorUuidEnElOtro() throws InterruptedException {
+        AlbumService albumesA = nodoA.getBean(AlbumService.class);
+        AlbumService albumesB = nodoB.getBean(AlbumService.class);
+        AlbumResponseDto creado = albumesA.save(AlbumCreateDto.builder()
+                .nombre("Let It Be").artista("The Beatles").genero("Rock").precio(14.99f).build());
+        String uuid = creado.getUuid().toString();
+
+        // B lo lee y lo deja en su caché, por uuid (findByUuid) y en la del multi-get.
+        assertEquals("Let It Be", albumesB.findByUuid(uuid).getNombre());
+        assertEquals(1, albumesB.findAllByUuid(List.of(uuid)).size());
+
+        albumesA.deleteById(creado.getId());
+
+        assertTrue(esperar(() -> {
+            try {
+                albumesB.findByUuid(uuid);
+                return false;
+            } catch (AlbumNotFoundException e) {
+                return true;
+            }
+        }), "El nodo B sigue sirviendo el álbum borrado en A");
+        assertTrue(albumesB.findAllByUuid(List.of(uuid)).isEmpty());
+    }
+
+    @Test
+    void altaEnUnNodo_ActualizaElContadorDelArtistaEnElOtro() throws InterruptedException {
+        AlbumService albumesA = nodoA.getBean(AlbumService.class);
+        ArtistaService artistasB = nodoB.getBean(ArtistaService.class);
+        Long idArtista = nodoA.getBean(ArtistaService.class).findByNombre("Michael Jackson").getId();
+        int antes = artistasB.findById(idArtista).getNumAlbumes(); // Queda en las cachés de B.
+
+        AlbumResponseDto creado = albumesA.save(AlbumCreateDto.builder()
+                .nombre("Bad").artista("Michael Jackson").genero("Pop").precio(19.99f).build());
+        try {
+            assertTrue(esperar(() -> artistasB.findById(idArtista).getNumAlbumes() == antes + 1),
+                    "El nodo B sigue viendo el contador de álbumes antiguo");
+        } finally {
+            albumesA.deleteById(creado.getId());
+        }
+    }
+
+    @Test
+    void altaDeUnArtistaEnUnNodo_DejaDeSerUn404EnElOtro() throws InterruptedException {
+        ArtistaService artistasA = nodoA.getBean(ArtistaService.class);
+        ArtistaService artistasB = nodoB.getBean(ArtistaService.class);
+        // B lo busca antes de que exista: queda en su caché negativa (ArtistasAusentes).
+        assertThrows(ArtistaNotFoundException.class, () -> artistasB.findByNombre("Daft Punk"));
+
+        Artista creado = artistasA.save(ArtistaRequestDto.builder().nombre("Daft Punk").build());
+        try {
+            assertTrue(esperar(() -> {
+                try {
+                    return artistasB.findByNombre("daft punk").getId().equals(creado.getId());
+                } catch (ArtistaNotFoundException e) {
+                    return false;
+                }
+            }), "El nodo B sigue respondiendo 404 al artista creado en A");
+        } finally {
+            artistasA.deleteById(creado.getId());
+        }
+    }
+
+    private static boolean esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < limite) {
+            if (condicion.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+package common.cache.difusion;
+
+import org.example.common.cache.difusion.DifusionInvalidaciones;
+import org.example.common.cache.difusion.RedEnMemoria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifusionInvalidacionesTest {
+
+    private final RedEnMemoria red = new RedEnMemoria();
+    private final SimpleMeterRegistry registryA = new SimpleMeterRegistry();
+    private final SimpleMeterRegistry registryB = new SimpleMeterRegistry();
+    private final ConcurrentMapCacheManager cachesA = new ConcurrentMapCacheManager("albumes", "{artista}");
+    private final ConcurrentMapCacheManager cachesB = new ConcurrentMapCacheManager("albumes", "{artista}");
+    private final DifusionInvalidaciones nodoA = nodo(cachesA, registryA, 1400);
+    private final DifusionInvalidaciones nodoB = nodo(cachesB, registryB, 1400);
+
+    private DifusionInvalidaciones nodo(ConcurrentMapCacheManager caches, SimpleMeterRegistry registry, int maxBytes) {
+        var nodo = new DifusionInvalidaciones(caches, red.conectar(), maxBytes, registry);
+        // Intervalo muy largo: en la prueba los lotes se envían a mano con enviarPendientes().
+        nodo.iniciar(60_000, 60_000);
+        return nodo;
+    }
+
+    @AfterEach
+    void cerrar() {
+        nodoA.close();
+        nodoB.close();
+    }
+
+    @Test
+    void escrituraEnUnNodo_BorraLaClaveEnLosDemas() {
+        cachesB.getCache("albumes").put(1L, "Abbey Road");
+        cachesB.getCache("albumes").put(2L, "Thriller");
+        cachesB.getCache("{artista}").put(1L, "The Beatles");
+
+        // La misma clave tres veces: viaja una sola vez, en un solo mensaje.
+        nodoA.registrar("albumes", 1L);
+        nodoA.registrar("albumes", 1L);
+        nodoA.registrar("albumes", 1L);
+        nodoA.registrar("{artista}", 1L);
+        nodoA.enviarPendientes();
+
+        assertNull(cachesB.getCache("albumes").get(1L));
+        assertNull(cachesB.getCache("{artista}").get(1L));
+        assertNotNull(cachesB.getCache("albumes").get(2L));
+        assertEquals(1, registryA.get("cache.difusion.enviados").counter().count());
+    }
+
+    @Test
+    void mensajePerdido_VaciaTodasLasCachesDelReceptor() {
+        nodoA.registrar("albumes", 1L);
+        nodoA.enviarPendientes(); // secuencia 1: llega
+        cachesB.getCache("albumes").put(2L, "Thriller");
+        cachesB.getCache("{artista}").put(9L, "Queen");
+
+        red.perder(1);
+        nodoA.registrar("albumes", 2L);
+        nodoA.enviarPendientes(); // secuencia 2: se pierde
+        nodoA.registrar("albumes", 3L);
+        nodoA.enviarPendientes(); // secuencia 3: B ve el salto
+
+        assertNull(cachesB.getCache("albumes").get(2L));
+        assertNull(cachesB.getCache("{artista}").get(9L), "Ante un hueco se vacían TODAS las cachés");
+        assertEquals(1, registryB.get("cache.difusion.huecos").counter().count());
+    }
+
+    @Test
+    void cachesVinculadas_SeBorranConLaDeSpring() {
+        List<Object> borradas = new ArrayList<>();
+        nodoB.vincular("{artista}", borradas::add);
+
+        nodoA.registrar("{artista}", 7L);
+        nodoA.registrar("albumes", 1L);
+        nodoA.enviarPendientes();
+        assertEquals(List.of(7L), borradas);
+
+        // Ante un hueco se borra todo (clave null).
+        red.perder(1);
+        nodoA.registrar("albumes", 2L);
+        nodoA.enviarPendientes();
+        nodoA.registrar("albumes", 3L);
+        nodoA.enviarPendientes();
+        assertEquals(Arrays.asList(7L, null), borradas);
+    }
+
+    @Test
+    void lotesGrandes_SeDividenEnVariosMensajes() {
+        var pequeno = nodo(new ConcurrentMapCacheManager("albumes"), new SimpleMeterRegistry(), 200);
+        try {
+            for (long id = 1; id <= 100; id++) {
+                cachesB.getCache("albumes").put(id, "Álbum " + id);
+                pequeno.registrar("albumes", id);
+            }
+            pequeno.enviarPendientes();
+
+            for (long id = 1; id <= 100; id++) {
+                assertNull(cachesB.getCache("albumes").get(id));
+            }
+            // Varios mensajes consecutivos de un mismo nodo no son un hueco.
+            assertEquals(0, registryB.get("cache.difusion.huecos").counter().count());
+        } finally {
+            pequeno.close();
+        }
+    }
+}
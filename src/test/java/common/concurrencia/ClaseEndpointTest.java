@@ -0,0 +1,37 @@
+package common.concurrencia;
+
+import org.example.common.concurrencia.ClaseEndpoint;
+import org.example.common.concurrencia.LimiteConcurrenciaFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaseEndpointTest {
+
+    @Test
+    void multiGet_EsLectura() {
+        MockHttpServletRequest ids = new MockHttpServletRequest("GET", "/api/albumes");
+        ids.setParameter("ids", "1,2,3");
+        MockHttpServletRequest uuids = new MockHttpServletRequest("GET", "/api/albumes");
+        uuids.setParameter("uuids", "a,b");
+
+        assertEquals(ClaseEndpoint.LECTURA, ClaseEndpoint.de(ids));
+        assertEquals(ClaseEndpoint.LECTURA, ClaseEndpoint.de(uuids));
+    }
+
+    @Test
+    void importacionesYExportaciones_SonMasivas() {
+        assertEquals(ClaseEndpoint.MASIVA, ClaseEndpoint.de(new MockHttpServletRequest("POST", "/api/albumes/importaciones")));
+        assertEquals(ClaseEndpoint.MASIVA, ClaseEndpoint.de(new MockHttpServletRequest("GET", "/api/albumes/exportaciones")));
+        assertEquals(ClaseEndpoint.ESCRITURA, ClaseEndpoint.de(new MockHttpServletRequest("PUT", "/api/albumes/1")));
+    }
+
+    @Test
+    void solo503DeLaAplicacion_NoEsSobrecarga() {
+        assertTrue(LimiteConcurrenciaFilter.esSobrecarga(500));
+        assertTrue(LimiteConcurrenciaFilter.esSobrecarga(504));
+        assertFalse(LimiteConcurrenciaFilter.esSobrecarga(503));
+        assertFalse(LimiteConcurrenciaFilter.esSobrecarga(404));
+    }
+}
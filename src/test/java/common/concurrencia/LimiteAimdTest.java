@@ -0,0 +1,78 @@
+package common.concurrencia;
+
+import org.example.common.concurrencia.LimiteAimd;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteAimdTest {
+
+    private static final long OBJETIVO = 100_000_000; // 100 ms
+
+    @Test
+    void sinHueco_RechazaEnElActo() {
+        LimiteAimd limite = new LimiteAimd(2, 1, 10, OBJETIVO, 0.5);
+
+        assertTrue(limite.adquirir());
+        assertTrue(limite.adquirir());
+        assertFalse(limite.adquirir());
+        assertEquals(2, limite.getEnCurso());
+    }
+
+    @Test
+    void peticionesLentas_BajanElLimite() {
+        AtomicLong reloj = new AtomicLong();
+        LimiteAimd limite = new LimiteAimd(10, 2, 20, OBJETIVO, 0.5, reloj::get);
+
+        limite.adquirir();
+        limite.liberar(OBJETIVO * 3, false);
+        assertEquals(5, limite.getLimite());
+
+        // Nunca baja del mínimo.
+        for (int i = 0; i < 10; i++) {
+            reloj.addAndGet(OBJETIVO);
+            limite.adquirir();
+            limite.liberar(0, true);
+        }
+        assertEquals(2, limite.getLimite());
+    }
+
+    @Test
+    void variasLentasEnLaMismaVentana_BajanUnaSolaVez() {
+        AtomicLong reloj = new AtomicLong();
+        LimiteAimd limite = new LimiteAimd(16, 1, 20, OBJETIVO, 0.5, reloj::get);
+
+        for (int i = 0; i < 8; i++) {
+            limite.adquirir();
+        }
+        for (int i = 0; i < 8; i++) {
+            limite.liberar(OBJETIVO * 2, false);
+        }
+        assertEquals(8, limite.getLimite());
+
+        // En la ventana siguiente vuelve a poder bajar.
+        reloj.addAndGet(OBJETIVO);
+        limite.adquirir();
+        limite.liberar(OBJETIVO * 2, false);
+        assertEquals(4, limite.getLimite());
+    }
+
+    @Test
+    void peticionesRapidasConElLimiteEnUso_LoSuben() {
+        LimiteAimd limite = new LimiteAimd(4, 1, 5, OBJETIVO, 0.5);
+
+        // Cuatro rondas con el límite lleno: +1/límite por petición, unas +1 por ronda.
+        for (int ronda = 0; ronda < 4; ronda++) {
+            int n = limite.getLimite();
+            for (int i = 0; i < n; i++) {
+                assertTrue(limite.adquirir());
+            }
+            for (int i = 0; i < n; i++) {
+                limite.liberar(OBJETIVO / 10, false);
+            }
+        }
+        assertEquals(5, limite.getLimite()); // Con tope en el máximo.
+    }
+}
@@ -0,0 +1,74 @@
+package common.concurrencia;
+
+import org.example.artistas.exceptions.ArtistaNotFoundException;
+import org.example.common.concurrencia.PlazoAgotadoException;
+import org.example.common.concurrencia.TareasEstructuradas;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TareasEstructuradasTest {
+
+    private static final Duration PLAZO = Duration.ofSeconds(5);
+
+    @Test
+    void todasBien_DevuelveCadaResultado() throws Exception {
+        try (var tareas = new TareasEstructuradas("test")) {
+            var a = tareas.lanzar("a", PLAZO, () -> { Thread.sleep(50); return 1; });
+            var b = tareas.lanzar("b", PLAZO, () -> { Thread.sleep(50); return "dos"; });
+
+            long inicio = System.nanoTime();
+            tareas.esperar();
+
+            assertEquals(1, a.get());
+            assertEquals("dos", b.get());
+            // En paralelo: tarda lo que la más lenta, no la suma.
+            assertTrue(System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(1000));
+        }
+    }
+
+    @Test
+    void unaFalla_CancelaLasDemasYLanzaSuError() throws Exception {
+        var interrumpida = new CountDownLatch(1);
+        try (var tareas = new TareasEstructuradas("test")) {
+            tareas.lanzar("lenta", PLAZO, () -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrumpida.countDown();
+                    throw e;
+                }
+                return null;
+            });
+            tareas.lanzar("falla", PLAZO, () -> { throw new ArtistaNotFoundException(7L); });
+
+            assertThrows(ArtistaNotFoundException.class, tareas::esperar);
+        }
+        assertTrue(interrumpida.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void plazoAgotado_CancelaYLanzaPlazoAgotado() {
+        var terminoNormal = new AtomicBoolean();
+        long inicio = System.nanoTime();
+        try (var tareas = new TareasEstructuradas("test")) {
+            tareas.lanzar("rapida", PLAZO, () -> 1);
+            tareas.lanzar("lenta", Duration.ofMillis(100), () -> {
+                Thread.sleep(10_000);
+                terminoNormal.set(true);
+                return 2;
+            });
+
+            var error = assertThrows(PlazoAgotadoException.class, tareas::esperar);
+            assertTrue(error.getMessage().contains("lenta"));
+        }
+        // close() ya ha esperado al hilo cancelado: no siguió durmiendo los 10 s.
+        assertFalse(terminoNormal.get());
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(5));
+    }
+}
@@ -0,0 +1,106 @@
+package common.jfr;
+
+import org.example.albumes.mappers.AlbumMapper;
+import org.example.albumes.models.Album;
+import org.example.artistas.models.Artista;
+import org.example.common.jfr.CacheJfr;
+import org.example.common.jfr.JfrAspect;
+import org.example.common.jfr.ResumenJfr;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.repository.Repository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventosJfrTest {
+
+    // Un repositorio de mentira: al aspecto solo le importa que sea un Repository de Spring Data.
+    interface DiscoRepository extends Repository<Album, Long> {
+        List<Album> findByPrecioLessThan(Float precio);
+    }
+
+    @TempDir
+    Path dir;
+
+    private Recording grabacion;
+
+    @BeforeEach
+    void setUp() {
+        grabacion = new Recording();
+        for (String evento : List.of("org.example.Cache", "org.example.Repositorio", "org.example.Mapeo")) {
+            grabacion.enable(evento).withThreshold(Duration.ZERO);
+        }
+        grabacion.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        grabacion.close();
+    }
+
+    @Test
+    void cacheRepositorioYMapper_EmitenEventosQueResumenJfrAgrupaPorOperacion() throws Exception {
+        var cache = new CacheJfr(new ConcurrentMapCache("albumes"));
+        cache.get(1L);                // fallo
+        cache.put(1L, "Abbey Road");
+        cache.get(1L);                // acierto
+
+        var artista = Artista.builder().nombre("The Beatles").build();
+        List<Album> albumes = List.of(
+                Album.builder().id(1L).nombre("Abbey Road").precio(10f).artista(artista).build(),
+                Album.builder().id(2L).nombre("Help!").precio(8f).artista(artista).build());
+        DiscoRepository repositorio = conAspecto((DiscoRepository) precio -> albumes, false);
+        AlbumMapper mapper = conAspecto(new AlbumMapper(), true);
+
+        mapper.toResponseDtoList(repositorio.findByPrecioLessThan(20f));
+
+        grabacion.stop();
+        Path fichero = dir.resolve("test.jfr");
+        grabacion.dump(fichero);
+        var resumen = ResumenJfr.resumir(fichero);
+
+        var lecturas = resumen.get("Cache albumes.get");
+        assertEquals(2, lecturas.llamadas());
+        assertEquals(1, lecturas.aciertos());
+        assertEquals(1, resumen.get("Cache albumes.put").llamadas());
+
+        var consulta = resumen.get("Repositorio DiscoRepository.findByPrecioLessThan");
+        assertEquals(1, consulta.llamadas());
+        assertEquals(2, consulta.filas());
+
+        var mapeo = resumen.get("Mapeo AlbumMapper.toResponseDtoList");
+        assertEquals(1, mapeo.llamadas());
+        assertEquals(2, mapeo.filas());
+        assertTrue(mapeo.percentil(50) > 0);
+    }
+
+    @Test
+    void sinGrabacion_ElAspectoNoCambiaElResultado() {
+        grabacion.close();
+        AlbumMapper mapper = conAspecto(new AlbumMapper(), true);
+
+        var dtos = mapper.toResponseDtoList(List.of(Album.builder().id(1L).nombre("Thriller").precio(12f)
+                .artista(Artista.builder().nombre("Michael Jackson").build()).build()));
+
+        assertEquals("Thriller", dtos.getFirst().getNombre());
+    }
+
+    private static <T> T conAspecto(T objetivo, boolean clase) {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(objetivo);
+        fabrica.setProxyTargetClass(clase);
+        if (!clase) {
+            fabrica.setInterfaces(objetivo.getClass().getInterfaces());
+        }
+        fabrica.addAspect(new JfrAspect());
+        return fabrica.getProxy();
+    }
+}
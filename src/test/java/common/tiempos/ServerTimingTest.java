@@ -0,0 +1,43 @@
+package common.tiempos;
+
+import org.example.Application;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = Application.class, properties = "tiempos.activo=true")
+@AutoConfigureMockMvc
+class ServerTimingTest {
+
+    @Autowired
+    private MockMvcTester mockMvcTester;
+
+    @Test
+    void getAll_DevuelveElDesglosePorCapa() {
+        var result = mockMvcTester.get().uri("/api/v1/albumes").exchange();
+
+        assertThat(result).hasStatusOk();
+        String cabecera = result.getResponse().getHeader("Server-Timing");
+        assertThat(cabecera)
+                .contains("controlador;dur=", "servicio;dur=", "repositorio;dur=", "mapeo;dur=")
+                .containsPattern("sql;desc=\"[1-9]\\d*\"");
+    }
+
+    @Test
+    void getById_AnotaElFalloYLuegoElAciertoDeCache() {
+        var primera = mockMvcTester.get().uri("/api/v1/albumes/2").exchange();
+        var segunda = mockMvcTester.get().uri("/api/v1/albumes/2").exchange();
+
+        assertThat(primera).hasStatusOk();
+        assertThat(primera.getResponse().getHeader("Server-Timing")).containsPattern("fallos=[1-9]");
+        // La segunda sale de la caché de bytes: ni servicio ni base de datos.
+        assertThat(segunda.getResponse().getHeader("Server-Timing"))
+                .containsPattern("aciertos=[1-9]")
+                .contains("sql;desc=\"0\"")
+                .doesNotContain("repositorio");
+    }
+}
@@ -1,7 +1,9 @@
 -- Limpiar tablas (orden inverso por las claves foráneas)
 DELETE FROM ALBUMES;
 DELETE FROM ARTISTAS;
+DELETE FROM GENEROS;
 
 -- Reiniciar contadores de ID
 ALTER TABLE ALBUMES ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE ARTISTAS ALTER COLUMN id RESTART WITH 1;
\ No newline at end of file
+ALTER TABLE ARTISTAS ALTER COLUMN id RESTART WITH 1;
+ALTER TABLE GENEROS ALTER COLUMN id RESTART WITH 1;
\ No newline at end of file